@@ -7,6 +7,7 @@ import graphql.language.StringValue;
 import graphql.schema.GraphQLDirective;
 
 import static graphql.Scalars.GraphQLBoolean;
+import static graphql.Scalars.GraphQLInt;
 import static graphql.Scalars.GraphQLString;
 import static graphql.introspection.Introspection.DirectiveLocation.ENUM_VALUE;
 import static graphql.introspection.Introspection.DirectiveLocation.FIELD;
@@ -84,6 +85,56 @@ public class Directives {
             .build();
 
 
+    /**
+     * The "defer" directive asks for the fields of a fragment to be delivered after the rest of the result, as
+     * {@link graphql.execution.defer.DeferredExecutionResult}s.  It is not part of a schema unless added to it.
+     *
+     * @see graphql.execution.defer.DeferredExecutionResult
+     */
+    public static final GraphQLDirective DeferDirective = GraphQLDirective.newDirective()
+            .name("defer")
+            .description("Directs the executor to deliver this fragment after the rest of the result when the `if` argument is true.")
+            .argument(newArgument()
+                    .name("if")
+                    .type(GraphQLBoolean)
+                    .defaultValue(true)
+                    .description("Deferred when true."))
+            .argument(newArgument()
+                    .name("label")
+                    .type(GraphQLString)
+                    .description("A unique label that identifies the deferred results of this fragment."))
+            .validLocations(FRAGMENT_SPREAD, INLINE_FRAGMENT)
+            .build();
+
+
+    /**
+     * The "stream" directive asks for the items of a list field after the first {@code initialCount} to be delivered after
+     * the rest of the result, as {@link graphql.execution.defer.DeferredExecutionResult}s.  It is not part of a schema
+     * unless added to it.
+     *
+     * @see graphql.execution.defer.DeferredExecutionResult
+     */
+    public static final GraphQLDirective StreamDirective = GraphQLDirective.newDirective()
+            .name("stream")
+            .description("Directs the executor to deliver the items of this list field after the initial ones after the rest of the result when the `if` argument is true.")
+            .argument(newArgument()
+                    .name("if")
+                    .type(GraphQLBoolean)
+                    .defaultValue(true)
+                    .description("Streamed when true."))
+            .argument(newArgument()
+                    .name("label")
+                    .type(GraphQLString)
+                    .description("A unique label that identifies the streamed results of this field."))
+            .argument(newArgument()
+                    .name("initialCount")
+                    .type(GraphQLInt)
+                    .defaultValue(0)
+                    .description("The number of items that are part of the initial result."))
+            .validLocations(FIELD)
+            .build();
+
+
     /**
      * The "deprecated" directive is special and is always available in a graphql schema
      * <p>
@@ -0,0 +1,61 @@
+package graphql;
+
+/**
+ * An execution result sink is given the result of an execution as a series of tokens rather than as an {@link ExecutionResult}
+ * holding the whole tree of values.  The tokens follow the shape of {@link ExecutionResult#toSpecification()} except that
+ * the "data" entry comes first and the "errors" and "extensions" entries are appended at the end.
+ * <p>
+ * When given to {@link GraphQL#executeAsync(ExecutionInput, ExecutionResultSink)} the fields and list items of the "data"
+ * entry, at every level, are written in response order as soon as they, and the values before them, have been completed,
+ * so that only the parts of the result that are still waiting on earlier values have to be kept in memory.
+ * <p>
+ * The tokens of one result are always given from one thread at a time but not necessarily always the same thread.
+ *
+ * @see JsonResultSink
+ */
+@PublicSpi
+public interface ExecutionResultSink {
+
+    /**
+     * Called when an object (a JSON object) starts.  It is followed by pairs of {@link #fieldName(String)} and a value
+     * and then {@link #endObject()}
+     */
+    void startObject();
+
+    /**
+     * Called with the name of the next field of the current object
+     *
+     * @param name the name of the field
+     */
+    void fieldName(String name);
+
+    /**
+     * Called when the current object ends
+     */
+    void endObject();
+
+    /**
+     * Called when a list (a JSON array) starts.  It is followed by its values and then {@link #endList()}
+     */
+    void startList();
+
+    /**
+     * Called when the current list ends
+     */
+    void endList();
+
+    /**
+     * Called with a leaf value, which is typically a {@link String}, {@link Number}, {@link Boolean} or null
+     * but can be any value a scalar serializes to other than a {@link java.util.Map} or {@link Iterable}
+     *
+     * @param value the leaf value
+     */
+    void value(Object value);
+
+    /**
+     * Called after each run of values of the data that were ready to be written and once the whole result has been written, which
+     * is the point to push what has been written so far to the client
+     */
+    default void flush() {
+    }
+}
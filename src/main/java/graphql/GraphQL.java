@@ -5,9 +5,12 @@ import graphql.execution.AsyncExecutionStrategy;
 import graphql.execution.AsyncSerialExecutionStrategy;
 import graphql.execution.DataFetcherExceptionHandler;
 import graphql.execution.Execution;
+import graphql.execution.ExecutionCoalescer;
 import graphql.execution.ExecutionId;
 import graphql.execution.ExecutionIdProvider;
+import graphql.execution.ExecutionPlan;
 import graphql.execution.ExecutionStrategy;
+import graphql.execution.ResultStreamer;
 import graphql.execution.SimpleDataFetcherExceptionHandler;
 import graphql.execution.SubscriptionExecutionStrategy;
 import graphql.execution.ValueUnboxer;
@@ -27,6 +30,7 @@ import graphql.execution.preparsed.PreparsedDocumentProvider;
 import graphql.language.Document;
 import graphql.schema.GraphQLSchema;
 import graphql.util.LogKit;
+import graphql.validation.ValidationCache;
 import graphql.validation.ValidationError;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -97,6 +101,8 @@ public class GraphQL {
     private final Instrumentation instrumentation;
     private final PreparsedDocumentProvider preparsedDocumentProvider;
     private final ValueUnboxer valueUnboxer;
+    private final ExecutionCoalescer executionCoalescer;
+    private final ValidationCache validationCache;
 
 
     private GraphQL(Builder builder) {
@@ -108,6 +114,8 @@ public class GraphQL {
         this.instrumentation = assertNotNull(builder.instrumentation, () -> "instrumentation must not be null");
         this.preparsedDocumentProvider = assertNotNull(builder.preparsedDocumentProvider, () -> "preparsedDocumentProvider must be non null");
         this.valueUnboxer = assertNotNull(builder.valueUnboxer, () -> "valueUnboxer must not be null");
+        this.executionCoalescer = builder.executionCoalescer;
+        this.validationCache = builder.validationCache;
     }
 
     /**
@@ -135,7 +143,9 @@ public class GraphQL {
                 .subscriptionExecutionStrategy(this.subscriptionStrategy)
                 .executionIdProvider(Optional.ofNullable(this.idProvider).orElse(builder.idProvider))
                 .instrumentation(Optional.ofNullable(this.instrumentation).orElse(builder.instrumentation))
-                .preparsedDocumentProvider(Optional.ofNullable(this.preparsedDocumentProvider).orElse(builder.preparsedDocumentProvider));
+                .preparsedDocumentProvider(Optional.ofNullable(this.preparsedDocumentProvider).orElse(builder.preparsedDocumentProvider))
+                .executionCoalescer(this.executionCoalescer)
+                .validationCache(this.validationCache);
 
         builderConsumer.accept(builder);
 
@@ -154,6 +164,8 @@ public class GraphQL {
         private PreparsedDocumentProvider preparsedDocumentProvider = NoOpPreparsedDocumentProvider.INSTANCE;
         private boolean doNotAddDefaultInstrumentations = false;
         private ValueUnboxer valueUnboxer = ValueUnboxer.DEFAULT;
+        private ExecutionCoalescer executionCoalescer;
+        private ValidationCache validationCache;
 
 
         public Builder(GraphQLSchema graphQLSchema) {
@@ -229,6 +241,31 @@ public class GraphQL {
             return this;
         }
 
+        /**
+         * Opts into sharing one execution between identical queries that are executed at the same time
+         *
+         * @param executionCoalescer the coalescer that decides which executions are shared, or null for none
+         *
+         * @return this builder
+         */
+        public Builder executionCoalescer(ExecutionCoalescer executionCoalescer) {
+            this.executionCoalescer = executionCoalescer;
+            return this;
+        }
+
+        /**
+         * Opts into skipping the validation of documents that are known to be valid against the schema, which can be shared
+         * with other GraphQL instances
+         *
+         * @param validationCache the cache of valid documents, or null for none
+         *
+         * @return this builder
+         */
+        public Builder validationCache(ValidationCache validationCache) {
+            this.validationCache = validationCache;
+            return this;
+        }
+
         public GraphQL build() {
             // we use the data fetcher exception handler unless they set their own strategy in which case bets are off
             if (queryExecutionStrategy == null) {
@@ -427,6 +464,41 @@ public class GraphQL {
      * @return a promise to an {@link ExecutionResult} which can include errors
      */
     public CompletableFuture<ExecutionResult> executeAsync(ExecutionInput executionInput) {
+        return executeAsync(executionInput, (ResultStreamer) null);
+    }
+
+    /**
+     * Executes the graphql query using the provided input object and writes the result to the provided sink.
+     * <p>
+     * If the operation is executed by an {@link AsyncExecutionStrategy} then the data is written in response order as it
+     * completes, object field by object field and list item by list item at every level, and what has been written is not
+     * kept any longer, rather than building the whole result first.  An object or list is only written once its non null
+     * fields or items have completed, since a null there makes it null.  The errors and extensions are written once the
+     * execution has finished.  Other execution strategies, such as the {@link graphql.execution.AsyncSerialExecutionStrategy}
+     * of mutations, build their data as usual and it is written whole at the end.
+     * <p>
+     * When the data is streamed the data of the returned {@link ExecutionResult}, and of the one given to
+     * {@link Instrumentation#instrumentExecutionResult(ExecutionResult, InstrumentationExecutionParameters)}, is null, and
+     * the data that instrumentation sees for objects and lists as they complete is a placeholder for their streamed values
+     * rather than a map or list.
+     * <p>
+     * If the execution fails with an exception then the returned promise completes exceptionally and what has been written
+     * to the sink so far is left as is.
+     *
+     * @param executionInput {@link ExecutionInput}
+     * @param resultSink     the sink to write the result to
+     * @return a promise to an {@link ExecutionResult} that completes once the whole result has been written, whose data is
+     * null if it was streamed
+     */
+    public CompletableFuture<ExecutionResult> executeAsync(ExecutionInput executionInput, ExecutionResultSink resultSink) {
+        ResultStreamer resultStreamer = new ResultStreamer(assertNotNull(resultSink, () -> "resultSink can't be null"));
+        return executeAsync(executionInput, resultStreamer).thenApply(result -> {
+            resultStreamer.finish(result);
+            return result;
+        });
+    }
+
+    private CompletableFuture<ExecutionResult> executeAsync(ExecutionInput executionInput, ResultStreamer resultStreamer) {
         try {
             if (logNotSafe.isDebugEnabled()) {
                 logNotSafe.debug("Executing request. operation name: '{}'. query: '{}'. variables '{}'", executionInput.getOperationName(), executionInput.getQuery(), executionInput.getVariables());
@@ -443,7 +515,7 @@ public class GraphQL {
 
             GraphQLSchema graphQLSchema = instrumentation.instrumentSchema(this.graphQLSchema, instrumentationParameters);
 
-            CompletableFuture<ExecutionResult> executionResult = parseValidateAndExecute(executionInput, graphQLSchema, instrumentationState);
+            CompletableFuture<ExecutionResult> executionResult = parseValidateAndExecute(executionInput, graphQLSchema, instrumentationState, resultStreamer);
             //
             // finish up instrumentation
             executionResult = executionResult.whenComplete(executionInstrumentation::onCompleted);
@@ -467,19 +539,19 @@ public class GraphQL {
     }
 
 
-    private CompletableFuture<ExecutionResult> parseValidateAndExecute(ExecutionInput executionInput, GraphQLSchema graphQLSchema, InstrumentationState instrumentationState) {
+    private CompletableFuture<ExecutionResult> parseValidateAndExecute(ExecutionInput executionInput, GraphQLSchema graphQLSchema, InstrumentationState instrumentationState, ResultStreamer resultStreamer) {
         AtomicReference<ExecutionInput> executionInputRef = new AtomicReference<>(executionInput);
         Function<ExecutionInput, PreparsedDocumentEntry> computeFunction = transformedInput -> {
             // if they change the original query in the pre-parser, then we want to see it downstream from then on
             executionInputRef.set(transformedInput);
             return parseAndValidate(executionInputRef, graphQLSchema, instrumentationState);
         };
-        PreparsedDocumentEntry preparsedDoc = preparsedDocumentProvider.getDocument(executionInput, computeFunction);
+        PreparsedDocumentEntry preparsedDoc = preparsedDocumentProvider.getDocument(executionInput, graphQLSchema, computeFunction);
         if (preparsedDoc.hasErrors()) {
             return CompletableFuture.completedFuture(new ExecutionResultImpl(preparsedDoc.getErrors()));
         }
 
-        return execute(executionInputRef.get(), preparsedDoc.getDocument(), graphQLSchema, instrumentationState);
+        return execute(executionInputRef.get(), preparsedDoc.getDocument(), preparsedDoc.getExecutionPlan(), graphQLSchema, instrumentationState, resultStreamer);
     }
 
     private PreparsedDocumentEntry parseAndValidate(AtomicReference<ExecutionInput> executionInputRef, GraphQLSchema graphQLSchema, InstrumentationState instrumentationState) {
@@ -539,14 +611,17 @@ public class GraphQL {
         CompletableFuture<List<ValidationError>> cf = new CompletableFuture<>();
         validationCtx.onDispatched(cf);
 
-        List<ValidationError> validationErrors = ParseAndValidate.validate(graphQLSchema, document);
+        List<ValidationError> validationErrors = validationCache != null
+                ? validationCache.validate(graphQLSchema, document, ParseAndValidate::validate)
+                : ParseAndValidate.validate(graphQLSchema, document);
 
         validationCtx.onCompleted(validationErrors, null);
         cf.complete(validationErrors);
         return validationErrors;
     }
 
-    private CompletableFuture<ExecutionResult> execute(ExecutionInput executionInput, Document document, GraphQLSchema graphQLSchema, InstrumentationState instrumentationState) {
+    private CompletableFuture<ExecutionResult> execute(ExecutionInput executionInput, Document document, ExecutionPlan executionPlan, GraphQLSchema graphQLSchema, InstrumentationState instrumentationState,
+                                                       ResultStreamer resultStreamer) {
 
         Execution execution = new Execution(queryStrategy, mutationStrategy, subscriptionStrategy, instrumentation, valueUnboxer);
         ExecutionId executionId = executionInput.getExecutionId();
@@ -554,7 +629,14 @@ public class GraphQL {
         if (logNotSafe.isDebugEnabled()) {
             logNotSafe.debug("Executing '{}'. operation name: '{}'. query: '{}'. variables '{}'", executionId, executionInput.getOperationName(), executionInput.getQuery(), executionInput.getVariables());
         }
-        CompletableFuture<ExecutionResult> future = execution.execute(document, graphQLSchema, executionId, executionInput, instrumentationState);
+        CompletableFuture<ExecutionResult> future;
+        if (executionCoalescer != null && resultStreamer == null && executionPlan != null
+                && !executionPlan.hasDeferDirectives() && !executionPlan.hasStreamDirectives()) {
+            future = executionCoalescer.execute(executionInput, document,
+                    () -> execution.execute(document, executionPlan, graphQLSchema, executionId, executionInput, instrumentationState, null));
+        } else {
+            future = execution.execute(document, executionPlan, graphQLSchema, executionId, executionInput, instrumentationState, resultStreamer);
+        }
         future = future.whenComplete((result, throwable) -> {
             if (throwable != null) {
                 logNotSafe.error(String.format("Execution '%s' threw exception when executing : query : '%s'. variables '%s'", executionId, executionInput.getQuery(), executionInput.getVariables()), throwable);
@@ -0,0 +1,182 @@
+package graphql;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import static graphql.Assert.assertNotNull;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * An {@link ExecutionResultSink} that writes the result as compact JSON text.
+ * <p>
+ * Strings, numbers and booleans are written as their JSON counterparts.  Numbers that JSON cannot represent
+ * (such as {@link Double#NaN}) are written as null and any other value is written as the string of its {@link Object#toString()}.
+ * <p>
+ * {@link IOException}s from the underlying writer are thrown as {@link UncheckedIOException}s.  The writer is flushed but
+ * never closed.
+ */
+@PublicApi
+public class JsonResultSink implements ExecutionResultSink {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final Writer writer;
+    private boolean needsSeparator;
+
+    /**
+     * @param writer the writer to write JSON text to
+     */
+    public JsonResultSink(Writer writer) {
+        this.writer = assertNotNull(writer, () -> "writer can't be null");
+    }
+
+    /**
+     * @param outputStream the stream to write UTF-8 encoded JSON text to
+     */
+    public JsonResultSink(OutputStream outputStream) {
+        this(new BufferedWriter(new OutputStreamWriter(assertNotNull(outputStream, () -> "outputStream can't be null"), UTF_8)));
+    }
+
+    @Override
+    public void startObject() {
+        separate();
+        write('{');
+        needsSeparator = false;
+    }
+
+    @Override
+    public void fieldName(String name) {
+        separate();
+        writeString(name);
+        write(':');
+        needsSeparator = false;
+    }
+
+    @Override
+    public void endObject() {
+        write('}');
+        needsSeparator = true;
+    }
+
+    @Override
+    public void startList() {
+        separate();
+        write('[');
+        needsSeparator = false;
+    }
+
+    @Override
+    public void endList() {
+        write(']');
+        needsSeparator = true;
+    }
+
+    @Override
+    public void value(Object value) {
+        separate();
+        if (value == null) {
+            write("null");
+        } else if (value instanceof Boolean) {
+            write(value.toString());
+        } else if (value instanceof Double || value instanceof Float) {
+            double number = ((Number) value).doubleValue();
+            write(Double.isNaN(number) || Double.isInfinite(number) ? "null" : value.toString());
+        } else if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte
+                || value instanceof BigInteger || value instanceof BigDecimal) {
+            write(value.toString());
+        } else {
+            writeString(value.toString());
+        }
+        needsSeparator = true;
+    }
+
+    @Override
+    public void flush() {
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void separate() {
+        if (needsSeparator) {
+            write(',');
+        }
+    }
+
+    private void writeString(String string) {
+        write('"');
+        int start = 0;
+        int length = string.length();
+        for (int i = 0; i < length; i++) {
+            char c = string.charAt(i);
+            if (c >= 0x20 && c != '"' && c != '\\' && c != '\u2028' && c != '\u2029') {
+                continue;
+            }
+            if (i > start) {
+                write(string, start, i - start);
+            }
+            start = i + 1;
+            switch (c) {
+                case '"':
+                    write("\\\"");
+                    break;
+                case '\\':
+                    write("\\\\");
+                    break;
+                case '\n':
+                    write("\\n");
+                    break;
+                case '\r':
+                    write("\\r");
+                    break;
+                case '\t':
+                    write("\\t");
+                    break;
+                case '\b':
+                    write("\\b");
+                    break;
+                case '\f':
+                    write("\\f");
+                    break;
+                default:
+                    write("\\u");
+                    write(HEX[(c >> 12) & 0xF]);
+                    write(HEX[(c >> 8) & 0xF]);
+                    write(HEX[(c >> 4) & 0xF]);
+                    write(HEX[c & 0xF]);
+            }
+        }
+        if (length > start) {
+            write(string, start, length - start);
+        }
+        write('"');
+    }
+
+    private void write(char c) {
+        try {
+            writer.write(c);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void write(String string) {
+        write(string, 0, string.length());
+    }
+
+    private void write(String string, int offset, int length) {
+        try {
+            writer.write(string, offset, length);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package graphql.analysis;
+
+import graphql.PublicApi;
+import graphql.execution.ResultPath;
+import graphql.execution.instrumentation.fieldvalidation.FieldAndArguments;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The result of analysing an operation with {@link QueryAnalysisInstrumentation}, which is shared by all the executions of the
+ * same document, operation and variables.
+ */
+@PublicApi
+public class QueryAnalysis {
+
+    private final int depth;
+    private final int complexity;
+    private final Map<String, Object> metrics;
+    private final Map<ResultPath, List<FieldAndArguments>> fieldArguments;
+
+    QueryAnalysis(int depth, int complexity, Map<String, Object> metrics, Map<ResultPath, List<FieldAndArguments>> fieldArguments) {
+        this.depth = depth;
+        this.complexity = complexity;
+        this.metrics = metrics;
+        this.fieldArguments = fieldArguments;
+    }
+
+    /**
+     * @return the depth of the operation, as {@link MaxQueryDepthInstrumentation} works it out
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * @return the complexity of the operation, as {@link MaxQueryComplexityInstrumentation} works it out
+     */
+    public int getComplexity() {
+        return complexity;
+    }
+
+    /**
+     * @return the values of the custom metrics by name
+     */
+    public Map<String, Object> getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * @param name the name of the custom metric
+     * @param <T>  the type of the metric
+     *
+     * @return the value of the custom metric
+     */
+    @SuppressWarnings({"unchecked", "TypeParameterUnusedInFormals"})
+    public <T> T getMetric(String name) {
+        return (T) metrics.get(name);
+    }
+
+    Map<ResultPath, List<FieldAndArguments>> getFieldArguments() {
+        return fieldArguments;
+    }
+
+    @Override
+    public String toString() {
+        return "QueryAnalysis{" +
+                "depth=" + depth +
+                ", complexity=" + complexity +
+                ", metrics=" + metrics +
+                '}';
+    }
+}
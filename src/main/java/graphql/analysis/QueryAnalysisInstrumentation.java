@@ -0,0 +1,406 @@
+package graphql.analysis;
+
+import graphql.ExecutionResult;
+import graphql.GraphQLError;
+import graphql.PublicApi;
+import graphql.execution.AbortExecutionException;
+import graphql.execution.ExecutionContext;
+import graphql.execution.ResultPath;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.SimpleInstrumentation;
+import graphql.execution.instrumentation.fieldvalidation.FieldAndArguments;
+import graphql.execution.instrumentation.fieldvalidation.FieldValidation;
+import graphql.execution.instrumentation.fieldvalidation.FieldValidationSupport;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.language.Document;
+import graphql.schema.GraphQLSchema;
+import graphql.util.TraversalControl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import static graphql.Assert.assertNotNull;
+import static graphql.Assert.assertTrue;
+import static java.util.Optional.ofNullable;
+
+/**
+ * Does in one traversal of the operation what {@link MaxQueryDepthInstrumentation}, {@link MaxQueryComplexityInstrumentation}
+ * and {@link graphql.execution.instrumentation.fieldvalidation.FieldValidationInstrumentation} each do with a traversal of their own,
+ * together with any custom metrics given as {@link QueryReducer}s, and prevents execution in the same way they do.
+ * <p>
+ * The resulting {@link QueryAnalysis} is kept for as long as the {@link Document} is, per schema, operation and variables, so
+ * queries whose documents come from a {@link graphql.execution.preparsed.PreparsedDocumentProvider} are analysed once.
+ * The field validation itself, and the functions called when a limit is exceeded, are still called for each execution.
+ * <p>
+ * The operation is analysed before it is executed, and so after the variables have been coerced.
+ */
+@PublicApi
+public class QueryAnalysisInstrumentation extends SimpleInstrumentation {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryAnalysisInstrumentation.class);
+
+    private final int maxDepth;
+    private final Function<QueryDepthInfo, Boolean> maxQueryDepthExceededFunction;
+    private final int maxComplexity;
+    private final FieldComplexityCalculator fieldComplexityCalculator;
+    private final Function<QueryComplexityInfo, Boolean> maxQueryComplexityExceededFunction;
+    private final FieldValidation fieldValidation;
+    private final Map<String, Metric<?>> metrics;
+    private final BiConsumer<QueryAnalysis, ExecutionContext> analysisConsumer;
+    private final int maxCachedAnalysesPerDocument;
+
+    // the documents are held weakly so that the analyses go when the preparsed document does
+    private final Map<Document, ConcurrentMap<AnalysisKey, QueryAnalysis>> analysesByDocument = Collections.synchronizedMap(new WeakHashMap<>());
+
+    protected QueryAnalysisInstrumentation(Builder builder) {
+        this.maxDepth = builder.maxDepth;
+        this.maxQueryDepthExceededFunction = builder.maxQueryDepthExceededFunction;
+        this.maxComplexity = builder.maxComplexity;
+        this.fieldComplexityCalculator = builder.fieldComplexityCalculator;
+        this.maxQueryComplexityExceededFunction = builder.maxQueryComplexityExceededFunction;
+        this.fieldValidation = builder.fieldValidation;
+        this.metrics = new LinkedHashMap<>(builder.metrics);
+        this.analysisConsumer = builder.analysisConsumer;
+        this.maxCachedAnalysesPerDocument = builder.maxCachedAnalysesPerDocument;
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(InstrumentationExecuteOperationParameters parameters) {
+        ExecutionContext executionContext = parameters.getExecutionContext();
+        QueryAnalysis analysis = getAnalysis(executionContext);
+        if (log.isDebugEnabled()) {
+            log.debug("Query analysis: {}", analysis);
+        }
+        if (analysis.getDepth() > maxDepth) {
+            QueryDepthInfo queryDepthInfo = QueryDepthInfo.newQueryDepthInfo()
+                    .depth(analysis.getDepth())
+                    .build();
+            if (maxQueryDepthExceededFunction.apply(queryDepthInfo)) {
+                throw mkDepthAbortException(analysis.getDepth(), maxDepth);
+            }
+        }
+        if (analysis.getComplexity() > maxComplexity) {
+            QueryComplexityInfo queryComplexityInfo = QueryComplexityInfo.newQueryComplexityInfo()
+                    .complexity(analysis.getComplexity())
+                    .build();
+            if (maxQueryComplexityExceededFunction.apply(queryComplexityInfo)) {
+                throw mkComplexityAbortException(analysis.getComplexity(), maxComplexity);
+            }
+        }
+        if (fieldValidation != null) {
+            List<GraphQLError> errors = FieldValidationSupport.validateFieldsAndArguments(fieldValidation, executionContext, analysis.getFieldArguments());
+            if (errors != null && !errors.isEmpty()) {
+                throw new AbortExecutionException(errors);
+            }
+        }
+        analysisConsumer.accept(analysis, executionContext);
+        return super.beginExecuteOperation(parameters);
+    }
+
+    /**
+     * Called to generate your own error message or custom exception class
+     *
+     * @param depth    the depth of the query
+     * @param maxDepth the maximum depth allowed
+     *
+     * @return a instance of AbortExecutionException
+     */
+    protected AbortExecutionException mkDepthAbortException(int depth, int maxDepth) {
+        return new AbortExecutionException("maximum query depth exceeded " + depth + " > " + maxDepth);
+    }
+
+    /**
+     * Called to generate your own error message or custom exception class
+     *
+     * @param totalComplexity the complexity of the query
+     * @param maxComplexity   the maximum complexity allowed
+     *
+     * @return a instance of AbortExecutionException
+     */
+    protected AbortExecutionException mkComplexityAbortException(int totalComplexity, int maxComplexity) {
+        return new AbortExecutionException("maximum query complexity exceeded " + totalComplexity + " > " + maxComplexity);
+    }
+
+    private QueryAnalysis getAnalysis(ExecutionContext executionContext) {
+        AnalysisKey key = new AnalysisKey(executionContext.getGraphQLSchema(), executionContext.getOperationDefinition().getName(), executionContext.getVariables());
+        ConcurrentMap<AnalysisKey, QueryAnalysis> analyses = analysesByDocument.computeIfAbsent(executionContext.getDocument(), document -> new ConcurrentHashMap<>());
+        QueryAnalysis analysis = analyses.get(key);
+        if (analysis == null) {
+            analysis = analyse(executionContext);
+            // past the limit it is most likely the variables that keep changing, which are not worth keeping
+            if (analyses.size() < maxCachedAnalysesPerDocument) {
+                analyses.putIfAbsent(key, analysis);
+            }
+        }
+        return analysis;
+    }
+
+    QueryAnalysis analyse(ExecutionContext executionContext) {
+        QueryTraverser queryTraverser = QueryTraverser.newQueryTraverser()
+                .schema(executionContext.getGraphQLSchema())
+                .document(executionContext.getDocument())
+                .operationName(executionContext.getOperationDefinition().getName())
+                .variables(executionContext.getVariables())
+                .build();
+
+        int[] depth = {0};
+        Map<QueryVisitorFieldEnvironment, Integer> valuesByParent = new HashMap<>();
+        Map<ResultPath, List<FieldAndArguments>> fieldArguments = new LinkedHashMap<>();
+        List<Metric<?>> metricList = new ArrayList<>(metrics.values());
+        Object[] metricValues = new Object[metricList.size()];
+        for (int i = 0; i < metricValues.length; i++) {
+            metricValues[i] = metricList.get(i).initialValue;
+        }
+
+        // the pre-order callback is visitFieldWithControl and the post-order one is visitField
+        queryTraverser.visitDepthFirst(new QueryVisitorStub() {
+            @Override
+            public TraversalControl visitFieldWithControl(QueryVisitorFieldEnvironment env) {
+                depth[0] = Math.max(getPathLength(env.getParentEnvironment()), depth[0]);
+                if (fieldValidation != null) {
+                    FieldValidationSupport.addFieldAndArguments(fieldArguments, env);
+                }
+                for (int i = 0; i < metricValues.length; i++) {
+                    metricValues[i] = metricList.get(i).reduce(env, metricValues[i]);
+                }
+                return TraversalControl.CONTINUE;
+            }
+
+            @Override
+            public void visitField(QueryVisitorFieldEnvironment env) {
+                int childsComplexity = valuesByParent.getOrDefault(env, 0);
+                int value = calculateComplexity(env, childsComplexity);
+
+                valuesByParent.compute(env.getParentEnvironment(), (key, oldValue) ->
+                        ofNullable(oldValue).orElse(0) + value
+                );
+            }
+        });
+
+        Map<String, Object> metricsByName = new LinkedHashMap<>();
+        for (int i = 0; i < metricValues.length; i++) {
+            metricsByName.put(metricList.get(i).name, metricValues[i]);
+        }
+        return new QueryAnalysis(depth[0], valuesByParent.getOrDefault(null, 0),
+                Collections.unmodifiableMap(metricsByName), Collections.unmodifiableMap(fieldArguments));
+    }
+
+    private int getPathLength(QueryVisitorFieldEnvironment path) {
+        int length = 1;
+        while (path != null) {
+            path = path.getParentEnvironment();
+            length++;
+        }
+        return length;
+    }
+
+    private int calculateComplexity(QueryVisitorFieldEnvironment queryVisitorFieldEnvironment, int childsComplexity) {
+        if (queryVisitorFieldEnvironment.isTypeNameIntrospectionField()) {
+            return 0;
+        }
+        FieldComplexityEnvironment fieldComplexityEnvironment = convertEnv(queryVisitorFieldEnvironment);
+        return fieldComplexityCalculator.calculate(fieldComplexityEnvironment, childsComplexity);
+    }
+
+    private FieldComplexityEnvironment convertEnv(QueryVisitorFieldEnvironment queryVisitorFieldEnvironment) {
+        FieldComplexityEnvironment parentEnv = null;
+        if (queryVisitorFieldEnvironment.getParentEnvironment() != null) {
+            parentEnv = convertEnv(queryVisitorFieldEnvironment.getParentEnvironment());
+        }
+        return new FieldComplexityEnvironment(
+                queryVisitorFieldEnvironment.getField(),
+                queryVisitorFieldEnvironment.getFieldDefinition(),
+                queryVisitorFieldEnvironment.getFieldsContainer(),
+                queryVisitorFieldEnvironment.getArguments(),
+                parentEnv
+        );
+    }
+
+    /**
+     * @return a new {@link QueryAnalysisInstrumentation} builder
+     */
+    public static Builder newQueryAnalysisInstrumentation() {
+        return new Builder();
+    }
+
+    @PublicApi
+    public static class Builder {
+        private int maxDepth = Integer.MAX_VALUE;
+        private Function<QueryDepthInfo, Boolean> maxQueryDepthExceededFunction = queryDepthInfo -> true;
+        private int maxComplexity = Integer.MAX_VALUE;
+        private FieldComplexityCalculator fieldComplexityCalculator = (env, childComplexity) -> 1 + childComplexity;
+        private Function<QueryComplexityInfo, Boolean> maxQueryComplexityExceededFunction = queryComplexityInfo -> true;
+        private FieldValidation fieldValidation;
+        private final Map<String, Metric<?>> metrics = new LinkedHashMap<>();
+        private BiConsumer<QueryAnalysis, ExecutionContext> analysisConsumer = (analysis, executionContext) -> {
+        };
+        private int maxCachedAnalysesPerDocument = 16;
+
+        private Builder() {
+        }
+
+        /**
+         * @param maxDepth max allowed depth, otherwise execution will be aborted
+         *
+         * @return this builder
+         */
+        public Builder maxDepth(int maxDepth) {
+            return maxDepth(maxDepth, queryDepthInfo -> true);
+        }
+
+        /**
+         * @param maxDepth                      max allowed depth
+         * @param maxQueryDepthExceededFunction the function to perform when the max depth is exceeded, which aborts execution when it returns true
+         *
+         * @return this builder
+         */
+        public Builder maxDepth(int maxDepth, Function<QueryDepthInfo, Boolean> maxQueryDepthExceededFunction) {
+            this.maxDepth = maxDepth;
+            this.maxQueryDepthExceededFunction = assertNotNull(maxQueryDepthExceededFunction);
+            return this;
+        }
+
+        /**
+         * @param maxComplexity max allowed complexity, otherwise execution will be aborted
+         *
+         * @return this builder
+         */
+        public Builder maxComplexity(int maxComplexity) {
+            return maxComplexity(maxComplexity, queryComplexityInfo -> true);
+        }
+
+        /**
+         * @param maxComplexity                      max allowed complexity
+         * @param maxQueryComplexityExceededFunction the function to perform when the max complexity is exceeded, which aborts execution when it returns true
+         *
+         * @return this builder
+         */
+        public Builder maxComplexity(int maxComplexity, Function<QueryComplexityInfo, Boolean> maxQueryComplexityExceededFunction) {
+            this.maxComplexity = maxComplexity;
+            this.maxQueryComplexityExceededFunction = assertNotNull(maxQueryComplexityExceededFunction);
+            return this;
+        }
+
+        /**
+         * @param fieldComplexityCalculator custom complexity calculator, the default is `1 + childComplexity`
+         *
+         * @return this builder
+         */
+        public Builder fieldComplexityCalculator(FieldComplexityCalculator fieldComplexityCalculator) {
+            this.fieldComplexityCalculator = assertNotNull(fieldComplexityCalculator, () -> "calculator can't be null");
+            return this;
+        }
+
+        /**
+         * @param fieldValidation the field validation to call before the operation is executed
+         *
+         * @return this builder
+         */
+        public Builder fieldValidation(FieldValidation fieldValidation) {
+            this.fieldValidation = assertNotNull(fieldValidation);
+            return this;
+        }
+
+        /**
+         * Adds a custom metric, which is reduced from the fields of the operation in pre-order
+         *
+         * @param name         the name of the metric in {@link QueryAnalysis#getMetrics()}
+         * @param initialValue the initial value to pass to the reducer
+         * @param queryReducer the query reducer
+         * @param <T>          the type of the metric
+         *
+         * @return this builder
+         */
+        public <T> Builder metric(String name, T initialValue, QueryReducer<T> queryReducer) {
+            metrics.put(assertNotNull(name), new Metric<>(name, initialValue, assertNotNull(queryReducer)));
+            return this;
+        }
+
+        /**
+         * @param analysisConsumer called with the analysis of each execution that isn't aborted, which can throw
+         *                         an {@link AbortExecutionException} to abort it, for example because of a custom metric
+         *
+         * @return this builder
+         */
+        public Builder analysisConsumer(BiConsumer<QueryAnalysis, ExecutionContext> analysisConsumer) {
+            this.analysisConsumer = assertNotNull(analysisConsumer);
+            return this;
+        }
+
+        /**
+         * @param maxCachedAnalysesPerDocument the most analyses to keep for the different operations and variables of a document, defaults to 16
+         *
+         * @return this builder
+         */
+        public Builder maxCachedAnalysesPerDocument(int maxCachedAnalysesPerDocument) {
+            assertTrue(maxCachedAnalysesPerDocument >= 0, () -> "maxCachedAnalysesPerDocument can't be negative");
+            this.maxCachedAnalysesPerDocument = maxCachedAnalysesPerDocument;
+            return this;
+        }
+
+        /**
+         * @return a built {@link QueryAnalysisInstrumentation} object
+         */
+        public QueryAnalysisInstrumentation build() {
+            return new QueryAnalysisInstrumentation(this);
+        }
+    }
+
+    private static class Metric<T> {
+        private final String name;
+        private final T initialValue;
+        private final QueryReducer<T> queryReducer;
+
+        Metric(String name, T initialValue, QueryReducer<T> queryReducer) {
+            this.name = name;
+            this.initialValue = initialValue;
+            this.queryReducer = queryReducer;
+        }
+
+        @SuppressWarnings("unchecked")
+        Object reduce(QueryVisitorFieldEnvironment env, Object acc) {
+            return queryReducer.reduceField(env, (T) acc);
+        }
+    }
+
+    private static class AnalysisKey {
+        private final GraphQLSchema schema;
+        private final String operationName;
+        private final Map<String, Object> variables;
+
+        AnalysisKey(GraphQLSchema schema, String operationName, Map<String, Object> variables) {
+            this.schema = schema;
+            this.operationName = operationName;
+            this.variables = variables;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof AnalysisKey)) {
+                return false;
+            }
+            AnalysisKey that = (AnalysisKey) o;
+            return schema == that.schema && Objects.equals(operationName, that.operationName) && variables.equals(that.variables);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * System.identityHashCode(schema) + Objects.hashCode(operationName)) + variables.hashCode();
+        }
+    }
+}
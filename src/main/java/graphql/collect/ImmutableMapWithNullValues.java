@@ -3,9 +3,11 @@ package graphql.collect;
 import graphql.Assert;
 import graphql.Internal;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.BiConsumer;
@@ -55,6 +57,41 @@ public final class ImmutableMapWithNullValues<K, V> implements Map<K, V> {
         return new ImmutableMapWithNullValues<>(map);
     }
 
+    /**
+     * Copies the map along with the maps and lists nested in its values, such as the coerced values of input object and
+     * list arguments, so that none of it can be changed by whoever it is shared with
+     *
+     * @param map the map to copy
+     * @param <K> for key
+     *
+     * @return an immutable map whose nested maps and lists are immutable too
+     */
+    public static <K> ImmutableMapWithNullValues<K, Object> deepCopyOf(Map<K, ?> map) {
+        Assert.assertNotNull(map);
+        if (map.isEmpty()) {
+            return emptyMap();
+        }
+        Map<K, Object> values = new LinkedHashMap<>(map.size());
+        for (Entry<K, ?> entry : map.entrySet()) {
+            values.put(entry.getKey(), deepCopyOfValue(entry.getValue()));
+        }
+        return new ImmutableMapWithNullValues<>(values);
+    }
+
+    private static Object deepCopyOfValue(Object value) {
+        if (value instanceof Map) {
+            return deepCopyOf((Map<?, ?>) value);
+        }
+        if (value instanceof List) {
+            List<Object> values = new ArrayList<>(((List<?>) value).size());
+            for (Object item : (List<?>) value) {
+                values.add(deepCopyOfValue(item));
+            }
+            return Collections.unmodifiableList(values);
+        }
+        return value;
+    }
+
     @Override
     public int size() {
         return delegate.size();
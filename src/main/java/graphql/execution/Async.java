@@ -126,6 +126,37 @@ public class Async {
         return result;
     }
 
+    /**
+     * @param future the future to check
+     * @return true if the future has already completed with a value, which can then be used straight away without chaining
+     */
+    public static boolean isCompletedNormally(CompletableFuture<?> future) {
+        return future != null && future.isDone() && !future.isCompletedExceptionally();
+    }
+
+    /**
+     * @param futures the futures to check
+     * @return true if all of the futures have already completed with a value
+     */
+    public static boolean allCompletedNormally(List<? extends CompletableFuture<?>> futures) {
+        for (CompletableFuture<?> future : futures) {
+            if (!isCompletedNormally(future)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Wraps an exception the same way a dependent {@link CompletableFuture} stage does when its function throws
+     *
+     * @param exception the exception to wrap
+     * @return a {@link CompletionException}
+     */
+    public static CompletionException toCompletionException(Throwable exception) {
+        return exception instanceof CompletionException ? (CompletionException) exception : new CompletionException(exception);
+    }
+
     public static <U, T> CompletableFuture<List<U>> flatMap(List<T> inputs, Function<T, CompletableFuture<U>> mapper) {
         List<CompletableFuture<U>> collect = ImmutableKit.map(inputs, mapper);
         return Async.each(collect);
@@ -1,7 +1,12 @@
 package graphql.execution;
 
 import graphql.ExecutionResult;
+import graphql.ExecutionResultImpl;
 import graphql.PublicApi;
+import graphql.execution.defer.DeferSupport;
+import graphql.execution.defer.DeferredExecutionResult;
+import graphql.execution.defer.DeferredExecutionResultImpl;
+import graphql.execution.defer.DeferredFragment;
 import graphql.execution.instrumentation.ExecutionStrategyInstrumentationContext;
 import graphql.execution.instrumentation.Instrumentation;
 import graphql.execution.instrumentation.parameters.InstrumentationExecutionStrategyParameters;
@@ -10,21 +15,30 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.function.BiConsumer;
 
 import static graphql.collect.ImmutableKit.map;
+import static graphql.schema.GraphQLTypeUtil.isNonNull;
 
 /**
  * The standard graphql execution strategy that runs fields asynchronously non-blocking.
+ * <p>
+ * It is also the strategy that executes the fragments marked with {@code @defer}, each of them alongside the fields
+ * of the object it is on, without the result of that object waiting for it.
+ *
+ * @see graphql.execution.defer.DeferredExecutionResult
  */
 @PublicApi
 public class AsyncExecutionStrategy extends AbstractAsyncExecutionStrategy {
 
+    private final boolean completeMaterializedValuesInline;
+
     /**
      * The standard graphql execution strategy that runs fields asynchronously
      */
     public AsyncExecutionStrategy() {
-        super(new SimpleDataFetcherExceptionHandler());
+        this(new SimpleDataFetcherExceptionHandler());
     }
 
     /**
@@ -33,7 +47,26 @@ public class AsyncExecutionStrategy extends AbstractAsyncExecutionStrategy {
      * @param exceptionHandler the exception handler to use
      */
     public AsyncExecutionStrategy(DataFetcherExceptionHandler exceptionHandler) {
+        this(exceptionHandler, false);
+    }
+
+    /**
+     * Creates a execution strategy that uses the provided exception handler and that can complete the values of data fetchers
+     * that are already materialized (plain values or completed futures) inline, only falling back to {@link CompletableFuture}
+     * stages for the fields whose values are really asynchronous.  This gives the same results, errors and instrumentation
+     * callbacks but allocates a lot less when most data fetchers are synchronous.
+     *
+     * @param exceptionHandler                 the exception handler to use
+     * @param completeMaterializedValuesInline true to complete materialized values inline
+     */
+    public AsyncExecutionStrategy(DataFetcherExceptionHandler exceptionHandler, boolean completeMaterializedValuesInline) {
         super(exceptionHandler);
+        this.completeMaterializedValuesInline = completeMaterializedValuesInline;
+    }
+
+    @Override
+    protected boolean completesMaterializedValuesInline() {
+        return completeMaterializedValuesInline;
     }
 
     @Override
@@ -49,8 +82,20 @@ public class AsyncExecutionStrategy extends AbstractAsyncExecutionStrategy {
         Set<String> fieldNames = fields.keySet();
         List<CompletableFuture<FieldValueInfo>> futures = new ArrayList<>(fieldNames.size());
         List<String> resolvedFields = new ArrayList<>(fieldNames.size());
+
+        // when the data is streamed objects are not collected into maps, see ResultStreamer
+        ResultStreamer resultStreamer = executionContext.getResultStreamer();
+        boolean isRoot = parameters.getPath().isRootPath();
+        if (resultStreamer != null && isRoot) {
+            resultStreamer.startStreamingData();
+        }
+        boolean streamData = resultStreamer != null && resultStreamer.isStreamingData();
+        List<Boolean> nonNullFields = streamData ? new ArrayList<>(fieldNames.size()) : null;
         for (String fieldName : fieldNames) {
             MergedField currentField = fields.getSubField(fieldName);
+            if (streamData) {
+                nonNullFields.add(isNonNull(getFieldDef(executionContext, parameters, currentField.getSingleField()).getType()));
+            }
 
             ResultPath fieldPath = parameters.getPath().segment(mkNameForPath(currentField));
             ExecutionStrategyParameters newParameters = parameters
@@ -60,9 +105,25 @@ public class AsyncExecutionStrategy extends AbstractAsyncExecutionStrategy {
             CompletableFuture<FieldValueInfo> future = resolveFieldWithInfo(executionContext, newParameters);
             futures.add(future);
         }
+        // the deferred fragments run alongside the fields but are not part of this result
+        for (DeferredFragment deferredFragment : fields.getDeferredFragments()) {
+            executionContext.getDeferSupport().defer(deferSupport -> executeDeferred(executionContext, parameters, deferredFragment, deferSupport));
+        }
         CompletableFuture<ExecutionResult> overallResult = new CompletableFuture<>();
         executionStrategyCtx.onDispatched(overallResult);
 
+        if (streamData) {
+            streamObject(executionContext, executionStrategyCtx, isRoot ? resultStreamer : null, resolvedFields, nonNullFields, futures, overallResult);
+            overallResult.whenComplete(executionStrategyCtx::onCompleted);
+            return overallResult;
+        }
+
+        if (completeMaterializedValuesInline && Async.allCompletedNormally(futures)) {
+            completeInline(executionContext, executionStrategyCtx, resolvedFields, futures, overallResult);
+            whenCompleted(overallResult, executionStrategyCtx::onCompleted);
+            return overallResult;
+        }
+
         Async.each(futures).whenComplete((completeValueInfos, throwable) -> {
             BiConsumer<List<ExecutionResult>, Throwable> handleResultsConsumer = handleResults(executionContext, resolvedFields, overallResult);
             if (throwable != null) {
@@ -83,4 +144,86 @@ public class AsyncExecutionStrategy extends AbstractAsyncExecutionStrategy {
         overallResult.whenComplete(executionStrategyCtx::onCompleted);
         return overallResult;
     }
+
+    private CompletableFuture<DeferredExecutionResult> executeDeferred(ExecutionContext executionContext, ExecutionStrategyParameters parameters,
+                                                                       DeferredFragment deferredFragment, DeferSupport deferSupport) {
+        // the deferred fragment has errors of its own and the fragments deferred within it are published after it
+        ExecutionContext deferredContext = executionContext.transform(builder -> builder.resetErrors().deferSupport(deferSupport));
+        NonNullableFieldValidator nonNullableFieldValidator = new NonNullableFieldValidator(deferredContext, parameters.getExecutionStepInfo());
+        ExecutionStrategyParameters deferredParameters = parameters.transform(builder -> builder
+                .fields(deferredFragment.getFields())
+                .nonNullFieldValidator(nonNullableFieldValidator));
+        List<Object> path = parameters.getPath().toList();
+
+        return execute(deferredContext, deferredParameters).handle((result, exception) -> {
+            if (exception == null) {
+                return new DeferredExecutionResultImpl(path, deferredFragment.getLabel(), result.getData(), result.getErrors());
+            }
+            Throwable cause = exception instanceof CompletionException ? exception.getCause() : exception;
+            if (cause instanceof NonNullableFieldWasNullException) {
+                // a null non null field makes the whole fragment null, the initial result is left alone
+                return new DeferredExecutionResultImpl(path, deferredFragment.getLabel(), null, deferredContext.getErrors());
+            }
+            throw Async.toCompletionException(cause);
+        });
+    }
+
+    //
+    // The object is decided once its non null fields have completed, as only those can make it null.  Its data is then the
+    // StreamedValue of its fields, which the root object hands to the result streamer to write.  The streamer only ends the
+    // object once the instrumentation has been given its field value infos.
+    //
+    private void streamObject(ExecutionContext executionContext, ExecutionStrategyInstrumentationContext executionStrategyCtx, ResultStreamer rootStreamer,
+                              List<String> resolvedFields, List<Boolean> nonNullFields, List<CompletableFuture<FieldValueInfo>> futures,
+                              CompletableFuture<ExecutionResult> overallResult) {
+        CompletableFuture<Void> fieldValuesInfoHandled = Async.each(futures).thenAccept(executionStrategyCtx::onFieldValuesInfo);
+        List<CompletableFuture<ExecutionResult>> fieldValues = map(futures, future -> future.thenCompose(FieldValueInfo::getFieldValue));
+
+        List<CompletableFuture<?>> decidingValues = new ArrayList<>();
+        for (int i = 0; i < fieldValues.size(); i++) {
+            if (nonNullFields.get(i)) {
+                decidingValues.add(fieldValues.get(i));
+            }
+        }
+        BiConsumer<List<ExecutionResult>, Throwable> handleResultsConsumer = handleResults(executionContext, resolvedFields, overallResult);
+        CompletableFuture.allOf(decidingValues.toArray(new CompletableFuture<?>[0])).whenComplete((ignored, exception) -> {
+            if (exception != null) {
+                handleResultsConsumer.accept(null, exception);
+                return;
+            }
+            ResultStreamer.StreamedValue data = ResultStreamer.streamedObject(resolvedFields, fieldValues, fieldValuesInfoHandled);
+            if (rootStreamer == null) {
+                overallResult.complete(new ExecutionResultImpl(data, executionContext.getErrors()));
+                return;
+            }
+            rootStreamer.writeData(data).whenComplete((ignored2, writeException) -> {
+                if (writeException != null) {
+                    handleResultsConsumer.accept(null, writeException);
+                } else {
+                    // the data has been written so the result only has the errors
+                    overallResult.complete(new ExecutionResultImpl(null, executionContext.getErrors()));
+                }
+            });
+        }).exceptionally(ex -> {
+            overallResult.completeExceptionally(ex);
+            return null;
+        });
+    }
+
+    private void completeInline(ExecutionContext executionContext, ExecutionStrategyInstrumentationContext executionStrategyCtx, List<String> resolvedFields,
+                                List<CompletableFuture<FieldValueInfo>> futures, CompletableFuture<ExecutionResult> overallResult) {
+        BiConsumer<List<ExecutionResult>, Throwable> handleResultsConsumer = handleResults(executionContext, resolvedFields, overallResult);
+        try {
+            List<FieldValueInfo> completeValueInfos = map(futures, CompletableFuture::join);
+            List<CompletableFuture<ExecutionResult>> executionResultFuture = map(completeValueInfos, FieldValueInfo::getFieldValue);
+            executionStrategyCtx.onFieldValuesInfo(completeValueInfos);
+            if (Async.allCompletedNormally(executionResultFuture)) {
+                handleResultsConsumer.accept(map(executionResultFuture, CompletableFuture::join), null);
+            } else {
+                Async.each(executionResultFuture).whenComplete(handleResultsConsumer);
+            }
+        } catch (Throwable e) {
+            overallResult.completeExceptionally(Async.toCompletionException(e));
+        }
+    }
 }
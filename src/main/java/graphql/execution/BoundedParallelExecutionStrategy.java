@@ -0,0 +1,213 @@
+package graphql.execution;
+
+import graphql.PublicApi;
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static graphql.Assert.assertNotNull;
+import static graphql.Assert.assertTrue;
+
+/**
+ * An {@link AsyncExecutionStrategy} that calls the data fetchers of fields, at any level of the query, on an {@link Executor}
+ * rather than on the thread that is executing the query.  Nothing ever blocks waiting for a data fetcher.
+ * <p>
+ * The number of data fetchers of one execution that are in flight at a time, that is called and not yet completed (including
+ * the {@link CompletableFuture}s they return), is capped so that one huge query can't take up the whole executor.  The fields of
+ * an execution above its cap wait in a queue of their own.  Optionally the number of data fetchers in flight across all executions
+ * can be capped too, typically to the number of threads of the executor, in which case the executions with waiting fields take
+ * turns to run one of them so that each gets a fair share of the executor.
+ * <p>
+ * The data fetchers that are {@link graphql.TrivialDataFetcher}s, such as {@link graphql.schema.PropertyDataFetcher}, can be called
+ * inline on the current thread since they are not worth a thread hop.
+ * <p>
+ * The data fetchers run on executor threads that the {@link graphql.execution.instrumentation.dataloader.DataLoaderDispatcherInstrumentation}
+ * knows nothing of, so they should not use data loaders.
+ */
+@PublicApi
+public class BoundedParallelExecutionStrategy extends AsyncExecutionStrategy {
+
+    private final Executor executor;
+    private final boolean trivialDataFetchersInline;
+    private final FetchScheduler scheduler;
+
+    /**
+     * Creates a strategy that calls all data fetchers on the executor, with at most the given number of them in flight per execution
+     *
+     * @param executor                       the executor to call data fetchers on
+     * @param maxConcurrentFetchesPerExecution the most data fetchers of one execution in flight at a time
+     */
+    public BoundedParallelExecutionStrategy(Executor executor, int maxConcurrentFetchesPerExecution) {
+        this(executor, maxConcurrentFetchesPerExecution, Integer.MAX_VALUE, false, new SimpleDataFetcherExceptionHandler());
+    }
+
+    /**
+     * @param executor                         the executor to call data fetchers on
+     * @param maxConcurrentFetchesPerExecution the most data fetchers of one execution in flight at a time
+     * @param maxConcurrentFetches             the most data fetchers of all executions in flight at a time, which the executions take turns to use
+     * @param trivialDataFetchersInline        true to call {@link graphql.TrivialDataFetcher}s on the current thread
+     * @param exceptionHandler                 the exception handler to use
+     */
+    public BoundedParallelExecutionStrategy(Executor executor, int maxConcurrentFetchesPerExecution, int maxConcurrentFetches, boolean trivialDataFetchersInline,
+                                            DataFetcherExceptionHandler exceptionHandler) {
+        super(exceptionHandler);
+        this.executor = assertNotNull(executor, () -> "executor can't be null");
+        assertTrue(maxConcurrentFetchesPerExecution > 0, () -> "maxConcurrentFetchesPerExecution must be positive");
+        assertTrue(maxConcurrentFetches > 0, () -> "maxConcurrentFetches must be positive");
+        this.trivialDataFetchersInline = trivialDataFetchersInline;
+        this.scheduler = new FetchScheduler(maxConcurrentFetchesPerExecution, maxConcurrentFetches);
+    }
+
+    @Override
+    protected Object invokeDataFetcher(ExecutionContext executionContext, DataFetcher<?> dataFetcher, DataFetchingEnvironment environment, boolean trivialDataFetcher) throws Exception {
+        if (trivialDataFetcher && trivialDataFetchersInline) {
+            return dataFetcher.get(environment);
+        }
+        Fetch fetch = new Fetch(dataFetcher, environment);
+        scheduler.submit(executionContext.getExecutionId(), fetch);
+        return fetch.value;
+    }
+
+    private class Fetch implements Runnable {
+        private final DataFetcher<?> dataFetcher;
+        private final DataFetchingEnvironment environment;
+        private final CompletableFuture<Object> value = new CompletableFuture<>();
+        private ExecutionFetches fetches;
+
+        Fetch(DataFetcher<?> dataFetcher, DataFetchingEnvironment environment) {
+            this.dataFetcher = dataFetcher;
+            this.environment = environment;
+        }
+
+        void start() {
+            try {
+                executor.execute(this);
+            } catch (RejectedExecutionException e) {
+                completed(null, e);
+            }
+        }
+
+        @Override
+        public void run() {
+            CompletableFuture<Object> fetched;
+            try {
+                fetched = Async.toCompletableFuture(dataFetcher.get(environment));
+            } catch (Throwable e) {
+                completed(null, e);
+                return;
+            }
+            fetched.whenComplete(this::completed);
+        }
+
+        private void completed(Object result, Throwable exception) {
+            // the next fetch is started before this one's value is completed, which goes on to execute the sub fields on this thread
+            scheduler.completed(fetches);
+            if (exception != null) {
+                value.completeExceptionally(exception);
+            } else {
+                value.complete(result);
+            }
+        }
+    }
+
+    /**
+     * The fetches of one execution, which exist while any of them is waiting or in flight
+     */
+    private static class ExecutionFetches {
+        private final ExecutionId executionId;
+        private final Deque<Fetch> waiting = new ArrayDeque<>();
+        private int inFlight;
+        private boolean scheduled;
+
+        ExecutionFetches(ExecutionId executionId) {
+            this.executionId = executionId;
+        }
+    }
+
+    /**
+     * Starts fetches within the caps, taking the next fetch from each execution with waiting fetches in turn
+     */
+    private static class FetchScheduler {
+        private final int maxPerExecution;
+        private final int maxTotal;
+
+        // all guarded by this scheduler
+        private final Map<ExecutionId, ExecutionFetches> executions = new HashMap<>();
+        private final Deque<ExecutionFetches> turns = new ArrayDeque<>();
+        private int inFlight;
+
+        FetchScheduler(int maxPerExecution, int maxTotal) {
+            this.maxPerExecution = maxPerExecution;
+            this.maxTotal = maxTotal;
+        }
+
+        void submit(ExecutionId executionId, Fetch fetch) {
+            List<Fetch> startable;
+            synchronized (this) {
+                ExecutionFetches fetches = executions.computeIfAbsent(executionId, ExecutionFetches::new);
+                fetch.fetches = fetches;
+                fetches.waiting.add(fetch);
+                scheduleTurn(fetches);
+                startable = takeStartable();
+            }
+            start(startable);
+        }
+
+        void completed(ExecutionFetches fetches) {
+            List<Fetch> startable;
+            synchronized (this) {
+                fetches.inFlight--;
+                inFlight--;
+                if (fetches.inFlight == 0 && fetches.waiting.isEmpty()) {
+                    executions.remove(fetches.executionId);
+                } else {
+                    scheduleTurn(fetches);
+                }
+                startable = takeStartable();
+            }
+            start(startable);
+        }
+
+        private void scheduleTurn(ExecutionFetches fetches) {
+            if (!fetches.scheduled && !fetches.waiting.isEmpty() && fetches.inFlight < maxPerExecution) {
+                fetches.scheduled = true;
+                turns.add(fetches);
+            }
+        }
+
+        private List<Fetch> takeStartable() {
+            List<Fetch> startable = null;
+            while (inFlight < maxTotal && !turns.isEmpty()) {
+                ExecutionFetches fetches = turns.poll();
+                fetches.scheduled = false;
+                Fetch fetch = fetches.waiting.poll();
+                fetches.inFlight++;
+                inFlight++;
+                // back of the line for the execution's next fetch
+                scheduleTurn(fetches);
+                if (startable == null) {
+                    startable = new ArrayList<>();
+                }
+                startable.add(fetch);
+            }
+            return startable;
+        }
+
+        private static void start(List<Fetch> startable) {
+            if (startable != null) {
+                for (Fetch fetch : startable) {
+                    fetch.start();
+                }
+            }
+        }
+    }
+}
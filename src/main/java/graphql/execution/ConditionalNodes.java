@@ -5,12 +5,15 @@ import graphql.Internal;
 import graphql.VisibleForTesting;
 import graphql.language.Directive;
 import graphql.language.NodeUtil;
+import graphql.schema.GraphQLDirective;
 
 import java.util.List;
 import java.util.Map;
 
+import static graphql.Directives.DeferDirective;
 import static graphql.Directives.IncludeDirective;
 import static graphql.Directives.SkipDirective;
+import static graphql.Directives.StreamDirective;
 
 @Internal
 public class ConditionalNodes {
@@ -19,15 +22,52 @@ public class ConditionalNodes {
     ValuesResolver valuesResolver = new ValuesResolver();
 
     public boolean shouldInclude(Map<String, Object> variables, List<Directive> directives) {
-        boolean skip = getDirectiveResult(variables, directives, SkipDirective.getName(), false);
-        boolean include = getDirectiveResult(variables, directives, IncludeDirective.getName(), true);
+        boolean skip = getDirectiveResult(variables, directives, SkipDirective, false);
+        boolean include = getDirectiveResult(variables, directives, IncludeDirective, true);
         return !skip && include;
     }
 
-    private boolean getDirectiveResult(Map<String, Object> variables, List<Directive> directives, String directiveName, boolean defaultValue) {
+    /**
+     * @param variables  the variables of the execution
+     * @param directives the directives of a fragment spread or inline fragment
+     *
+     * @return true if the fragment has a {@code @defer} directive whose {@code if} argument is true
+     */
+    public boolean shouldDefer(Map<String, Object> variables, List<Directive> directives) {
+        return getDirectiveResult(variables, directives, DeferDirective, false);
+    }
+
+    /**
+     * @param variables  the variables of the execution
+     * @param directives the directives of a deferred fragment spread or inline fragment
+     *
+     * @return the label of its {@code @defer} directive, which can be null
+     */
+    public String getDeferLabel(Map<String, Object> variables, List<Directive> directives) {
+        Directive deferDirective = NodeUtil.findNodeByName(directives, DeferDirective.getName());
+        return (String) valuesResolver.getArgumentValues(DeferDirective.getArguments(), deferDirective.getArguments(), variables).get("label");
+    }
+
+    /**
+     * @param variables  the variables of the execution
+     * @param directives the directives of a field
+     *
+     * @return the arguments of its {@code @stream} directive or null if the field does not have one whose {@code if}
+     * argument is true
+     */
+    public Map<String, Object> getStreamArguments(Map<String, Object> variables, List<Directive> directives) {
+        if (!getDirectiveResult(variables, directives, StreamDirective, false)) {
+            return null;
+        }
+        Directive streamDirective = NodeUtil.findNodeByName(directives, StreamDirective.getName());
+        return valuesResolver.getArgumentValues(StreamDirective.getArguments(), streamDirective.getArguments(), variables);
+    }
+
+    private boolean getDirectiveResult(Map<String, Object> variables, List<Directive> directives, GraphQLDirective directive, boolean defaultValue) {
+        String directiveName = directive.getName();
         Directive foundDirective = NodeUtil.findNodeByName(directives, directiveName);
         if (foundDirective != null) {
-            Map<String, Object> argumentValues = valuesResolver.getArgumentValues(SkipDirective.getArguments(), foundDirective.getArguments(), variables);
+            Map<String, Object> argumentValues = valuesResolver.getArgumentValues(directive.getArguments(), foundDirective.getArguments(), variables);
             Object flag = argumentValues.get("if");
             Assert.assertTrue(flag instanceof Boolean, () -> String.format("The '%s' directive MUST have a value for the 'if' argument", directiveName));
             return (Boolean) flag;
@@ -0,0 +1,72 @@
+package graphql.execution;
+
+import graphql.Internal;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLObjectType;
+import graphql.schema.GraphQLOutputType;
+import graphql.schema.GraphQLTypeUtil;
+
+import java.util.function.Supplier;
+
+/**
+ * The {@link ExecutionStepInfo} of a field that is only built when something asks for it, for example a data fetcher
+ * calling {@link graphql.schema.DataFetchingEnvironment#getExecutionStepInfo()} or a non null field that completed
+ * as null.  Until then it is a pointer to the parameters of the field and its definition, which is enough to
+ * complete most fields.
+ */
+@Internal
+final class DeferredExecutionStepInfo implements Supplier<ExecutionStepInfo> {
+
+    private final ExecutionStrategy executionStrategy;
+    private final ExecutionContext executionContext;
+    private final ExecutionStrategyParameters parameters;
+    private final GraphQLFieldDefinition fieldDefinition;
+    private final GraphQLObjectType fieldContainer;
+    private volatile ExecutionStepInfo executionStepInfo;
+
+    DeferredExecutionStepInfo(ExecutionStrategy executionStrategy,
+                              ExecutionContext executionContext,
+                              ExecutionStrategyParameters parameters,
+                              GraphQLFieldDefinition fieldDefinition,
+                              GraphQLObjectType fieldContainer) {
+        this.executionStrategy = executionStrategy;
+        this.executionContext = executionContext;
+        this.parameters = parameters;
+        this.fieldDefinition = fieldDefinition;
+        this.fieldContainer = fieldContainer;
+    }
+
+    boolean isFor(ExecutionContext executionContext, GraphQLFieldDefinition fieldDefinition) {
+        return this.executionContext == executionContext && this.fieldDefinition == fieldDefinition;
+    }
+
+    /**
+     * @return the type of the field, the same as {@link ExecutionStepInfo#getType()} without building the step info
+     */
+    GraphQLOutputType getType() {
+        return fieldDefinition.getType();
+    }
+
+    GraphQLOutputType getUnwrappedNonNullType() {
+        return (GraphQLOutputType) GraphQLTypeUtil.unwrapNonNull(getType());
+    }
+
+    boolean isNonNullType() {
+        return GraphQLTypeUtil.isNonNull(getType());
+    }
+
+    @Override
+    public ExecutionStepInfo get() {
+        ExecutionStepInfo stepInfo = executionStepInfo;
+        if (stepInfo == null) {
+            synchronized (this) {
+                stepInfo = executionStepInfo;
+                if (stepInfo == null) {
+                    stepInfo = executionStrategy.createExecutionStepInfo(executionContext, parameters, fieldDefinition, fieldContainer);
+                    executionStepInfo = stepInfo;
+                }
+            }
+        }
+        return stepInfo;
+    }
+}
@@ -6,6 +6,8 @@ import graphql.ExecutionResult;
 import graphql.ExecutionResultImpl;
 import graphql.GraphQLError;
 import graphql.Internal;
+import graphql.execution.defer.DeferSupport;
+import graphql.execution.defer.DeferredExecutionResult;
 import graphql.execution.instrumentation.Instrumentation;
 import graphql.execution.instrumentation.InstrumentationContext;
 import graphql.execution.instrumentation.InstrumentationState;
@@ -22,6 +24,7 @@ import graphql.util.LogKit;
 import org.slf4j.Logger;
 
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
@@ -56,6 +59,15 @@ public class Execution {
     }
 
     public CompletableFuture<ExecutionResult> execute(Document document, GraphQLSchema graphQLSchema, ExecutionId executionId, ExecutionInput executionInput, InstrumentationState instrumentationState) {
+        return execute(document, null, graphQLSchema, executionId, executionInput, instrumentationState);
+    }
+
+    public CompletableFuture<ExecutionResult> execute(Document document, ExecutionPlan executionPlan, GraphQLSchema graphQLSchema, ExecutionId executionId, ExecutionInput executionInput, InstrumentationState instrumentationState) {
+        return execute(document, executionPlan, graphQLSchema, executionId, executionInput, instrumentationState, null);
+    }
+
+    public CompletableFuture<ExecutionResult> execute(Document document, ExecutionPlan executionPlan, GraphQLSchema graphQLSchema, ExecutionId executionId, ExecutionInput executionInput, InstrumentationState instrumentationState,
+                                                      ResultStreamer resultStreamer) {
 
         NodeUtil.GetOperationResult getOperationResult = NodeUtil.getOperation(document, executionInput.getOperationName());
         Map<String, FragmentDefinition> fragmentsByName = getOperationResult.fragmentsByName;
@@ -74,6 +86,9 @@ public class Execution {
             throw rte;
         }
 
+        ExecutionPlan plan = executionPlan != null && executionPlan.isFor(document) ? executionPlan : new ExecutionPlan(document);
+        DeferSupport deferSupport = (plan.hasDeferDirectives() || plan.hasStreamDirectives()) && isDeferSupported(operationDefinition, resultStreamer) ? new DeferSupport() : null;
+
         ExecutionContext executionContext = newExecutionContextBuilder()
                 .instrumentation(instrumentation)
                 .instrumentationState(instrumentationState)
@@ -94,6 +109,9 @@ public class Execution {
                 .locale(executionInput.getLocale())
                 .valueUnboxer(valueUnboxer)
                 .executionInput(executionInput)
+                .executionPlan(plan)
+                .resultStreamer(resultStreamer)
+                .deferSupport(deferSupport)
                 .build();
 
 
@@ -105,6 +123,14 @@ public class Execution {
     }
 
 
+    //
+    // fragments are only deferred by the AsyncExecutionStrategy, which executes the objects of every operation, and
+    // nothing is deferred or streamed when the results are streamed to a sink or are a stream of subscription events
+    //
+    private boolean isDeferSupported(OperationDefinition operationDefinition, ResultStreamer resultStreamer) {
+        return operationDefinition.getOperation() != SUBSCRIPTION && resultStreamer == null && queryStrategy instanceof AsyncExecutionStrategy;
+    }
+
     private CompletableFuture<ExecutionResult> executeOperation(ExecutionContext executionContext, Object root, OperationDefinition operationDefinition) {
 
         InstrumentationExecuteOperationParameters instrumentationParams = new InstrumentationExecuteOperationParameters(executionContext);
@@ -127,14 +153,24 @@ public class Execution {
             throw rte;
         }
 
+        ExecutionStrategy executionStrategy;
+        if (operation == OperationDefinition.Operation.MUTATION) {
+            executionStrategy = executionContext.getMutationStrategy();
+        } else if (operation == SUBSCRIPTION) {
+            executionStrategy = executionContext.getSubscriptionStrategy();
+        } else {
+            executionStrategy = executionContext.getQueryStrategy();
+        }
+
         FieldCollectorParameters collectorParameters = FieldCollectorParameters.newParameters()
                 .schema(executionContext.getGraphQLSchema())
                 .objectType(operationRootType)
                 .fragments(executionContext.getFragmentsByName())
                 .variables(executionContext.getVariables())
+                .deferSupported(executionContext.getDeferSupport() != null && executionStrategy instanceof AsyncExecutionStrategy)
                 .build();
 
-        MergedSelectionSet fields = fieldCollector.collectFields(collectorParameters, operationDefinition.getSelectionSet());
+        MergedSelectionSet fields = executionContext.getExecutionPlan().collectFields(fieldCollector, collectorParameters, operationDefinition.getSelectionSet());
 
         ResultPath path = ResultPath.rootPath();
         ExecutionStepInfo executionStepInfo = newExecutionStepInfo().type(operationRootType).path(path).build();
@@ -151,14 +187,6 @@ public class Execution {
 
         CompletableFuture<ExecutionResult> result;
         try {
-            ExecutionStrategy executionStrategy;
-            if (operation == OperationDefinition.Operation.MUTATION) {
-                executionStrategy = executionContext.getMutationStrategy();
-            } else if (operation == SUBSCRIPTION) {
-                executionStrategy = executionContext.getSubscriptionStrategy();
-            } else {
-                executionStrategy = executionContext.getQueryStrategy();
-            }
             if (logNotSafe.isDebugEnabled()) {
                 logNotSafe.debug("Executing '{}' query operation: '{}' using '{}' execution strategy", executionContext.getExecutionId(), operation, executionStrategy.getClass().getName());
             }
@@ -179,10 +207,24 @@ public class Execution {
 
         result = result.whenComplete(executeOperationCtx::onCompleted);
 
+        DeferSupport deferSupport = executionContext.getDeferSupport();
+        if (deferSupport != null) {
+            result = result.whenComplete((executionResult, exception) -> deferSupport.initialResultCompleted())
+                    .thenApply(executionResult -> deferSupport.isDeferred() ? addDeferredResults(executionResult, deferSupport) : executionResult);
+        }
         return result;
     }
 
 
+    private ExecutionResult addDeferredResults(ExecutionResult executionResult, DeferSupport deferSupport) {
+        Map<Object, Object> extensions = new LinkedHashMap<>();
+        if (executionResult.getExtensions() != null) {
+            extensions.putAll(executionResult.getExtensions());
+        }
+        extensions.put(DeferredExecutionResult.DEFERRED_RESULTS, deferSupport.getPublisher());
+        return ExecutionResultImpl.newExecutionResult().from(executionResult).extensions(extensions).build();
+    }
+
     private GraphQLObjectType getOperationRootType(GraphQLSchema graphQLSchema, OperationDefinition operationDefinition) {
         OperationDefinition.Operation operation = operationDefinition.getOperation();
         if (operation == MUTATION) {
@@ -0,0 +1,169 @@
+package graphql.execution;
+
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.PublicApi;
+import graphql.language.Document;
+import graphql.language.OperationDefinition;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static graphql.Assert.assertNotNull;
+
+/**
+ * An execution coalescer lets identical queries that are executed at the same time share one execution: a query that is
+ * executed while an identical one is still in flight is given the result of that one rather than being executed again.
+ * Queries are identical when they have the same query text, operation name and variables and the same context key.
+ * <p>
+ * The context key is derived from the {@link ExecutionInput} by a function that must be given to the builder and stands for
+ * whatever else the result depends on, such as the user or the locale.  Queries that must be executed each time for any
+ * other reason are opted out by the function returning null.  There is no default as only the application knows what its
+ * results depend on, and sharing results between users that should not see each other's data is a lot worse than not
+ * sharing them.  Mutations and subscriptions, queries with
+ * {@code @defer} or {@code @stream} and queries whose result is written to an {@link graphql.ExecutionResultSink} are never shared.
+ * <p>
+ * Each query is still parsed, validated and instrumented on its own, and only the execution of the operation is shared.
+ * The first query's context, root and data loaders are the ones used by the shared execution.
+ *
+ * @see graphql.GraphQL.Builder#executionCoalescer(ExecutionCoalescer)
+ */
+@PublicApi
+public class ExecutionCoalescer {
+
+    private final Function<ExecutionInput, Object> contextKey;
+    private final ConcurrentMap<Key, CompletableFuture<ExecutionResult>> inFlight = new ConcurrentHashMap<>();
+
+    private ExecutionCoalescer(Builder builder) {
+        this.contextKey = builder.contextKey;
+    }
+
+    /**
+     * Executes the operation unless an identical one is in flight, in which case its result is given instead
+     *
+     * @param executionInput the input of the execution
+     * @param document       the parsed and validated document of the input
+     * @param execution      executes the operation
+     *
+     * @return a promise to the result
+     */
+    public CompletableFuture<ExecutionResult> execute(ExecutionInput executionInput, Document document, Supplier<CompletableFuture<ExecutionResult>> execution) {
+        Key key = isQuery(document, executionInput.getOperationName()) ? key(executionInput) : null;
+        if (key == null) {
+            return execution.get();
+        }
+        CompletableFuture<ExecutionResult> result = new CompletableFuture<>();
+        CompletableFuture<ExecutionResult> existing = inFlight.putIfAbsent(key, result);
+        if (existing != null) {
+            // a stage of its own so that nothing done to it affects the other callers
+            return existing.thenApply(Function.identity());
+        }
+        CompletableFuture<ExecutionResult> executed;
+        try {
+            executed = execution.get();
+        } catch (RuntimeException e) {
+            executed = Async.exceptionallyCompletedFuture(e);
+        }
+        executed.whenComplete((executionResult, exception) -> {
+            inFlight.remove(key, result);
+            if (exception != null) {
+                result.completeExceptionally(exception);
+            } else {
+                result.complete(executionResult);
+            }
+        });
+        return executed;
+    }
+
+    private Key key(ExecutionInput executionInput) {
+        Object context = contextKey.apply(executionInput);
+        if (context == null) {
+            return null;
+        }
+        return new Key(executionInput.getQuery(), executionInput.getOperationName(), executionInput.getVariables(), context);
+    }
+
+    //
+    // an operation that can't be found is not shared and left to fail in the execution
+    //
+    private static boolean isQuery(Document document, String operationName) {
+        OperationDefinition found = null;
+        for (OperationDefinition operationDefinition : document.getDefinitionsOfType(OperationDefinition.class)) {
+            if (operationName == null || operationName.isEmpty() || operationName.equals(operationDefinition.getName())) {
+                if (found != null) {
+                    return false;
+                }
+                found = operationDefinition;
+            }
+        }
+        return found != null && found.getOperation() == OperationDefinition.Operation.QUERY;
+    }
+
+    /**
+     * @return a builder of execution coalescers
+     */
+    public static Builder newExecutionCoalescer() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private Function<ExecutionInput, Object> contextKey;
+
+        /**
+         * Sets the function that gives the context key of an execution, which is part of what makes executions identical,
+         * or null if the execution must not be shared.  It is required.
+         *
+         * @param contextKey the function giving the context key of an execution
+         *
+         * @return this builder
+         */
+        public Builder contextKey(Function<ExecutionInput, Object> contextKey) {
+            this.contextKey = assertNotNull(contextKey, () -> "contextKey can't be null");
+            return this;
+        }
+
+        public ExecutionCoalescer build() {
+            assertNotNull(contextKey, () -> "contextKey must be set to say what else the results of executions depend on");
+            return new ExecutionCoalescer(this);
+        }
+    }
+
+    private static class Key {
+        private final String query;
+        private final String operationName;
+        private final Map<String, Object> variables;
+        private final Object contextKey;
+        private final int hashCode;
+
+        Key(String query, String operationName, Map<String, Object> variables, Object contextKey) {
+            this.query = query;
+            this.operationName = operationName;
+            this.variables = variables;
+            this.contextKey = contextKey;
+            this.hashCode = Objects.hash(query, operationName, variables, contextKey);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key that = (Key) o;
+            return hashCode == that.hashCode && query.equals(that.query) && Objects.equals(operationName, that.operationName)
+                    && variables.equals(that.variables) && contextKey.equals(that.contextKey);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
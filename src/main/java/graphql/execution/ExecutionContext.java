@@ -5,16 +5,20 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import graphql.ExecutionInput;
 import graphql.GraphQLError;
+import graphql.Internal;
 import graphql.PublicApi;
 import graphql.cachecontrol.CacheControl;
 import graphql.collect.ImmutableMapWithNullValues;
+import graphql.execution.defer.DeferSupport;
 import graphql.execution.instrumentation.Instrumentation;
 import graphql.execution.instrumentation.InstrumentationState;
 import graphql.language.Document;
+import graphql.language.Field;
 import graphql.language.FragmentDefinition;
 import graphql.language.OperationDefinition;
 import graphql.normalized.NormalizedQueryTree;
 import graphql.normalized.NormalizedQueryTreeFactory;
+import graphql.schema.GraphQLFieldDefinition;
 import graphql.schema.GraphQLSchema;
 import graphql.util.FpKit;
 import org.dataloader.DataLoaderRegistry;
@@ -26,6 +30,8 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
@@ -55,6 +61,11 @@ public class ExecutionContext {
     private final ValueUnboxer valueUnboxer;
     private final ExecutionInput executionInput;
     private final Supplier<NormalizedQueryTree> queryTree;
+    private final ExecutionPlan executionPlan;
+    private final ResultStreamer resultStreamer;
+    private final DeferSupport deferSupport;
+    // shared with the contexts made from this one with the same variables
+    final ConcurrentMap<ExecutionPlan.ArgumentsKey, Map<String, Object>> variableArgumentValues;
 
     ExecutionContext(ExecutionContextBuilder builder) {
         this.graphQLSchema = builder.graphQLSchema;
@@ -77,6 +88,10 @@ public class ExecutionContext {
         this.errors.addAll(builder.errors);
         this.localContext = builder.localContext;
         this.executionInput = builder.executionInput;
+        this.executionPlan = builder.executionPlan != null && builder.executionPlan.isFor(document) ? builder.executionPlan : new ExecutionPlan(document);
+        this.resultStreamer = builder.resultStreamer;
+        this.deferSupport = builder.deferSupport;
+        this.variableArgumentValues = builder.variableArgumentValues != null ? builder.variableArgumentValues : new ConcurrentHashMap<>();
         queryTree = FpKit.interThreadMemoize(() -> NormalizedQueryTreeFactory.createNormalizedQuery(graphQLSchema, operationDefinition, fragmentsByName, variables));
     }
 
@@ -89,6 +104,53 @@ public class ExecutionContext {
         return executionInput;
     }
 
+    @Internal
+    public ExecutionPlan getExecutionPlan() {
+        return executionPlan;
+    }
+
+    /**
+     * @return the streamer that root fields are written to as they complete or null if the result is not being streamed
+     */
+    @Internal
+    public ResultStreamer getResultStreamer() {
+        return resultStreamer;
+    }
+
+    /**
+     * @return the support for the fragments deferred by this execution or null if fragments are not deferred
+     */
+    @Internal
+    public DeferSupport getDeferSupport() {
+        return deferSupport;
+    }
+
+    /**
+     * Gives the argument values of a field, which are resolved once for every execution of the document when they are all
+     * literals and otherwise once for this execution.  As they are shared the nested maps and lists of input object and list
+     * arguments are immutable too.
+     *
+     * @param fieldDefinition the definition of the field
+     * @param field           the field
+     * @param resolver        resolves the argument values of the field
+     *
+     * @return the argument values
+     */
+    @Internal
+    public Map<String, Object> getArgumentValues(GraphQLFieldDefinition fieldDefinition, Field field, Supplier<Map<String, Object>> resolver) {
+        Map<String, Object> argumentValues = executionPlan.getLiteralArgumentValues(fieldDefinition, field, resolver);
+        if (argumentValues != null) {
+            return argumentValues;
+        }
+        ExecutionPlan.ArgumentsKey key = new ExecutionPlan.ArgumentsKey(field, fieldDefinition);
+        argumentValues = variableArgumentValues.get(key);
+        if (argumentValues == null) {
+            argumentValues = ImmutableMapWithNullValues.deepCopyOf(resolver.get());
+            variableArgumentValues.putIfAbsent(key, argumentValues);
+        }
+        return argumentValues;
+    }
+
     public InstrumentationState getInstrumentationState() {
         return instrumentationState;
     }
@@ -9,6 +9,7 @@ import graphql.PublicApi;
 import graphql.cachecontrol.CacheControl;
 import graphql.collect.ImmutableKit;
 import graphql.collect.ImmutableMapWithNullValues;
+import graphql.execution.defer.DeferSupport;
 import graphql.execution.instrumentation.Instrumentation;
 import graphql.execution.instrumentation.InstrumentationState;
 import graphql.language.Document;
@@ -19,6 +20,7 @@ import org.dataloader.DataLoaderRegistry;
 
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
 
 import static graphql.Assert.assertNotNull;
 import static graphql.collect.ImmutableKit.emptyList;
@@ -46,6 +48,10 @@ public class ExecutionContextBuilder {
     ValueUnboxer valueUnboxer;
     Object localContext;
     ExecutionInput executionInput;
+    ExecutionPlan executionPlan;
+    ResultStreamer resultStreamer;
+    DeferSupport deferSupport;
+    ConcurrentMap<ExecutionPlan.ArgumentsKey, Map<String, Object>> variableArgumentValues;
 
     /**
      * @return a new builder of {@link graphql.execution.ExecutionContext}s
@@ -91,6 +97,10 @@ public class ExecutionContextBuilder {
         errors = ImmutableList.copyOf(other.getErrors());
         valueUnboxer = other.getValueUnboxer();
         executionInput = other.getExecutionInput();
+        executionPlan = other.getExecutionPlan();
+        resultStreamer = other.getResultStreamer();
+        deferSupport = other.getDeferSupport();
+        variableArgumentValues = other.variableArgumentValues;
     }
 
     public ExecutionContextBuilder instrumentation(Instrumentation instrumentation) {
@@ -145,6 +155,8 @@ public class ExecutionContextBuilder {
 
     public ExecutionContextBuilder variables(Map<String, Object> variables) {
         this.variables = ImmutableMapWithNullValues.copyOf(variables);
+        // the arguments resolved with other variables can't be reused
+        this.variableArgumentValues = null;
         return this;
     }
 
@@ -188,6 +200,47 @@ public class ExecutionContextBuilder {
         return this;
     }
 
+    /**
+     * Sets a plan that can be shared with other executions of the same document.  If none is given, or it was made for
+     * another document, then the execution context makes its own.
+     *
+     * @param executionPlan the plan to use
+     *
+     * @return this builder
+     */
+    @Internal
+    public ExecutionContextBuilder executionPlan(ExecutionPlan executionPlan) {
+        this.executionPlan = executionPlan;
+        return this;
+    }
+
+    /**
+     * Sets the streamer that the root fields of the result are written to as they complete
+     *
+     * @param resultStreamer the streamer to use
+     *
+     * @return this builder
+     */
+    @Internal
+    public ExecutionContextBuilder resultStreamer(ResultStreamer resultStreamer) {
+        this.resultStreamer = resultStreamer;
+        return this;
+    }
+
+    /**
+     * Sets the support for deferring fragments marked with {@code @defer}, which is null when they are executed along
+     * with the other fields
+     *
+     * @param deferSupport the defer support to use
+     *
+     * @return this builder
+     */
+    @Internal
+    public ExecutionContextBuilder deferSupport(DeferSupport deferSupport) {
+        this.deferSupport = deferSupport;
+        return this;
+    }
+
     public ExecutionContextBuilder resetErrors() {
         this.errors = emptyList();
         return this;
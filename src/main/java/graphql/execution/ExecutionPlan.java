@@ -0,0 +1,261 @@
+package graphql.execution;
+
+import graphql.Internal;
+import graphql.collect.ImmutableMapWithNullValues;
+import graphql.language.Argument;
+import graphql.language.ArrayValue;
+import graphql.language.Directive;
+import graphql.language.Document;
+import graphql.language.Field;
+import graphql.language.Node;
+import graphql.language.NodeTraverser;
+import graphql.language.NodeVisitorStub;
+import graphql.language.ObjectField;
+import graphql.language.ObjectValue;
+import graphql.language.SelectionSet;
+import graphql.language.Value;
+import graphql.language.VariableReference;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLObjectType;
+import graphql.util.TraversalControl;
+import graphql.util.TraverserContext;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+import static graphql.Directives.DeferDirective;
+import static graphql.Directives.IncludeDirective;
+import static graphql.Directives.SkipDirective;
+import static graphql.Directives.StreamDirective;
+
+/**
+ * An execution plan remembers the {@link MergedSelectionSet}s that the {@link FieldCollector} has built for a document,
+ * keyed by the fields being collected on and the concrete object type they are collected for.  The same plan can be shared
+ * by every execution of a document so that fragments are only expanded and their type conditions only checked once.
+ * <p>
+ * If any {@code @skip}, {@code @include} or {@code @defer} directive in the document depends on a variable then the collected fields can
+ * differ from execution to execution and nothing is remembered.
+ * <p>
+ * The plan also remembers the coerced argument values of the fields whose arguments are all literals, keyed by the field
+ * and its field definition, since those are the same for every list element and every execution.
+ */
+@Internal
+public class ExecutionPlan {
+
+    private final Document document;
+    private final boolean cacheable;
+    private final boolean deferDirectives;
+    private final boolean streamDirectives;
+    private final ConcurrentMap<Key, MergedSelectionSet> mergedSelectionSets = new ConcurrentHashMap<>();
+    private final ConcurrentMap<ArgumentsKey, Object> literalArgumentValues = new ConcurrentHashMap<>();
+
+    // marks the fields whose arguments depend on variables
+    private static final Object VARIABLE_ARGUMENTS = new Object();
+
+    public ExecutionPlan(Document document) {
+        this.document = document;
+        boolean[] directives = document != null ? scanDirectives(document) : new boolean[]{true, false, false};
+        this.cacheable = !directives[0];
+        this.deferDirectives = directives[1];
+        this.streamDirectives = directives[2];
+    }
+
+    /**
+     * @param document the document to check
+     *
+     * @return true if this plan was made for that exact document
+     */
+    public boolean isFor(Document document) {
+        return this.document == document;
+    }
+
+    /**
+     * @return true if the document has any {@code @defer} directives
+     */
+    public boolean hasDeferDirectives() {
+        return deferDirectives;
+    }
+
+    /**
+     * @return true if the document has any {@code @stream} directives
+     */
+    public boolean hasStreamDirectives() {
+        return streamDirectives;
+    }
+
+    public MergedSelectionSet collectFields(FieldCollector fieldCollector, FieldCollectorParameters parameters, MergedField mergedField) {
+        if (!cacheable) {
+            return fieldCollector.collectFields(parameters, mergedField);
+        }
+        Object fields = mergedField.getFields().size() == 1 ? mergedField.getSingleField() : mergedField.getFields();
+        Key key = new Key(fields, parameters);
+        MergedSelectionSet mergedSelectionSet = mergedSelectionSets.get(key);
+        if (mergedSelectionSet == null) {
+            // collecting is idempotent so racing threads can safely both do it
+            mergedSelectionSet = fieldCollector.collectFields(parameters, mergedField);
+            mergedSelectionSets.putIfAbsent(key, mergedSelectionSet);
+        }
+        return mergedSelectionSet;
+    }
+
+    public MergedSelectionSet collectFields(FieldCollector fieldCollector, FieldCollectorParameters parameters, SelectionSet selectionSet) {
+        if (!cacheable) {
+            return fieldCollector.collectFields(parameters, selectionSet);
+        }
+        Key key = new Key(selectionSet, parameters);
+        MergedSelectionSet mergedSelectionSet = mergedSelectionSets.get(key);
+        if (mergedSelectionSet == null) {
+            mergedSelectionSet = fieldCollector.collectFields(parameters, selectionSet);
+            mergedSelectionSets.putIfAbsent(key, mergedSelectionSet);
+        }
+        return mergedSelectionSet;
+    }
+
+    /**
+     * Gives the argument values of a field when they are all literals, resolving them the first time they are asked for.
+     * They are shared by every execution of the document so they are immutable all the way down.
+     *
+     * @param fieldDefinition the definition of the field
+     * @param field           the field
+     * @param resolver        resolves the argument values of the field
+     *
+     * @return the argument values or null if they depend on variables and so have to be resolved per execution
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> getLiteralArgumentValues(GraphQLFieldDefinition fieldDefinition, Field field, Supplier<Map<String, Object>> resolver) {
+        ArgumentsKey key = new ArgumentsKey(field, fieldDefinition);
+        Object argumentValues = literalArgumentValues.get(key);
+        if (argumentValues == null) {
+            // resolving is idempotent so racing threads can safely both do it
+            argumentValues = hasVariableReferences(field.getArguments()) ? VARIABLE_ARGUMENTS : ImmutableMapWithNullValues.deepCopyOf(resolver.get());
+            literalArgumentValues.putIfAbsent(key, argumentValues);
+        }
+        return argumentValues == VARIABLE_ARGUMENTS ? null : (Map<String, Object>) argumentValues;
+    }
+
+    private static boolean hasVariableReferences(List<Argument> arguments) {
+        for (Argument argument : arguments) {
+            if (hasVariableReferences(argument.getValue())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasVariableReferences(Value<?> value) {
+        if (value instanceof VariableReference) {
+            return true;
+        }
+        if (value instanceof ArrayValue) {
+            for (Value<?> element : ((ArrayValue) value).getValues()) {
+                if (hasVariableReferences(element)) {
+                    return true;
+                }
+            }
+        } else if (value instanceof ObjectValue) {
+            for (ObjectField objectField : ((ObjectValue) value).getObjectFields()) {
+                if (hasVariableReferences(objectField.getValue())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    //
+    // returns whether the document has variable conditions, whether it has @defer directives and whether it has @stream directives
+    //
+    private static boolean[] scanDirectives(Document document) {
+        boolean[] found = {false, false, false};
+        new NodeTraverser().depthFirst(new NodeVisitorStub() {
+            // raw as that is how the visitor declares it
+            @Override
+            @SuppressWarnings("rawtypes")
+            public TraversalControl visitDirective(Directive node, TraverserContext<Node> context) {
+                if (node.getName().equals(DeferDirective.getName())) {
+                    found[1] = true;
+                }
+                if (node.getName().equals(StreamDirective.getName())) {
+                    found[2] = true;
+                }
+                if (node.getName().equals(SkipDirective.getName()) || node.getName().equals(IncludeDirective.getName())
+                        || node.getName().equals(DeferDirective.getName())) {
+                    for (Argument argument : node.getArguments()) {
+                        if (argument.getValue() instanceof VariableReference) {
+                            found[0] = true;
+                        }
+                    }
+                }
+                return found[0] && found[1] && found[2] ? TraversalControl.QUIT : TraversalControl.CONTINUE;
+            }
+        }, document);
+        return found;
+    }
+
+    /**
+     * AST nodes do not override equals and hashCode so the fields (a node or a list of nodes) are compared by identity
+     */
+    private static class Key {
+        private final Object fields;
+        private final GraphQLObjectType objectType;
+        private final boolean deferSupported;
+        private final int hashCode;
+
+        Key(Object fields, FieldCollectorParameters parameters) {
+            this.fields = fields;
+            this.objectType = parameters.getObjectType();
+            this.deferSupported = parameters.isDeferSupported();
+            this.hashCode = fields.hashCode() * 31 + System.identityHashCode(objectType);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key that = (Key) o;
+            return objectType == that.objectType && deferSupported == that.deferSupported && hashCode == that.hashCode && fields.equals(that.fields);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    /**
+     * The field and its definition, both compared by identity
+     */
+    static class ArgumentsKey {
+        private final Field field;
+        private final GraphQLFieldDefinition fieldDefinition;
+
+        ArgumentsKey(Field field, GraphQLFieldDefinition fieldDefinition) {
+            this.field = field;
+            this.fieldDefinition = fieldDefinition;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ArgumentsKey)) {
+                return false;
+            }
+            ArgumentsKey that = (ArgumentsKey) o;
+            return field == that.field && fieldDefinition == that.fieldDefinition;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(field) * 31 + System.identityHashCode(fieldDefinition);
+        }
+    }
+}
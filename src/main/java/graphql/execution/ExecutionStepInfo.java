@@ -1,5 +1,6 @@
 package graphql.execution;
 
+import graphql.Internal;
 import graphql.PublicApi;
 import graphql.collect.ImmutableMapWithNullValues;
 import graphql.schema.GraphQLFieldDefinition;
@@ -8,9 +9,11 @@ import graphql.schema.GraphQLNonNull;
 import graphql.schema.GraphQLObjectType;
 import graphql.schema.GraphQLOutputType;
 import graphql.schema.GraphQLTypeUtil;
+import graphql.util.FpKit;
 
 import java.util.Map;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import static graphql.Assert.assertNotNull;
 import static graphql.Assert.assertTrue;
@@ -60,18 +63,20 @@ public class ExecutionStepInfo {
      * field, fieldDefinition, fieldContainer and arguments differ per field StepInfo.
      * <p>
      * But for list StepInfos these properties are the same as the field returning the list.
+     * <p>
+     * The arguments are only resolved when asked for, which most fields never are, and list StepInfos share them with their field.
      */
     private final MergedField field;
     private final GraphQLFieldDefinition fieldDefinition;
     private final GraphQLObjectType fieldContainer;
-    private final ImmutableMapWithNullValues<String, Object> arguments;
+    private final Supplier<ImmutableMapWithNullValues<String, Object>> arguments;
 
     private ExecutionStepInfo(GraphQLOutputType type,
                               GraphQLFieldDefinition fieldDefinition,
                               MergedField field,
                               ResultPath path,
                               ExecutionStepInfo parent,
-                              ImmutableMapWithNullValues<String, Object> arguments,
+                              Supplier<ImmutableMapWithNullValues<String, Object>> arguments,
                               GraphQLObjectType fieldsContainer) {
         this.fieldDefinition = fieldDefinition;
         this.field = field;
@@ -161,10 +166,14 @@ public class ExecutionStepInfo {
     }
 
     /**
+     * The arguments are resolved the first time they are asked for, so an exception coercing them, such as a
+     * {@link graphql.schema.CoercingParseLiteralException}, is thrown from here.  During execution that is usually from
+     * within the data fetcher of the field, where it is handled like any other exception of the data fetcher.
+     *
      * @return the resolved arguments that have been passed to this field
      */
     public Map<String, Object> getArguments() {
-        return arguments;
+        return arguments.get();
     }
 
     /**
@@ -176,7 +185,7 @@ public class ExecutionStepInfo {
      */
     @SuppressWarnings("unchecked")
     public <T> T getArgument(String name) {
-        return (T) arguments.get(name);
+        return (T) arguments.get().get(name);
     }
 
     /**
@@ -212,6 +221,19 @@ public class ExecutionStepInfo {
     }
 
 
+    /**
+     * Creates the info of an element of the list this info is for without going through a builder, since this happens
+     * for every element of every list
+     *
+     * @param typeInList  the type of the element
+     * @param indexedPath the path to the element
+     *
+     * @return a new type info for the list element
+     */
+    ExecutionStepInfo listElement(GraphQLOutputType typeInList, ResultPath indexedPath) {
+        return new ExecutionStepInfo(typeInList, fieldDefinition, field, indexedPath, this, arguments, fieldContainer);
+    }
+
     /**
      * @return the type in graphql SDL format, eg [typeName!]!
      */
@@ -256,13 +278,13 @@ public class ExecutionStepInfo {
         GraphQLObjectType fieldContainer;
         MergedField field;
         ResultPath path;
-        ImmutableMapWithNullValues<String, Object> arguments;
+        Supplier<ImmutableMapWithNullValues<String, Object>> arguments;
 
         /**
          * @see ExecutionStepInfo#newExecutionStepInfo()
          */
         private Builder() {
-            arguments = ImmutableMapWithNullValues.emptyMap();
+            arguments = ImmutableMapWithNullValues::emptyMap;
         }
 
         private Builder(ExecutionStepInfo existing) {
@@ -272,7 +294,7 @@ public class ExecutionStepInfo {
             this.fieldContainer = existing.fieldContainer;
             this.field = existing.field;
             this.path = existing.path;
-            this.arguments = ImmutableMapWithNullValues.copyOf(existing.getArguments());
+            this.arguments = existing.arguments;
         }
 
         public Builder type(GraphQLOutputType type) {
@@ -301,7 +323,24 @@ public class ExecutionStepInfo {
         }
 
         public Builder arguments(Map<String, Object> arguments) {
-            this.arguments = arguments == null ? ImmutableMapWithNullValues.emptyMap() : ImmutableMapWithNullValues.copyOf(arguments);
+            ImmutableMapWithNullValues<String, Object> argumentValues = arguments == null ? ImmutableMapWithNullValues.emptyMap() : ImmutableMapWithNullValues.copyOf(arguments);
+            this.arguments = () -> argumentValues;
+            return this;
+        }
+
+        /**
+         * The arguments are resolved by the supplier the first time they are asked for
+         *
+         * @param arguments the supplier of the resolved arguments
+         *
+         * @return this builder
+         */
+        @Internal
+        public Builder argumentsSupplier(Supplier<Map<String, Object>> arguments) {
+            this.arguments = FpKit.interThreadMemoize(() -> {
+                Map<String, Object> argumentValues = arguments.get();
+                return argumentValues == null ? ImmutableMapWithNullValues.emptyMap() : ImmutableMapWithNullValues.copyOf(argumentValues);
+            });
             return this;
         }
 
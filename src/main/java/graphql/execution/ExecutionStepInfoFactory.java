@@ -11,6 +11,7 @@ import graphql.schema.GraphQLOutputType;
 
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 @Internal
 public class ExecutionStepInfoFactory {
@@ -25,7 +26,7 @@ public class ExecutionStepInfoFactory {
         GraphQLOutputType fieldType = fieldDefinition.getType();
         List<Argument> fieldArgs = mergedField.getArguments();
         GraphQLCodeRegistry codeRegistry = executionContext.getGraphQLSchema().getCodeRegistry();
-        Map<String, Object> argumentValues = valuesResolver.getArgumentValues(codeRegistry, fieldDefinition.getArguments(), fieldArgs, executionContext.getVariables());
+        Supplier<Map<String, Object>> argumentValues = () -> valuesResolver.getArgumentValues(codeRegistry, fieldDefinition.getArguments(), fieldArgs, executionContext.getVariables());
 
         ResultPath newPath = parentInfo.getPath().segment(mergedField.getResultKey());
 
@@ -36,17 +37,23 @@ public class ExecutionStepInfoFactory {
                 .fieldContainer(parentType)
                 .field(mergedField)
                 .path(newPath)
-                .arguments(argumentValues));
+                .argumentsSupplier(argumentValues));
     }
 
     public ExecutionStepInfo newExecutionStepInfoForListElement(ExecutionStepInfo executionInfo, int index) {
+        return newExecutionStepInfoForListElement(executionInfo, executionInfo.getPath().segment(index));
+    }
+
+    /**
+     * @param executionInfo the info of the list
+     * @param indexedPath   the path to the element, which the caller has typically already built
+     *
+     * @return the info of the list element at the path
+     */
+    public ExecutionStepInfo newExecutionStepInfoForListElement(ExecutionStepInfo executionInfo, ResultPath indexedPath) {
         GraphQLList fieldType = (GraphQLList) executionInfo.getUnwrappedNonNullType();
         GraphQLOutputType typeInList = (GraphQLOutputType) fieldType.getWrappedType();
-        ResultPath indexedPath = executionInfo.getPath().segment(index);
-        return executionInfo.transform(builder -> builder
-                .parentInfo(executionInfo)
-                .type(typeInList)
-                .path(indexedPath));
+        return executionInfo.listElement(typeInList, indexedPath);
     }
 
 }
@@ -2,6 +2,7 @@ package graphql.execution;
 
 import com.google.common.collect.ImmutableList;
 import graphql.ExecutionResult;
+import graphql.ExceptionWhileDataFetching;
 import graphql.ExecutionResultImpl;
 import graphql.GraphQLError;
 import graphql.Internal;
@@ -10,6 +11,10 @@ import graphql.SerializationError;
 import graphql.TrivialDataFetcher;
 import graphql.TypeMismatchError;
 import graphql.UnresolvedTypeError;
+import graphql.execution.defer.DeferSupport;
+import graphql.execution.defer.DeferredExecutionResult;
+import graphql.execution.defer.StreamedExecutionResultImpl;
+import graphql.execution.defer.StreamedList;
 import graphql.execution.directives.QueryDirectives;
 import graphql.execution.directives.QueryDirectivesImpl;
 import graphql.execution.instrumentation.Instrumentation;
@@ -31,6 +36,7 @@ import graphql.schema.GraphQLArgument;
 import graphql.schema.GraphQLCodeRegistry;
 import graphql.schema.GraphQLEnumType;
 import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLList;
 import graphql.schema.GraphQLObjectType;
 import graphql.schema.GraphQLOutputType;
 import graphql.schema.GraphQLScalarType;
@@ -38,18 +44,25 @@ import graphql.schema.GraphQLSchema;
 import graphql.schema.GraphQLType;
 import graphql.util.FpKit;
 import graphql.util.LogKit;
+import org.reactivestreams.Publisher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.OptionalInt;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.Set;
+import java.util.function.BiConsumer;
 import java.util.function.Supplier;
 
+import static graphql.collect.ImmutableKit.map;
 import static graphql.execution.Async.exceptionallyCompletedFuture;
 import static graphql.execution.ExecutionStepInfo.newExecutionStepInfo;
 import static graphql.execution.FieldCollectorParameters.newParameters;
@@ -61,7 +74,9 @@ import static graphql.execution.FieldValueInfo.CompleteValueType.SCALAR;
 import static graphql.schema.DataFetchingEnvironmentImpl.newDataFetchingEnvironment;
 import static graphql.schema.GraphQLTypeUtil.isEnum;
 import static graphql.schema.GraphQLTypeUtil.isList;
+import static graphql.schema.GraphQLTypeUtil.isNonNull;
 import static graphql.schema.GraphQLTypeUtil.isScalar;
+import static graphql.schema.GraphQLTypeUtil.unwrapNonNull;
 import static java.util.concurrent.CompletableFuture.completedFuture;
 
 /**
@@ -124,10 +139,28 @@ public abstract class ExecutionStrategy {
     private static final Logger log = LoggerFactory.getLogger(ExecutionStrategy.class);
     private static final Logger logNotSafe = LogKit.getNotPrivacySafeLogger(ExecutionStrategy.class);
 
+    // lists of scalars and enums are completed in a single loop unless a strategy changes how their elements are completed
+    private static final Set<String> LEAF_COMPLETION_METHODS = new HashSet<>(Arrays.asList(
+            "completeValue", "completeValueForScalar", "completeValueForEnum", "unboxPossibleDataFetcherResult"));
+    private static final ClassValue<Boolean> COMPLETES_LEAF_LISTS_IN_ONE_LOOP = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> strategyClass) {
+            for (Class<?> aClass = strategyClass; aClass != ExecutionStrategy.class; aClass = aClass.getSuperclass()) {
+                for (Method method : aClass.getDeclaredMethods()) {
+                    if (LEAF_COMPLETION_METHODS.contains(method.getName())) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+    };
+
     protected final ValuesResolver valuesResolver = new ValuesResolver();
     protected final FieldCollector fieldCollector = new FieldCollector();
     protected final ExecutionStepInfoFactory executionStepInfoFactory = new ExecutionStepInfoFactory();
     private final ResolveType resolvedType = new ResolveType();
+    private final ConditionalNodes conditionalNodes = new ConditionalNodes();
 
     protected final DataFetcherExceptionHandler dataFetcherExceptionHandler;
 
@@ -159,6 +192,18 @@ public abstract class ExecutionStrategy {
      */
     public abstract CompletableFuture<ExecutionResult> execute(ExecutionContext executionContext, ExecutionStrategyParameters parameters) throws NonNullableFieldWasNullException;
 
+    /**
+     * Most data fetchers return plain values rather than {@link java.util.concurrent.CompletionStage}s.  When this returns true
+     * the values of fields that are already materialized are fetched and completed inline rather than through a chain of
+     * dependent {@link CompletableFuture} stages.  Only the sub trees whose values really are still to come are completed via
+     * futures.  The results, errors and instrumentation callbacks are the same either way.
+     *
+     * @return true if materialized values should be completed inline, which by default they are not
+     */
+    protected boolean completesMaterializedValuesInline() {
+        return false;
+    }
+
     /**
      * Called to fetch a value for a field and resolve it further in terms of the graphql query.  This will call
      * #fetchField followed by #completeField and the completed {@link ExecutionResult} is returned.
@@ -193,7 +238,8 @@ public abstract class ExecutionStrategy {
      */
     protected CompletableFuture<FieldValueInfo> resolveFieldWithInfo(ExecutionContext executionContext, ExecutionStrategyParameters parameters) {
         GraphQLFieldDefinition fieldDef = getFieldDef(executionContext, parameters, parameters.getField().getSingleField());
-        Supplier<ExecutionStepInfo> executionStepInfo = FpKit.intraThreadMemoize(() -> createExecutionStepInfo(executionContext, parameters, fieldDef, null));
+        GraphQLObjectType parentType = (GraphQLObjectType) parameters.getUnwrappedNonNullType();
+        Supplier<ExecutionStepInfo> executionStepInfo = fieldStepInfo(executionContext, parameters, fieldDef, parentType);
 
         Instrumentation instrumentation = executionContext.getInstrumentation();
         InstrumentationContext<ExecutionResult> fieldCtx = instrumentation.beginField(
@@ -201,13 +247,27 @@ public abstract class ExecutionStrategy {
         );
 
         CompletableFuture<FetchedValue> fetchFieldFuture = fetchField(executionContext, parameters);
-        CompletableFuture<FieldValueInfo> result = fetchFieldFuture.thenApply((fetchedValue) ->
-                completeField(executionContext, parameters, fetchedValue));
+        CompletableFuture<FieldValueInfo> result;
+        if (completesMaterializedValuesInline() && Async.isCompletedNormally(fetchFieldFuture)) {
+            try {
+                result = completedFuture(completeField(executionContext, parameters, fetchFieldFuture.join()));
+            } catch (Throwable e) {
+                result = exceptionallyCompletedFuture(Async.toCompletionException(e));
+            }
+        } else {
+            result = fetchFieldFuture.thenApply((fetchedValue) ->
+                    completeField(executionContext, parameters, fetchedValue));
+        }
 
-        CompletableFuture<ExecutionResult> executionResultFuture = result.thenCompose(FieldValueInfo::getFieldValue);
+        CompletableFuture<ExecutionResult> executionResultFuture;
+        if (completesMaterializedValuesInline() && Async.isCompletedNormally(result) && Async.isCompletedNormally(result.join().getFieldValue())) {
+            executionResultFuture = result.join().getFieldValue();
+        } else {
+            executionResultFuture = result.thenCompose(FieldValueInfo::getFieldValue);
+        }
 
         fieldCtx.onDispatched(executionResultFuture);
-        executionResultFuture.whenComplete(fieldCtx::onCompleted);
+        whenCompleted(executionResultFuture, fieldCtx::onCompleted);
         return result;
     }
 
@@ -225,15 +285,14 @@ public abstract class ExecutionStrategy {
      */
     protected CompletableFuture<FetchedValue> fetchField(ExecutionContext executionContext, ExecutionStrategyParameters parameters) {
         MergedField field = parameters.getField();
-        GraphQLObjectType parentType = (GraphQLObjectType) parameters.getExecutionStepInfo().getUnwrappedNonNullType();
+        GraphQLObjectType parentType = (GraphQLObjectType) parameters.getUnwrappedNonNullType();
         GraphQLFieldDefinition fieldDef = getFieldDef(executionContext.getGraphQLSchema(), parentType, field.getSingleField());
 
         GraphQLCodeRegistry codeRegistry = executionContext.getGraphQLSchema().getCodeRegistry();
         GraphQLOutputType fieldType = fieldDef.getType();
 
         // if the DF (like PropertyDataFetcher) does not use the arguments of execution step info then dont build any
-        Supplier<ExecutionStepInfo> executionStepInfo = FpKit.intraThreadMemoize(
-                () -> createExecutionStepInfo(executionContext, parameters, fieldDef, parentType));
+        Supplier<ExecutionStepInfo> executionStepInfo = fieldStepInfo(executionContext, parameters, fieldDef, parentType);
         Supplier<Map<String, Object>> argumentValues = () -> executionStepInfo.get().getArguments();
 
         Supplier<NormalizedField> normalizedFieldSupplier = getNormalizedField(executionContext, parameters, executionStepInfo);
@@ -264,20 +323,38 @@ public abstract class ExecutionStrategy {
         InstrumentationContext<Object> fetchCtx = instrumentation.beginFieldFetch(instrumentationFieldFetchParams);
 
         CompletableFuture<Object> fetchedValue;
+        Exception fetchException = null;
         dataFetcher = instrumentation.instrumentDataFetcher(dataFetcher, instrumentationFieldFetchParams);
         ExecutionId executionId = executionContext.getExecutionId();
         try {
-            Object fetchedValueRaw = dataFetcher.get(environment);
+            Object fetchedValueRaw = invokeDataFetcher(executionContext, dataFetcher, environment, instrumentationFieldFetchParams.isTrivialDataFetcher());
             fetchedValue = Async.toCompletableFuture(fetchedValueRaw);
+            if (executionContext.getExecutionPlan().hasStreamDirectives()) {
+                fetchedValue = fetchStreamedPublisher(executionContext, parameters, fieldType, fetchedValue);
+            }
         } catch (Exception e) {
             if (logNotSafe.isDebugEnabled()) {
                 logNotSafe.debug(String.format("'%s', field '%s' fetch threw exception", executionId, executionStepInfo.get().getPath()), e);
             }
 
+            fetchException = e;
             fetchedValue = new CompletableFuture<>();
             fetchedValue.completeExceptionally(e);
         }
         fetchCtx.onDispatched(fetchedValue);
+        if (completesMaterializedValuesInline() && (fetchException != null || Async.isCompletedNormally(fetchedValue))) {
+            // the same steps as the stages below but without creating them
+            try {
+                Object result = fetchException == null ? fetchedValue.join() : null;
+                fetchCtx.onCompleted(result, fetchException);
+                if (fetchException != null) {
+                    handleFetchingException(executionContext, environment, fetchException);
+                }
+                return completedFuture(unboxPossibleDataFetcherResult(executionContext, parameters, result));
+            } catch (Throwable e) {
+                return exceptionallyCompletedFuture(Async.toCompletionException(e));
+            }
+        }
         return fetchedValue
                 .handle((result, exception) -> {
                     fetchCtx.onCompleted(result, exception);
@@ -291,6 +368,54 @@ public abstract class ExecutionStrategy {
                 .thenApply(result -> unboxPossibleDataFetcherResult(executionContext, parameters, result));
     }
 
+    /**
+     * Called to get the value of a field from its (instrumented) {@link DataFetcher}.  By default the data fetcher is called
+     * on the current thread, but a strategy can choose to call it somewhere else as long as it then returns a
+     * {@link CompletableFuture} of the value.
+     *
+     * @param executionContext   contains the top level execution parameters
+     * @param dataFetcher        the data fetcher to call
+     * @param environment        the environment to call it with
+     * @param trivialDataFetcher true if the data fetcher of the field, before instrumentation, is a {@link graphql.TrivialDataFetcher}
+     *
+     * @return the value, a {@link java.util.concurrent.CompletionStage} of it or a {@link graphql.execution.DataFetcherResult}
+     *
+     * @throws Exception if the data fetcher does
+     */
+    protected Object invokeDataFetcher(ExecutionContext executionContext, DataFetcher<?> dataFetcher, DataFetchingEnvironment environment, boolean trivialDataFetcher) throws Exception {
+        return dataFetcher.get(environment);
+    }
+
+    //
+    // the items of a publisher for a list field marked with @stream are only requested as they are needed, which is all
+    // of them when nothing can be deferred
+    //
+    private CompletableFuture<Object> fetchStreamedPublisher(ExecutionContext executionContext, ExecutionStrategyParameters parameters, GraphQLOutputType fieldType,
+                                                             CompletableFuture<Object> fetchedValue) {
+        Map<String, Object> streamArguments = isList(unwrapNonNull(fieldType)) ? getStreamArguments(executionContext, parameters) : null;
+        if (streamArguments == null) {
+            return fetchedValue;
+        }
+        boolean streamed = executionContext.getDeferSupport() != null;
+        int initialCount = streamed ? getInitialCount(streamArguments) : Integer.MAX_VALUE;
+        return fetchedValue.thenCompose(value -> {
+            if (!(value instanceof Publisher)) {
+                return completedFuture(value);
+            }
+            CompletableFuture<StreamedList> streamedList = StreamedList.fromPublisher((Publisher<?>) value, initialCount);
+            return streamed ? streamedList.thenApply(list -> list) : streamedList.thenApply(StreamedList::getInitialItems);
+        });
+    }
+
+    private Map<String, Object> getStreamArguments(ExecutionContext executionContext, ExecutionStrategyParameters parameters) {
+        return conditionalNodes.getStreamArguments(executionContext.getVariables(), parameters.getField().getSingleField().getDirectives());
+    }
+
+    private static int getInitialCount(Map<String, Object> streamArguments) {
+        Object initialCount = streamArguments.get("initialCount");
+        return initialCount instanceof Integer ? Math.max(0, (Integer) initialCount) : 0;
+    }
+
     protected Supplier<NormalizedField> getNormalizedField(ExecutionContext executionContext, ExecutionStrategyParameters parameters, Supplier<ExecutionStepInfo> executionStepInfo) {
         Supplier<NormalizedQueryTree> normalizedQuery = executionContext.getNormalizedQueryTree();
         return () -> normalizedQuery.get().getNormalizedField(parameters.getField(), executionStepInfo.get().getObjectType(), executionStepInfo.get().getPath());
@@ -364,12 +489,13 @@ public abstract class ExecutionStrategy {
      */
     protected FieldValueInfo completeField(ExecutionContext executionContext, ExecutionStrategyParameters parameters, FetchedValue fetchedValue) {
         Field field = parameters.getField().getSingleField();
-        GraphQLObjectType parentType = (GraphQLObjectType) parameters.getExecutionStepInfo().getUnwrappedNonNullType();
+        GraphQLObjectType parentType = (GraphQLObjectType) parameters.getUnwrappedNonNullType();
         GraphQLFieldDefinition fieldDef = getFieldDef(executionContext.getGraphQLSchema(), parentType, field);
-        ExecutionStepInfo executionStepInfo = createExecutionStepInfo(executionContext, parameters, fieldDef, parentType);
+        // only built if the value is an object or a list, or something else asks for it
+        DeferredExecutionStepInfo executionStepInfo = fieldStepInfo(executionContext, parameters, fieldDef, parentType);
 
         Instrumentation instrumentation = executionContext.getInstrumentation();
-        InstrumentationFieldCompleteParameters instrumentationParams = new InstrumentationFieldCompleteParameters(executionContext, parameters, () -> executionStepInfo, fetchedValue);
+        InstrumentationFieldCompleteParameters instrumentationParams = new InstrumentationFieldCompleteParameters(executionContext, parameters, executionStepInfo, fetchedValue);
         InstrumentationContext<ExecutionResult> ctxCompleteField = instrumentation.beginFieldComplete(
                 instrumentationParams
         );
@@ -384,14 +510,14 @@ public abstract class ExecutionStrategy {
         );
 
         if (log.isDebugEnabled()) {
-            log.debug("'{}' completing field '{}'...", executionContext.getExecutionId(), executionStepInfo.getPath());
+            log.debug("'{}' completing field '{}'...", executionContext.getExecutionId(), parameters.getPath());
         }
 
         FieldValueInfo fieldValueInfo = completeValue(executionContext, newParameters);
 
         CompletableFuture<ExecutionResult> executionResultFuture = fieldValueInfo.getFieldValue();
         ctxCompleteField.onDispatched(executionResultFuture);
-        executionResultFuture.whenComplete(ctxCompleteField::onCompleted);
+        whenCompleted(executionResultFuture, ctxCompleteField::onCompleted);
         return fieldValueInfo;
     }
 
@@ -411,15 +537,18 @@ public abstract class ExecutionStrategy {
      * @throws NonNullableFieldWasNullException if a non null field resolves to a null value
      */
     protected FieldValueInfo completeValue(ExecutionContext executionContext, ExecutionStrategyParameters parameters) throws NonNullableFieldWasNullException {
-        ExecutionStepInfo executionStepInfo = parameters.getExecutionStepInfo();
         Object result = executionContext.getValueUnboxer().unbox(parameters.getSource());
-        GraphQLType fieldType = executionStepInfo.getUnwrappedNonNullType();
+        GraphQLType fieldType = parameters.getUnwrappedNonNullType();
         CompletableFuture<ExecutionResult> fieldValue;
 
         if (result == null) {
             fieldValue = completeValueForNull(parameters);
             return FieldValueInfo.newFieldValueInfo(NULL).fieldValue(fieldValue).build();
         } else if (isList(fieldType)) {
+            StreamedList streamedList = toStreamedList(executionContext, parameters, result);
+            if (streamedList != null) {
+                return completeValueForStreamedList(executionContext, parameters, streamedList);
+            }
             return completeValueForList(executionContext, parameters, result);
         } else if (isScalar(fieldType)) {
             fieldValue = completeValueForScalar(executionContext, parameters, (GraphQLScalarType) fieldType, result);
@@ -497,6 +626,15 @@ public abstract class ExecutionStrategy {
         OptionalInt size = FpKit.toSize(iterableValues);
         ExecutionStepInfo executionStepInfo = parameters.getExecutionStepInfo();
 
+        GraphQLType listType = executionStepInfo.getUnwrappedNonNullType();
+        if (listType instanceof GraphQLList && COMPLETES_LEAF_LISTS_IN_ONE_LOOP.get(getClass())) {
+            GraphQLType elementType = ((GraphQLList) listType).getWrappedType();
+            GraphQLType unwrappedElementType = unwrapNonNull(elementType);
+            if (isScalar(unwrappedElementType) || isEnum(unwrappedElementType)) {
+                return completeValueForLeafList(executionContext, parameters, iterableValues, size, unwrappedElementType, isNonNull(elementType));
+            }
+        }
+
         InstrumentationFieldCompleteParameters instrumentationParams = new InstrumentationFieldCompleteParameters(executionContext, parameters, () -> executionStepInfo, iterableValues);
         Instrumentation instrumentation = executionContext.getInstrumentation();
 
@@ -509,7 +647,7 @@ public abstract class ExecutionStrategy {
         for (Object item : iterableValues) {
             ResultPath indexedPath = parameters.getPath().segment(index);
 
-            ExecutionStepInfo stepInfoForListElement = executionStepInfoFactory.newExecutionStepInfoForListElement(executionStepInfo, index);
+            ExecutionStepInfo stepInfoForListElement = executionStepInfoFactory.newExecutionStepInfoForListElement(executionStepInfo, indexedPath);
 
             NonNullableFieldValidator nonNullableFieldValidator = new NonNullableFieldValidator(executionContext, stepInfoForListElement);
 
@@ -529,9 +667,30 @@ public abstract class ExecutionStrategy {
             index++;
         }
 
-        CompletableFuture<List<ExecutionResult>> resultsFuture = Async.each(fieldValueInfos, (item, i) -> item.getFieldValue());
+        ResultStreamer resultStreamer = executionContext.getResultStreamer();
+        if (resultStreamer != null && resultStreamer.isStreamingData()) {
+            boolean nonNullItems = listType instanceof GraphQLList && isNonNull(((GraphQLList) listType).getWrappedType());
+            return streamList(executionContext, fieldValueInfos, nonNullItems, completeListCtx);
+        }
 
         CompletableFuture<ExecutionResult> overallResult = new CompletableFuture<>();
+        if (completesMaterializedValuesInline() && allValuesCompletedNormally(fieldValueInfos)) {
+            completeListCtx.onDispatched(overallResult);
+            List<Object> completedResults = new ArrayList<>(fieldValueInfos.size());
+            for (FieldValueInfo fieldValueInfo : fieldValueInfos) {
+                completedResults.add(fieldValueInfo.getFieldValue().join().getData());
+            }
+            overallResult.complete(new ExecutionResultImpl(completedResults, null));
+            whenCompleted(overallResult, completeListCtx::onCompleted);
+
+            return FieldValueInfo.newFieldValueInfo(LIST)
+                    .fieldValue(overallResult)
+                    .fieldValueInfos(fieldValueInfos)
+                    .build();
+        }
+
+        CompletableFuture<List<ExecutionResult>> resultsFuture = Async.each(fieldValueInfos, (item, i) -> item.getFieldValue());
+
         completeListCtx.onDispatched(overallResult);
 
         resultsFuture.whenComplete((results, exception) -> {
@@ -555,6 +714,242 @@ public abstract class ExecutionStrategy {
                 .build();
     }
 
+    //
+    // Like an object the list is decided once its non null items have completed, and its data is then the StreamedValue of
+    // its items
+    //
+    private FieldValueInfo streamList(ExecutionContext executionContext, List<FieldValueInfo> fieldValueInfos, boolean nonNullItems,
+                                      InstrumentationContext<ExecutionResult> completeListCtx) {
+        CompletableFuture<ExecutionResult> overallResult = new CompletableFuture<>();
+        List<CompletableFuture<ExecutionResult>> itemValues = map(fieldValueInfos, FieldValueInfo::getFieldValue);
+        CompletableFuture<Void> decided = nonNullItems ? CompletableFuture.allOf(itemValues.toArray(new CompletableFuture<?>[0])) : completedFuture(null);
+
+        completeListCtx.onDispatched(overallResult);
+        decided.whenComplete((ignored, exception) -> {
+            if (exception != null) {
+                handleNonNullException(executionContext, overallResult, exception);
+                return;
+            }
+            overallResult.complete(new ExecutionResultImpl(ResultStreamer.streamedList(itemValues), null));
+        });
+        overallResult.whenComplete(completeListCtx::onCompleted);
+
+        return FieldValueInfo.newFieldValueInfo(LIST)
+                .fieldValue(overallResult)
+                .fieldValueInfos(fieldValueInfos)
+                .build();
+    }
+
+    private StreamedList toStreamedList(ExecutionContext executionContext, ExecutionStrategyParameters parameters, Object result) {
+        if (result instanceof StreamedList) {
+            return (StreamedList) result;
+        }
+        // only the list of the field itself is streamed and not the lists in it
+        if (executionContext.getDeferSupport() == null || !executionContext.getExecutionPlan().hasStreamDirectives()
+                || parameters.getPath().isListSegment() || !FpKit.isIterable(result)) {
+            return null;
+        }
+        Map<String, Object> streamArguments = getStreamArguments(executionContext, parameters);
+        return streamArguments == null ? null : StreamedList.fromIterable(FpKit.toIterable(result), getInitialCount(streamArguments));
+    }
+
+    /**
+     * Completes the initial items of a list field marked with {@code @stream} as the list value of the field and, once
+     * that list has completed, streams the remaining items as deferred results that are published in order.
+     */
+    private FieldValueInfo completeValueForStreamedList(ExecutionContext executionContext, ExecutionStrategyParameters parameters, StreamedList streamedList) {
+        DeferSupport.ResultStream stream = executionContext.getDeferSupport().stream();
+        String label = (String) getStreamArguments(executionContext, parameters).get("label");
+        FieldValueInfo fieldValueInfo = completeValueForList(executionContext, parameters, (Object) streamedList.getInitialItems());
+        fieldValueInfo.getFieldValue().whenComplete((result, exception) -> {
+            if (exception != null || result.getData() == null) {
+                streamedList.cancel();
+                stream.end();
+                return;
+            }
+            streamItems(executionContext, parameters, streamedList, label, stream, streamedList.next(), streamedList.getInitialItems().size());
+        });
+        return fieldValueInfo;
+    }
+
+    //
+    // the items that are already there are added in a loop rather than by nested callbacks, and the next item of a
+    // publisher is only requested once the previous one has been published
+    //
+    private void streamItems(ExecutionContext executionContext, ExecutionStrategyParameters parameters, StreamedList streamedList, String label,
+                             DeferSupport.ResultStream stream, CompletableFuture<Object> next, int index) {
+        CompletableFuture<Object> nextItem = next;
+        int itemIndex = index;
+        while (nextItem.isDone()) {
+            Object item;
+            try {
+                item = nextItem.join();
+            } catch (CompletionException e) {
+                ExceptionWhileDataFetching error = new ExceptionWhileDataFetching(parameters.getPath(), e.getCause(), parameters.getField().getSingleField().getSourceLocation());
+                List<Object> path = parameters.getPath().segment(itemIndex).toList();
+                stream.add(deferSupport -> completedFuture(new StreamedExecutionResultImpl(path, label, null, Collections.singletonList(error))));
+                stream.end();
+                return;
+            }
+            if (StreamedList.isEnd(item)) {
+                stream.end();
+                return;
+            }
+            int finalIndex = itemIndex;
+            DeferSupport itemDeferSupport = stream.add(deferSupport -> completeStreamedItem(executionContext, parameters, item, finalIndex, label, deferSupport));
+            itemIndex++;
+            if (streamedList.isBackpressured()) {
+                int nextIndex = itemIndex;
+                itemDeferSupport.published().whenComplete((ignored, exception) ->
+                        streamItems(executionContext, parameters, streamedList, label, stream, streamedList.next(), nextIndex));
+                return;
+            }
+            nextItem = streamedList.next();
+        }
+        CompletableFuture<Object> pendingItem = nextItem;
+        int pendingIndex = itemIndex;
+        pendingItem.whenComplete((item, exception) -> streamItems(executionContext, parameters, streamedList, label, stream, pendingItem, pendingIndex));
+    }
+
+    private CompletableFuture<DeferredExecutionResult> completeStreamedItem(ExecutionContext executionContext, ExecutionStrategyParameters parameters, Object item, int index,
+                                                                            String label, DeferSupport deferSupport) {
+        // the item has errors of its own and the calls deferred within it are published after it
+        ExecutionContext itemContext = executionContext.transform(builder -> builder.resetErrors().deferSupport(deferSupport));
+        ResultPath indexedPath = parameters.getPath().segment(index);
+        ExecutionStepInfo stepInfoForListElement = executionStepInfoFactory.newExecutionStepInfoForListElement(parameters.getExecutionStepInfo(), indexedPath);
+        NonNullableFieldValidator nonNullableFieldValidator = new NonNullableFieldValidator(itemContext, stepInfoForListElement);
+        FetchedValue value = unboxPossibleDataFetcherResult(itemContext, parameters, item);
+
+        ExecutionStrategyParameters newParameters = parameters.transform(builder ->
+                builder.executionStepInfo(stepInfoForListElement)
+                        .nonNullFieldValidator(nonNullableFieldValidator)
+                        .listSize(-1)
+                        .localContext(value.getLocalContext())
+                        .currentListIndex(index)
+                        .path(indexedPath)
+                        .source(value.getFetchedValue())
+        );
+        CompletableFuture<ExecutionResult> itemValue;
+        try {
+            itemValue = completeValue(itemContext, newParameters).getFieldValue();
+        } catch (NonNullableFieldWasNullException e) {
+            itemValue = exceptionallyCompletedFuture(e);
+        }
+        List<Object> path = indexedPath.toList();
+        return itemValue.handle((result, exception) -> {
+            if (exception == null) {
+                return new StreamedExecutionResultImpl(path, label, Collections.singletonList(result.getData()), itemContext.getErrors());
+            }
+            Throwable cause = exception instanceof CompletionException ? exception.getCause() : exception;
+            if (cause instanceof NonNullableFieldWasNullException) {
+                // a null non null item makes the items null, the list they are added to is left alone
+                return new StreamedExecutionResultImpl(path, label, null, itemContext.getErrors());
+            }
+            throw Async.toCompletionException(cause);
+        });
+    }
+
+    private static boolean allValuesCompletedNormally(List<FieldValueInfo> fieldValueInfos) {
+        for (FieldValueInfo fieldValueInfo : fieldValueInfos) {
+            if (!Async.isCompletedNormally(fieldValueInfo.getFieldValue())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Calls the action once the future completes.  When materialized values are completed inline and the future already has
+     * its value the action is called straight away rather than via a new dependent stage.
+     *
+     * @param future the future to wait for
+     * @param action the action to call with its value or exception
+     * @param <T>    the type of value
+     */
+    protected <T> void whenCompleted(CompletableFuture<T> future, BiConsumer<? super T, ? super Throwable> action) {
+        if (completesMaterializedValuesInline() && Async.isCompletedNormally(future)) {
+            try {
+                action.accept(future.join(), null);
+            } catch (Throwable ignored) {
+                // just like the stage returned by whenComplete nobody gets to see what the action threw
+            }
+        } else {
+            future.whenComplete(action);
+        }
+    }
+
+    /**
+     * Lists of scalars or enums can be very long and their elements cannot have any further fields, so rather than completing each
+     * element on its own they are coerced in a single loop.  Paths and step infos of elements are only made if an error has to be
+     * reported.
+     */
+    private FieldValueInfo completeValueForLeafList(ExecutionContext executionContext, ExecutionStrategyParameters parameters, Iterable<Object> iterableValues,
+                                                    OptionalInt size, GraphQLType elementType, boolean elementIsNonNull) {
+        ExecutionStepInfo executionStepInfo = parameters.getExecutionStepInfo();
+
+        InstrumentationFieldCompleteParameters instrumentationParams = new InstrumentationFieldCompleteParameters(executionContext, parameters, () -> executionStepInfo, iterableValues);
+        Instrumentation instrumentation = executionContext.getInstrumentation();
+
+        InstrumentationContext<ExecutionResult> completeListCtx = instrumentation.beginFieldListComplete(
+                instrumentationParams
+        );
+
+        CompletableFuture<ExecutionResult> overallResult = new CompletableFuture<>();
+        completeListCtx.onDispatched(overallResult);
+
+        List<Object> completedResults = new ArrayList<>(size.orElse(1));
+        try {
+            int index = 0;
+            for (Object item : iterableValues) {
+                completedResults.add(completeLeafListElement(executionContext, parameters, item, index, elementType, elementIsNonNull));
+                index++;
+            }
+            overallResult.complete(new ExecutionResultImpl(completedResults, null));
+        } catch (NonNullableFieldWasNullException e) {
+            ExecutionResult executionResult = handleNonNullException(executionContext, overallResult, e);
+            completeListCtx.onCompleted(executionResult, e);
+        }
+        whenCompleted(overallResult, completeListCtx::onCompleted);
+
+        // the element infos are only made if someone asks for them
+        return FieldValueInfo.newFieldValueInfo(LIST)
+                .fieldValue(overallResult)
+                .leafListValues(completedResults, isEnum(elementType))
+                .build();
+    }
+
+    private Object completeLeafListElement(ExecutionContext executionContext, ExecutionStrategyParameters parameters, Object item, int index,
+                                           GraphQLType elementType, boolean elementIsNonNull) throws NonNullableFieldWasNullException {
+        Object value = item;
+        if (item instanceof DataFetcherResult) {
+            value = unboxPossibleDataFetcherResult(executionContext, parameters, item).getFetchedValue();
+        }
+        value = executionContext.getValueUnboxer().unbox(value);
+
+        Object serialized = null;
+        if (value != null) {
+            try {
+                if (elementType instanceof GraphQLScalarType) {
+                    serialized = ((GraphQLScalarType) elementType).getCoercing().serialize(value);
+                } else {
+                    serialized = ((GraphQLEnumType) elementType).serialize(value);
+                }
+            } catch (CoercingSerializeException e) {
+                serialized = handleCoercionProblem(executionContext, parameters.getPath().segment(index), e);
+            }
+            //6.6.1 http://facebook.github.io/graphql/#sec-Field-entries
+            if (serialized instanceof Double && ((Double) serialized).isNaN()) {
+                serialized = null;
+            }
+        }
+        if (serialized == null && elementIsNonNull) {
+            ResultPath indexedPath = parameters.getPath().segment(index);
+            ExecutionStepInfo stepInfoForListElement = executionStepInfoFactory.newExecutionStepInfoForListElement(parameters.getExecutionStepInfo(), indexedPath);
+            new NonNullableFieldValidator(executionContext, stepInfoForListElement).validate(indexedPath, null);
+        }
+        return serialized;
+    }
+
     /**
      * Called to turn an object into a scalar value according to the {@link GraphQLScalarType} by asking that scalar type to coerce the object
      * into a valid value
@@ -627,9 +1022,10 @@ public abstract class ExecutionStrategy {
                 .objectType(resolvedObjectType)
                 .fragments(executionContext.getFragmentsByName())
                 .variables(executionContext.getVariables())
+                .deferSupported(executionContext.getDeferSupport() != null)
                 .build();
 
-        MergedSelectionSet subFields = fieldCollector.collectFields(collectorParameters, parameters.getField());
+        MergedSelectionSet subFields = executionContext.getExecutionPlan().collectFields(fieldCollector, collectorParameters, parameters.getField());
 
         ExecutionStepInfo newExecutionStepInfo = executionStepInfo.changeTypeWithPreservedNonNull(resolvedObjectType);
         NonNullableFieldValidator nonNullableFieldValidator = new NonNullableFieldValidator(executionContext, newExecutionStepInfo);
@@ -648,7 +1044,12 @@ public abstract class ExecutionStrategy {
 
     @SuppressWarnings("SameReturnValue")
     private Object handleCoercionProblem(ExecutionContext context, ExecutionStrategyParameters parameters, CoercingSerializeException e) {
-        SerializationError error = new SerializationError(parameters.getPath(), e);
+        return handleCoercionProblem(context, parameters.getPath(), e);
+    }
+
+    @SuppressWarnings("SameReturnValue")
+    private Object handleCoercionProblem(ExecutionContext context, ResultPath path, CoercingSerializeException e) {
+        SerializationError error = new SerializationError(path, e);
         logNotSafe.warn(error.getMessage(), e);
         context.addError(error);
 
@@ -767,8 +1168,26 @@ public abstract class ExecutionStrategy {
     }
 
 
+    /*
+     * The step info of the current field is shared by the instrumentation, the fetching and the completion of the field,
+     * and it is only built when one of them asks for it
+     */
+    private DeferredExecutionStepInfo fieldStepInfo(ExecutionContext executionContext,
+                                                    ExecutionStrategyParameters parameters,
+                                                    GraphQLFieldDefinition fieldDefinition,
+                                                    GraphQLObjectType fieldContainer) {
+        DeferredExecutionStepInfo stepInfo = parameters.getCurrentFieldStepInfo();
+        if (stepInfo == null || !stepInfo.isFor(executionContext, fieldDefinition)) {
+            stepInfo = new DeferredExecutionStepInfo(this, executionContext, parameters, fieldDefinition, fieldContainer);
+            parameters.setCurrentFieldStepInfo(stepInfo);
+        }
+        return stepInfo;
+    }
+
     /**
-     * Builds the type info hierarchy for the current field
+     * Builds the type info hierarchy for the current field.  Its arguments are only coerced once they are asked for, see
+     * {@link ExecutionStepInfo#getArguments()}.  The field is completed from the type of its field definition before
+     * this is called, so the type of the type info is expected to be the type of the field definition.
      *
      * @param executionContext the execution context  in play
      * @param parameters       contains the parameters holding the fields to be executed and source object
@@ -784,26 +1203,25 @@ public abstract class ExecutionStrategy {
         ExecutionStepInfo parentStepInfo = parameters.getExecutionStepInfo();
         GraphQLOutputType fieldType = fieldDefinition.getType();
         List<GraphQLArgument> fieldArgDefs = fieldDefinition.getArguments();
-        Map<String, Object> argumentValues = Collections.emptyMap();
-        //
-        // no need to create args at all if there are none on the field def
-        //
-        if (!fieldArgDefs.isEmpty()) {
-            List<Argument> fieldArgs = field.getArguments();
-            GraphQLCodeRegistry codeRegistry = executionContext.getGraphQLSchema().getCodeRegistry();
-            argumentValues = valuesResolver.getArgumentValues(codeRegistry, fieldArgDefs, fieldArgs, executionContext.getVariables());
-        }
-
 
-        return newExecutionStepInfo()
+        ExecutionStepInfo.Builder builder = newExecutionStepInfo()
                 .type(fieldType)
                 .fieldDefinition(fieldDefinition)
                 .fieldContainer(fieldContainer)
                 .field(field)
                 .path(parameters.getPath())
-                .parentInfo(parentStepInfo)
-                .arguments(argumentValues)
-                .build();
+                .parentInfo(parentStepInfo);
+        //
+        // no need to create args at all if there are none on the field def, and otherwise only once they are asked for
+        //
+        if (!fieldArgDefs.isEmpty()) {
+            List<Argument> fieldArgs = field.getArguments();
+            GraphQLCodeRegistry codeRegistry = executionContext.getGraphQLSchema().getCodeRegistry();
+            Map<String, Object> variables = executionContext.getVariables();
+            builder.argumentsSupplier(() -> executionContext.getArgumentValues(fieldDefinition, field.getSingleField(),
+                    () -> valuesResolver.getArgumentValues(codeRegistry, fieldArgDefs, fieldArgs, variables)));
+        }
+        return builder.build();
     }
 
 
@@ -2,10 +2,12 @@ package graphql.execution;
 
 import graphql.Assert;
 import graphql.PublicApi;
+import graphql.schema.GraphQLOutputType;
 
 import java.util.function.Consumer;
 
 import static graphql.Assert.assertNotNull;
+import static graphql.Assert.assertTrue;
 
 /**
  * The parameters that are passed to execution strategies
@@ -13,6 +15,7 @@ import static graphql.Assert.assertNotNull;
 @PublicApi
 public class ExecutionStrategyParameters {
     private final ExecutionStepInfo executionStepInfo;
+    private final DeferredExecutionStepInfo deferredExecutionStepInfo;
     private final Object source;
     private final Object localContext;
     private final MergedSelectionSet fields;
@@ -22,8 +25,11 @@ public class ExecutionStrategyParameters {
     private final int listSize;
     private final int currentListIndex;
     private final ExecutionStrategyParameters parent;
+    // the step info of the current field, shared by fetching and completing it - effectively immutable but lazily initialized
+    private volatile DeferredExecutionStepInfo currentFieldStepInfo;
 
     private ExecutionStrategyParameters(ExecutionStepInfo executionStepInfo,
+                                        DeferredExecutionStepInfo deferredExecutionStepInfo,
                                         Object source,
                                         Object localContext,
                                         MergedSelectionSet fields,
@@ -34,7 +40,9 @@ public class ExecutionStrategyParameters {
                                         int currentListIndex,
                                         ExecutionStrategyParameters parent) {
 
-        this.executionStepInfo = assertNotNull(executionStepInfo, () -> "executionStepInfo is null");
+        assertTrue(executionStepInfo != null || deferredExecutionStepInfo != null, () -> "executionStepInfo is null");
+        this.executionStepInfo = executionStepInfo;
+        this.deferredExecutionStepInfo = deferredExecutionStepInfo;
         this.localContext = localContext;
         this.fields = assertNotNull(fields, () -> "fields is null");
         this.source = source;
@@ -47,7 +55,22 @@ public class ExecutionStrategyParameters {
     }
 
     public ExecutionStepInfo getExecutionStepInfo() {
-        return executionStepInfo;
+        return executionStepInfo != null ? executionStepInfo : deferredExecutionStepInfo.get();
+    }
+
+    /*
+     * The unwrapped type of the step info, which does not build a deferred step info
+     */
+    GraphQLOutputType getUnwrappedNonNullType() {
+        return executionStepInfo != null ? executionStepInfo.getUnwrappedNonNullType() : deferredExecutionStepInfo.getUnwrappedNonNullType();
+    }
+
+    DeferredExecutionStepInfo getCurrentFieldStepInfo() {
+        return currentFieldStepInfo;
+    }
+
+    void setCurrentFieldStepInfo(DeferredExecutionStepInfo currentFieldStepInfo) {
+        this.currentFieldStepInfo = currentFieldStepInfo;
     }
 
     public Object getSource() {
@@ -100,7 +123,7 @@ public class ExecutionStrategyParameters {
     @Override
     public String toString() {
         return String.format("ExecutionStrategyParameters { path=%s, executionStepInfo=%s, source=%s, fields=%s }",
-                path, executionStepInfo, source, fields);
+                path, getExecutionStepInfo(), source, fields);
     }
 
     public static Builder newParameters() {
@@ -113,6 +136,7 @@ public class ExecutionStrategyParameters {
 
     public static class Builder {
         ExecutionStepInfo executionStepInfo;
+        DeferredExecutionStepInfo deferredExecutionStepInfo;
         Object source;
         Object localContext;
         MergedSelectionSet fields;
@@ -134,6 +158,7 @@ public class ExecutionStrategyParameters {
          */
         private Builder(ExecutionStrategyParameters oldParameters) {
             this.executionStepInfo = oldParameters.executionStepInfo;
+            this.deferredExecutionStepInfo = oldParameters.deferredExecutionStepInfo;
             this.source = oldParameters.source;
             this.localContext = oldParameters.localContext;
             this.fields = oldParameters.fields;
@@ -147,11 +172,17 @@ public class ExecutionStrategyParameters {
 
         public Builder executionStepInfo(ExecutionStepInfo executionStepInfo) {
             this.executionStepInfo = executionStepInfo;
+            this.deferredExecutionStepInfo = null;
             return this;
         }
 
         public Builder executionStepInfo(ExecutionStepInfo.Builder executionStepInfoBuilder) {
-            this.executionStepInfo = executionStepInfoBuilder.build();
+            return executionStepInfo(executionStepInfoBuilder.build());
+        }
+
+        Builder executionStepInfo(DeferredExecutionStepInfo deferredExecutionStepInfo) {
+            this.executionStepInfo = null;
+            this.deferredExecutionStepInfo = deferredExecutionStepInfo;
             return this;
         }
 
@@ -202,7 +233,7 @@ public class ExecutionStrategyParameters {
 
 
         public ExecutionStrategyParameters build() {
-            return new ExecutionStrategyParameters(executionStepInfo, source, localContext, fields, nonNullableFieldValidator, path, currentField, listSize, currentListIndex, parent);
+            return new ExecutionStrategyParameters(executionStepInfo, deferredExecutionStepInfo, source, localContext, fields, nonNullableFieldValidator, path, currentField, listSize, currentListIndex, parent);
         }
     }
 }
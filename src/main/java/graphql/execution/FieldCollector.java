@@ -1,7 +1,11 @@
 package graphql.execution;
 
 
+import com.google.common.collect.ImmutableList;
 import graphql.Internal;
+import graphql.collect.ImmutableKit;
+import graphql.execution.defer.DeferredFragment;
+import graphql.language.Directive;
 import graphql.language.Field;
 import graphql.language.FragmentDefinition;
 import graphql.language.FragmentSpread;
@@ -9,10 +13,12 @@ import graphql.language.InlineFragment;
 import graphql.language.Selection;
 import graphql.language.SelectionSet;
 import graphql.schema.GraphQLInterfaceType;
+import graphql.schema.GraphQLNamedType;
 import graphql.schema.GraphQLObjectType;
 import graphql.schema.GraphQLType;
 import graphql.schema.GraphQLUnionType;
 
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -33,14 +39,15 @@ public class FieldCollector {
 
     public MergedSelectionSet collectFields(FieldCollectorParameters parameters, MergedField mergedField) {
         Map<String, MergedField> subFields = new LinkedHashMap<>();
+        List<DeferredFragment> deferredFragments = new ArrayList<>();
         Set<String> visitedFragments = new LinkedHashSet<>();
         for (Field field : mergedField.getFields()) {
             if (field.getSelectionSet() == null) {
                 continue;
             }
-            this.collectFields(parameters, field.getSelectionSet(), visitedFragments, subFields);
+            this.collectFields(parameters, field.getSelectionSet(), visitedFragments, subFields, deferredFragments);
         }
-        return newMergedSelectionSet().subFields(subFields).build();
+        return mergedSelectionSet(subFields, deferredFragments);
     }
 
     /**
@@ -53,33 +60,40 @@ public class FieldCollector {
      */
     public MergedSelectionSet collectFields(FieldCollectorParameters parameters, SelectionSet selectionSet) {
         Map<String, MergedField> subFields = new LinkedHashMap<>();
+        List<DeferredFragment> deferredFragments = new ArrayList<>();
         Set<String> visitedFragments = new LinkedHashSet<>();
-        this.collectFields(parameters, selectionSet, visitedFragments, subFields);
-        return newMergedSelectionSet().subFields(subFields).build();
+        this.collectFields(parameters, selectionSet, visitedFragments, subFields, deferredFragments);
+        return mergedSelectionSet(subFields, deferredFragments);
+    }
+
+    private MergedSelectionSet mergedSelectionSet(Map<String, MergedField> subFields, List<DeferredFragment> deferredFragments) {
+        return newMergedSelectionSet()
+                .subFields(subFields)
+                .deferredFragments(deferredFragments.isEmpty() ? ImmutableKit.emptyList() : ImmutableList.copyOf(deferredFragments))
+                .build();
     }
 
 
-    private void collectFields(FieldCollectorParameters parameters, SelectionSet selectionSet, Set<String> visitedFragments, Map<String, MergedField> fields) {
+    private void collectFields(FieldCollectorParameters parameters, SelectionSet selectionSet, Set<String> visitedFragments, Map<String, MergedField> fields, List<DeferredFragment> deferredFragments) {
 
         for (Selection selection : selectionSet.getSelections()) {
             if (selection instanceof Field) {
                 collectField(parameters, fields, (Field) selection);
             } else if (selection instanceof InlineFragment) {
-                collectInlineFragment(parameters, visitedFragments, fields, (InlineFragment) selection);
+                collectInlineFragment(parameters, visitedFragments, fields, deferredFragments, (InlineFragment) selection);
             } else if (selection instanceof FragmentSpread) {
-                collectFragmentSpread(parameters, visitedFragments, fields, (FragmentSpread) selection);
+                collectFragmentSpread(parameters, visitedFragments, fields, deferredFragments, (FragmentSpread) selection);
             }
         }
     }
 
-    private void collectFragmentSpread(FieldCollectorParameters parameters, Set<String> visitedFragments, Map<String, MergedField> fields, FragmentSpread fragmentSpread) {
+    private void collectFragmentSpread(FieldCollectorParameters parameters, Set<String> visitedFragments, Map<String, MergedField> fields, List<DeferredFragment> deferredFragments, FragmentSpread fragmentSpread) {
         if (visitedFragments.contains(fragmentSpread.getName())) {
             return;
         }
         if (!conditionalNodes.shouldInclude(parameters.getVariables(), fragmentSpread.getDirectives())) {
             return;
         }
-        visitedFragments.add(fragmentSpread.getName());
         FragmentDefinition fragmentDefinition = parameters.getFragmentsByName().get(fragmentSpread.getName());
 
         if (!conditionalNodes.shouldInclude(parameters.getVariables(), fragmentDefinition.getDirectives())) {
@@ -88,15 +102,37 @@ public class FieldCollector {
         if (!doesFragmentConditionMatch(parameters, fragmentDefinition)) {
             return;
         }
-        collectFields(parameters, fragmentDefinition.getSelectionSet(), visitedFragments, fields);
+        if (isDeferred(parameters, fragmentSpread.getDirectives())) {
+            // a deferred spread does not stop the same fragment from being spread without deferring it
+            deferredFragments.add(collectDeferredFragment(parameters, fragmentDefinition.getSelectionSet(), new LinkedHashSet<>(visitedFragments), fragmentSpread.getDirectives()));
+            return;
+        }
+        visitedFragments.add(fragmentSpread.getName());
+        collectFields(parameters, fragmentDefinition.getSelectionSet(), visitedFragments, fields, deferredFragments);
     }
 
-    private void collectInlineFragment(FieldCollectorParameters parameters, Set<String> visitedFragments, Map<String, MergedField> fields, InlineFragment inlineFragment) {
+    private void collectInlineFragment(FieldCollectorParameters parameters, Set<String> visitedFragments, Map<String, MergedField> fields, List<DeferredFragment> deferredFragments, InlineFragment inlineFragment) {
         if (!conditionalNodes.shouldInclude(parameters.getVariables(), inlineFragment.getDirectives()) ||
                 !doesFragmentConditionMatch(parameters, inlineFragment)) {
             return;
         }
-        collectFields(parameters, inlineFragment.getSelectionSet(), visitedFragments, fields);
+        if (isDeferred(parameters, inlineFragment.getDirectives())) {
+            deferredFragments.add(collectDeferredFragment(parameters, inlineFragment.getSelectionSet(), new LinkedHashSet<>(visitedFragments), inlineFragment.getDirectives()));
+            return;
+        }
+        collectFields(parameters, inlineFragment.getSelectionSet(), visitedFragments, fields, deferredFragments);
+    }
+
+    private boolean isDeferred(FieldCollectorParameters parameters, List<Directive> directives) {
+        return parameters.isDeferSupported() && conditionalNodes.shouldDefer(parameters.getVariables(), directives);
+    }
+
+    private DeferredFragment collectDeferredFragment(FieldCollectorParameters parameters, SelectionSet selectionSet, Set<String> visitedFragments, List<Directive> directives) {
+        Map<String, MergedField> subFields = new LinkedHashMap<>();
+        List<DeferredFragment> deferredFragments = new ArrayList<>();
+        collectFields(parameters, selectionSet, visitedFragments, subFields, deferredFragments);
+        String label = conditionalNodes.getDeferLabel(parameters.getVariables(), directives);
+        return new DeferredFragment(label, mergedSelectionSet(subFields, deferredFragments));
     }
 
     private void collectField(FieldCollectorParameters parameters, Map<String, MergedField> fields, Field field) {
@@ -129,15 +165,12 @@ public class FieldCollector {
 
     private boolean checkTypeCondition(FieldCollectorParameters parameters, GraphQLType conditionType) {
         GraphQLObjectType type = parameters.getObjectType();
-        if (conditionType.equals(type)) {
+        if (type.equals(conditionType)) {
             return true;
         }
-
-        if (conditionType instanceof GraphQLInterfaceType) {
-            List<GraphQLObjectType> implementations = parameters.getGraphQLSchema().getImplementations((GraphQLInterfaceType) conditionType);
-            return implementations.contains(type);
-        } else if (conditionType instanceof GraphQLUnionType) {
-            return ((GraphQLUnionType) conditionType).getTypes().contains(type);
+        // the object type is always concrete so this is a single bit test of the condition's possible object types
+        if (conditionType instanceof GraphQLInterfaceType || conditionType instanceof GraphQLUnionType) {
+            return parameters.getGraphQLSchema().isPossibleType((GraphQLNamedType) conditionType, type);
         }
         return false;
     }
@@ -17,6 +17,7 @@ public class FieldCollectorParameters {
     private final Map<String, FragmentDefinition> fragmentsByName;
     private final Map<String, Object> variables;
     private final GraphQLObjectType objectType;
+    private final boolean deferSupported;
 
     public GraphQLSchema getGraphQLSchema() {
         return graphQLSchema;
@@ -34,11 +35,20 @@ public class FieldCollectorParameters {
         return objectType;
     }
 
-    private FieldCollectorParameters(GraphQLSchema graphQLSchema, Map<String, Object> variables, Map<String, FragmentDefinition> fragmentsByName, GraphQLObjectType objectType) {
+    /**
+     * @return true if fragments marked with {@code @defer} are to be collected as deferred fragments rather than
+     * merged in with the other fields
+     */
+    public boolean isDeferSupported() {
+        return deferSupported;
+    }
+
+    private FieldCollectorParameters(GraphQLSchema graphQLSchema, Map<String, Object> variables, Map<String, FragmentDefinition> fragmentsByName, GraphQLObjectType objectType, boolean deferSupported) {
         this.fragmentsByName = fragmentsByName;
         this.graphQLSchema = graphQLSchema;
         this.variables = variables;
         this.objectType = objectType;
+        this.deferSupported = deferSupported;
     }
 
     public static Builder newParameters() {
@@ -50,6 +60,7 @@ public class FieldCollectorParameters {
         private Map<String, FragmentDefinition> fragmentsByName;
         private Map<String, Object> variables;
         private GraphQLObjectType objectType;
+        private boolean deferSupported;
 
         /**
          * @see FieldCollectorParameters#newParameters()
@@ -78,9 +89,14 @@ public class FieldCollectorParameters {
             return this;
         }
 
+        public Builder deferSupported(boolean deferSupported) {
+            this.deferSupported = deferSupported;
+            return this;
+        }
+
         public FieldCollectorParameters build() {
             Assert.assertNotNull(graphQLSchema, () -> "You must provide a schema");
-            return new FieldCollectorParameters(graphQLSchema, variables, fragmentsByName, objectType);
+            return new FieldCollectorParameters(graphQLSchema, variables, fragmentsByName, objectType, deferSupported);
         }
 
     }
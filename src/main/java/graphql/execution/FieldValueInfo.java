@@ -1,8 +1,11 @@
 package graphql.execution;
 
 import graphql.ExecutionResult;
+import graphql.ExecutionResultImpl;
+import graphql.Internal;
 import graphql.PublicApi;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
@@ -24,12 +27,14 @@ public class FieldValueInfo {
     private final CompleteValueType completeValueType;
     private final CompletableFuture<ExecutionResult> fieldValue;
     private final List<FieldValueInfo> fieldValueInfos;
+    private final boolean leafList;
 
-    private FieldValueInfo(CompleteValueType completeValueType, CompletableFuture<ExecutionResult> fieldValue, List<FieldValueInfo> fieldValueInfos) {
+    private FieldValueInfo(CompleteValueType completeValueType, CompletableFuture<ExecutionResult> fieldValue, List<FieldValueInfo> fieldValueInfos, boolean leafList) {
         assertNotNull(fieldValueInfos, () -> "fieldValueInfos can't be null");
         this.completeValueType = completeValueType;
         this.fieldValue = fieldValue;
         this.fieldValueInfos = fieldValueInfos;
+        this.leafList = leafList;
     }
 
     public CompleteValueType getCompleteValueType() {
@@ -40,10 +45,25 @@ public class FieldValueInfo {
         return fieldValue;
     }
 
+    /**
+     * The infos of the elements of a list.  For a list of scalars or enums they are only made when they are first asked for,
+     * and if an element is null although the elements can't be null they end before that element, as the list itself is then
+     * null.
+     *
+     * @return the infos of the elements of a list, empty for values that are not lists
+     */
     public List<FieldValueInfo> getFieldValueInfos() {
         return fieldValueInfos;
     }
 
+    /**
+     * @return true if this is a list of scalars or enums, whose elements can't be objects or lists
+     */
+    @Internal
+    public boolean isLeafList() {
+        return leafList;
+    }
+
     public static Builder newFieldValueInfo(CompleteValueType completeValueType) {
         return new Builder(completeValueType);
     }
@@ -62,6 +82,7 @@ public class FieldValueInfo {
         private CompleteValueType completeValueType;
         private CompletableFuture<ExecutionResult> executionResultFuture;
         private List<FieldValueInfo> listInfos = new ArrayList<>();
+        private boolean leafList;
 
         public Builder(CompleteValueType completeValueType) {
             this.completeValueType = completeValueType;
@@ -83,8 +104,59 @@ public class FieldValueInfo {
             return this;
         }
 
+        /**
+         * Sets the infos of the elements of a list of scalars or enums from their completed values, making them only when
+         * they are asked for
+         *
+         * @param values     the completed values of the elements
+         * @param enumValues true if the elements are enums
+         *
+         * @return this builder
+         */
+        @Internal
+        public Builder leafListValues(List<Object> values, boolean enumValues) {
+            this.listInfos = new LeafListFieldValueInfos(values, enumValues ? CompleteValueType.ENUM : CompleteValueType.SCALAR);
+            this.leafList = true;
+            return this;
+        }
+
         public FieldValueInfo build() {
-            return new FieldValueInfo(completeValueType, executionResultFuture, listInfos);
+            return new FieldValueInfo(completeValueType, executionResultFuture, listInfos, leafList);
+        }
+    }
+
+    private static class LeafListFieldValueInfos extends AbstractList<FieldValueInfo> {
+        private final List<Object> values;
+        private final CompleteValueType elementType;
+        // made on first use, racing threads may both make an element which is harmless
+        private volatile FieldValueInfo[] infos;
+
+        LeafListFieldValueInfos(List<Object> values, CompleteValueType elementType) {
+            this.values = values;
+            this.elementType = elementType;
+        }
+
+        @Override
+        public FieldValueInfo get(int index) {
+            FieldValueInfo[] infos = this.infos;
+            if (infos == null) {
+                infos = new FieldValueInfo[values.size()];
+                this.infos = infos;
+            }
+            FieldValueInfo info = infos[index];
+            if (info == null) {
+                Object value = values.get(index);
+                info = newFieldValueInfo(value == null ? CompleteValueType.NULL : elementType)
+                        .fieldValue(CompletableFuture.completedFuture(new ExecutionResultImpl(value, null)))
+                        .build();
+                infos[index] = info;
+            }
+            return info;
+        }
+
+        @Override
+        public int size() {
+            return values.size();
         }
     }
 }
\ No newline at end of file
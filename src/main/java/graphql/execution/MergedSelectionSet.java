@@ -3,7 +3,10 @@ package graphql.execution;
 import com.google.common.collect.ImmutableList;
 import graphql.Assert;
 import graphql.PublicApi;
+import graphql.collect.ImmutableKit;
+import graphql.execution.defer.DeferredFragment;
 
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -14,11 +17,17 @@ import java.util.Set;
 public class MergedSelectionSet {
 
     private final Map<String, MergedField> subFields;
+    private final List<DeferredFragment> deferredFragments;
 
-    private MergedSelectionSet(Map<String, MergedField> subFields) {
-        this.subFields = Assert.assertNotNull(subFields);
+    private MergedSelectionSet(Map<String, MergedField> subFields, List<DeferredFragment> deferredFragments) {
+        // a merged selection set can be shared by every execution of a document, see ExecutionPlan
+        this.subFields = Collections.unmodifiableMap(Assert.assertNotNull(subFields));
+        this.deferredFragments = Collections.unmodifiableList(Assert.assertNotNull(deferredFragments));
     }
 
+    /**
+     * @return the fields by their result keys, which can't be changed
+     */
     public Map<String, MergedField> getSubFields() {
         return subFields;
     }
@@ -47,12 +56,20 @@ public class MergedSelectionSet {
         return subFields.isEmpty();
     }
 
+    /**
+     * @return the fragments marked with {@code @defer}, whose fields are not part of {@link #getSubFields()}
+     */
+    public List<DeferredFragment> getDeferredFragments() {
+        return deferredFragments;
+    }
+
     public static Builder newMergedSelectionSet() {
         return new Builder();
     }
 
     public static class Builder {
         private Map<String, MergedField> subFields = new LinkedHashMap<>();
+        private List<DeferredFragment> deferredFragments = ImmutableKit.emptyList();
 
         private Builder() {
 
@@ -63,8 +80,13 @@ public class MergedSelectionSet {
             return this;
         }
 
+        public Builder deferredFragments(List<DeferredFragment> deferredFragments) {
+            this.deferredFragments = deferredFragments;
+            return this;
+        }
+
         public MergedSelectionSet build() {
-            return new MergedSelectionSet(subFields);
+            return new MergedSelectionSet(subFields, deferredFragments);
         }
 
     }
@@ -14,10 +14,18 @@ public class NonNullableFieldValidator {
 
     private final ExecutionContext executionContext;
     private final ExecutionStepInfo executionStepInfo;
+    private final DeferredExecutionStepInfo deferredExecutionStepInfo;
 
     public NonNullableFieldValidator(ExecutionContext executionContext, ExecutionStepInfo executionStepInfo) {
         this.executionContext = executionContext;
         this.executionStepInfo = executionStepInfo;
+        this.deferredExecutionStepInfo = null;
+    }
+
+    NonNullableFieldValidator(ExecutionContext executionContext, DeferredExecutionStepInfo deferredExecutionStepInfo) {
+        this.executionContext = executionContext;
+        this.executionStepInfo = null;
+        this.deferredExecutionStepInfo = deferredExecutionStepInfo;
     }
 
     /**
@@ -33,7 +41,8 @@ public class NonNullableFieldValidator {
      */
     public <T> T validate(ResultPath path, T result) throws NonNullableFieldWasNullException {
         if (result == null) {
-            if (executionStepInfo.isNonNullType()) {
+            boolean nonNullType = executionStepInfo != null ? executionStepInfo.isNonNullType() : deferredExecutionStepInfo.isNonNullType();
+            if (nonNullType) {
                 // see http://facebook.github.io/graphql/#sec-Errors-and-Non-Nullability
                 //
                 //    > If the field returns null because of an error which has already been added to the "errors" list in the response,
@@ -46,7 +55,7 @@ public class NonNullableFieldValidator {
                 //
                 // We will do this until the spec makes this more explicit.
                 //
-                NonNullableFieldWasNullException nonNullException = new NonNullableFieldWasNullException(executionStepInfo, path);
+                NonNullableFieldWasNullException nonNullException = new NonNullableFieldWasNullException(executionStepInfo != null ? executionStepInfo : deferredExecutionStepInfo.get(), path);
                 executionContext.addError(new NonNullableFieldWasNullError(nonNullException), path);
                 throw nonNullException;
             }
@@ -0,0 +1,314 @@
+package graphql.execution;
+
+import graphql.ExecutionResult;
+import graphql.ExecutionResultSink;
+import graphql.GraphQLError;
+import graphql.Internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static graphql.collect.ImmutableKit.map;
+
+/**
+ * Writes the result of an execution to an {@link ExecutionResultSink}.  When the data is streamed the execution strategy
+ * does not collect the values of objects and lists into maps and lists.  Instead their data is a {@link StreamedValue} that
+ * holds the futures of their fields or items, and {@link #writeData(Object)} writes those in response order as they complete,
+ * dropping each one once written.  {@link #finish(ExecutionResult)} then appends whatever of the final result has not been
+ * written yet.
+ * <p>
+ * An object or list can only be written once it is known not to be null.  Only its non null fields or items can make it
+ * null, so the execution strategy decides the value of an object or list once those have completed, and its nullable fields
+ * or items are then written whenever they complete.
+ */
+@Internal
+public class ResultStreamer {
+
+    private static final CompletableFuture<Void> COMPLETED = CompletableFuture.completedFuture(null);
+
+    private final ExecutionResultSink sink;
+    private volatile boolean streamingData;
+
+    // all guarded by this streamer
+    private final List<OpenValue> openValues = new ArrayList<>();
+    // the open values whose start has been written, which is only done once something is written into them
+    private int startedValues;
+    private boolean dataStarted;
+    private CompletableFuture<?> waitingFor;
+    private CompletableFuture<Void> dataWritten;
+
+    public ResultStreamer(ExecutionResultSink sink) {
+        this.sink = sink;
+    }
+
+    /**
+     * Called by the execution strategy of the operation when it starts to stream the data.  From then on the objects and lists
+     * of the data are completed as {@link StreamedValue}s
+     */
+    public void startStreamingData() {
+        streamingData = true;
+    }
+
+    /**
+     * @return true if objects and lists are completed as {@link StreamedValue}s
+     */
+    public boolean isStreamingData() {
+        return streamingData;
+    }
+
+    /**
+     * Writes the data of the operation in response order as its values complete
+     *
+     * @param data the {@link StreamedValue} of the operation
+     *
+     * @return a future that completes once all of the data has been written, or exceptionally with the failure of the first
+     * value in response order that failed or with the failure of the sink
+     */
+    public CompletableFuture<Void> writeData(Object data) {
+        CompletableFuture<Void> written = new CompletableFuture<>();
+        synchronized (this) {
+            dataWritten = written;
+            openValues.add(new OpenValue(null, (StreamedValue) data));
+        }
+        writeCompletedValues();
+        return written;
+    }
+
+    /**
+     * Writes what has not been streamed of the result, followed by its errors and extensions, and ends the result
+     *
+     * @param result the final result
+     */
+    public synchronized void finish(ExecutionResult result) {
+        if (dataStarted) {
+            // only if writing the data was abandoned
+            while (!openValues.isEmpty()) {
+                endOpenValue();
+            }
+        } else {
+            sink.startObject();
+            if (result.isDataPresent()) {
+                sink.fieldName("data");
+                writeValue(result.getData());
+            }
+        }
+        List<GraphQLError> errors = result.getErrors();
+        if (errors != null && !errors.isEmpty()) {
+            sink.fieldName("errors");
+            writeValue(map(errors, GraphQLError::toSpecification));
+        }
+        if (result.getExtensions() != null) {
+            sink.fieldName("extensions");
+            writeValue(result.getExtensions());
+        }
+        sink.endObject();
+        sink.flush();
+    }
+
+    //
+    // this is called again each time the value it waits for completes, rather than recursing into the values, so deep or
+    // long results do not use up the stack.  The future of the data is completed outside the lock as that is where the
+    // rest of the execution carries on.
+    //
+    private void writeCompletedValues() {
+        Throwable failure = null;
+        synchronized (this) {
+            if (dataWritten.isDone()) {
+                return;
+            }
+            try {
+                failure = writeCompletedValuesLocked();
+            } catch (RuntimeException e) {
+                // nothing more can be written and the sink failure is what the execution fails with
+                failure = e;
+            }
+            if (failure == null && !openValues.isEmpty()) {
+                return;
+            }
+        }
+        if (failure != null) {
+            dataWritten.completeExceptionally(failure);
+        } else {
+            dataWritten.complete(null);
+        }
+    }
+
+    private Throwable writeCompletedValuesLocked() {
+        boolean written = false;
+        try {
+            while (!openValues.isEmpty()) {
+                OpenValue openValue = openValues.get(openValues.size() - 1);
+                boolean valuesWritten = openValue.next == openValue.values.length;
+                CompletableFuture<?> future = valuesWritten ? openValue.completed : openValue.values[openValue.next];
+                if (!future.isDone()) {
+                    if (waitingFor != future) {
+                        waitingFor = future;
+                        future.whenComplete((result, exception) -> writeCompletedValues());
+                    }
+                    return null;
+                }
+                if (valuesWritten) {
+                    if (future.isCompletedExceptionally()) {
+                        return causeOf(future);
+                    }
+                    endOpenValue();
+                    written = true;
+                    continue;
+                }
+                String fieldName = openValue.fieldNames == null ? null : openValue.fieldNames.get(openValue.next);
+                // each value is dropped once written
+                openValue.values[openValue.next++] = null;
+                if (future.isCompletedExceptionally()) {
+                    return causeOf(future);
+                }
+                Object data = ((ExecutionResult) future.join()).getData();
+                if (data instanceof StreamedValue) {
+                    openValues.add(new OpenValue(fieldName, (StreamedValue) data));
+                } else {
+                    startOpenValues();
+                    if (fieldName != null) {
+                        sink.fieldName(fieldName);
+                    }
+                    writeValue(data);
+                    written = true;
+                }
+            }
+            return null;
+        } finally {
+            if (written) {
+                sink.flush();
+            }
+        }
+    }
+
+    private static Throwable causeOf(CompletableFuture<?> future) {
+        try {
+            future.join();
+            return null;
+        } catch (CompletionException e) {
+            return e.getCause();
+        } catch (RuntimeException e) {
+            // cancelled
+            return e;
+        }
+    }
+
+    private void startOpenValues() {
+        for (; startedValues < openValues.size(); startedValues++) {
+            OpenValue openValue = openValues.get(startedValues);
+            if (startedValues == 0) {
+                sink.startObject();
+                sink.fieldName("data");
+                dataStarted = true;
+            } else if (openValue.fieldName != null) {
+                sink.fieldName(openValue.fieldName);
+            }
+            if (openValue.isList()) {
+                sink.startList();
+            } else {
+                sink.startObject();
+            }
+        }
+    }
+
+    private void endOpenValue() {
+        startOpenValues();
+        OpenValue openValue = openValues.remove(openValues.size() - 1);
+        startedValues--;
+        if (openValue.isList()) {
+            sink.endList();
+        } else {
+            sink.endObject();
+        }
+    }
+
+    private void writeValue(Object value) {
+        if (value instanceof Map) {
+            sink.startObject();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                sink.fieldName(String.valueOf(entry.getKey()));
+                writeValue(entry.getValue());
+            }
+            sink.endObject();
+        } else if (value instanceof Iterable) {
+            sink.startList();
+            for (Object item : (Iterable<?>) value) {
+                writeValue(item);
+            }
+            sink.endList();
+        } else {
+            sink.value(value);
+        }
+    }
+
+    /**
+     * Creates the streamed value of an object
+     *
+     * @param fieldNames  the names of the fields in response order
+     * @param fieldValues the values of the fields
+     * @param completed   a future that the end of the object waits for, which fails the data if it fails
+     *
+     * @return the data of the object
+     */
+    public static StreamedValue streamedObject(List<String> fieldNames, List<CompletableFuture<ExecutionResult>> fieldValues, CompletableFuture<?> completed) {
+        return new StreamedValue(fieldNames, fieldValues, completed);
+    }
+
+    /**
+     * Creates the streamed value of a list
+     *
+     * @param itemValues the values of the items in order
+     *
+     * @return the data of the list
+     */
+    public static StreamedValue streamedList(List<CompletableFuture<ExecutionResult>> itemValues) {
+        return new StreamedValue(null, itemValues, COMPLETED);
+    }
+
+    /**
+     * The data of an object or list that is written as its fields or items complete rather than being collected.  It is
+     * what instrumentation sees as the data of objects and lists while the result is streamed.
+     */
+    @Internal
+    public static class StreamedValue {
+        private final List<String> fieldNames;
+        private final CompletableFuture<?> completed;
+        private CompletableFuture<ExecutionResult>[] values;
+
+        @SuppressWarnings("unchecked")
+        private StreamedValue(List<String> fieldNames, List<CompletableFuture<ExecutionResult>> values, CompletableFuture<?> completed) {
+            this.fieldNames = fieldNames;
+            this.completed = completed;
+            this.values = (CompletableFuture<ExecutionResult>[]) values.toArray(new CompletableFuture<?>[0]);
+        }
+
+        @Override
+        public String toString() {
+            return fieldNames == null ? "StreamedValue{list}" : "StreamedValue" + fieldNames;
+        }
+    }
+
+    private static class OpenValue {
+        private final String fieldName;
+        private final List<String> fieldNames;
+        private final CompletableFuture<ExecutionResult>[] values;
+        private final CompletableFuture<?> completed;
+        private int next;
+
+        OpenValue(String fieldName, StreamedValue streamedValue) {
+            this.fieldName = fieldName;
+            this.fieldNames = streamedValue.fieldNames;
+            this.completed = streamedValue.completed;
+            this.values = streamedValue.values;
+            // the values are only held by the open value from now on
+            streamedValue.values = null;
+        }
+
+        boolean isList() {
+            return fieldNames == null;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package graphql.execution;
+
+import graphql.PublicApi;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+import static graphql.Assert.assertNotNull;
+
+/**
+ * A {@link BoundedParallelExecutionStrategy} that calls every data fetcher that is not a {@link graphql.TrivialDataFetcher} on
+ * a virtual thread of its own, which makes it the strategy for data fetchers that block on JDBC, HTTP and the like.  Such data fetchers
+ * then run concurrently across the whole query without sizing a pool for them, while the results are still put together
+ * without blocking.
+ * <p>
+ * Virtual threads need a JDK that has them (Java 21 or later) and are looked up reflectively, so this strategy can only be created
+ * when {@link #isSupported()}.
+ */
+@PublicApi
+public class VirtualThreadExecutionStrategy extends BoundedParallelExecutionStrategy {
+
+    private static final Executor VIRTUAL_THREAD_PER_TASK_EXECUTOR = findVirtualThreadPerTaskExecutor();
+
+    /**
+     * Creates a strategy that calls all non trivial data fetchers on virtual threads, without a limit on how many are in flight
+     */
+    public VirtualThreadExecutionStrategy() {
+        this(Integer.MAX_VALUE, new SimpleDataFetcherExceptionHandler());
+    }
+
+    /**
+     * @param maxConcurrentFetchesPerExecution the most data fetchers of one execution in flight at a time
+     * @param exceptionHandler                 the exception handler to use
+     */
+    public VirtualThreadExecutionStrategy(int maxConcurrentFetchesPerExecution, DataFetcherExceptionHandler exceptionHandler) {
+        super(assertNotNull(VIRTUAL_THREAD_PER_TASK_EXECUTOR, () -> "virtual threads are not supported by this JDK"),
+                maxConcurrentFetchesPerExecution, Integer.MAX_VALUE, true, exceptionHandler);
+    }
+
+    /**
+     * @return true if the JDK supports virtual threads and so this strategy can be created
+     */
+    public static boolean isSupported() {
+        return VIRTUAL_THREAD_PER_TASK_EXECUTOR != null;
+    }
+
+    private static Executor findVirtualThreadPerTaskExecutor() {
+        try {
+            return (Executor) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+            // before Java 21, or Java 19 and 20 without preview features enabled
+            return null;
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package graphql.execution.defer;
+
+import graphql.Internal;
+import graphql.execution.reactive.SingleSubscriberPublisher;
+import org.reactivestreams.Publisher;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Keeps track of the deferred fragments and streamed list items of an execution and publishes their results.
+ * <p>
+ * Deferred calls start executing as soon as they are reached, but a deferred result is only published once the
+ * result it is part of has been: the initial result for the calls made while executing it, or the deferred result
+ * of the enclosing call for the calls made while executing that.  Each of those executions has its own
+ * defer support, sharing the publisher of the execution, so that it knows which result it has to wait for.
+ * The publisher completes once the initial result and every deferred result have been published.
+ */
+@Internal
+public class DeferSupport {
+
+    private final SingleSubscriberPublisher<DeferredExecutionResult> publisher;
+    private final AtomicInteger pendingResults;
+    private final AtomicBoolean deferred;
+    private final CompletableFuture<Void> published;
+    private final boolean deferredCall;
+
+    public DeferSupport() {
+        this.publisher = new SingleSubscriberPublisher<>();
+        // the initial result is the first pending one
+        this.pendingResults = new AtomicInteger(1);
+        this.deferred = new AtomicBoolean();
+        this.published = new CompletableFuture<>();
+        this.deferredCall = false;
+    }
+
+    private DeferSupport(DeferSupport parent, CompletableFuture<Void> published) {
+        this.publisher = parent.publisher;
+        this.pendingResults = parent.pendingResults;
+        this.deferred = parent.deferred;
+        this.published = published;
+        this.deferredCall = true;
+    }
+
+    /**
+     * @return true if this is the defer support of the execution of a deferred call
+     */
+    public boolean isDeferredCall() {
+        return deferredCall;
+    }
+
+    /**
+     * @return true if any call of the execution has been deferred
+     */
+    public boolean isDeferred() {
+        return deferred.get();
+    }
+
+    /**
+     * @return the publisher of the deferred results of the execution
+     */
+    public Publisher<DeferredExecutionResult> getPublisher() {
+        return publisher;
+    }
+
+    /**
+     * @return a future that completes once the result this defer support belongs to has been published
+     */
+    public CompletableFuture<Void> published() {
+        return published;
+    }
+
+    /**
+     * Starts a deferred call, which has to happen before the result it is part of completes.
+     *
+     * @param deferredCall executes the deferred fragment given the defer support of that execution
+     */
+    public void defer(Function<DeferSupport, CompletableFuture<DeferredExecutionResult>> deferredCall) {
+        deferred.set(true);
+        pendingResults.incrementAndGet();
+        CompletableFuture<Void> callPublished = new CompletableFuture<>();
+        CompletableFuture<DeferredExecutionResult> result = call(deferredCall, new DeferSupport(this, callPublished));
+        published.whenComplete((ignored, parentException) ->
+                result.whenComplete((executionResult, exception) -> publish(result, callPublished)));
+    }
+
+    /**
+     * Starts a stream of deferred calls whose results are published in the order the calls are added, which has to happen
+     * before the result it is part of completes.  The calls can then be added at any time until the stream is ended.
+     *
+     * @return the new stream
+     */
+    public ResultStream stream() {
+        deferred.set(true);
+        pendingResults.incrementAndGet();
+        ResultStream stream = new ResultStream();
+        published.whenComplete((ignored, exception) -> stream.publishCompleted());
+        return stream;
+    }
+
+    /**
+     * Called when the initial result of the execution is complete, after which the deferred results that are part of
+     * it can be published
+     */
+    public void initialResultCompleted() {
+        published.complete(null);
+        resultPublished();
+    }
+
+    private CompletableFuture<DeferredExecutionResult> call(Function<DeferSupport, CompletableFuture<DeferredExecutionResult>> deferredCall, DeferSupport deferSupport) {
+        try {
+            return deferredCall.apply(deferSupport);
+        } catch (RuntimeException e) {
+            CompletableFuture<DeferredExecutionResult> result = new CompletableFuture<>();
+            result.completeExceptionally(e);
+            return result;
+        }
+    }
+
+    private void publish(CompletableFuture<DeferredExecutionResult> result, CompletableFuture<Void> callPublished) {
+        try {
+            publisher.offer(result.join());
+        } catch (CompletionException e) {
+            publisher.offerError(e.getCause());
+        }
+        callPublished.complete(null);
+        resultPublished();
+    }
+
+    private void resultPublished() {
+        if (pendingResults.decrementAndGet() == 0) {
+            publisher.noMoreData();
+        }
+    }
+
+    /**
+     * A stream of deferred calls, such as the items of a streamed list, that are published in order.  Only one thread
+     * publishes at a time and the others leave what they completed to it, so that a long stream of already completed
+     * calls is published in a loop rather than by ever deeper nested callbacks.
+     */
+    public class ResultStream {
+
+        // all guarded by this stream
+        private final Deque<StreamedCall> calls = new ArrayDeque<>();
+        private boolean ended;
+        private boolean finished;
+        private boolean publishing;
+        private boolean publishAgain;
+
+        private ResultStream() {
+        }
+
+        /**
+         * Adds a deferred call to the stream
+         *
+         * @param deferredCall executes the deferred call given the defer support of that execution
+         *
+         * @return the defer support of the call
+         */
+        public DeferSupport add(Function<DeferSupport, CompletableFuture<DeferredExecutionResult>> deferredCall) {
+            pendingResults.incrementAndGet();
+            CompletableFuture<Void> callPublished = new CompletableFuture<>();
+            DeferSupport deferSupport = new DeferSupport(DeferSupport.this, callPublished);
+            CompletableFuture<DeferredExecutionResult> result = call(deferredCall, deferSupport);
+            synchronized (this) {
+                calls.add(new StreamedCall(result, callPublished));
+            }
+            result.whenComplete((executionResult, exception) -> publishCompleted());
+            return deferSupport;
+        }
+
+        /**
+         * Ends the stream once the calls added so far have been published
+         */
+        public void end() {
+            synchronized (this) {
+                ended = true;
+            }
+            publishCompleted();
+        }
+
+        private void publishCompleted() {
+            synchronized (this) {
+                if (publishing) {
+                    publishAgain = true;
+                    return;
+                }
+                publishing = true;
+            }
+            while (true) {
+                StreamedCall call = null;
+                boolean streamFinished = false;
+                synchronized (this) {
+                    StreamedCall next = calls.peek();
+                    if (published.isDone() && next != null && next.result.isDone()) {
+                        call = calls.poll();
+                    } else if (publishAgain) {
+                        publishAgain = false;
+                        continue;
+                    } else {
+                        publishing = false;
+                        streamFinished = ended && next == null && !finished;
+                        finished |= streamFinished;
+                    }
+                }
+                if (call == null) {
+                    if (streamFinished) {
+                        resultPublished();
+                    }
+                    return;
+                }
+                publish(call.result, call.published);
+            }
+        }
+    }
+
+    private static class StreamedCall {
+        private final CompletableFuture<DeferredExecutionResult> result;
+        private final CompletableFuture<Void> published;
+
+        StreamedCall(CompletableFuture<DeferredExecutionResult> result, CompletableFuture<Void> published) {
+            this.result = result;
+            this.published = published;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package graphql.execution.defer;
+
+import graphql.ExecutionResult;
+import graphql.PublicApi;
+import org.reactivestreams.Publisher;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The result of a fragment marked with {@code @defer}.  Its data holds the fields of the fragment and is
+ * to be merged into the object found at its path, once the results that contain that object have been delivered.
+ * <p>
+ * The items of a list field marked with {@code @stream} that are not part of the initial result are delivered the same way,
+ * one result per item.  Its data is then the list holding the item, which is given as "items" in the specification of the result,
+ * and its path ends with the index of the item in the list.
+ * <p>
+ * When a query defers any fragments or streams any items the initial {@link ExecutionResult} has a {@link Publisher} of these results
+ * under the {@link #DEFERRED_RESULTS} key of its extensions, which has to be taken out of the extensions
+ * before they are sent to the client.  A deferred result is always published after the result that contains its path.
+ *
+ * @see graphql.Directives#DeferDirective
+ * @see graphql.Directives#StreamDirective
+ */
+@PublicApi
+public interface DeferredExecutionResult extends ExecutionResult {
+
+    /**
+     * The key of the initial result extensions that holds the {@link Publisher} of deferred results
+     */
+    String DEFERRED_RESULTS = "deferredResults";
+
+    /**
+     * @return the path of the object that the data of this result belongs to
+     */
+    List<Object> getPath();
+
+    /**
+     * @return the label of the deferred fragment or streamed list or null if it has none
+     */
+    String getLabel();
+
+    /**
+     * @param initialResult the initial result of an execution
+     *
+     * @return the publisher of the deferred results of the execution or null if nothing was deferred
+     */
+    @SuppressWarnings("unchecked")
+    static Publisher<DeferredExecutionResult> deferredResults(ExecutionResult initialResult) {
+        Map<Object, Object> extensions = initialResult.getExtensions();
+        return extensions == null ? null : (Publisher<DeferredExecutionResult>) extensions.get(DEFERRED_RESULTS);
+    }
+}
@@ -0,0 +1,36 @@
+package graphql.execution.defer;
+
+import graphql.PublicApi;
+import graphql.execution.MergedSelectionSet;
+
+import static graphql.Assert.assertNotNull;
+
+/**
+ * The fields of a fragment spread or inline fragment marked with {@code @defer}, which are taken out of the
+ * {@link MergedSelectionSet} they were collected in and executed separately.
+ */
+@PublicApi
+public class DeferredFragment {
+
+    private final String label;
+    private final MergedSelectionSet fields;
+
+    public DeferredFragment(String label, MergedSelectionSet fields) {
+        this.label = label;
+        this.fields = assertNotNull(fields);
+    }
+
+    /**
+     * @return the label of the {@code @defer} directive or null if it has none
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * @return the fields of the fragment, which can have deferred fragments of their own
+     */
+    public MergedSelectionSet getFields() {
+        return fields;
+    }
+}
@@ -0,0 +1,30 @@
+package graphql.execution.defer;
+
+import graphql.GraphQLError;
+import graphql.Internal;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The deferred result of items of a list field marked with {@code @stream}.  Its data is the list of items, which
+ * are to be added to the list at its path from the index its path ends with, and which the specification of the
+ * result holds as "items" rather than "data".
+ */
+@Internal
+public class StreamedExecutionResultImpl extends DeferredExecutionResultImpl {
+
+    public StreamedExecutionResultImpl(List<Object> path, String label, List<Object> items, List<? extends GraphQLError> errors) {
+        super(path, label, items, errors);
+    }
+
+    @Override
+    public Map<String, Object> toSpecification() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> entry : super.toSpecification().entrySet()) {
+            map.put(entry.getKey().equals("data") ? "items" : entry.getKey(), entry.getValue());
+        }
+        return map;
+    }
+}
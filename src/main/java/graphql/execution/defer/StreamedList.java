@@ -0,0 +1,151 @@
+package graphql.execution.defer;
+
+import graphql.Internal;
+import graphql.execution.reactive.PullingSubscriber;
+import org.reactivestreams.Publisher;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+
+/**
+ * The value of a list field marked with {@code @stream}, split into the items that are part of the initial result
+ * and the remaining items, which are taken one at a time via {@link #next()}.
+ * <p>
+ * The remaining items of a {@link Publisher} are only requested as they are taken, which leaves the pace of the
+ * publisher to the code taking them.
+ */
+@Internal
+public class StreamedList {
+
+    private static final Object END = new Object();
+
+    private final List<Object> initialItems;
+    private final Iterator<Object> remainingItems;
+    private final PullingSubscriber<Object> subscriber;
+
+    private StreamedList(List<Object> initialItems, Iterator<Object> remainingItems, PullingSubscriber<Object> subscriber) {
+        this.initialItems = initialItems;
+        this.remainingItems = remainingItems;
+        this.subscriber = subscriber;
+    }
+
+    /**
+     * @param iterable     the items of the list
+     * @param initialCount the number of items that are part of the initial result
+     *
+     * @return the streamed list
+     */
+    public static StreamedList fromIterable(Iterable<Object> iterable, int initialCount) {
+        Iterator<Object> iterator = iterable.iterator();
+        List<Object> initialItems = new ArrayList<>();
+        while (initialItems.size() < initialCount && iterator.hasNext()) {
+            initialItems.add(iterator.next());
+        }
+        return new StreamedList(initialItems, iterator, null);
+    }
+
+    /**
+     * Subscribes to the publisher and requests the items that are part of the initial result
+     *
+     * @param publisher    the publisher of the items of the list
+     * @param initialCount the number of items that are part of the initial result
+     *
+     * @return a future to the streamed list, which completes exceptionally if the publisher fails before giving the initial items
+     */
+    public static CompletableFuture<StreamedList> fromPublisher(Publisher<?> publisher, int initialCount) {
+        PullingSubscriber<Object> subscriber = new PullingSubscriber<>();
+        publisher.subscribe(subscriber);
+        CompletableFuture<StreamedList> result = new CompletableFuture<>();
+        collectInitialItems(subscriber, new ArrayList<>(), initialCount, result);
+        return result;
+    }
+
+    //
+    // items that are given straight away are collected in a loop rather than by nested callbacks
+    //
+    private static void collectInitialItems(PullingSubscriber<Object> subscriber, List<Object> items, int initialCount, CompletableFuture<StreamedList> result) {
+        while (items.size() < initialCount) {
+            CompletableFuture<Object> next = subscriber.next();
+            if (!next.isDone()) {
+                next.whenComplete((item, exception) -> {
+                    if (addInitialItem(next, subscriber, items, result)) {
+                        collectInitialItems(subscriber, items, initialCount, result);
+                    }
+                });
+                return;
+            }
+            if (!addInitialItem(next, subscriber, items, result)) {
+                return;
+            }
+        }
+        result.complete(new StreamedList(items, null, subscriber));
+    }
+
+    private static boolean addInitialItem(CompletableFuture<Object> next, PullingSubscriber<Object> subscriber, List<Object> items, CompletableFuture<StreamedList> result) {
+        Object item;
+        try {
+            item = next.join();
+        } catch (CompletionException e) {
+            result.completeExceptionally(e.getCause());
+            return false;
+        }
+        if (PullingSubscriber.isEnd(item)) {
+            result.complete(new StreamedList(items, null, null));
+            return false;
+        }
+        items.add(item);
+        return true;
+    }
+
+    /**
+     * @return the items that are part of the initial result
+     */
+    public List<Object> getInitialItems() {
+        return initialItems;
+    }
+
+    /**
+     * @return true if the remaining items come from a publisher and should only be taken once the previous one has been delivered
+     */
+    public boolean isBackpressured() {
+        return subscriber != null;
+    }
+
+    /**
+     * Takes the next remaining item
+     *
+     * @return a future to the next item, which is the end marker (see {@link #isEnd(Object)}) when there are no more items
+     */
+    public CompletableFuture<Object> next() {
+        if (subscriber != null) {
+            return subscriber.next();
+        }
+        if (remainingItems != null && remainingItems.hasNext()) {
+            return completedFuture(remainingItems.next());
+        }
+        return completedFuture(END);
+    }
+
+    /**
+     * @param item an item given by {@link #next()}
+     *
+     * @return true if it is the marker for the end of the items
+     */
+    public static boolean isEnd(Object item) {
+        return item == END || PullingSubscriber.isEnd(item);
+    }
+
+    /**
+     * Stops taking the remaining items
+     */
+    public void cancel() {
+        if (subscriber != null) {
+            subscriber.cancel();
+        }
+    }
+}
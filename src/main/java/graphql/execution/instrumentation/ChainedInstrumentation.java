@@ -20,6 +20,7 @@ import graphql.schema.DataFetcher;
 import graphql.schema.GraphQLSchema;
 import graphql.validation.ValidationError;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -27,25 +28,64 @@ import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
 import static graphql.Assert.assertNotNull;
-import static graphql.collect.ImmutableKit.map;
 
 /**
  * This allows you to chain together a number of {@link graphql.execution.instrumentation.Instrumentation} implementations
  * and run them in sequence.  The list order of instrumentation objects is always guaranteed to be followed and
  * the {@link graphql.execution.instrumentation.InstrumentationState} objects they create will be passed back to the originating
  * implementation.
+ * <p>
+ * Each hook only calls the instrumentations that override it, that is that don't inherit it from {@link SimpleInstrumentation}
+ * or the defaults of {@link Instrumentation}, which makes the per field hooks free for the instrumentations that don't
+ * take part in them.
  *
  * @see graphql.execution.instrumentation.Instrumentation
  */
 @PublicApi
 public class ChainedInstrumentation implements Instrumentation {
 
+    private static final ExecutionStrategyInstrumentationContext NO_OP_EXECUTION_STRATEGY_CONTEXT = new ExecutionStrategyInstrumentationContext() {
+        @Override
+        public void onDispatched(CompletableFuture<ExecutionResult> result) {
+
+        }
+
+        @Override
+        public void onCompleted(ExecutionResult result, Throwable t) {
+
+        }
+    };
+
     // This class is inspired from https://github.com/leangen/graphql-spqr/blob/master/src/main/java/io/leangen/graphql/GraphQLRuntime.java#L80
 
     private final ImmutableList<Instrumentation> instrumentations;
 
+    // the instrumentations that override each hook, which are the only ones that need to be called
+    private final ImmutableList<Instrumentation> beginExecutionInstrumentations;
+    private final ImmutableList<Instrumentation> beginParseInstrumentations;
+    private final ImmutableList<Instrumentation> beginValidationInstrumentations;
+    private final ImmutableList<Instrumentation> beginExecuteOperationInstrumentations;
+    private final ImmutableList<Instrumentation> beginExecutionStrategyInstrumentations;
+    private final ImmutableList<Instrumentation> beginSubscribedFieldEventInstrumentations;
+    private final ImmutableList<Instrumentation> beginFieldInstrumentations;
+    private final ImmutableList<Instrumentation> beginFieldFetchInstrumentations;
+    private final ImmutableList<Instrumentation> beginFieldCompleteInstrumentations;
+    private final ImmutableList<Instrumentation> beginFieldListCompleteInstrumentations;
+    private final ImmutableList<Instrumentation> instrumentDataFetcherInstrumentations;
+
     public ChainedInstrumentation(List<Instrumentation> instrumentations) {
         this.instrumentations = ImmutableList.copyOf(assertNotNull(instrumentations));
+        this.beginExecutionInstrumentations = overriding("beginExecution", InstrumentationExecutionParameters.class);
+        this.beginParseInstrumentations = overriding("beginParse", InstrumentationExecutionParameters.class);
+        this.beginValidationInstrumentations = overriding("beginValidation", InstrumentationValidationParameters.class);
+        this.beginExecuteOperationInstrumentations = overriding("beginExecuteOperation", InstrumentationExecuteOperationParameters.class);
+        this.beginExecutionStrategyInstrumentations = overriding("beginExecutionStrategy", InstrumentationExecutionStrategyParameters.class);
+        this.beginSubscribedFieldEventInstrumentations = overriding("beginSubscribedFieldEvent", InstrumentationFieldParameters.class);
+        this.beginFieldInstrumentations = overriding("beginField", InstrumentationFieldParameters.class);
+        this.beginFieldFetchInstrumentations = overriding("beginFieldFetch", InstrumentationFieldFetchParameters.class);
+        this.beginFieldCompleteInstrumentations = overriding("beginFieldComplete", InstrumentationFieldCompleteParameters.class);
+        this.beginFieldListCompleteInstrumentations = overriding("beginFieldListComplete", InstrumentationFieldCompleteParameters.class);
+        this.instrumentDataFetcherInstrumentations = overriding("instrumentDataFetcher", DataFetcher.class, InstrumentationFieldFetchParameters.class);
     }
 
     public ChainedInstrumentation(Instrumentation... instrumentations) {
@@ -59,6 +99,29 @@ public class ChainedInstrumentation implements Instrumentation {
         return instrumentations;
     }
 
+    //
+    // an instrumentation that inherits a hook from SimpleInstrumentation or the Instrumentation defaults does nothing in it
+    // and is left out of that hook.  If it can't be told, it is kept.
+    //
+    private ImmutableList<Instrumentation> overriding(String hookName, Class<?>... parameterTypes) {
+        ImmutableList.Builder<Instrumentation> overriding = ImmutableList.builder();
+        for (Instrumentation instrumentation : instrumentations) {
+            if (isOverridden(instrumentation, hookName, parameterTypes)) {
+                overriding.add(instrumentation);
+            }
+        }
+        return overriding.build();
+    }
+
+    private static boolean isOverridden(Instrumentation instrumentation, String hookName, Class<?>... parameterTypes) {
+        try {
+            Class<?> declaringClass = instrumentation.getClass().getMethod(hookName, parameterTypes).getDeclaringClass();
+            return declaringClass != SimpleInstrumentation.class && declaringClass != Instrumentation.class;
+        } catch (NoSuchMethodException | SecurityException e) {
+            return true;
+        }
+    }
+
     private InstrumentationState getState(Instrumentation instrumentation, InstrumentationState parametersInstrumentationState) {
         ChainedInstrumentationState chainedInstrumentationState = (ChainedInstrumentationState) parametersInstrumentationState;
         return chainedInstrumentationState.getState(instrumentation);
@@ -71,83 +134,101 @@ public class ChainedInstrumentation implements Instrumentation {
 
     @Override
     public InstrumentationContext<ExecutionResult> beginExecution(final InstrumentationExecutionParameters parameters) {
-        return new ChainedInstrumentationContext<>(map(instrumentations, instrumentation -> {
-            InstrumentationState state = getState(instrumentation, parameters.getInstrumentationState());
-            return instrumentation.beginExecution(parameters.withNewState(state));
-        }));
+        return chainedContext(beginExecutionInstrumentations, parameters, parameters.getInstrumentationState(),
+                (instrumentation, params, state) -> instrumentation.beginExecution(params.withNewState(state)));
     }
 
     @Override
     public InstrumentationContext<Document> beginParse(InstrumentationExecutionParameters parameters) {
-        return new ChainedInstrumentationContext<>(map(instrumentations, instrumentation -> {
-            InstrumentationState state = getState(instrumentation, parameters.getInstrumentationState());
-            return instrumentation.beginParse(parameters.withNewState(state));
-        }));
+        return chainedContext(beginParseInstrumentations, parameters, parameters.getInstrumentationState(),
+                (instrumentation, params, state) -> instrumentation.beginParse(params.withNewState(state)));
     }
 
     @Override
     public InstrumentationContext<List<ValidationError>> beginValidation(InstrumentationValidationParameters parameters) {
-        return new ChainedInstrumentationContext<>(map(instrumentations, instrumentation -> {
-            InstrumentationState state = getState(instrumentation, parameters.getInstrumentationState());
-            return instrumentation.beginValidation(parameters.withNewState(state));
-        }));
+        return chainedContext(beginValidationInstrumentations, parameters, parameters.getInstrumentationState(),
+                (instrumentation, params, state) -> instrumentation.beginValidation(params.withNewState(state)));
     }
 
     @Override
     public InstrumentationContext<ExecutionResult> beginExecuteOperation(InstrumentationExecuteOperationParameters parameters) {
-        return new ChainedInstrumentationContext<>(map(instrumentations, instrumentation -> {
-            InstrumentationState state = getState(instrumentation, parameters.getInstrumentationState());
-            return instrumentation.beginExecuteOperation(parameters.withNewState(state));
-        }));
+        return chainedContext(beginExecuteOperationInstrumentations, parameters, parameters.getInstrumentationState(),
+                (instrumentation, params, state) -> instrumentation.beginExecuteOperation(params.withNewState(state)));
     }
 
     @Override
     public ExecutionStrategyInstrumentationContext beginExecutionStrategy(InstrumentationExecutionStrategyParameters parameters) {
-        return new ChainedExecutionStrategyInstrumentationContext(map(instrumentations, instrumentation -> {
+        ImmutableList<Instrumentation> participants = beginExecutionStrategyInstrumentations;
+        if (participants.isEmpty()) {
+            return NO_OP_EXECUTION_STRATEGY_CONTEXT;
+        }
+        if (participants.size() == 1) {
+            Instrumentation instrumentation = participants.get(0);
+            return instrumentation.beginExecutionStrategy(parameters.withNewState(getState(instrumentation, parameters.getInstrumentationState())));
+        }
+        List<ExecutionStrategyInstrumentationContext> contexts = new ArrayList<>(participants.size());
+        for (int i = 0; i < participants.size(); i++) {
+            Instrumentation instrumentation = participants.get(i);
             InstrumentationState state = getState(instrumentation, parameters.getInstrumentationState());
-            return instrumentation.beginExecutionStrategy(parameters.withNewState(state));
-        }));
+            contexts.add(instrumentation.beginExecutionStrategy(parameters.withNewState(state)));
+        }
+        return new ChainedExecutionStrategyInstrumentationContext(contexts);
     }
 
 
     @Override
     public InstrumentationContext<ExecutionResult> beginSubscribedFieldEvent(InstrumentationFieldParameters parameters) {
-        return new ChainedInstrumentationContext<>(map(instrumentations, instrumentation -> {
-            InstrumentationState state = getState(instrumentation, parameters.getInstrumentationState());
-            return instrumentation.beginSubscribedFieldEvent(parameters.withNewState(state));
-        }));
+        return chainedContext(beginSubscribedFieldEventInstrumentations, parameters, parameters.getInstrumentationState(),
+                (instrumentation, params, state) -> instrumentation.beginSubscribedFieldEvent(params.withNewState(state)));
     }
 
     @Override
     public InstrumentationContext<ExecutionResult> beginField(InstrumentationFieldParameters parameters) {
-        return new ChainedInstrumentationContext<>(map(instrumentations, instrumentation -> {
-            InstrumentationState state = getState(instrumentation, parameters.getInstrumentationState());
-            return instrumentation.beginField(parameters.withNewState(state));
-        }));
+        return chainedContext(beginFieldInstrumentations, parameters, parameters.getInstrumentationState(),
+                (instrumentation, params, state) -> instrumentation.beginField(params.withNewState(state)));
     }
 
     @Override
     public InstrumentationContext<Object> beginFieldFetch(InstrumentationFieldFetchParameters parameters) {
-        return new ChainedInstrumentationContext<>(map(instrumentations, instrumentation -> {
-            InstrumentationState state = getState(instrumentation, parameters.getInstrumentationState());
-            return instrumentation.beginFieldFetch(parameters.withNewState(state));
-        }));
+        return chainedContext(beginFieldFetchInstrumentations, parameters, parameters.getInstrumentationState(),
+                (instrumentation, params, state) -> instrumentation.beginFieldFetch(params.withNewState(state)));
     }
 
     @Override
     public InstrumentationContext<ExecutionResult> beginFieldComplete(InstrumentationFieldCompleteParameters parameters) {
-        return new ChainedInstrumentationContext<>(map(instrumentations, instrumentation -> {
-            InstrumentationState state = getState(instrumentation, parameters.getInstrumentationState());
-            return instrumentation.beginFieldComplete(parameters.withNewState(state));
-        }));
+        return chainedContext(beginFieldCompleteInstrumentations, parameters, parameters.getInstrumentationState(),
+                (instrumentation, params, state) -> instrumentation.beginFieldComplete(params.withNewState(state)));
     }
 
     @Override
     public InstrumentationContext<ExecutionResult> beginFieldListComplete(InstrumentationFieldCompleteParameters parameters) {
-        return new ChainedInstrumentationContext<>(map(instrumentations, instrumentation -> {
-            InstrumentationState state = getState(instrumentation, parameters.getInstrumentationState());
-            return instrumentation.beginFieldListComplete(parameters.withNewState(state));
-        }));
+        return chainedContext(beginFieldListCompleteInstrumentations, parameters, parameters.getInstrumentationState(),
+                (instrumentation, params, state) -> instrumentation.beginFieldListComplete(params.withNewState(state)));
+    }
+
+    //
+    // the hooks don't capture anything so that no lambda is allocated per call, and a hook of a single instrumentation
+    // gives its context back as is
+    //
+    private <P, T> InstrumentationContext<T> chainedContext(ImmutableList<Instrumentation> participants, P parameters, InstrumentationState chainedState,
+                                                            BeginHook<P, T> hook) {
+        if (participants.isEmpty()) {
+            return SimpleInstrumentationContext.noOp();
+        }
+        if (participants.size() == 1) {
+            Instrumentation instrumentation = participants.get(0);
+            return hook.begin(instrumentation, parameters, getState(instrumentation, chainedState));
+        }
+        List<InstrumentationContext<T>> contexts = new ArrayList<>(participants.size());
+        for (int i = 0; i < participants.size(); i++) {
+            Instrumentation instrumentation = participants.get(i);
+            contexts.add(hook.begin(instrumentation, parameters, getState(instrumentation, chainedState)));
+        }
+        return new ChainedInstrumentationContext<>(contexts);
+    }
+
+    private interface BeginHook<P, T> {
+        InstrumentationContext<T> begin(Instrumentation instrumentation, P parameters, InstrumentationState state);
     }
 
     @Override
@@ -188,7 +269,8 @@ public class ChainedInstrumentation implements Instrumentation {
 
     @Override
     public DataFetcher<?> instrumentDataFetcher(DataFetcher<?> dataFetcher, InstrumentationFieldFetchParameters parameters) {
-        for (Instrumentation instrumentation : instrumentations) {
+        for (int i = 0; i < instrumentDataFetcherInstrumentations.size(); i++) {
+            Instrumentation instrumentation = instrumentDataFetcherInstrumentations.get(i);
             InstrumentationState state = getState(instrumentation, parameters.getInstrumentationState());
             dataFetcher = instrumentation.instrumentDataFetcher(dataFetcher, parameters.withNewState(state));
         }
@@ -222,10 +304,10 @@ public class ChainedInstrumentation implements Instrumentation {
 
     private static class ChainedInstrumentationContext<T> implements InstrumentationContext<T> {
 
-        private final ImmutableList<InstrumentationContext<T>> contexts;
+        private final List<InstrumentationContext<T>> contexts;
 
         ChainedInstrumentationContext(List<InstrumentationContext<T>> contexts) {
-            this.contexts = ImmutableList.copyOf(contexts);
+            this.contexts = contexts;
         }
 
         @Override
@@ -241,10 +323,10 @@ public class ChainedInstrumentation implements Instrumentation {
 
     private static class ChainedExecutionStrategyInstrumentationContext implements ExecutionStrategyInstrumentationContext {
 
-        private final ImmutableList<ExecutionStrategyInstrumentationContext> contexts;
+        private final List<ExecutionStrategyInstrumentationContext> contexts;
 
         ChainedExecutionStrategyInstrumentationContext(List<ExecutionStrategyInstrumentationContext> contexts) {
-            this.contexts = ImmutableList.copyOf(contexts);
+            this.contexts = contexts;
         }
 
         @Override
@@ -69,7 +69,7 @@ public class DataLoaderDispatcherInstrumentation extends SimpleInstrumentation {
 
     @Override
     public InstrumentationState createState(InstrumentationCreateStateParameters parameters) {
-        return new DataLoaderDispatcherInstrumentationState(log, parameters.getExecutionInput().getDataLoaderRegistry());
+        return new DataLoaderDispatcherInstrumentationState(log, parameters.getExecutionInput().getDataLoaderRegistry(), options);
     }
 
     @Override
@@ -90,7 +90,7 @@ public class DataLoaderDispatcherInstrumentation extends SimpleInstrumentation {
     }
 
     private void immediatelyDispatch(DataLoaderDispatcherInstrumentationState state) {
-        state.getApproach().dispatch();
+        state.getApproach().dispatch(state.getState());
     }
 
     @Override
@@ -140,9 +140,33 @@ public class DataLoaderDispatcherInstrumentation extends SimpleInstrumentation {
             };
 
         }
+        if (isDeferredCall(parameters.getExecutionContext())) {
+            return dispatchWhenDispatched(state);
+        }
         return state.getApproach().beginExecutionStrategy(parameters.withNewState(state.getState()));
     }
 
+    private boolean isDeferredCall(ExecutionContext executionContext) {
+        return executionContext.getDeferSupport() != null && executionContext.getDeferSupport().isDeferredCall();
+    }
+
+    //
+    // deferred fragments are executed outside of the levels the approach keeps track of, so their data loaders
+    // are dispatched once the fields of each object in them have been dispatched
+    //
+    private ExecutionStrategyInstrumentationContext dispatchWhenDispatched(DataLoaderDispatcherInstrumentationState state) {
+        return new ExecutionStrategyInstrumentationContext() {
+            @Override
+            public void onDispatched(CompletableFuture<ExecutionResult> result) {
+                immediatelyDispatch(state);
+            }
+
+            @Override
+            public void onCompleted(ExecutionResult result, Throwable t) {
+            }
+        };
+    }
+
 
     @Override
     public InstrumentationContext<Object> beginFieldFetch(InstrumentationFieldFetchParameters parameters) {
@@ -150,7 +174,7 @@ public class DataLoaderDispatcherInstrumentation extends SimpleInstrumentation {
         //
         // if there are no data loaders, there is nothing to do
         //
-        if (state.hasNoDataLoaders()) {
+        if (state.hasNoDataLoaders() || isDeferredCall(parameters.getExecutionContext())) {
             return new SimpleInstrumentationContext<>();
         }
         return state.getApproach().beginFieldFetch(parameters.withNewState(state.getState()));
@@ -9,13 +9,15 @@ import graphql.PublicApi;
 public class DataLoaderDispatcherInstrumentationOptions {
 
     private final boolean includeStatistics;
+    private final boolean chainedDispatch;
 
-    private DataLoaderDispatcherInstrumentationOptions(boolean includeStatistics) {
+    private DataLoaderDispatcherInstrumentationOptions(boolean includeStatistics, boolean chainedDispatch) {
         this.includeStatistics = includeStatistics;
+        this.chainedDispatch = chainedDispatch;
     }
 
     public static DataLoaderDispatcherInstrumentationOptions newOptions() {
-        return new DataLoaderDispatcherInstrumentationOptions(false);
+        return new DataLoaderDispatcherInstrumentationOptions(false, false);
     }
 
     /**
@@ -27,7 +29,26 @@ public class DataLoaderDispatcherInstrumentationOptions {
      * @return a new options object
      */
     public DataLoaderDispatcherInstrumentationOptions includeStatistics(boolean flag) {
-        return new DataLoaderDispatcherInstrumentationOptions(flag);
+        return new DataLoaderDispatcherInstrumentationOptions(flag, chainedDispatch);
+    }
+
+    /**
+     * By default the data loaders are dispatched once per level of the query.  If a data fetcher calls
+     * {@link org.dataloader.DataLoader#load(Object)} when the value of another data loader completes, then that load
+     * waits until something else happens to dispatch the data loaders.
+     * <p>
+     * With chained dispatch on, once a dispatch has finished, any loads that were queued while it was running by
+     * something other than a data fetcher are dispatched straight away, and so on until no such loads are left.  Loads
+     * made by data fetchers are left for their level of the query to dispatch when it is ready, so they still go out
+     * together.  The exception is when chained loads are dispatched while a level is not ready yet, as the loads that
+     * level has queued so far are then dispatched with them.
+     *
+     * @param flag the switch to follow
+     *
+     * @return a new options object
+     */
+    public DataLoaderDispatcherInstrumentationOptions chainedDispatch(boolean flag) {
+        return new DataLoaderDispatcherInstrumentationOptions(includeStatistics, flag);
     }
 
 
@@ -35,4 +56,8 @@ public class DataLoaderDispatcherInstrumentationOptions {
         return includeStatistics;
     }
 
+    public boolean isChainedDispatch() {
+        return chainedDispatch;
+    }
+
 }
@@ -46,8 +46,12 @@ public class DataLoaderDispatcherInstrumentationState implements Instrumentation
     private volatile boolean hasNoDataLoaders;
 
     public DataLoaderDispatcherInstrumentationState(Logger log, DataLoaderRegistry dataLoaderRegistry) {
+        this(log, dataLoaderRegistry, DataLoaderDispatcherInstrumentationOptions.newOptions());
+    }
+
+    public DataLoaderDispatcherInstrumentationState(Logger log, DataLoaderRegistry dataLoaderRegistry, DataLoaderDispatcherInstrumentationOptions options) {
         this.dataLoaderRegistry = new AtomicReference<>(dataLoaderRegistry);
-        this.approach = new FieldLevelTrackingApproach(log, this::getDataLoaderRegistry);
+        this.approach = new FieldLevelTrackingApproach(log, this::getDataLoaderRegistry, options.isChainedDispatch());
         this.state = approach.createState();
         hasNoDataLoaders = checkForNoDataLoader(dataLoaderRegistry);
     }
@@ -1,6 +1,5 @@
 package graphql.execution.instrumentation.dataloader;
 
-import graphql.Assert;
 import graphql.ExecutionResult;
 import graphql.Internal;
 import graphql.execution.FieldValueInfo;
@@ -10,16 +9,16 @@ import graphql.execution.instrumentation.InstrumentationContext;
 import graphql.execution.instrumentation.InstrumentationState;
 import graphql.execution.instrumentation.parameters.InstrumentationExecutionStrategyParameters;
 import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
+import org.dataloader.DataLoader;
 import org.dataloader.DataLoaderRegistry;
 import org.slf4j.Logger;
 
-import java.util.LinkedHashMap;
-import java.util.LinkedHashSet;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
-import java.util.Objects;
-import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 
 /**
@@ -29,95 +28,142 @@ import java.util.function.Supplier;
 public class FieldLevelTrackingApproach {
     private final Supplier<DataLoaderRegistry> dataLoaderRegistrySupplier;
     private final Logger log;
-
+    private final boolean chainedDispatch;
+
+    /**
+     * The call stack keeps its counters in a growable array of per level atomic counters so that fetchers completing on
+     * many threads never have to contend on a lock.  Counters only ever go up, and each event bumps its "expected" counters
+     * before its "happened" counters, so a level that is seen as ready really is ready.  Several threads can see that at
+     * the same time, which is why the dispatch itself is decided with a compare and set.
+     */
     private static class CallStack implements InstrumentationState {
 
-        private final Map<Integer, Integer> expectedFetchCountPerLevel = new LinkedHashMap<>();
-        private final Map<Integer, Integer> fetchCountPerLevel = new LinkedHashMap<>();
-        private final Map<Integer, Integer> expectedStrategyCallsPerLevel = new LinkedHashMap<>();
-        private final Map<Integer, Integer> happenedStrategyCallsPerLevel = new LinkedHashMap<>();
-        private final Map<Integer, Integer> happenedOnFieldValueCallsPerLevel = new LinkedHashMap<>();
+        private volatile Level[] levels = grow(new Level[0], 8);
+        // the loads data fetchers have queued since the last dispatch, which is only kept for chained dispatch
+        private final AtomicInteger fetcherLoads = new AtomicInteger();
 
+        CallStack() {
+            level(1).expectedStrategyCalls.set(1);
+        }
 
-        private final Set<Integer> dispatchedLevels = new LinkedHashSet<>();
+        private static Level[] grow(Level[] levels, int size) {
+            Level[] newLevels = Arrays.copyOf(levels, size);
+            for (int i = levels.length; i < size; i++) {
+                newLevels[i] = new Level();
+            }
+            return newLevels;
+        }
 
-        CallStack() {
-            expectedStrategyCallsPerLevel.put(1, 1);
+        private Level level(int level) {
+            Level[] current = levels;
+            if (level < current.length) {
+                return current[level];
+            }
+            return growToInclude(level);
         }
 
+        private synchronized Level growToInclude(int level) {
+            Level[] current = levels;
+            if (level >= current.length) {
+                current = grow(current, Math.max(level + 1, current.length * 2));
+                levels = current;
+            }
+            return current[level];
+        }
 
-        int increaseExpectedFetchCount(int level, int count) {
-            expectedFetchCountPerLevel.put(level, expectedFetchCountPerLevel.getOrDefault(level, 0) + count);
-            return expectedFetchCountPerLevel.get(level);
+        void increaseExpectedFetchCount(int level, int count) {
+            level(level).expectedFetchCount.addAndGet(count);
         }
 
         void increaseFetchCount(int level) {
-            fetchCountPerLevel.put(level, fetchCountPerLevel.getOrDefault(level, 0) + 1);
+            level(level).fetchCount.incrementAndGet();
         }
 
         void increaseExpectedStrategyCalls(int level, int count) {
-            expectedStrategyCallsPerLevel.put(level, expectedStrategyCallsPerLevel.getOrDefault(level, 0) + count);
+            level(level).expectedStrategyCalls.addAndGet(count);
         }
 
         void increaseHappenedStrategyCalls(int level) {
-            happenedStrategyCallsPerLevel.put(level, happenedStrategyCallsPerLevel.getOrDefault(level, 0) + 1);
+            level(level).happenedStrategyCalls.incrementAndGet();
         }
 
         void increaseHappenedOnFieldValueCalls(int level) {
-            happenedOnFieldValueCallsPerLevel.put(level, happenedOnFieldValueCallsPerLevel.getOrDefault(level, 0) + 1);
+            level(level).happenedOnFieldValueCalls.incrementAndGet();
         }
 
+        //
+        // the "happened" counters are read before the "expected" ones, as reading them the other way around could
+        // see them equal while more calls are still expected
+        //
         boolean allStrategyCallsHappened(int level) {
-            return Objects.equals(happenedStrategyCallsPerLevel.get(level), expectedStrategyCallsPerLevel.get(level));
+            Level counters = level(level);
+            int happened = counters.happenedStrategyCalls.get();
+            return happened == counters.expectedStrategyCalls.get();
         }
 
         boolean allOnFieldCallsHappened(int level) {
-            return Objects.equals(happenedOnFieldValueCallsPerLevel.get(level), expectedStrategyCallsPerLevel.get(level));
+            Level counters = level(level);
+            int happened = counters.happenedOnFieldValueCalls.get();
+            return happened == counters.expectedStrategyCalls.get();
         }
 
         boolean allFetchesHappened(int level) {
-            return Objects.equals(fetchCountPerLevel.get(level), expectedFetchCountPerLevel.get(level));
+            Level counters = level(level);
+            int happened = counters.fetchCount.get();
+            return happened == counters.expectedFetchCount.get();
         }
 
         @Override
         public String toString() {
-            return "CallStack{" +
-                    "expectedFetchCountPerLevel=" + expectedFetchCountPerLevel +
-                    ", fetchCountPerLevel=" + fetchCountPerLevel +
-                    ", expectedStrategyCallsPerLevel=" + expectedStrategyCallsPerLevel +
-                    ", happenedStrategyCallsPerLevel=" + happenedStrategyCallsPerLevel +
-                    ", happenedOnFieldValueCallsPerLevel=" + happenedOnFieldValueCallsPerLevel +
-                    ", dispatchedLevels" + dispatchedLevels +
-                    '}';
+            StringBuilder sb = new StringBuilder("CallStack{");
+            Level[] current = levels;
+            for (int i = 1; i < current.length; i++) {
+                if (current[i].isEmpty()) {
+                    break;
+                }
+                sb.append(i == 1 ? "" : ", ").append(i).append('=').append(current[i]);
+            }
+            return sb.append('}').toString();
         }
 
         public boolean dispatchIfNotDispatchedBefore(int level) {
-            if (dispatchedLevels.contains(level)) {
-                Assert.assertShouldNeverHappen("level " + level + " already dispatched");
-                return false;
-            }
-            dispatchedLevels.add(level);
-            return true;
+            return level(level).dispatched.compareAndSet(false, true);
         }
+    }
 
-        public void clearAndMarkCurrentLevelAsReady(int level) {
-            expectedFetchCountPerLevel.clear();
-            fetchCountPerLevel.clear();
-            expectedStrategyCallsPerLevel.clear();
-            happenedStrategyCallsPerLevel.clear();
-            happenedOnFieldValueCallsPerLevel.clear();
-            dispatchedLevels.clear();
+    private static class Level {
+        private final AtomicInteger expectedFetchCount = new AtomicInteger();
+        private final AtomicInteger fetchCount = new AtomicInteger();
+        private final AtomicInteger expectedStrategyCalls = new AtomicInteger();
+        private final AtomicInteger happenedStrategyCalls = new AtomicInteger();
+        private final AtomicInteger happenedOnFieldValueCalls = new AtomicInteger();
+        private final AtomicBoolean dispatched = new AtomicBoolean();
 
-            // make sure the level is ready
-            expectedFetchCountPerLevel.put(level, 1);
-            expectedStrategyCallsPerLevel.put(level, 1);
-            happenedStrategyCallsPerLevel.put(level, 1);
+        boolean isEmpty() {
+            return expectedFetchCount.get() == 0 && expectedStrategyCalls.get() == 0;
+        }
+
+        @Override
+        public String toString() {
+            return "{" +
+                    "expectedFetchCount=" + expectedFetchCount +
+                    ", fetchCount=" + fetchCount +
+                    ", expectedStrategyCalls=" + expectedStrategyCalls +
+                    ", happenedStrategyCalls=" + happenedStrategyCalls +
+                    ", happenedOnFieldValueCalls=" + happenedOnFieldValueCalls +
+                    ", dispatched=" + dispatched +
+                    '}';
         }
     }
 
     public FieldLevelTrackingApproach(Logger log, Supplier<DataLoaderRegistry> dataLoaderRegistrySupplier) {
+        this(log, dataLoaderRegistrySupplier, false);
+    }
+
+    public FieldLevelTrackingApproach(Logger log, Supplier<DataLoaderRegistry> dataLoaderRegistrySupplier, boolean chainedDispatch) {
         this.dataLoaderRegistrySupplier = dataLoaderRegistrySupplier;
         this.log = log;
+        this.chainedDispatch = chainedDispatch;
     }
 
     public InstrumentationState createState() {
@@ -130,10 +176,9 @@ public class FieldLevelTrackingApproach {
         int parentLevel = path.getLevel();
         int curLevel = parentLevel + 1;
         int fieldCount = parameters.getExecutionStrategyParameters().getFields().size();
-        synchronized (callStack) {
-            callStack.increaseExpectedFetchCount(curLevel, fieldCount);
-            callStack.increaseHappenedStrategyCalls(curLevel);
-        }
+        // expected before happened, see CallStack
+        callStack.increaseExpectedFetchCount(curLevel, fieldCount);
+        callStack.increaseHappenedStrategyCalls(curLevel);
 
         return new ExecutionStrategyInstrumentationContext() {
             @Override
@@ -148,22 +193,15 @@ public class FieldLevelTrackingApproach {
 
             @Override
             public void onFieldValuesInfo(List<FieldValueInfo> fieldValueInfoList) {
-                boolean dispatchNeeded;
-                synchronized (callStack) {
-                    dispatchNeeded = handleOnFieldValuesInfo(fieldValueInfoList, callStack, curLevel);
-                }
+                boolean dispatchNeeded = handleOnFieldValuesInfo(fieldValueInfoList, callStack, curLevel);
                 if (dispatchNeeded) {
-                    dispatch();
+                    dispatch(callStack);
                 }
             }
         };
     }
 
-    //
-    // thread safety : called with synchronised(callStack)
-    //
     private boolean handleOnFieldValuesInfo(List<FieldValueInfo> fieldValueInfoList, CallStack callStack, int curLevel) {
-        callStack.increaseHappenedOnFieldValueCalls(curLevel);
         int expectedStrategyCalls = 0;
         for (FieldValueInfo fieldValueInfo : fieldValueInfoList) {
             if (fieldValueInfo.getCompleteValueType() == FieldValueInfo.CompleteValueType.OBJECT) {
@@ -172,11 +210,17 @@ public class FieldLevelTrackingApproach {
                 expectedStrategyCalls += getCountForList(fieldValueInfo);
             }
         }
+        // expected before happened, see CallStack
         callStack.increaseExpectedStrategyCalls(curLevel + 1, expectedStrategyCalls);
+        callStack.increaseHappenedOnFieldValueCalls(curLevel);
         return dispatchIfNeeded(callStack, curLevel + 1);
     }
 
     private int getCountForList(FieldValueInfo fieldValueInfo) {
+        if (fieldValueInfo.isLeafList()) {
+            // no objects in there, and its element infos are only made when asked for
+            return 0;
+        }
         int result = 0;
         for (FieldValueInfo cvi : fieldValueInfo.getFieldValueInfos()) {
             if (cvi.getCompleteValueType() == FieldValueInfo.CompleteValueType.OBJECT) {
@@ -193,17 +237,20 @@ public class FieldLevelTrackingApproach {
         CallStack callStack = parameters.getInstrumentationState();
         ResultPath path = parameters.getEnvironment().getExecutionStepInfo().getPath();
         int level = path.getLevel();
+        int queuedBeforeFetch = chainedDispatch ? dispatchDepth(getDataLoaderRegistry()) : 0;
         return new InstrumentationContext<Object>() {
 
             @Override
             public void onDispatched(CompletableFuture result) {
-                boolean dispatchNeeded;
-                synchronized (callStack) {
-                    callStack.increaseFetchCount(level);
-                    dispatchNeeded = dispatchIfNeeded(callStack, level);
+                if (chainedDispatch) {
+                    // a dispatch while the data fetcher ran can make this negative, and then we know nothing of its loads
+                    int queuedByFetch = dispatchDepth(getDataLoaderRegistry()) - queuedBeforeFetch;
+                    callStack.fetcherLoads.addAndGet(Math.max(0, queuedByFetch));
                 }
+                callStack.increaseFetchCount(level);
+                boolean dispatchNeeded = dispatchIfNeeded(callStack, level);
                 if (dispatchNeeded) {
-                    dispatch();
+                    dispatch(callStack);
                 }
 
             }
@@ -215,9 +262,6 @@ public class FieldLevelTrackingApproach {
     }
 
 
-    //
-    // thread safety : called with synchronised(callStack)
-    //
     private boolean dispatchIfNeeded(CallStack callStack, int level) {
         if (levelReady(callStack, level)) {
             return callStack.dispatchIfNotDispatchedBefore(level);
@@ -226,26 +270,66 @@ public class FieldLevelTrackingApproach {
     }
 
     //
-    // thread safety : called with synchronised(callStack)
+    // the levels below are checked first since they decide how many strategy calls and fetches this level can expect
     //
     private boolean levelReady(CallStack callStack, int level) {
-        if (level == 1) {
-            // level 1 is special: there is only one strategy call and that's it
-            return callStack.allFetchesHappened(1);
+        // level 1 is special: there is only one strategy call and that's it
+        if (!callStack.allFetchesHappened(1)) {
+            return false;
         }
-        if (levelReady(callStack, level - 1) && callStack.allOnFieldCallsHappened(level - 1)
-                && callStack.allStrategyCallsHappened(level) && callStack.allFetchesHappened(level)) {
-            return true;
+        for (int i = 2; i <= level; i++) {
+            if (!callStack.allOnFieldCallsHappened(i - 1) || !callStack.allStrategyCallsHappened(i) || !callStack.allFetchesHappened(i)) {
+                return false;
+            }
         }
-        return false;
+        return true;
     }
 
-    void dispatch() {
+    void dispatch(InstrumentationState state) {
         DataLoaderRegistry dataLoaderRegistry = getDataLoaderRegistry();
         if (log.isDebugEnabled()) {
             log.debug("Dispatching data loaders ({})", dataLoaderRegistry.getKeys());
         }
-        dataLoaderRegistry.dispatchAll();
+        if (chainedDispatch) {
+            dispatchChained(dataLoaderRegistry, (CallStack) state);
+        } else {
+            dataLoaderRegistry.dispatchAll();
+        }
+    }
+
+    //
+    // the values of a dispatch are completed before its future is, so any loads made when those values complete
+    // are already queued by the time all the dispatched futures have completed.  Only the queued loads that data
+    // fetchers did not make are chained loads, the others are for a level that is dispatched when it is ready
+    //
+    private void dispatchChained(DataLoaderRegistry dataLoaderRegistry, CallStack callStack) {
+        callStack.fetcherLoads.set(0);
+        List<CompletableFuture<?>> dispatched = new ArrayList<>();
+        for (DataLoader<?, ?> dataLoader : dataLoaderRegistry.getDataLoaders()) {
+            if (dataLoader.dispatchDepth() > 0) {
+                dispatched.add(dataLoader.dispatch());
+            }
+        }
+        if (dispatched.isEmpty()) {
+            return;
+        }
+        CompletableFuture.allOf(dispatched.toArray(new CompletableFuture<?>[0])).whenComplete((result, throwable) -> {
+            int chainedLoads = dispatchDepth(dataLoaderRegistry) - callStack.fetcherLoads.get();
+            if (chainedLoads > 0) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Dispatching data loaders again for {} chained loads ({})", chainedLoads, dataLoaderRegistry.getKeys());
+                }
+                dispatchChained(dataLoaderRegistry, callStack);
+            }
+        });
+    }
+
+    private int dispatchDepth(DataLoaderRegistry dataLoaderRegistry) {
+        int dispatchDepth = 0;
+        for (DataLoader<?, ?> dataLoader : dataLoaderRegistry.getDataLoaders()) {
+            dispatchDepth += dataLoader.dispatchDepth();
+        }
+        return dispatchDepth;
     }
 
     private DataLoaderRegistry getDataLoaderRegistry() {
@@ -23,7 +23,7 @@ import java.util.List;
 import java.util.Map;
 
 @Internal
-class FieldValidationSupport {
+public class FieldValidationSupport {
 
     static List<GraphQLError> validateFieldsAndArguments(FieldValidation fieldValidation, ExecutionContext executionContext) {
 
@@ -39,20 +39,44 @@ class FieldValidationSupport {
         queryTraverser.visitPreOrder(new QueryVisitorStub() {
             @Override
             public void visitField(QueryVisitorFieldEnvironment env) {
-                Field field = env.getField();
-                if (field.getArguments() != null && !field.getArguments().isEmpty()) {
-                    //
-                    // only fields that have arguments make any sense to placed in play
-                    // since only they have variable input
-                    FieldAndArguments fieldArguments = new FieldAndArgumentsImpl(env);
-                    ResultPath path = fieldArguments.getPath();
-                    List<FieldAndArguments> list = fieldArgumentsMap.getOrDefault(path, new ArrayList<>());
-                    list.add(fieldArguments);
-                    fieldArgumentsMap.put(path, list);
-                }
+                addFieldAndArguments(fieldArgumentsMap, env);
             }
         });
 
+        return validateFieldsAndArguments(fieldValidation, executionContext, fieldArgumentsMap);
+    }
+
+    /**
+     * Adds the field to the fields by path that a {@link FieldValidation} is given, when the field has arguments.  The fields are
+     * to be visited in pre-order.
+     *
+     * @param fieldArgumentsMap the fields by path so far
+     * @param env               the field visited
+     */
+    public static void addFieldAndArguments(Map<ResultPath, List<FieldAndArguments>> fieldArgumentsMap, QueryVisitorFieldEnvironment env) {
+        Field field = env.getField();
+        if (field.getArguments() != null && !field.getArguments().isEmpty()) {
+            //
+            // only fields that have arguments make any sense to placed in play
+            // since only they have variable input
+            FieldAndArguments fieldArguments = new FieldAndArgumentsImpl(env);
+            ResultPath path = fieldArguments.getPath();
+            List<FieldAndArguments> list = fieldArgumentsMap.getOrDefault(path, new ArrayList<>());
+            list.add(fieldArguments);
+            fieldArgumentsMap.put(path, list);
+        }
+    }
+
+    /**
+     * Calls the field validation with fields collected by {@link #addFieldAndArguments(Map, QueryVisitorFieldEnvironment)}
+     *
+     * @param fieldValidation   the field validation to call
+     * @param executionContext  the execution context of the operation
+     * @param fieldArgumentsMap the fields by path
+     *
+     * @return the errors of the field validation
+     */
+    public static List<GraphQLError> validateFieldsAndArguments(FieldValidation fieldValidation, ExecutionContext executionContext, Map<ResultPath, List<FieldAndArguments>> fieldArgumentsMap) {
         FieldValidationEnvironment environment = new FieldValidationEnvironmentImpl(executionContext, fieldArgumentsMap);
         //
         // this will allow a consumer to plugin their own validation of fields and arguments
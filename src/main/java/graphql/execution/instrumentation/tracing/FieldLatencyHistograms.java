@@ -0,0 +1,59 @@
+package graphql.execution.instrumentation.tracing;
+
+import graphql.PublicApi;
+import graphql.schema.FieldCoordinates;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Histograms of the latencies of fields, one per {@link FieldCoordinates}, that are shared by all the executions recording
+ * into them.  Recording is lock free, allocates nothing once a field has its histogram and each histogram takes a fixed
+ * amount of memory, so latencies can be recorded for every request.
+ * <p>
+ * The histograms are never reset, and a metrics exporter polling {@link #snapshot()} works out the latencies of an interval
+ * from the counts, or simply reports the percentiles since the start.
+ *
+ * @see SampledTracingInstrumentation
+ */
+@PublicApi
+public class FieldLatencyHistograms {
+
+    // by type name and then field name so that a field's histogram is found without allocating its coordinates
+    private final ConcurrentMap<String, ConcurrentMap<String, LatencyHistogram>> histograms = new ConcurrentHashMap<>();
+
+    /**
+     * Records a latency of a field
+     *
+     * @param typeName  the name of the type of the field
+     * @param fieldName the name of the field
+     * @param nanos     the latency in nanoseconds
+     */
+    public void record(String typeName, String fieldName, long nanos) {
+        histogram(typeName, fieldName).record(nanos);
+    }
+
+    LatencyHistogram histogram(String typeName, String fieldName) {
+        ConcurrentMap<String, LatencyHistogram> fields = histograms.get(typeName);
+        if (fields == null) {
+            fields = histograms.computeIfAbsent(typeName, name -> new ConcurrentHashMap<>());
+        }
+        LatencyHistogram histogram = fields.get(fieldName);
+        if (histogram == null) {
+            histogram = fields.computeIfAbsent(fieldName, name -> new LatencyHistogram());
+        }
+        return histogram;
+    }
+
+    /**
+     * @return a snapshot of the latencies of each field that has any recorded
+     */
+    public Map<FieldCoordinates, LatencySnapshot> snapshot() {
+        Map<FieldCoordinates, LatencySnapshot> snapshot = new LinkedHashMap<>();
+        histograms.forEach((typeName, fields) -> fields.forEach((fieldName, histogram) ->
+                snapshot.put(FieldCoordinates.coordinates(typeName, fieldName), histogram.snapshot())));
+        return snapshot;
+    }
+}
@@ -0,0 +1,91 @@
+package graphql.execution.instrumentation.tracing;
+
+import graphql.PublicApi;
+
+import static graphql.Assert.assertTrue;
+
+/**
+ * An immutable snapshot of the latencies recorded for one field by {@link FieldLatencyHistograms}.  The latencies are in
+ * nanoseconds and the percentiles are the highest value of the histogram bucket they fall into, so they are accurate to
+ * within 12.5% and never above the max.
+ * <p>
+ * The buckets are read one at a time while latencies are being recorded, so a snapshot is not exactly one point in time.
+ *
+ * @see FieldLatencyHistograms#snapshot()
+ */
+@PublicApi
+public class LatencySnapshot {
+
+    private final long[] counts;
+    private final long count;
+    private final long max;
+
+    LatencySnapshot(long[] counts, long max) {
+        this.counts = counts;
+        long count = 0;
+        for (long bucketCount : counts) {
+            count += bucketCount;
+        }
+        this.count = count;
+        this.max = max;
+    }
+
+    /**
+     * @return the number of latencies recorded
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return the highest latency recorded in nanoseconds or 0 if none have been
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * @return the median latency in nanoseconds
+     */
+    public long getP50() {
+        return getPercentile(50);
+    }
+
+    /**
+     * @return the 99th percentile latency in nanoseconds
+     */
+    public long getP99() {
+        return getPercentile(99);
+    }
+
+    /**
+     * @param percentile the percentile between 0 and 100
+     *
+     * @return the latency in nanoseconds that the given percentage of the recorded latencies are at or below, or 0 if none have been recorded
+     */
+    public long getPercentile(double percentile) {
+        assertTrue(percentile >= 0 && percentile <= 100, () -> "percentile must be between 0 and 100");
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(LatencyHistogram.bucketUpperBound(i), max);
+            }
+        }
+        return max;
+    }
+
+    @Override
+    public String toString() {
+        return "LatencySnapshot{" +
+                "count=" + count +
+                ", p50=" + getP50() +
+                ", p99=" + getP99() +
+                ", max=" + max +
+                '}';
+    }
+}
@@ -0,0 +1,184 @@
+package graphql.execution.instrumentation.tracing;
+
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.PublicApi;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimpleInstrumentationContext;
+import graphql.execution.instrumentation.parameters.InstrumentationCreateStateParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationValidationParameters;
+import graphql.language.Document;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.GraphQLNamedType;
+import graphql.validation.ValidationError;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+
+import static graphql.Assert.assertNotNull;
+import static graphql.Assert.assertTrue;
+
+/**
+ * A tracing instrumentation that is cheap enough for all requests.  The fetch latency of every field of every request is
+ * recorded into {@link FieldLatencyHistograms} shared across requests, which a metrics exporter can poll, while the full
+ * <a href="https://github.com/apollographql/apollo-tracing">Apollo tracing</a> of {@link TracingInstrumentation}, with its
+ * map per field, is only done and put into the result of the requests that are sampled.
+ * <p>
+ * By default no request is sampled, and the latencies of {@link graphql.TrivialDataFetcher}s are not recorded since timing
+ * them costs more than they do.
+ */
+@PublicApi
+public class SampledTracingInstrumentation extends TracingInstrumentation {
+
+    private final Predicate<ExecutionInput> sampler;
+    private final boolean includeTrivialDataFetchers;
+    private final FieldLatencyHistograms fieldLatencyHistograms;
+
+    private SampledTracingInstrumentation(Builder builder) {
+        super(Options.newOptions().includeTrivialDataFetchers(builder.includeTrivialDataFetchers));
+        this.sampler = builder.sampler;
+        this.includeTrivialDataFetchers = builder.includeTrivialDataFetchers;
+        this.fieldLatencyHistograms = builder.fieldLatencyHistograms;
+    }
+
+    /**
+     * @return the histograms the field latencies are recorded into
+     */
+    public FieldLatencyHistograms getFieldLatencyHistograms() {
+        return fieldLatencyHistograms;
+    }
+
+    //
+    // only sampled requests have a TracingSupport state, the others have none
+    //
+    @Override
+    public InstrumentationState createState(InstrumentationCreateStateParameters parameters) {
+        if (sampler.test(parameters.getExecutionInput())) {
+            return super.createState(parameters);
+        }
+        return null;
+    }
+
+    @Override
+    public CompletableFuture<ExecutionResult> instrumentExecutionResult(ExecutionResult executionResult, InstrumentationExecutionParameters parameters) {
+        if (parameters.getInstrumentationState() == null) {
+            return CompletableFuture.completedFuture(executionResult);
+        }
+        return super.instrumentExecutionResult(executionResult, parameters);
+    }
+
+    @Override
+    public InstrumentationContext<Object> beginFieldFetch(InstrumentationFieldFetchParameters parameters) {
+        if (parameters.isTrivialDataFetcher() && !includeTrivialDataFetchers) {
+            return SimpleInstrumentationContext.noOp();
+        }
+        DataFetchingEnvironment environment = parameters.getEnvironment();
+        LatencyHistogram histogram = fieldLatencyHistograms.histogram(
+                ((GraphQLNamedType) environment.getParentType()).getName(), environment.getFieldDefinition().getName());
+        TracingSupport tracingSupport = parameters.getInstrumentationState();
+        TracingSupport.TracingContext tracingContext = tracingSupport == null ? null : tracingSupport.beginField(environment, parameters.isTrivialDataFetcher());
+        return new FieldFetchTiming(histogram, tracingContext);
+    }
+
+    @Override
+    public InstrumentationContext<Document> beginParse(InstrumentationExecutionParameters parameters) {
+        if (parameters.getInstrumentationState() == null) {
+            return SimpleInstrumentationContext.noOp();
+        }
+        return super.beginParse(parameters);
+    }
+
+    @Override
+    public InstrumentationContext<List<ValidationError>> beginValidation(InstrumentationValidationParameters parameters) {
+        if (parameters.getInstrumentationState() == null) {
+            return SimpleInstrumentationContext.noOp();
+        }
+        return super.beginValidation(parameters);
+    }
+
+    private static class FieldFetchTiming implements InstrumentationContext<Object> {
+        private final LatencyHistogram histogram;
+        private final TracingSupport.TracingContext tracingContext;
+        private final long startNanos = System.nanoTime();
+
+        FieldFetchTiming(LatencyHistogram histogram, TracingSupport.TracingContext tracingContext) {
+            this.histogram = histogram;
+            this.tracingContext = tracingContext;
+        }
+
+        @Override
+        public void onDispatched(CompletableFuture<Object> result) {
+        }
+
+        @Override
+        public void onCompleted(Object result, Throwable t) {
+            histogram.record(System.nanoTime() - startNanos);
+            if (tracingContext != null) {
+                tracingContext.onEnd();
+            }
+        }
+    }
+
+    public static Builder newSampledTracingInstrumentation() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private Predicate<ExecutionInput> sampler = executionInput -> false;
+        private boolean includeTrivialDataFetchers = false;
+        private FieldLatencyHistograms fieldLatencyHistograms = new FieldLatencyHistograms();
+
+        /**
+         * Samples the given fraction of requests at random
+         *
+         * @param samplingRate the fraction of requests to sample between 0 and 1, defaults to 0
+         *
+         * @return this builder
+         */
+        public Builder samplingRate(double samplingRate) {
+            assertTrue(samplingRate >= 0 && samplingRate <= 1, () -> "samplingRate must be between 0 and 1");
+            return sampler(executionInput -> ThreadLocalRandom.current().nextDouble() < samplingRate);
+        }
+
+        /**
+         * Samples the requests the given predicate is true for, such as those asking for a trace in a header
+         *
+         * @param sampler decides whether a request is sampled
+         *
+         * @return this builder
+         */
+        public Builder sampler(Predicate<ExecutionInput> sampler) {
+            this.sampler = assertNotNull(sampler, () -> "sampler can't be null");
+            return this;
+        }
+
+        /**
+         * @param includeTrivialDataFetchers whether to time trivial data fetchers too, defaults to false
+         *
+         * @return this builder
+         */
+        public Builder includeTrivialDataFetchers(boolean includeTrivialDataFetchers) {
+            this.includeTrivialDataFetchers = includeTrivialDataFetchers;
+            return this;
+        }
+
+        /**
+         * @param fieldLatencyHistograms the histograms to record field latencies into, such as ones shared with other {@link graphql.GraphQL} instances
+         *
+         * @return this builder
+         */
+        public Builder fieldLatencyHistograms(FieldLatencyHistograms fieldLatencyHistograms) {
+            this.fieldLatencyHistograms = assertNotNull(fieldLatencyHistograms, () -> "fieldLatencyHistograms can't be null");
+            return this;
+        }
+
+        public SampledTracingInstrumentation build() {
+            return new SampledTracingInstrumentation(this);
+        }
+    }
+}
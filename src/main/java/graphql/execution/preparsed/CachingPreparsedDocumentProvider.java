@@ -0,0 +1,387 @@
+package graphql.execution.preparsed;
+
+import graphql.ExecutionInput;
+import graphql.PublicApi;
+import graphql.schema.GraphQLSchema;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+import static graphql.Assert.assertNotNull;
+import static graphql.Assert.assertTrue;
+
+/**
+ * A {@link PreparsedDocumentProvider} that keeps up to a maximum number of parsed and validated documents in memory,
+ * keyed by the query text and the identity of the schema they were validated against.
+ * <p>
+ * When the cache is full, a new document is only kept if it has been asked for more often recently than the document
+ * that would have to make room for it (W-TinyLFU).  This means a burst of one-off queries will not flush out the queries
+ * that make up the bulk of the traffic.
+ * <p>
+ * A missing document is parsed and validated by the first caller that asks for it.  Concurrent callers asking for the same
+ * document wait for that result rather than doing the same work again, while callers asking for other documents are not
+ * held up.
+ */
+@PublicApi
+public class CachingPreparsedDocumentProvider implements PreparsedDocumentProvider {
+
+    // a node that is in the map but not yet linked into a queue
+    private static final int NEW = -1;
+    private static final int WINDOW = 0;
+    private static final int PROBATION = 1;
+    private static final int PROTECTED = 2;
+    private static final int REMOVED = 3;
+
+    private final long maximumSize;
+    private final ConcurrentMap<Key, Node> data = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Key, CompletableFuture<PreparsedDocumentEntry>> inFlight = new ConcurrentHashMap<>();
+
+    // the eviction policy is only ever touched while holding the lock
+    private final ReentrantLock lock = new ReentrantLock();
+    private final FrequencySketch sketch;
+    private final AccessOrderQueue window = new AccessOrderQueue();
+    private final AccessOrderQueue probation = new AccessOrderQueue();
+    private final AccessOrderQueue protectedQueue = new AccessOrderQueue();
+    private final long maximumWindowSize;
+    private final long maximumProtectedSize;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder loadSuccessCount = new LongAdder();
+    private final LongAdder loadFailureCount = new LongAdder();
+    private final LongAdder totalLoadTime = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    private CachingPreparsedDocumentProvider(Builder builder) {
+        this.maximumSize = builder.maximumSize;
+        this.maximumWindowSize = Math.max(1, maximumSize / 100);
+        this.maximumProtectedSize = (maximumSize - maximumWindowSize) * 8 / 10;
+        this.sketch = new FrequencySketch(maximumSize);
+    }
+
+    @Override
+    public PreparsedDocumentEntry getDocument(ExecutionInput executionInput, Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        return getDocument(executionInput, null, parseAndValidateFunction);
+    }
+
+    @Override
+    public PreparsedDocumentEntry getDocument(ExecutionInput executionInput, GraphQLSchema graphQLSchema, Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        Key key = new Key(assertNotNull(executionInput.getQuery()), graphQLSchema);
+        Node node = data.get(key);
+        if (node != null) {
+            hitCount.increment();
+            afterRead(node);
+            return node.entry;
+        }
+
+        CompletableFuture<PreparsedDocumentEntry> future = new CompletableFuture<>();
+        CompletableFuture<PreparsedDocumentEntry> loading = inFlight.putIfAbsent(key, future);
+        if (loading != null) {
+            try {
+                PreparsedDocumentEntry entry = loading.join();
+                hitCount.increment();
+                return entry;
+            } catch (CompletionException e) {
+                // the loader failed, so we parse and validate our own input without caching it
+                missCount.increment();
+                return parseAndValidateFunction.apply(executionInput);
+            }
+        }
+        try {
+            // it may have been loaded between our look up and us becoming the loader
+            node = data.get(key);
+            if (node != null) {
+                hitCount.increment();
+                afterRead(node);
+            } else {
+                missCount.increment();
+                node = load(key, executionInput, parseAndValidateFunction);
+            }
+            future.complete(node.entry);
+            return node.entry;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    private Node load(Key key, ExecutionInput executionInput, Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        long startTime = System.nanoTime();
+        PreparsedDocumentEntry entry;
+        try {
+            entry = parseAndValidateFunction.apply(executionInput);
+        } catch (RuntimeException | Error e) {
+            loadFailureCount.increment();
+            totalLoadTime.add(System.nanoTime() - startTime);
+            throw e;
+        }
+        loadSuccessCount.increment();
+        totalLoadTime.add(System.nanoTime() - startTime);
+
+        Node node = new Node(key, assertNotNull(entry, () -> "parseAndValidateFunction must not return null"));
+        Node existing = data.putIfAbsent(key, node);
+        if (existing != null) {
+            return existing;
+        }
+        lock.lock();
+        try {
+            sketch.increment(key.hashCode());
+            window.addLast(node);
+            node.queue = WINDOW;
+            evict();
+        } finally {
+            lock.unlock();
+        }
+        return node;
+    }
+
+    /**
+     * Reads only need to update the policy on a best effort basis, so if another thread is busy with it the read is
+     * simply not recorded rather than having to wait
+     */
+    private void afterRead(Node node) {
+        if (!lock.tryLock()) {
+            return;
+        }
+        try {
+            sketch.increment(node.key.hashCode());
+            switch (node.queue) {
+                case WINDOW:
+                    window.moveToLast(node);
+                    break;
+                case PROBATION:
+                    probation.remove(node);
+                    protectedQueue.addLast(node);
+                    node.queue = PROTECTED;
+                    while (protectedQueue.size > maximumProtectedSize) {
+                        Node demoted = protectedQueue.pollFirst();
+                        probation.addLast(demoted);
+                        demoted.queue = PROBATION;
+                    }
+                    break;
+                case PROTECTED:
+                    protectedQueue.moveToLast(node);
+                    break;
+                default:
+                    // not yet added to the window by its loader, or evicted since we looked it up
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Documents that fall out of the window become candidates for the main space.  While the cache is over its maximum size
+     * a candidate competes against the least recently used document on probation, and the one that has been asked for
+     * less often is evicted.
+     */
+    private void evict() {
+        Node candidate = null;
+        while (window.size > maximumWindowSize) {
+            Node node = window.pollFirst();
+            probation.addLast(node);
+            node.queue = PROBATION;
+            if (candidate == null) {
+                candidate = node;
+            }
+        }
+        while (window.size + probation.size + protectedQueue.size > maximumSize) {
+            Node victim = probation.peekFirst();
+            if (victim == null) {
+                victim = protectedQueue.peekFirst();
+                protectedQueue.remove(victim);
+                removeEvicted(victim);
+                continue;
+            }
+            Node evicted;
+            if (candidate == null) {
+                evicted = victim;
+            } else if (candidate == victim || sketch.frequency(candidate.key.hashCode()) <= sketch.frequency(victim.key.hashCode())) {
+                evicted = candidate;
+                candidate = candidate.next;
+            } else {
+                evicted = victim;
+            }
+            probation.remove(evicted);
+            removeEvicted(evicted);
+        }
+    }
+
+    private void removeEvicted(Node node) {
+        node.queue = REMOVED;
+        if (data.remove(node.key, node)) {
+            evictionCount.increment();
+        }
+    }
+
+    /**
+     * Discards all the cached documents, for example after a schema change when the documents for the old schema are
+     * no longer of any use
+     */
+    public void invalidateAll() {
+        lock.lock();
+        try {
+            for (AccessOrderQueue queue : new AccessOrderQueue[]{window, probation, protectedQueue}) {
+                Node node;
+                while ((node = queue.pollFirst()) != null) {
+                    node.queue = REMOVED;
+                    data.remove(node.key, node);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the number of documents currently cached
+     */
+    public long getEstimatedSize() {
+        return data.size();
+    }
+
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * @return a snapshot of the hit, miss, load and eviction counters of this cache
+     */
+    public PreparsedDocumentCacheStats getStats() {
+        return new PreparsedDocumentCacheStats(
+                hitCount.sum(),
+                missCount.sum(),
+                loadSuccessCount.sum(),
+                loadFailureCount.sum(),
+                totalLoadTime.sum(),
+                evictionCount.sum());
+    }
+
+    public static Builder newCachingPreparsedDocumentProvider() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private long maximumSize = 1000;
+
+        /**
+         * @param maximumSize the maximum number of documents to keep, defaults to 1000
+         *
+         * @return this builder
+         */
+        public Builder maximumSize(long maximumSize) {
+            assertTrue(maximumSize > 0, () -> "maximumSize must be greater than zero");
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        public CachingPreparsedDocumentProvider build() {
+            return new CachingPreparsedDocumentProvider(this);
+        }
+    }
+
+    private static class Key {
+        private final String query;
+        private final GraphQLSchema schema;
+        private final int hashCode;
+
+        Key(String query, GraphQLSchema schema) {
+            this.query = query;
+            this.schema = schema;
+            this.hashCode = query.hashCode() * 31 + System.identityHashCode(schema);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key that = (Key) o;
+            return schema == that.schema && hashCode == that.hashCode && query.equals(that.query);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    private static class Node {
+        private final Key key;
+        private final PreparsedDocumentEntry entry;
+        private int queue = NEW;
+        private Node prev;
+        private Node next;
+
+        Node(Key key, PreparsedDocumentEntry entry) {
+            this.key = key;
+            this.entry = entry;
+        }
+    }
+
+    /**
+     * A doubly linked list threaded through the nodes themselves, least recently used first
+     */
+    private static class AccessOrderQueue {
+        private Node first;
+        private Node last;
+        private long size;
+
+        Node peekFirst() {
+            return first;
+        }
+
+        Node pollFirst() {
+            Node node = first;
+            if (node != null) {
+                remove(node);
+            }
+            return node;
+        }
+
+        void addLast(Node node) {
+            node.prev = last;
+            node.next = null;
+            if (last == null) {
+                first = node;
+            } else {
+                last.next = node;
+            }
+            last = node;
+            size++;
+        }
+
+        void remove(Node node) {
+            if (node.prev == null) {
+                first = node.next;
+            } else {
+                node.prev.next = node.next;
+            }
+            if (node.next == null) {
+                last = node.prev;
+            } else {
+                node.next.prev = node.prev;
+            }
+            node.prev = null;
+            node.next = null;
+            size--;
+        }
+
+        void moveToLast(Node node) {
+            if (node != last) {
+                remove(node);
+                addLast(node);
+            }
+        }
+    }
+}
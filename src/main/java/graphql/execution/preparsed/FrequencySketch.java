@@ -0,0 +1,74 @@
+package graphql.execution.preparsed;
+
+import graphql.Internal;
+
+/**
+ * A count-min sketch of byte counters, each saturating at 15, that estimates how often a key has been seen recently.  It is the
+ * TinyLFU admission filter of {@link CachingPreparsedDocumentProvider}.
+ * <p>
+ * Once the number of recorded accesses reaches a sample size that is proportional to the cache size, all counters are
+ * halved so that keys that were popular a long time ago fade away.
+ * <p>
+ * This is not thread safe and needs to be guarded by the caller.
+ */
+@Internal
+class FrequencySketch {
+
+    private static final long[] SEEDS = {0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+    private static final int MAX_COUNT = 15;
+
+    private final byte[] table;
+    private final int tableMask;
+    private final int sampleSize;
+    private int additions;
+
+    FrequencySketch(long maximumSize) {
+        int maximum = (int) Math.min(maximumSize, 1 << 18);
+        int tableSize = Integer.highestOneBit(Math.max(16, maximum * 16 - 1) << 1);
+        this.table = new byte[tableSize];
+        this.tableMask = tableSize - 1;
+        this.sampleSize = Math.max(10, maximum * 10);
+    }
+
+    int frequency(int hashCode) {
+        int hash = spread(hashCode);
+        int frequency = MAX_COUNT;
+        for (long seed : SEEDS) {
+            frequency = Math.min(frequency, table[indexOf(hash, seed)]);
+        }
+        return frequency;
+    }
+
+    void increment(int hashCode) {
+        int hash = spread(hashCode);
+        boolean added = false;
+        for (long seed : SEEDS) {
+            int index = indexOf(hash, seed);
+            if (table[index] < MAX_COUNT) {
+                table[index]++;
+                added = true;
+            }
+        }
+        if (added && ++additions >= sampleSize) {
+            reset();
+        }
+    }
+
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (byte) (table[i] >>> 1);
+        }
+        additions = additions >>> 1;
+    }
+
+    private int indexOf(int hash, long seed) {
+        long h = (hash + seed) * seed;
+        h += h >>> 32;
+        return (int) h & tableMask;
+    }
+
+    private static int spread(int hashCode) {
+        int h = hashCode * 0x9e3779b9;
+        return h ^ (h >>> 16);
+    }
+}
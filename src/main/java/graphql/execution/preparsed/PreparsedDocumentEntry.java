@@ -1,7 +1,9 @@
 package graphql.execution.preparsed;
 
 import graphql.GraphQLError;
+import graphql.Internal;
 import graphql.PublicApi;
+import graphql.execution.ExecutionPlan;
 import graphql.language.Document;
 
 import java.io.Serializable;
@@ -23,6 +25,7 @@ import static java.util.Collections.singletonList;
 public class PreparsedDocumentEntry implements Serializable {
     private final Document document;
     private final List<? extends GraphQLError> errors;
+    private transient volatile ExecutionPlan executionPlan;
 
     public PreparsedDocumentEntry(Document document) {
         assertNotNull(document);
@@ -51,4 +54,23 @@ public class PreparsedDocumentEntry implements Serializable {
     public boolean hasErrors() {
         return errors != null && !errors.isEmpty();
     }
+
+    /**
+     * The execution plan lives alongside the document so that executions of a cached document can share the work
+     * of collecting fields.  It is not serialised and is made again on first use.
+     *
+     * @return the execution plan for the document, or null if there are errors
+     */
+    @Internal
+    public ExecutionPlan getExecutionPlan() {
+        if (document == null) {
+            return null;
+        }
+        ExecutionPlan plan = executionPlan;
+        if (plan == null) {
+            plan = new ExecutionPlan(document);
+            executionPlan = plan;
+        }
+        return plan;
+    }
 }
@@ -3,6 +3,7 @@ package graphql.execution.preparsed;
 
 import graphql.ExecutionInput;
 import graphql.PublicSpi;
+import graphql.schema.GraphQLSchema;
 
 import java.util.function.Function;
 
@@ -24,6 +25,21 @@ public interface PreparsedDocumentProvider {
      * @return an instance of {@link PreparsedDocumentEntry}
      */
     PreparsedDocumentEntry getDocument(ExecutionInput executionInput, Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction);
+
+    /**
+     * This is called by the engine to get a "cached" pre-parsed query.  It is given the schema the query is going to be validated against
+     * so that implementations can make sure a document validated against one schema is not used against another.
+     * <p>
+     * By default this calls {@link #getDocument(graphql.ExecutionInput, java.util.function.Function)}
+     *
+     * @param executionInput           The {@link graphql.ExecutionInput} containing the query
+     * @param graphQLSchema            the schema the query will be validated and executed against
+     * @param parseAndValidateFunction If the query has not be pre-parsed, this function MUST be called to parse and validate it
+     * @return an instance of {@link PreparsedDocumentEntry}
+     */
+    default PreparsedDocumentEntry getDocument(ExecutionInput executionInput, GraphQLSchema graphQLSchema, Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        return getDocument(executionInput, parseAndValidateFunction);
+    }
 }
 
 
@@ -0,0 +1,136 @@
+package graphql.execution.reactive;
+
+import graphql.Internal;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A subscriber that only requests an item of its publisher when asked to via {@link #next()}, which gives the
+ * consuming code full control over the backpressure of the publisher.
+ *
+ * @param <T> the things to subscribe to
+ */
+@Internal
+public class PullingSubscriber<T> implements Subscriber<T> {
+
+    private static final Object END = new Object();
+
+    // all guarded by this subscriber
+    private Subscription subscription;
+    private CompletableFuture<Object> pendingItem;
+    private boolean done;
+    private Throwable failure;
+
+    /**
+     * Requests the next item.  Only one item can be requested at a time.
+     *
+     * @return a future to the next item, which is the end marker (see {@link #isEnd(Object)}) when the publisher
+     * has completed and which completes exceptionally when the publisher fails
+     */
+    public CompletableFuture<Object> next() {
+        CompletableFuture<Object> item = new CompletableFuture<>();
+        Subscription request;
+        synchronized (this) {
+            if (done) {
+                completeAtEnd(item, failure);
+                return item;
+            }
+            pendingItem = item;
+            request = subscription;
+        }
+        // the item is requested once subscribed if the subscription is not there yet
+        if (request != null) {
+            request.request(1);
+        }
+        return item;
+    }
+
+    /**
+     * @param item an item given by {@link #next()}
+     *
+     * @return true if it is the marker for the end of the items
+     */
+    public static boolean isEnd(Object item) {
+        return item == END;
+    }
+
+    /**
+     * Cancels the subscription, after which no more items are given
+     */
+    public void cancel() {
+        Subscription cancelled;
+        synchronized (this) {
+            done = true;
+            cancelled = subscription;
+        }
+        if (cancelled != null) {
+            cancelled.cancel();
+        }
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        boolean cancelled;
+        boolean request;
+        synchronized (this) {
+            cancelled = done || this.subscription != null;
+            if (!cancelled) {
+                this.subscription = subscription;
+            }
+            request = pendingItem != null;
+        }
+        if (cancelled) {
+            subscription.cancel();
+        } else if (request) {
+            subscription.request(1);
+        }
+    }
+
+    @Override
+    public void onNext(T item) {
+        CompletableFuture<Object> requested;
+        synchronized (this) {
+            requested = pendingItem;
+            pendingItem = null;
+        }
+        if (requested != null) {
+            requested.complete(item);
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        end(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        end(null);
+    }
+
+    private void end(Throwable throwable) {
+        CompletableFuture<Object> requested;
+        synchronized (this) {
+            if (done) {
+                return;
+            }
+            done = true;
+            failure = throwable;
+            requested = pendingItem;
+            pendingItem = null;
+        }
+        if (requested != null) {
+            completeAtEnd(requested, throwable);
+        }
+    }
+
+    private static void completeAtEnd(CompletableFuture<Object> item, Throwable throwable) {
+        if (throwable != null) {
+            item.completeExceptionally(throwable);
+        } else {
+            item.complete(END);
+        }
+    }
+}
@@ -226,13 +226,20 @@ public class FieldCollectorNormalizedQuery {
                                                              GraphQLCompositeType typeCondition,
                                                              GraphQLSchema graphQLSchema) {
 
-        List<GraphQLObjectType> resolvedTypeCondition = resolvePossibleObjects(typeCondition, graphQLSchema);
         if (currentOnes.size() == 0) {
-            return new LinkedHashSet<>(resolvedTypeCondition);
+            return new LinkedHashSet<>(resolvePossibleObjects(typeCondition, graphQLSchema));
         }
 
-        Set<GraphQLObjectType> result = new LinkedHashSet<>(currentOnes);
-        result.retainAll(resolvedTypeCondition);
+        Set<GraphQLObjectType> result = new LinkedHashSet<>();
+        for (GraphQLObjectType objectType : currentOnes) {
+            // the current ones are object types so this is a single bit test of the condition's possible object types
+            boolean possible = typeCondition instanceof GraphQLObjectType
+                    ? typeCondition.equals(objectType)
+                    : graphQLSchema.isPossibleType(typeCondition, objectType);
+            if (possible) {
+                result.add(objectType);
+            }
+        }
         return result;
     }
 
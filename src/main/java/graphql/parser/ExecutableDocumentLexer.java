@@ -0,0 +1,480 @@
+package graphql.parser;
+
+import graphql.Internal;
+import graphql.language.Comment;
+import graphql.language.IgnoredChar;
+import graphql.language.SourceLocation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A hand written, single pass lexer for graphql documents that is used by {@link ExecutableDocumentParser}.
+ * <p>
+ * It recognises the same tokens as the ANTLR GraphqlLexer however it does not allocate token objects.  Instead
+ * the current token is held in fields and the parser pulls one token at a time via {@link #next()}.
+ * <p>
+ * Comments and ignored characters are only captured if the {@link ParserOptions} ask for them.
+ */
+@Internal
+class ExecutableDocumentLexer {
+
+    static final int EOF = 0;
+    static final int NAME = 1;
+    static final int INT = 2;
+    static final int FLOAT = 3;
+    static final int STRING = 4;
+    static final int BLOCK_STRING = 5;
+    static final int BANG = 6;
+    static final int DOLLAR = 7;
+    static final int AMP = 8;
+    static final int PAREN_L = 9;
+    static final int PAREN_R = 10;
+    static final int SPREAD = 11;
+    static final int COLON = 12;
+    static final int EQUALS = 13;
+    static final int AT = 14;
+    static final int BRACKET_L = 15;
+    static final int BRACKET_R = 16;
+    static final int BRACE_L = 17;
+    static final int PIPE = 18;
+    static final int BRACE_R = 19;
+
+    private final String source;
+    private final int length;
+    private final MultiSourceReader multiSourceReader;
+    private final boolean captureLineComments;
+    private final boolean captureIgnoredChars;
+    private final int maxTokens;
+    private int tokenCount;
+
+    // the position we are reading from - antlr compatible line (1 based) and column (0 based in code points)
+    private int pos;
+    private int line = 1;
+    private int column;
+
+    // the current token
+    private int kind;
+    private int tokenStart;
+    private int tokenEnd;
+    private int tokenLine;
+    private int tokenColumn;
+    private List<Comment> precedingComments = Collections.emptyList();
+    private List<IgnoredChar> precedingIgnoredChars = Collections.emptyList();
+
+    ExecutableDocumentLexer(String source, MultiSourceReader multiSourceReader, ParserOptions parserOptions) {
+        this.source = source;
+        this.length = source.length();
+        this.multiSourceReader = multiSourceReader;
+        this.captureLineComments = parserOptions.isCaptureLineComments();
+        this.captureIgnoredChars = parserOptions.isCaptureIgnoredChars();
+        this.maxTokens = parserOptions.getMaxTokens();
+    }
+
+    int kind() {
+        return kind;
+    }
+
+    String text() {
+        if (kind == EOF) {
+            return "<EOF>";
+        }
+        return source.substring(tokenStart, tokenEnd);
+    }
+
+    boolean textEquals(String s) {
+        int len = tokenEnd - tokenStart;
+        return len == s.length() && source.regionMatches(tokenStart, s, 0, len);
+    }
+
+    int tokenLine() {
+        return tokenLine;
+    }
+
+    int tokenColumn() {
+        return tokenColumn;
+    }
+
+    /**
+     * @return the comments between the previous token and the current token
+     */
+    List<Comment> precedingComments() {
+        return precedingComments;
+    }
+
+    /**
+     * @return the ignored chars between the previous token and the current token
+     */
+    List<IgnoredChar> precedingIgnoredChars() {
+        return precedingIgnoredChars;
+    }
+
+    /**
+     * Advances to the next significant token, skipping ignored chars and comments
+     *
+     * @throws ParseCancelledException if this takes the document over the max tokens limit
+     */
+    void next() {
+        lexToken();
+        if (kind != EOF && ++tokenCount > maxTokens) {
+            SourceLocation sourceLocation = AntlrHelper.createSourceLocation(multiSourceReader, tokenLine, tokenColumn);
+            throw ParseCancelledException.tooManyTokens(maxTokens, sourceLocation, text());
+        }
+    }
+
+    private void lexToken() {
+        precedingComments = Collections.emptyList();
+        precedingIgnoredChars = Collections.emptyList();
+        skipIgnored();
+
+        tokenStart = pos;
+        tokenLine = line;
+        tokenColumn = column;
+        if (pos >= length) {
+            kind = EOF;
+            tokenEnd = pos;
+            return;
+        }
+        char c = source.charAt(pos);
+        switch (c) {
+            case '!':
+                punctuator(BANG);
+                return;
+            case '$':
+                punctuator(DOLLAR);
+                return;
+            case '&':
+                punctuator(AMP);
+                return;
+            case '(':
+                punctuator(PAREN_L);
+                return;
+            case ')':
+                punctuator(PAREN_R);
+                return;
+            case ':':
+                punctuator(COLON);
+                return;
+            case '=':
+                punctuator(EQUALS);
+                return;
+            case '@':
+                punctuator(AT);
+                return;
+            case '[':
+                punctuator(BRACKET_L);
+                return;
+            case ']':
+                punctuator(BRACKET_R);
+                return;
+            case '{':
+                punctuator(BRACE_L);
+                return;
+            case '|':
+                punctuator(PIPE);
+                return;
+            case '}':
+                punctuator(BRACE_R);
+                return;
+            case '.':
+                if (charAt(pos + 1) == '.' && charAt(pos + 2) == '.') {
+                    advance(3);
+                    kind = SPREAD;
+                    tokenEnd = pos;
+                    return;
+                }
+                throw tokenRecognitionError(charAt(pos + 1) == '.' ? pos + 2 : pos + 1);
+            case '"':
+                readString();
+                return;
+            default:
+                if (isNameStart(c)) {
+                    readName();
+                    return;
+                }
+                if (c == '-' || isDigit(c)) {
+                    readNumber();
+                    return;
+                }
+                throw tokenRecognitionError(pos);
+        }
+    }
+
+    private void skipIgnored() {
+        while (pos < length) {
+            char c = source.charAt(pos);
+            switch (c) {
+                case ' ':
+                    ignoredChar(IgnoredChar.IgnoredCharKind.SPACE);
+                    break;
+                case ',':
+                    ignoredChar(IgnoredChar.IgnoredCharKind.COMMA);
+                    break;
+                case '\t':
+                    ignoredChar(IgnoredChar.IgnoredCharKind.TAB);
+                    break;
+                case '\n':
+                    ignoredChar(IgnoredChar.IgnoredCharKind.LF);
+                    break;
+                case '\r':
+                    ignoredChar(IgnoredChar.IgnoredCharKind.CR);
+                    break;
+                case '\u2028':
+                case '\u2029':
+                case '\ufeff':
+                    ignoredChar(IgnoredChar.IgnoredCharKind.OTHER);
+                    break;
+                case '#':
+                    readComment();
+                    break;
+                default:
+                    return;
+            }
+        }
+    }
+
+    private void ignoredChar(IgnoredChar.IgnoredCharKind ignoredCharKind) {
+        if (captureIgnoredChars) {
+            if (precedingIgnoredChars.isEmpty()) {
+                precedingIgnoredChars = new ArrayList<>();
+            }
+            SourceLocation sourceLocation = AntlrHelper.createSourceLocation(multiSourceReader, line, column);
+            precedingIgnoredChars.add(new IgnoredChar(String.valueOf(source.charAt(pos)), ignoredCharKind, sourceLocation));
+        }
+        advance(1);
+    }
+
+    private void readComment() {
+        int start = pos;
+        int startLine = line;
+        int startColumn = column;
+        advance(1);
+        while (pos < length) {
+            char c = source.charAt(pos);
+            if (c != '\t' && c < ' ') {
+                break;
+            }
+            advance(1);
+        }
+        if (captureLineComments) {
+            if (precedingComments.isEmpty()) {
+                precedingComments = new ArrayList<>();
+            }
+            // this deliberately mirrors GraphqlAntlrToLanguage#getCommentOnChannel so both parsers produce equal comments
+            MultiSourceReader.SourceAndLine sourceAndLine = multiSourceReader.getSourceAndLineFromOverallLine(startLine);
+            String text = source.substring(start + 1, pos);
+            precedingComments.add(new Comment(text, new SourceLocation(sourceAndLine.getLine() + 1, startColumn, sourceAndLine.getSourceName())));
+        }
+    }
+
+    private void punctuator(int punctuatorKind) {
+        advance(1);
+        kind = punctuatorKind;
+        tokenEnd = pos;
+    }
+
+    private void readName() {
+        advance(1);
+        while (pos < length && isNameContinue(source.charAt(pos))) {
+            advance(1);
+        }
+        kind = NAME;
+        tokenEnd = pos;
+    }
+
+    private void readNumber() {
+        int start = pos;
+        int p = pos;
+        boolean isFloat = false;
+        if (charAt(p) == '-') {
+            p++;
+        }
+        if (charAt(p) == '0') {
+            p++;
+        } else if (isNonZeroDigit(charAt(p))) {
+            p = skipDigits(p + 1);
+        } else {
+            throw tokenRecognitionError(p);
+        }
+        if (charAt(p) == '.') {
+            isFloat = true;
+            p++;
+            if (!isDigit(charAt(p))) {
+                throw tokenRecognitionError(p);
+            }
+            p = skipDigits(p);
+        }
+        if (charAt(p) == 'e' || charAt(p) == 'E') {
+            isFloat = true;
+            p++;
+            if (charAt(p) == '+' || charAt(p) == '-') {
+                p++;
+            }
+            if (!isDigit(charAt(p))) {
+                throw tokenRecognitionError(p);
+            }
+            p = skipDigits(p);
+        }
+        // the same predicate as the grammar - a number cant be directly followed by a digit, a dot or a name
+        int following = charAt(p);
+        if (isDigit(following) || following == '.' || isNameStart(following)) {
+            throw tokenRecognitionError(p);
+        }
+        advance(p - start);
+        kind = isFloat ? FLOAT : INT;
+        tokenEnd = pos;
+    }
+
+    private int skipDigits(int p) {
+        while (isDigit(charAt(p))) {
+            p++;
+        }
+        return p;
+    }
+
+    private void readString() {
+        if (charAt(pos + 1) == '"' && charAt(pos + 2) == '"') {
+            readBlockString();
+            return;
+        }
+        int p = pos + 1;
+        if (charAt(p) == '"') {
+            // the empty string ""
+            advance(2);
+            kind = STRING;
+            tokenEnd = pos;
+            return;
+        }
+        while (true) {
+            int c = charAt(p);
+            if (c == '"') {
+                break;
+            }
+            if (c == '\\') {
+                int escaped = charAt(p + 1);
+                if (escaped == 'u') {
+                    for (int i = p + 2; i < p + 6; i++) {
+                        if (!isHex(charAt(i))) {
+                            throw tokenRecognitionError(i);
+                        }
+                    }
+                    p += 6;
+                } else if (escaped == '"' || escaped == '\\' || escaped == '/' || escaped == 'b'
+                        || escaped == 'f' || escaped == 'n' || escaped == 'r' || escaped == 't') {
+                    p += 2;
+                } else {
+                    throw tokenRecognitionError(p + 1);
+                }
+            } else if (c == '\t' || c >= ' ') {
+                p++;
+            } else {
+                // line terminators, control characters and the end of input
+                throw tokenRecognitionError(p);
+            }
+        }
+        // single quoted strings never span lines so we can advance in one go
+        advance(p + 1 - pos);
+        kind = STRING;
+        tokenEnd = pos;
+    }
+
+    private void readBlockString() {
+        int start = pos;
+        int p = pos + 3;
+        while (true) {
+            int c = charAt(p);
+            if (c == -1) {
+                throw tokenRecognitionError(p);
+            }
+            if (c == '\\' && charAt(p + 1) == '"' && charAt(p + 2) == '"' && charAt(p + 3) == '"') {
+                p += 4;
+            } else if (c == '"' && charAt(p + 1) == '"' && charAt(p + 2) == '"') {
+                p += 3;
+                break;
+            } else if (c == '\t' || c == '\n' || c == '\r' || c >= ' ') {
+                p++;
+            } else {
+                throw tokenRecognitionError(p);
+            }
+        }
+        // block strings can span lines so we advance char by char to keep line and column tracking correct
+        advance(p - start);
+        kind = BLOCK_STRING;
+        tokenEnd = pos;
+    }
+
+    private void advance(int count) {
+        for (int i = 0; i < count; i++) {
+            char c = source.charAt(pos++);
+            if (c == '\n') {
+                line++;
+                column = 0;
+            } else if (!Character.isLowSurrogate(c)) {
+                // columns are counted in code points just like ANTLR does
+                column++;
+            }
+        }
+    }
+
+    private int charAt(int index) {
+        return index < length ? source.charAt(index) : -1;
+    }
+
+    /**
+     * Creates the same error as the ANTLR lexer error listener in {@link Parser} would
+     *
+     * @param errorIndex the index of the char that could not be matched
+     *
+     * @return an exception to throw
+     */
+    private InvalidSyntaxException tokenRecognitionError(int errorIndex) {
+        int end = Math.min(errorIndex + 1, length);
+        String text = source.substring(tokenStart, Math.max(end, tokenStart));
+        SourceLocation sourceLocation = AntlrHelper.createSourceLocation(multiSourceReader, tokenLine, tokenColumn);
+        String preview = AntlrHelper.createPreview(multiSourceReader, tokenLine);
+        String msg = "token recognition error at: '" + errorDisplay(text) + "'";
+        return new InvalidSyntaxException(sourceLocation, "Invalid syntax: " + msg, preview, null, null);
+    }
+
+    private static String errorDisplay(String text) {
+        StringBuilder sb = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\r':
+                    sb.append("\\r");
+                    break;
+                case '\t':
+                    sb.append("\\t");
+                    break;
+                default:
+                    sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static boolean isNameStart(int c) {
+        return c == '_' || (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z');
+    }
+
+    private static boolean isNameContinue(int c) {
+        return isNameStart(c) || isDigit(c);
+    }
+
+    private static boolean isDigit(int c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isNonZeroDigit(int c) {
+        return c >= '1' && c <= '9';
+    }
+
+    private static boolean isHex(int c) {
+        return isDigit(c) || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+    }
+}
@@ -0,0 +1,549 @@
+package graphql.parser;
+
+import graphql.Internal;
+import graphql.language.Argument;
+import graphql.language.ArrayValue;
+import graphql.language.BooleanValue;
+import graphql.language.Comment;
+import graphql.language.Definition;
+import graphql.language.Directive;
+import graphql.language.Document;
+import graphql.language.EnumValue;
+import graphql.language.Field;
+import graphql.language.FloatValue;
+import graphql.language.FragmentDefinition;
+import graphql.language.FragmentSpread;
+import graphql.language.IgnoredChar;
+import graphql.language.IgnoredChars;
+import graphql.language.InlineFragment;
+import graphql.language.IntValue;
+import graphql.language.ListType;
+import graphql.language.NodeBuilder;
+import graphql.language.NonNullType;
+import graphql.language.NullValue;
+import graphql.language.ObjectField;
+import graphql.language.ObjectValue;
+import graphql.language.OperationDefinition;
+import graphql.language.Selection;
+import graphql.language.SelectionSet;
+import graphql.language.SourceLocation;
+import graphql.language.StringValue;
+import graphql.language.Type;
+import graphql.language.TypeName;
+import graphql.language.Value;
+import graphql.language.VariableDefinition;
+import graphql.language.VariableReference;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+import static graphql.collect.ImmutableKit.emptyList;
+import static graphql.parser.ExecutableDocumentLexer.AT;
+import static graphql.parser.ExecutableDocumentLexer.BANG;
+import static graphql.parser.ExecutableDocumentLexer.BLOCK_STRING;
+import static graphql.parser.ExecutableDocumentLexer.BRACE_L;
+import static graphql.parser.ExecutableDocumentLexer.BRACE_R;
+import static graphql.parser.ExecutableDocumentLexer.BRACKET_L;
+import static graphql.parser.ExecutableDocumentLexer.BRACKET_R;
+import static graphql.parser.ExecutableDocumentLexer.COLON;
+import static graphql.parser.ExecutableDocumentLexer.DOLLAR;
+import static graphql.parser.ExecutableDocumentLexer.EOF;
+import static graphql.parser.ExecutableDocumentLexer.EQUALS;
+import static graphql.parser.ExecutableDocumentLexer.FLOAT;
+import static graphql.parser.ExecutableDocumentLexer.INT;
+import static graphql.parser.ExecutableDocumentLexer.NAME;
+import static graphql.parser.ExecutableDocumentLexer.PAREN_L;
+import static graphql.parser.ExecutableDocumentLexer.PAREN_R;
+import static graphql.parser.ExecutableDocumentLexer.SPREAD;
+import static graphql.parser.ExecutableDocumentLexer.STRING;
+import static graphql.parser.StringValueParsing.parseSingleQuotedString;
+import static graphql.parser.StringValueParsing.parseTripleQuotedString;
+
+/**
+ * A hand written recursive descent parser for executable graphql documents, that is documents made up of operations
+ * and fragments.  It reads the source text directly into {@link graphql.language} nodes in a single pass, without
+ * the ANTLR token stream and parse tree that {@link GraphqlAntlrToLanguage} needs.
+ * <p>
+ * The AST it produces and the {@link InvalidSyntaxException}s it throws are the same as the ANTLR based parsing
+ * path.  Type system definitions are not handled here - if one is found then {@link #parseDocument()} returns null
+ * and the caller is expected to fall back to the ANTLR parser.
+ */
+@Internal
+class ExecutableDocumentParser {
+
+    private final ExecutableDocumentLexer lexer;
+    private final MultiSourceReader multiSourceReader;
+    private final boolean captureSourceLocation;
+    private final boolean captureLineComments;
+    private final boolean captureIgnoredChars;
+    private final boolean captureCommonData;
+    private final int maxSelectionSetDepth;
+    private int selectionSetDepth;
+
+    ExecutableDocumentParser(String source, MultiSourceReader multiSourceReader, ParserOptions parserOptions) {
+        this.lexer = new ExecutableDocumentLexer(source, multiSourceReader, parserOptions);
+        this.multiSourceReader = multiSourceReader;
+        this.captureSourceLocation = parserOptions.isCaptureSourceLocation();
+        this.captureLineComments = parserOptions.isCaptureLineComments();
+        this.captureIgnoredChars = parserOptions.isCaptureIgnoredChars();
+        this.captureCommonData = captureSourceLocation || captureLineComments || captureIgnoredChars;
+        this.maxSelectionSetDepth = parserOptions.getMaxSelectionSetDepth();
+    }
+
+    /**
+     * @return the parsed document or null if the document contains type system definitions
+     *
+     * @throws InvalidSyntaxException if the document is not valid graphql
+     */
+    @SuppressWarnings("rawtypes")
+    Document parseDocument() throws InvalidSyntaxException {
+        lexer.next();
+        NodeStart start = startNode();
+        // raw as that is what the builder of the document takes
+        List<Definition> definitions = new ArrayList<>();
+        do {
+            if (isTypeSystemDefinitionStart()) {
+                return null;
+            }
+            definitions.add(parseDefinition());
+        } while (isDefinitionStart());
+
+        if (lexer.kind() != EOF) {
+            throw mkMoreTokensException();
+        }
+        Document.Builder document = Document.newDocument();
+        addCommonData(document, start);
+        document.definitions(definitions);
+        return document.build();
+    }
+
+    private boolean isDefinitionStart() {
+        if (lexer.kind() == BRACE_L || isTypeSystemDefinitionStart()) {
+            return true;
+        }
+        return lexer.kind() == NAME && (lexer.textEquals("query")
+                || lexer.textEquals("mutation")
+                || lexer.textEquals("subscription")
+                || lexer.textEquals("fragment"));
+    }
+
+    private boolean isTypeSystemDefinitionStart() {
+        int kind = lexer.kind();
+        if (kind == STRING || kind == BLOCK_STRING) {
+            // a description
+            return true;
+        }
+        return kind == NAME && (lexer.textEquals("schema")
+                || lexer.textEquals("scalar")
+                || lexer.textEquals("type")
+                || lexer.textEquals("interface")
+                || lexer.textEquals("union")
+                || lexer.textEquals("enum")
+                || lexer.textEquals("input")
+                || lexer.textEquals("directive")
+                || lexer.textEquals("extend"));
+    }
+
+    private Definition<?> parseDefinition() {
+        if (lexer.kind() == BRACE_L) {
+            return parseOperationDefinition();
+        }
+        if (lexer.kind() == NAME) {
+            if (lexer.textEquals("query") || lexer.textEquals("mutation") || lexer.textEquals("subscription")) {
+                return parseOperationDefinition();
+            }
+            if (lexer.textEquals("fragment")) {
+                return parseFragmentDefinition();
+            }
+        }
+        throw mkException();
+    }
+
+    private OperationDefinition parseOperationDefinition() {
+        NodeStart start = startNode();
+        OperationDefinition.Builder operationDefinition = OperationDefinition.newOperationDefinition();
+        if (lexer.kind() == BRACE_L) {
+            operationDefinition.operation(OperationDefinition.Operation.QUERY);
+            operationDefinition.selectionSet(parseSelectionSet());
+            addCommonData(operationDefinition, start);
+            return operationDefinition.build();
+        }
+        operationDefinition.operation(parseOperation());
+        if (lexer.kind() == NAME) {
+            operationDefinition.name(parseName());
+        }
+        operationDefinition.variableDefinitions(parseVariableDefinitions());
+        operationDefinition.directives(parseDirectives());
+        operationDefinition.selectionSet(parseSelectionSet());
+        addCommonData(operationDefinition, start);
+        return operationDefinition.build();
+    }
+
+    private OperationDefinition.Operation parseOperation() {
+        OperationDefinition.Operation operation;
+        if (lexer.textEquals("query")) {
+            operation = OperationDefinition.Operation.QUERY;
+        } else if (lexer.textEquals("mutation")) {
+            operation = OperationDefinition.Operation.MUTATION;
+        } else {
+            operation = OperationDefinition.Operation.SUBSCRIPTION;
+        }
+        lexer.next();
+        return operation;
+    }
+
+    private List<VariableDefinition> parseVariableDefinitions() {
+        if (lexer.kind() != PAREN_L) {
+            return emptyList();
+        }
+        lexer.next();
+        List<VariableDefinition> variableDefinitions = new ArrayList<>();
+        do {
+            variableDefinitions.add(parseVariableDefinition());
+        } while (lexer.kind() != PAREN_R);
+        lexer.next();
+        return variableDefinitions;
+    }
+
+    private VariableDefinition parseVariableDefinition() {
+        NodeStart start = startNode();
+        VariableDefinition.Builder variableDefinition = VariableDefinition.newVariableDefinition();
+        expect(DOLLAR);
+        variableDefinition.name(parseName());
+        expect(COLON);
+        variableDefinition.type(parseType());
+        if (lexer.kind() == EQUALS) {
+            lexer.next();
+            variableDefinition.defaultValue(parseValue(true));
+        }
+        variableDefinition.directives(parseDirectives());
+        addCommonData(variableDefinition, start);
+        return variableDefinition.build();
+    }
+
+    private FragmentDefinition parseFragmentDefinition() {
+        NodeStart start = startNode();
+        FragmentDefinition.Builder fragmentDefinition = FragmentDefinition.newFragmentDefinition();
+        lexer.next();
+        fragmentDefinition.name(parseFragmentName());
+        expectKeyword("on");
+        fragmentDefinition.typeCondition(TypeName.newTypeName().name(parseName()).build());
+        fragmentDefinition.directives(parseDirectives());
+        fragmentDefinition.selectionSet(parseSelectionSet());
+        addCommonData(fragmentDefinition, start);
+        return fragmentDefinition.build();
+    }
+
+    private SelectionSet parseSelectionSet() {
+        if (lexer.kind() == BRACE_L && ++selectionSetDepth > maxSelectionSetDepth) {
+            SourceLocation sourceLocation = AntlrHelper.createSourceLocation(multiSourceReader, lexer.tokenLine(), lexer.tokenColumn());
+            throw ParseCancelledException.selectionSetsTooDeep(maxSelectionSetDepth, sourceLocation);
+        }
+        NodeStart start = startNode();
+        expect(BRACE_L);
+        List<Selection<?>> selections = new ArrayList<>();
+        do {
+            selections.add(parseSelection());
+        } while (lexer.kind() != BRACE_R);
+        lexer.next();
+        selectionSetDepth--;
+        SelectionSet.Builder selectionSet = SelectionSet.newSelectionSet();
+        addCommonData(selectionSet, start);
+        selectionSet.selections(selections);
+        return selectionSet.build();
+    }
+
+    private Selection<?> parseSelection() {
+        if (lexer.kind() == SPREAD) {
+            return parseFragment();
+        }
+        return parseField();
+    }
+
+    private Field parseField() {
+        NodeStart start = startNode();
+        Field.Builder field = Field.newField();
+        String nameOrAlias = parseName();
+        if (lexer.kind() == COLON) {
+            lexer.next();
+            field.alias(nameOrAlias);
+            field.name(parseName());
+        } else {
+            field.name(nameOrAlias);
+        }
+        field.arguments(parseArguments());
+        field.directives(parseDirectives());
+        if (lexer.kind() == BRACE_L) {
+            field.selectionSet(parseSelectionSet());
+        }
+        addCommonData(field, start);
+        return field.build();
+    }
+
+    private Selection<?> parseFragment() {
+        NodeStart start = startNode();
+        lexer.next();
+        int kind = lexer.kind();
+        if (kind == NAME && !lexer.textEquals("on")) {
+            FragmentSpread.Builder fragmentSpread = FragmentSpread.newFragmentSpread().name(parseFragmentName());
+            fragmentSpread.directives(parseDirectives());
+            addCommonData(fragmentSpread, start);
+            return fragmentSpread.build();
+        }
+        InlineFragment.Builder inlineFragment = InlineFragment.newInlineFragment();
+        if (kind == NAME) {
+            // this is the "on" keyword
+            lexer.next();
+            inlineFragment.typeCondition(parseTypeName());
+        } else if (kind != AT && kind != BRACE_L) {
+            throw mkException();
+        }
+        inlineFragment.directives(parseDirectives());
+        inlineFragment.selectionSet(parseSelectionSet());
+        addCommonData(inlineFragment, start);
+        return inlineFragment.build();
+    }
+
+    private List<Argument> parseArguments() {
+        if (lexer.kind() != PAREN_L) {
+            return emptyList();
+        }
+        lexer.next();
+        List<Argument> arguments = new ArrayList<>();
+        do {
+            NodeStart start = startNode();
+            Argument.Builder argument = Argument.newArgument();
+            argument.name(parseName());
+            expect(COLON);
+            argument.value(parseValue(false));
+            addCommonData(argument, start);
+            arguments.add(argument.build());
+        } while (lexer.kind() != PAREN_R);
+        lexer.next();
+        return arguments;
+    }
+
+    private List<Directive> parseDirectives() {
+        if (lexer.kind() != AT) {
+            return emptyList();
+        }
+        List<Directive> directives = new ArrayList<>();
+        do {
+            NodeStart start = startNode();
+            lexer.next();
+            Directive.Builder directive = Directive.newDirective();
+            directive.name(parseName());
+            directive.arguments(parseArguments());
+            addCommonData(directive, start);
+            directives.add(directive.build());
+        } while (lexer.kind() == AT);
+        return directives;
+    }
+
+    private Type<?> parseType() {
+        NodeStart start = startNode();
+        Type<?> type;
+        if (lexer.kind() == BRACKET_L) {
+            lexer.next();
+            ListType.Builder listType = ListType.newListType();
+            listType.type(parseType());
+            expect(BRACKET_R);
+            addCommonData(listType, start);
+            type = listType.build();
+        } else {
+            type = parseTypeName();
+        }
+        if (lexer.kind() != BANG) {
+            return type;
+        }
+        lexer.next();
+        NonNullType.Builder nonNullType = NonNullType.newNonNullType();
+        nonNullType.type(type);
+        addCommonData(nonNullType, start);
+        return nonNullType.build();
+    }
+
+    private TypeName parseTypeName() {
+        NodeStart start = startNode();
+        TypeName.Builder typeName = TypeName.newTypeName();
+        typeName.name(parseName());
+        addCommonData(typeName, start);
+        return typeName.build();
+    }
+
+    private Value<?> parseValue(boolean isConst) {
+        NodeStart start = startNode();
+        switch (lexer.kind()) {
+            case DOLLAR:
+                if (isConst) {
+                    throw mkException();
+                }
+                lexer.next();
+                VariableReference.Builder variableReference = VariableReference.newVariableReference().name(parseName());
+                addCommonData(variableReference, start);
+                return variableReference.build();
+            case INT:
+                IntValue.Builder intValue = IntValue.newIntValue().value(new BigInteger(lexer.text()));
+                lexer.next();
+                addCommonData(intValue, start);
+                return intValue.build();
+            case FLOAT:
+                FloatValue.Builder floatValue = FloatValue.newFloatValue().value(new BigDecimal(lexer.text()));
+                lexer.next();
+                addCommonData(floatValue, start);
+                return floatValue.build();
+            case STRING:
+                StringValue.Builder stringValue = StringValue.newStringValue().value(parseSingleQuotedString(lexer.text()));
+                lexer.next();
+                addCommonData(stringValue, start);
+                return stringValue.build();
+            case BLOCK_STRING:
+                StringValue.Builder blockStringValue = StringValue.newStringValue().value(parseTripleQuotedString(lexer.text()));
+                lexer.next();
+                addCommonData(blockStringValue, start);
+                return blockStringValue.build();
+            case NAME:
+                return parseNameValue(start);
+            case BRACKET_L:
+                return parseArrayValue(start, isConst);
+            case BRACE_L:
+                lexer.next();
+                List<ObjectField> objectFields = new ArrayList<>();
+                while (lexer.kind() != BRACE_R) {
+                    String name = parseName();
+                    expect(COLON);
+                    objectFields.add(ObjectField.newObjectField().name(name).value(parseValue(isConst)).build());
+                }
+                lexer.next();
+                ObjectValue.Builder objectValue = ObjectValue.newObjectValue();
+                addCommonData(objectValue, start);
+                return objectValue.objectFields(objectFields).build();
+            default:
+                throw mkException();
+        }
+    }
+
+    @SuppressWarnings("rawtypes")
+    private ArrayValue parseArrayValue(NodeStart start, boolean isConst) {
+        lexer.next();
+        // raw as that is what the builder of the array takes
+        List<Value> values = new ArrayList<>();
+        while (lexer.kind() != BRACKET_R) {
+            values.add(parseValue(isConst));
+        }
+        lexer.next();
+        ArrayValue.Builder arrayValue = ArrayValue.newArrayValue();
+        addCommonData(arrayValue, start);
+        return arrayValue.values(values).build();
+    }
+
+    private Value<?> parseNameValue(NodeStart start) {
+        if (lexer.textEquals("true") || lexer.textEquals("false")) {
+            BooleanValue.Builder booleanValue = BooleanValue.newBooleanValue().value(lexer.textEquals("true"));
+            lexer.next();
+            addCommonData(booleanValue, start);
+            return booleanValue.build();
+        }
+        if (lexer.textEquals("null")) {
+            NullValue.Builder nullValue = NullValue.newNullValue();
+            lexer.next();
+            addCommonData(nullValue, start);
+            return nullValue.build();
+        }
+        EnumValue.Builder enumValue = EnumValue.newEnumValue().name(lexer.text());
+        lexer.next();
+        addCommonData(enumValue, start);
+        return enumValue.build();
+    }
+
+    private String parseName() {
+        if (lexer.kind() != NAME) {
+            throw mkException();
+        }
+        String name = lexer.text();
+        lexer.next();
+        return name;
+    }
+
+    private String parseFragmentName() {
+        if (lexer.kind() == NAME && lexer.textEquals("on")) {
+            throw mkException();
+        }
+        return parseName();
+    }
+
+    private void expect(int kind) {
+        if (lexer.kind() != kind) {
+            throw mkException();
+        }
+        lexer.next();
+    }
+
+    private void expectKeyword(String keyword) {
+        if (lexer.kind() != NAME || !lexer.textEquals(keyword)) {
+            throw mkException();
+        }
+        lexer.next();
+    }
+
+    /**
+     * The data of the first token of a node that is needed when the node is finished
+     */
+    private static class NodeStart {
+        private final SourceLocation sourceLocation;
+        private final List<Comment> comments;
+        private final List<IgnoredChar> ignoredCharsLeft;
+
+        NodeStart(SourceLocation sourceLocation, List<Comment> comments, List<IgnoredChar> ignoredCharsLeft) {
+            this.sourceLocation = sourceLocation;
+            this.comments = comments;
+            this.ignoredCharsLeft = ignoredCharsLeft;
+        }
+    }
+
+    private NodeStart startNode() {
+        if (!captureCommonData) {
+            return null;
+        }
+        SourceLocation sourceLocation = null;
+        if (captureSourceLocation) {
+            sourceLocation = AntlrHelper.createSourceLocation(multiSourceReader, lexer.tokenLine(), lexer.tokenColumn());
+        }
+        return new NodeStart(sourceLocation, lexer.precedingComments(), lexer.precedingIgnoredChars());
+    }
+
+    /*
+     * this must be called once the last token of the node has been consumed so that
+     * the ignored chars to its right are the ones preceding the current token
+     */
+    private void addCommonData(NodeBuilder nodeBuilder, NodeStart start) {
+        if (start == null) {
+            return;
+        }
+        if (captureLineComments && !start.comments.isEmpty()) {
+            nodeBuilder.comments(start.comments);
+        }
+        if (captureSourceLocation) {
+            nodeBuilder.sourceLocation(start.sourceLocation);
+        }
+        if (captureIgnoredChars) {
+            nodeBuilder.ignoredChars(new IgnoredChars(start.ignoredCharsLeft, lexer.precedingIgnoredChars()));
+        }
+    }
+
+    private InvalidSyntaxException mkException() {
+        SourceLocation sourceLocation = AntlrHelper.createSourceLocation(multiSourceReader, lexer.tokenLine(), lexer.tokenColumn());
+        String sourcePreview = AntlrHelper.createPreview(multiSourceReader, lexer.tokenLine());
+        return new InvalidSyntaxException(sourceLocation, null, sourcePreview, lexer.text(), null);
+    }
+
+    private InvalidSyntaxException mkMoreTokensException() {
+        SourceLocation sourceLocation = AntlrHelper.createSourceLocation(multiSourceReader, lexer.tokenLine(), lexer.tokenColumn());
+        String sourcePreview = AntlrHelper.createPreview(multiSourceReader, lexer.tokenLine());
+        return new InvalidSyntaxException(sourceLocation,
+                "There are more tokens in the query that have not been consumed",
+                sourcePreview, lexer.text(), null);
+    }
+}
@@ -0,0 +1,31 @@
+package graphql.parser;
+
+import graphql.PublicApi;
+import graphql.language.SourceLocation;
+
+/**
+ * This is thrown when the input to the {@link Parser} exceeds one of the limits in {@link ParserOptions}.  Parsing is
+ * cancelled as soon as the limit is reached so that hostile input costs no more than the limit to reject.
+ */
+@PublicApi
+public class ParseCancelledException extends InvalidSyntaxException {
+
+    ParseCancelledException(String msg, SourceLocation location, String offendingToken) {
+        super(location, msg, null, offendingToken, null);
+    }
+
+    static ParseCancelledException tooManyCharacters(int maxCharacters) {
+        String msg = String.format("More than %d characters have been presented. To prevent Denial Of Service attacks, parsing has been cancelled.", maxCharacters);
+        return new ParseCancelledException(msg, null, null);
+    }
+
+    static ParseCancelledException tooManyTokens(int maxTokens, SourceLocation location, String offendingToken) {
+        String msg = String.format("More than %d parse tokens have been presented. To prevent Denial Of Service attacks, parsing has been cancelled.", maxTokens);
+        return new ParseCancelledException(msg, location, offendingToken);
+    }
+
+    static ParseCancelledException selectionSetsTooDeep(int maxSelectionSetDepth, SourceLocation location) {
+        String msg = String.format("Selection sets are nested more than %d deep. To prevent Denial Of Service attacks, parsing has been cancelled.", maxSelectionSetDepth);
+        return new ParseCancelledException(msg, location, null);
+    }
+}
@@ -3,6 +3,7 @@ package graphql.parser;
 import graphql.PublicApi;
 import graphql.language.Document;
 import graphql.language.SourceLocation;
+import graphql.parser.antlr.GraphqlBaseListener;
 import graphql.parser.antlr.GraphqlLexer;
 import graphql.parser.antlr.GraphqlParser;
 import org.antlr.v4.runtime.BaseErrorListener;
@@ -19,6 +20,8 @@ import java.io.Reader;
 import java.io.UncheckedIOException;
 import java.util.List;
 
+import static graphql.Assert.assertNotNull;
+
 @PublicApi
 public class Parser {
 
@@ -32,14 +35,44 @@ public class Parser {
     }
 
     public Document parseDocument(String input, String sourceName) throws InvalidSyntaxException {
+        return parseDocument(input, sourceName, ParserOptions.getDefaultParserOptions());
+    }
+
+    /**
+     * Parses a string input into a graphql AST {@link Document} using the specified parser options
+     *
+     * @param input         the input to parse
+     * @param sourceName    the name of the source, which can be null
+     * @param parserOptions the parser options that control what is captured in the AST
+     *
+     * @return an AST {@link Document}
+     *
+     * @throws InvalidSyntaxException if the input is not valid graphql syntax
+     */
+    public Document parseDocument(String input, String sourceName, ParserOptions parserOptions) throws InvalidSyntaxException {
         MultiSourceReader multiSourceReader = MultiSourceReader.newMultiSourceReader()
                 .string(input, sourceName)
                 .trackData(true)
                 .build();
-        return parseDocument(multiSourceReader);
+        return parseDocument(multiSourceReader, parserOptions);
     }
 
     public Document parseDocument(Reader reader) throws InvalidSyntaxException {
+        return parseDocument(reader, ParserOptions.getDefaultParserOptions());
+    }
+
+    /**
+     * Parses reader input into a graphql AST {@link Document} using the specified parser options
+     *
+     * @param reader        the reader input to parse
+     * @param parserOptions the parser options that control what is captured in the AST
+     *
+     * @return an AST {@link Document}
+     *
+     * @throws InvalidSyntaxException if the input is not valid graphql syntax
+     */
+    public Document parseDocument(Reader reader, ParserOptions parserOptions) throws InvalidSyntaxException {
+        assertNotNull(parserOptions, () -> "parserOptions can't be null");
         MultiSourceReader multiSourceReader;
         if (reader instanceof MultiSourceReader) {
             multiSourceReader = (MultiSourceReader) reader;
@@ -47,14 +80,38 @@ public class Parser {
             multiSourceReader = MultiSourceReader.newMultiSourceReader()
                     .reader(reader, null).build();
         }
+        Reader limitedReader = new CharacterLimitingReader(multiSourceReader, parserOptions.getMaxCharacters());
         CodePointCharStream charStream;
-        try {
-            charStream = CharStreams.fromReader(multiSourceReader);
-        } catch (IOException e) {
-            throw new UncheckedIOException(e);
+        if (parserOptions.isRecursiveDescentParsing()) {
+            String source = readFully(limitedReader);
+            Document document = new ExecutableDocumentParser(source, multiSourceReader, parserOptions).parseDocument();
+            if (document != null) {
+                return document;
+            }
+            // the document contains type system definitions which only ANTLR can parse
+            charStream = CharStreams.fromString(source);
+        } else {
+            try {
+                charStream = CharStreams.fromReader(limitedReader);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
         }
 
-        GraphqlLexer lexer = new GraphqlLexer(charStream);
+        int maxTokens = parserOptions.getMaxTokens();
+        GraphqlLexer lexer = new GraphqlLexer(charStream) {
+            private int tokenCount;
+
+            @Override
+            public Token nextToken() {
+                Token token = super.nextToken();
+                if (token.getChannel() == Token.DEFAULT_CHANNEL && token.getType() != Token.EOF && ++tokenCount > maxTokens) {
+                    SourceLocation sourceLocation = AntlrHelper.createSourceLocation(multiSourceReader, token);
+                    throw ParseCancelledException.tooManyTokens(maxTokens, sourceLocation, token.getText());
+                }
+                return token;
+            }
+        };
         lexer.removeErrorListeners();
         lexer.addErrorListener(new BaseErrorListener() {
             @Override
@@ -65,7 +122,7 @@ public class Parser {
             }
         });
 
-        CommonTokenStream tokens = new CommonTokenStream(lexer);
+        CommonTokenStream tokens = new OptionsTokenStream(lexer, parserOptions);
 
         GraphqlParser parser = new GraphqlParser(tokens);
         parser.removeErrorListeners();
@@ -74,6 +131,27 @@ public class Parser {
         ExtendedBailStrategy bailStrategy = new ExtendedBailStrategy(multiSourceReader);
         parser.setErrorHandler(bailStrategy);
 
+        int maxSelectionSetDepth = parserOptions.getMaxSelectionSetDepth();
+        if (maxSelectionSetDepth != Integer.MAX_VALUE) {
+            // parse listeners are told about rules as they are parsed so we can stop as soon as we are too deep
+            parser.addParseListener(new GraphqlBaseListener() {
+                private int selectionSetDepth;
+
+                @Override
+                public void enterSelectionSet(GraphqlParser.SelectionSetContext ctx) {
+                    if (++selectionSetDepth > maxSelectionSetDepth) {
+                        SourceLocation sourceLocation = AntlrHelper.createSourceLocation(multiSourceReader, ctx.getStart());
+                        throw ParseCancelledException.selectionSetsTooDeep(maxSelectionSetDepth, sourceLocation);
+                    }
+                }
+
+                @Override
+                public void exitSelectionSet(GraphqlParser.SelectionSetContext ctx) {
+                    selectionSetDepth--;
+                }
+            });
+        }
+
         GraphqlAntlrToLanguage toLanguage = getAntlrToLanguage(tokens, multiSourceReader);
         GraphqlParser.DocumentContext documentContext = parser.document();
 
@@ -96,14 +174,93 @@ public class Parser {
         return doc;
     }
 
+    private static String readFully(Reader reader) {
+        StringBuilder sb = new StringBuilder();
+        char[] buffer = new char[4096];
+        try {
+            int read;
+            while ((read = reader.read(buffer)) != -1) {
+                sb.append(buffer, 0, read);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Stops reading with a {@link ParseCancelledException} as soon as more than the maximum number of characters have
+     * been read, so that the cost of large input is bounded by the limit
+     */
+    private static class CharacterLimitingReader extends Reader {
+        private final Reader delegate;
+        private final int maxCharacters;
+        private long charactersRead;
+
+        CharacterLimitingReader(Reader delegate, int maxCharacters) {
+            this.delegate = delegate;
+            this.maxCharacters = maxCharacters;
+        }
+
+        @Override
+        public int read(char[] cbuf, int off, int len) throws IOException {
+            int read = delegate.read(cbuf, off, len);
+            if (read > 0) {
+                charactersRead += read;
+                if (charactersRead > maxCharacters) {
+                    throw ParseCancelledException.tooManyCharacters(maxCharacters);
+                }
+            }
+            return read;
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+    }
+
     /**
      * Allows you to override the ANTLR to AST code.
      *
      * @param tokens            the token stream
      * @param multiSourceReader the source of the query document
+     *
      * @return a new GraphqlAntlrToLanguage instance
+     *
+     * @deprecated override {@link #getAntlrToLanguage(CommonTokenStream, MultiSourceReader, ParserOptions)} instead,
+     * which is given the parser options in play.  This is still the method the parser calls, so existing overrides keep working
      */
+    @Deprecated
     protected GraphqlAntlrToLanguage getAntlrToLanguage(CommonTokenStream tokens, MultiSourceReader multiSourceReader) {
-        return new GraphqlAntlrToLanguage(tokens, multiSourceReader);
+        ParserOptions parserOptions = tokens instanceof OptionsTokenStream
+                ? ((OptionsTokenStream) tokens).parserOptions
+                : ParserOptions.getDefaultParserOptions();
+        return getAntlrToLanguage(tokens, multiSourceReader, parserOptions);
+    }
+
+    /**
+     * Allows you to override the ANTLR to AST code.
+     *
+     * @param tokens            the token stream
+     * @param multiSourceReader the source of the query document
+     * @param parserOptions     the parser options in play
+     *
+     * @return a new GraphqlAntlrToLanguage instance
+     */
+    protected GraphqlAntlrToLanguage getAntlrToLanguage(CommonTokenStream tokens, MultiSourceReader multiSourceReader, ParserOptions parserOptions) {
+        return new GraphqlAntlrToLanguage(tokens, multiSourceReader, parserOptions);
+    }
+
+    /**
+     * Carries the parser options of a parse to {@link #getAntlrToLanguage(CommonTokenStream, MultiSourceReader)}
+     */
+    private static class OptionsTokenStream extends CommonTokenStream {
+        private final ParserOptions parserOptions;
+
+        OptionsTokenStream(GraphqlLexer lexer, ParserOptions parserOptions) {
+            super(lexer);
+            this.parserOptions = parserOptions;
+        }
     }
 }
@@ -0,0 +1,227 @@
+package graphql.parser;
+
+import graphql.PublicApi;
+
+import java.util.function.Consumer;
+
+import static graphql.Assert.assertNotNull;
+
+/**
+ * Options that control how the {@link Parser} behaves.
+ * <p>
+ * By default the parser captures everything it can about the document, including {@link graphql.language.IgnoredChars},
+ * {@link graphql.language.Comment}s and a {@link graphql.language.SourceLocation} for every AST node.  If you only ever
+ * execute the parsed documents then most of this is never read and you can use {@link #getLeanParserOptions()} to
+ * produce a much smaller {@link graphql.language.Document}.
+ */
+@PublicApi
+public class ParserOptions {
+
+    private static final ParserOptions LEAN_PARSER_OPTIONS = newParserOptions()
+            .captureIgnoredChars(false)
+            .captureSourceLocation(false)
+            .captureLineComments(false)
+            .build();
+
+    private static volatile ParserOptions defaultJvmParserOptions = newParserOptions().build();
+
+    private final boolean captureIgnoredChars;
+    private final boolean captureSourceLocation;
+    private final boolean captureLineComments;
+    private final boolean recursiveDescentParsing;
+    private final int maxCharacters;
+    private final int maxTokens;
+    private final int maxSelectionSetDepth;
+
+    private ParserOptions(Builder builder) {
+        this.captureIgnoredChars = builder.captureIgnoredChars;
+        this.captureSourceLocation = builder.captureSourceLocation;
+        this.captureLineComments = builder.captureLineComments;
+        this.recursiveDescentParsing = builder.recursiveDescentParsing;
+        this.maxCharacters = builder.maxCharacters;
+        this.maxTokens = builder.maxTokens;
+        this.maxSelectionSetDepth = builder.maxSelectionSetDepth;
+    }
+
+    /**
+     * By default the parser captures everything about the document.  This returns the JVM wide options that are
+     * used by {@link Parser#parseDocument(String)} and friends when no explicit options are given.
+     *
+     * @return the JVM wide default parser options
+     */
+    public static ParserOptions getDefaultParserOptions() {
+        return defaultJvmParserOptions;
+    }
+
+    /**
+     * This will allow you to change the JVM wide default parser options.
+     * <p>
+     * This static can be called to set the parsing options for the whole JVM.  Be careful here because
+     * {@link graphql.schema.idl.SchemaParser} also uses these defaults and older style SDL descriptions rely on
+     * comments being captured.
+     *
+     * @param options the new default options
+     */
+    public static void setDefaultParserOptions(ParserOptions options) {
+        defaultJvmParserOptions = assertNotNull(options);
+    }
+
+    /**
+     * Lean options do not capture ignored characters, comments or source locations.  This is the cheapest way to
+     * parse a document that is only going to be validated and executed.
+     * <p>
+     * Note that validation and execution errors will not contain locations for documents parsed with these options.
+     *
+     * @return options that capture as little as possible
+     */
+    public static ParserOptions getLeanParserOptions() {
+        return LEAN_PARSER_OPTIONS;
+    }
+
+    /**
+     * Ignored characters (white space, commas, line terminators and so on) are captured per AST node
+     * as {@link graphql.language.IgnoredChars}.  This is only needed if you want to reproduce the document
+     * exactly as it was written.
+     *
+     * @return true if ignored chars are captured in AST nodes
+     */
+    public boolean isCaptureIgnoredChars() {
+        return captureIgnoredChars;
+    }
+
+    /**
+     * A {@link graphql.language.SourceLocation} is created for every AST node.  This is used to give
+     * line and column information in validation and execution errors.
+     *
+     * @return true if source locations are captured in AST nodes
+     */
+    public boolean isCaptureSourceLocation() {
+        return captureSourceLocation;
+    }
+
+    /**
+     * Single-line {@link graphql.language.Comment}s (starting with #) that precede an AST node are captured on that node.
+     *
+     * @return true if comments are captured in AST nodes
+     */
+    public boolean isCaptureLineComments() {
+        return captureLineComments;
+    }
+
+    /**
+     * Executable documents (operations and fragments) can be parsed by a hand written, single pass recursive descent
+     * parser rather than by ANTLR.  It produces the same AST and the same {@link InvalidSyntaxException}s but it
+     * is considerably cheaper for cold queries.
+     * <p>
+     * Documents that contain type system definitions are always parsed by ANTLR.  Note that
+     * {@link Parser#getAntlrToLanguage} is not called for documents parsed by the recursive descent parser.
+     *
+     * @return true if executable documents are parsed by the recursive descent parser
+     */
+    public boolean isRecursiveDescentParsing() {
+        return recursiveDescentParsing;
+    }
+
+    /**
+     * The maximum number of characters the parser will read.  Once this is exceeded a {@link ParseCancelledException}
+     * is thrown, before the rest of the input is read.  By default there is no limit.
+     *
+     * @return the maximum number of characters in a document
+     */
+    public int getMaxCharacters() {
+        return maxCharacters;
+    }
+
+    /**
+     * The maximum number of grammar tokens (ignored chars and comments are not counted) the parser will accept.  The
+     * lexer throws a {@link ParseCancelledException} as soon as this is exceeded.  By default there is no limit.
+     *
+     * @return the maximum number of tokens in a document
+     */
+    public int getMaxTokens() {
+        return maxTokens;
+    }
+
+    /**
+     * The maximum depth selection sets can be nested in a document.  A {@link ParseCancelledException} is thrown
+     * as soon as a selection set is found deeper than this.  By default there is no limit.
+     *
+     * @return the maximum selection set depth
+     */
+    public int getMaxSelectionSetDepth() {
+        return maxSelectionSetDepth;
+    }
+
+    public ParserOptions transform(Consumer<Builder> builderConsumer) {
+        Builder builder = new Builder(this);
+        builderConsumer.accept(builder);
+        return builder.build();
+    }
+
+    public static Builder newParserOptions() {
+        return new Builder();
+    }
+
+    public static class Builder {
+
+        private boolean captureIgnoredChars = true;
+        private boolean captureSourceLocation = true;
+        private boolean captureLineComments = true;
+        private boolean recursiveDescentParsing = false;
+        private int maxCharacters = Integer.MAX_VALUE;
+        private int maxTokens = Integer.MAX_VALUE;
+        private int maxSelectionSetDepth = Integer.MAX_VALUE;
+
+        Builder() {
+        }
+
+        Builder(ParserOptions parserOptions) {
+            this.captureIgnoredChars = parserOptions.captureIgnoredChars;
+            this.captureSourceLocation = parserOptions.captureSourceLocation;
+            this.captureLineComments = parserOptions.captureLineComments;
+            this.recursiveDescentParsing = parserOptions.recursiveDescentParsing;
+            this.maxCharacters = parserOptions.maxCharacters;
+            this.maxTokens = parserOptions.maxTokens;
+            this.maxSelectionSetDepth = parserOptions.maxSelectionSetDepth;
+        }
+
+        public Builder captureIgnoredChars(boolean captureIgnoredChars) {
+            this.captureIgnoredChars = captureIgnoredChars;
+            return this;
+        }
+
+        public Builder captureSourceLocation(boolean captureSourceLocation) {
+            this.captureSourceLocation = captureSourceLocation;
+            return this;
+        }
+
+        public Builder captureLineComments(boolean captureLineComments) {
+            this.captureLineComments = captureLineComments;
+            return this;
+        }
+
+        public Builder recursiveDescentParsing(boolean recursiveDescentParsing) {
+            this.recursiveDescentParsing = recursiveDescentParsing;
+            return this;
+        }
+
+        public Builder maxCharacters(int maxCharacters) {
+            this.maxCharacters = maxCharacters;
+            return this;
+        }
+
+        public Builder maxTokens(int maxTokens) {
+            this.maxTokens = maxTokens;
+            return this;
+        }
+
+        public Builder maxSelectionSetDepth(int maxSelectionSetDepth) {
+            this.maxSelectionSetDepth = maxSelectionSetDepth;
+            return this;
+        }
+
+        public ParserOptions build() {
+            return new ParserOptions(this);
+        }
+    }
+}
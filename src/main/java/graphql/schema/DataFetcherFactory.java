@@ -6,7 +6,9 @@ import graphql.PublicSpi;
  * A DataFetcherFactory allows a level of indirection in providing {@link graphql.schema.DataFetcher}s for graphql fields.
  *
  * For example if you are using an IoC container such as Spring or Guice, you can use this indirection to give you
- * per request late binding of a data fetcher with its dependencies injected in.
+ * per request late binding of a data fetcher with its dependencies injected in.  Note that by default a factory is only asked
+ * once per field and so you need to turn on {@link graphql.schema.GraphQLCodeRegistry.Builder#dynamicDataFetcherFactories(boolean)}
+ * for that.
  *
  * @param <T> the type of DataFetcher
  */
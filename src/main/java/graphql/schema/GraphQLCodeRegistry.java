@@ -7,6 +7,8 @@ import graphql.schema.visibility.GraphqlFieldVisibility;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.Consumer;
 
 import static graphql.Assert.assertNotNull;
@@ -23,6 +25,10 @@ import static graphql.schema.visibility.DefaultGraphqlFieldVisibility.DEFAULT_FI
  * <p>
  * For legacy reasons these code functions can still exist on the original type objects but this will be removed in a future version.  Once
  * removed the type system objects will be able have proper hashCode/equals methods and be checked for proper equality.
+ * <p>
+ * The {@link graphql.schema.DataFetcherFactory} of a field is asked for its {@link graphql.schema.DataFetcher} once and that
+ * data fetcher is then used for every fetch of the field.  If your factories need to be asked on every fetch, say to give
+ * per request late binding, then use {@link Builder#dynamicDataFetcherFactories(boolean)}
  */
 @PublicApi
 public class GraphQLCodeRegistry {
@@ -32,6 +38,8 @@ public class GraphQLCodeRegistry {
     private final Map<String, TypeResolver> typeResolverMap;
     private final GraphqlFieldVisibility fieldVisibility;
     private final DataFetcherFactory<?> defaultDataFetcherFactory;
+    private final boolean dynamicDataFetcherFactories;
+    private final ConcurrentMap<FieldCoordinates, DataFetcher<?>> resolvedDataFetchers = new ConcurrentHashMap<>();
 
     private GraphQLCodeRegistry(Builder builder) {
         this.dataFetcherMap = builder.dataFetcherMap;
@@ -39,6 +47,7 @@ public class GraphQLCodeRegistry {
         this.typeResolverMap = builder.typeResolverMap;
         this.fieldVisibility = builder.fieldVisibility;
         this.defaultDataFetcherFactory = builder.defaultDataFetcherFactory;
+        this.dynamicDataFetcherFactories = builder.dynamicDataFetcherFactories;
     }
 
     /**
@@ -56,7 +65,22 @@ public class GraphQLCodeRegistry {
      * @return the DataFetcher associated with this field.  All fields have data fetchers
      */
     public DataFetcher<?> getDataFetcher(GraphQLFieldsContainer parentType, GraphQLFieldDefinition fieldDefinition) {
-        return getDataFetcherImpl(FieldCoordinates.coordinates(parentType, fieldDefinition), fieldDefinition, dataFetcherMap, systemDataFetcherMap, defaultDataFetcherFactory);
+        if (dynamicDataFetcherFactories) {
+            return getDataFetcherImpl(FieldCoordinates.coordinates(parentType, fieldDefinition), fieldDefinition, dataFetcherMap, systemDataFetcherMap, defaultDataFetcherFactory);
+        }
+        // this is called for every field that is fetched so the data fetcher is kept right on the field definition
+        ResolvedDataFetcher resolved = fieldDefinition.resolvedDataFetcher;
+        if (resolved != null && resolved.codeRegistry == this && (resolved.parentType == parentType || resolved.parentType == null)) {
+            return resolved.dataFetcher;
+        }
+        DataFetcher<?> dataFetcher = getResolvedDataFetcher(FieldCoordinates.coordinates(parentType, fieldDefinition), fieldDefinition);
+        // a field definition can be shared by several types, in which case the first one keeps the slot and the rest
+        // use the resolved map.  System fields such as __typename have the same data fetcher in every type
+        if (resolved == null || resolved.codeRegistry != this) {
+            boolean systemField = systemDataFetcherMap.containsKey(fieldDefinition.getName());
+            fieldDefinition.resolvedDataFetcher = new ResolvedDataFetcher(this, systemField ? null : parentType, dataFetcher);
+        }
+        return dataFetcher;
     }
 
     /**
@@ -67,7 +91,50 @@ public class GraphQLCodeRegistry {
      * @return the DataFetcher associated with this field.  All fields have data fetchers
      */
     public DataFetcher<?> getDataFetcher(FieldCoordinates coordinates, GraphQLFieldDefinition fieldDefinition) {
-        return getDataFetcherImpl(coordinates, fieldDefinition, dataFetcherMap, systemDataFetcherMap, defaultDataFetcherFactory);
+        if (dynamicDataFetcherFactories) {
+            return getDataFetcherImpl(coordinates, fieldDefinition, dataFetcherMap, systemDataFetcherMap, defaultDataFetcherFactory);
+        }
+        return getResolvedDataFetcher(coordinates, fieldDefinition);
+    }
+
+    /**
+     * @return true if the data fetcher factories are asked for a data fetcher on every fetch
+     *
+     * @see Builder#dynamicDataFetcherFactories(boolean)
+     */
+    public boolean isDynamicDataFetcherFactories() {
+        return dynamicDataFetcherFactories;
+    }
+
+    /**
+     * Called when a schema is built to resolve the data fetchers of all its object type fields up front
+     *
+     * @param schema the schema using this code registry
+     */
+    void resolveDataFetchers(GraphQLSchema schema) {
+        if (dynamicDataFetcherFactories) {
+            return;
+        }
+        for (GraphQLNamedType type : schema.getAllTypesAsList()) {
+            if (type instanceof GraphQLObjectType) {
+                GraphQLObjectType objectType = (GraphQLObjectType) type;
+                for (GraphQLFieldDefinition fieldDefinition : objectType.getFieldDefinitions()) {
+                    getDataFetcher(objectType, fieldDefinition);
+                }
+            }
+        }
+    }
+
+    private DataFetcher<?> getResolvedDataFetcher(FieldCoordinates coordinates, GraphQLFieldDefinition fieldDefinition) {
+        DataFetcher<?> dataFetcher = resolvedDataFetchers.get(coordinates);
+        if (dataFetcher == null) {
+            dataFetcher = getDataFetcherImpl(coordinates, fieldDefinition, dataFetcherMap, systemDataFetcherMap, defaultDataFetcherFactory);
+            DataFetcher<?> existing = resolvedDataFetchers.putIfAbsent(coordinates, dataFetcher);
+            if (existing != null) {
+                dataFetcher = existing;
+            }
+        }
+        return dataFetcher;
     }
 
     private static DataFetcher<?> getDataFetcherImpl(FieldCoordinates coordinates, GraphQLFieldDefinition fieldDefinition, Map<FieldCoordinates, DataFetcherFactory<?>> dataFetcherMap, Map<String, DataFetcherFactory<?>> systemDataFetcherMap, DataFetcherFactory<?> defaultDataFetcherFactory) {
@@ -136,6 +203,22 @@ public class GraphQLCodeRegistry {
         return assertNotNull(typeResolver, () -> "There must be a type resolver for union " + parentType.getName());
     }
 
+    /**
+     * The data fetcher this code registry resolved for a field definition in the context of a parent type, or of any
+     * parent type if the parent type is null
+     */
+    static final class ResolvedDataFetcher {
+        final GraphQLCodeRegistry codeRegistry;
+        final GraphQLFieldsContainer parentType;
+        final DataFetcher<?> dataFetcher;
+
+        ResolvedDataFetcher(GraphQLCodeRegistry codeRegistry, GraphQLFieldsContainer parentType, DataFetcher<?> dataFetcher) {
+            this.codeRegistry = codeRegistry;
+            this.parentType = parentType;
+            this.dataFetcher = dataFetcher;
+        }
+    }
+
     /**
      * This helps you transform the current {@link graphql.schema.GraphQLCodeRegistry} object into another one by starting a builder with all
      * the current values and allows you to transform it how you want.
@@ -172,6 +255,7 @@ public class GraphQLCodeRegistry {
         private final Map<String, TypeResolver> typeResolverMap = new HashMap<>();
         private GraphqlFieldVisibility fieldVisibility = DEFAULT_FIELD_VISIBILITY;
         private DataFetcherFactory<?> defaultDataFetcherFactory = env -> PropertyDataFetcher.fetching(env.getFieldDefinition().getName());
+        private boolean dynamicDataFetcherFactories = false;
 
 
         private Builder() {
@@ -182,6 +266,7 @@ public class GraphQLCodeRegistry {
             this.typeResolverMap.putAll(codeRegistry.typeResolverMap);
             this.fieldVisibility = codeRegistry.fieldVisibility;
             this.defaultDataFetcherFactory = codeRegistry.defaultDataFetcherFactory;
+            this.dynamicDataFetcherFactories = codeRegistry.dynamicDataFetcherFactories;
         }
 
         /**
@@ -337,6 +422,19 @@ public class GraphQLCodeRegistry {
             return this;
         }
 
+        /**
+         * By default the {@link graphql.schema.DataFetcherFactory} of a field is asked for its data fetcher once and that
+         * data fetcher is then used for every fetch of the field.  Set this to true if your factories need to be asked on
+         * every fetch, say because they give out per request instances of data fetchers.
+         *
+         * @param dynamicDataFetcherFactories true if the data fetcher factories should be asked on every fetch
+         * @return this builder
+         */
+        public Builder dynamicDataFetcherFactories(boolean dynamicDataFetcherFactories) {
+            this.dynamicDataFetcherFactories = dynamicDataFetcherFactories;
+            return this;
+        }
+
         public Builder dataFetchers(GraphQLCodeRegistry codeRegistry) {
             this.dataFetcherMap.putAll(codeRegistry.dataFetcherMap);
             return this;
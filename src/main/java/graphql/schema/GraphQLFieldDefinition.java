@@ -45,6 +45,8 @@ public class GraphQLFieldDefinition implements GraphQLNamedSchemaElement, GraphQ
     private final FieldDefinition definition;
 
     private GraphQLOutputType replacedType;
+    // the data fetcher last resolved for this field by a code registry so that it can be found without any lookups
+    GraphQLCodeRegistry.ResolvedDataFetcher resolvedDataFetcher;
 
     public static final String CHILD_ARGUMENTS = "arguments";
     public static final String CHILD_DIRECTIVES = "directives";
@@ -16,6 +16,7 @@ import graphql.schema.validation.SchemaValidator;
 import graphql.schema.visibility.GraphqlFieldVisibility;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedHashSet;
@@ -61,6 +62,8 @@ public class GraphQLSchema {
     private final ImmutableMap<String, GraphQLNamedType> typeMap;
     private final ImmutableMap<String, ImmutableList<GraphQLObjectType>> interfaceNameToObjectTypes;
     private final ImmutableMap<String, ImmutableList<String>> interfaceNameToObjectTypeNames;
+    private final ImmutableMap<String, Integer> compositeTypeOrdinals;
+    private final BitSet[] possibleObjectTypesByOrdinal;
 
     private final String description;
 
@@ -124,6 +127,8 @@ public class GraphQLSchema {
         this.typeMap = ImmutableMap.copyOf(schemaUtil.allTypes(this, additionalTypes, afterTransform));
         this.interfaceNameToObjectTypes = buildInterfacesToObjectTypes(schemaUtil.groupImplementations(this));
         this.interfaceNameToObjectTypeNames = buildInterfacesToObjectName(interfaceNameToObjectTypes);
+        this.compositeTypeOrdinals = buildCompositeTypeOrdinals(typeMap);
+        this.possibleObjectTypesByOrdinal = buildPossibleObjectTypes(typeMap, compositeTypeOrdinals, interfaceNameToObjectTypeNames);
         this.description = builder.description;
     }
 
@@ -145,6 +150,8 @@ public class GraphQLSchema {
         this.typeMap = otherSchema.typeMap;
         this.interfaceNameToObjectTypes = otherSchema.interfaceNameToObjectTypes;
         this.interfaceNameToObjectTypeNames = otherSchema.interfaceNameToObjectTypeNames;
+        this.compositeTypeOrdinals = otherSchema.compositeTypeOrdinals;
+        this.possibleObjectTypesByOrdinal = otherSchema.possibleObjectTypesByOrdinal;
         this.description = otherSchema.description;
     }
 
@@ -166,6 +173,56 @@ public class GraphQLSchema {
         return map.build();
     }
 
+    /**
+     * Every object, interface and union type gets a dense ordinal, in type name order.  The ordinals belong to the schema
+     * rather than the types since the same type objects can be shared by many schemas.
+     */
+    private static ImmutableMap<String, Integer> buildCompositeTypeOrdinals(Map<String, GraphQLNamedType> typeMap) {
+        ImmutableMap.Builder<String, Integer> ordinals = ImmutableMap.builder();
+        int ordinal = 0;
+        for (GraphQLNamedType type : typeMap.values()) {
+            if (type instanceof GraphQLCompositeType) {
+                ordinals.put(type.getName(), ordinal++);
+            }
+        }
+        return ordinals.build();
+    }
+
+    /**
+     * For each composite type ordinal, the ordinals of the object types that can be that type
+     */
+    private static BitSet[] buildPossibleObjectTypes(Map<String, GraphQLNamedType> typeMap, Map<String, Integer> ordinals, Map<String, ImmutableList<String>> interfaceNameToObjectTypeNames) {
+        BitSet[] possibleObjectTypes = new BitSet[ordinals.size()];
+        for (Map.Entry<String, Integer> entry : ordinals.entrySet()) {
+            GraphQLNamedType type = typeMap.get(entry.getKey());
+            BitSet bits = new BitSet(ordinals.size());
+            if (type instanceof GraphQLObjectType) {
+                bits.set(entry.getValue());
+            } else if (type instanceof GraphQLInterfaceType) {
+                for (String objectTypeName : interfaceNameToObjectTypeNames.getOrDefault(type.getName(), emptyList())) {
+                    setOrdinal(bits, ordinals, objectTypeName);
+                }
+            } else if (type instanceof GraphQLUnionType) {
+                for (GraphQLNamedOutputType memberType : ((GraphQLUnionType) type).getTypes()) {
+                    setOrdinal(bits, ordinals, memberType.getName());
+                }
+            }
+            possibleObjectTypes[entry.getValue()] = bits;
+        }
+        return possibleObjectTypes;
+    }
+
+    private static void setOrdinal(BitSet bits, Map<String, Integer> ordinals, String typeName) {
+        Integer ordinal = ordinals.get(typeName);
+        if (ordinal != null) {
+            bits.set(ordinal);
+        }
+    }
+
+    private BitSet getPossibleObjectTypes(GraphQLNamedType type) {
+        Integer ordinal = compositeTypeOrdinals.get(type.getName());
+        return ordinal == null ? null : possibleObjectTypesByOrdinal[ordinal];
+    }
 
     public GraphQLCodeRegistry getCodeRegistry() {
         return codeRegistry;
@@ -229,6 +286,13 @@ public class GraphQLSchema {
      * @return true if possible type, false otherwise.
      */
     public boolean isPossibleType(GraphQLNamedType abstractType, GraphQLObjectType concreteType) {
+        if (abstractType instanceof GraphQLInterfaceType || abstractType instanceof GraphQLUnionType) {
+            BitSet possibleObjectTypes = getPossibleObjectTypes(abstractType);
+            Integer concreteOrdinal = compositeTypeOrdinals.get(concreteType.getName());
+            if (possibleObjectTypes != null && concreteOrdinal != null) {
+                return possibleObjectTypes.get(concreteOrdinal);
+            }
+        }
         if (abstractType instanceof GraphQLInterfaceType) {
             ImmutableList<String> objectNames = this.interfaceNameToObjectTypeNames.getOrDefault(abstractType.getName(), emptyList());
             return objectNames.contains(concreteType.getName());
@@ -238,6 +302,29 @@ public class GraphQLSchema {
         return assertShouldNeverHappen("Unsupported abstract type %s. Abstract types supported are Union and Interface.", abstractType.getName());
     }
 
+    /**
+     * Returns true if there is an object type that can be both of the given types.  For a fragment type condition and
+     * an object type this tells you if the fragment applies to the object, and for two type conditions it tells you if
+     * a fragment of one can ever be spread inside the other.
+     *
+     * @param type1 an object, interface or union type
+     * @param type2 an object, interface or union type
+     *
+     * @return true if the types have a possible object type in common
+     */
+    public boolean doTypesOverlap(GraphQLCompositeType type1, GraphQLCompositeType type2) {
+        if (type1 == type2) {
+            return true;
+        }
+        BitSet possibleObjectTypes1 = getPossibleObjectTypes(type1);
+        BitSet possibleObjectTypes2 = getPossibleObjectTypes(type2);
+        if (possibleObjectTypes1 == null || possibleObjectTypes2 == null) {
+            // not types of this schema so all we can go on is the name
+            return type1.getName().equals(type2.getName());
+        }
+        return possibleObjectTypes1.intersects(possibleObjectTypes2);
+    }
+
     public GraphQLObjectType getQueryType() {
         return queryType;
     }
@@ -646,6 +733,7 @@ public class GraphQLSchema {
             if (errors.size() > 0) {
                 throw new InvalidSchemaException(errors);
             }
+            codeRegistry.resolveDataFetchers(graphQLSchema);
             return graphQLSchema;
         }
     }
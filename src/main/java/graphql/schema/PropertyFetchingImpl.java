@@ -3,18 +3,26 @@ package graphql.schema;
 import graphql.GraphQLException;
 import graphql.Internal;
 
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.AbstractMap;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 import java.util.function.Predicate;
 
 import static graphql.Assert.assertShouldNeverHappen;
@@ -28,11 +36,14 @@ import static graphql.schema.GraphQLTypeUtil.unwrapOne;
 @Internal
 public class PropertyFetchingImpl {
 
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final Method PRIVATE_LOOKUP_IN = findPrivateLookupIn();
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SINGLE_ARGUMENT_GETTER_TYPE = MethodType.methodType(Object.class, Object.class, Object.class);
+
     private final AtomicBoolean USE_SET_ACCESSIBLE = new AtomicBoolean(true);
     private final AtomicBoolean USE_NEGATIVE_CACHE = new AtomicBoolean(true);
-    private final ConcurrentMap<CacheKey, CachedMethod> METHOD_CACHE = new ConcurrentHashMap<>();
-    private final ConcurrentMap<CacheKey, Field> FIELD_CACHE = new ConcurrentHashMap<>();
-    private final ConcurrentMap<CacheKey, CacheKey> NEGATIVE_CACHE = new ConcurrentHashMap<>();
+    private volatile ClassValue<CachedClass> CLASS_CACHE = newClassCache();
     private final Class<?> singleArgumentType;
 
     public PropertyFetchingImpl(Class<?> singleArgumentType) {
@@ -40,47 +51,87 @@ public class PropertyFetchingImpl {
     }
 
     private class CachedMethod {
-        Method method;
-        boolean takesSingleArgumentTypeAsOnlyArgument;
+        final Method method;
+        final boolean takesSingleArgumentTypeAsOnlyArgument;
+        // these are null if the method could not be compiled into a lambda, in which case we fall back to reflection
+        final Function<Object, Object> getter;
+        final BiFunction<Object, Object, Object> singleArgumentGetter;
 
+        @SuppressWarnings("unchecked")
         CachedMethod(Method method) {
             this.method = method;
             this.takesSingleArgumentTypeAsOnlyArgument = takesSingleArgumentTypeAsOnlyArgument(method);
+            if (takesSingleArgumentTypeAsOnlyArgument) {
+                this.getter = null;
+                this.singleArgumentGetter = compileGetter(method, BiFunction.class, SINGLE_ARGUMENT_GETTER_TYPE);
+            } else {
+                this.getter = compileGetter(method, Function.class, GETTER_TYPE);
+                this.singleArgumentGetter = null;
+            }
+        }
+    }
+
+    /**
+     * What we know about a class, cached per class and then per property name so that no composite key has to be
+     * allocated for every lookup.  Whether the class is a map is cached here too because a failing instanceof check
+     * against an interface is surprisingly costly on the JVM.
+     */
+    private static class CachedClass {
+        final boolean isMap;
+        final ConcurrentMap<String, CachedMethod> methods = new ConcurrentHashMap<>();
+        final ConcurrentMap<String, Field> fields = new ConcurrentHashMap<>();
+        final Set<String> negatives = ConcurrentHashMap.newKeySet();
+
+        CachedClass(Class<?> aClass) {
+            this.isMap = Map.class.isAssignableFrom(aClass);
         }
+    }
 
+    private static ClassValue<CachedClass> newClassCache() {
+        return new ClassValue<CachedClass>() {
+            @Override
+            protected CachedClass computeValue(Class<?> type) {
+                return new CachedClass(type);
+            }
+        };
     }
 
     public Object getPropertyValue(String propertyName, Object object, GraphQLType graphQLType, Object singleArgumentValue) {
-        if (object instanceof Map) {
+        // checking against a class is cheap and catches the usual maps before we look anything up
+        if (object instanceof AbstractMap) {
+            return ((Map<?, ?>) object).get(propertyName);
+        }
+        Class<?> objectClass = object.getClass();
+        CachedClass cachedClass = CLASS_CACHE.get(objectClass);
+        if (cachedClass.isMap) {
             return ((Map<?, ?>) object).get(propertyName);
         }
 
-        CacheKey cacheKey = mkCacheKey(object, propertyName);
         // lets try positive cache mechanisms first.  If we have seen the method or field before
         // then we invoke it directly without burning any cycles doing reflection.
-        CachedMethod cachedMethod = METHOD_CACHE.get(cacheKey);
+        CachedMethod cachedMethod = cachedClass.methods.get(propertyName);
         if (cachedMethod != null) {
             try {
-                return invokeMethod(object, singleArgumentValue, cachedMethod.method, cachedMethod.takesSingleArgumentTypeAsOnlyArgument);
+                return invokeMethod(object, singleArgumentValue, cachedMethod);
             } catch (NoSuchMethodException ignored) {
-                assertShouldNeverHappen("A method cached as '%s' is no longer available??", cacheKey);
+                assertShouldNeverHappen("A method cached as '%s.%s' is no longer available??", objectClass.getName(), propertyName);
             }
         }
-        Field cachedField = FIELD_CACHE.get(cacheKey);
+        Field cachedField = cachedClass.fields.get(propertyName);
         if (cachedField != null) {
             return invokeField(object, cachedField);
         }
 
         //
         // if we have tried all strategies before and they have all failed then we negatively cache
-        // the cacheKey and assume that its never going to turn up.  This shortcuts the property lookup
+        // the class and property and assume that its never going to turn up.  This shortcuts the property lookup
         // in systems where there was a `foo` graphql property but they never provided an POJO
         // version of `foo`.
         //
         // we do this second because we believe in the positive cached version will mostly prevail
         // but if we then look it up and negatively cache it then lest do that look up next
         //
-        if (isNegativelyCached(cacheKey)) {
+        if (isNegativelyCached(cachedClass, propertyName)) {
             return null;
         }
         //
@@ -89,34 +140,34 @@ public class PropertyFetchingImpl {
         //
         boolean dfeInUse = singleArgumentValue != null;
         try {
-            MethodFinder methodFinder = (root, methodName) -> findPubliclyAccessibleMethod(cacheKey, root, methodName, dfeInUse);
+            MethodFinder methodFinder = (root, methodName) -> findPubliclyAccessibleMethod(propertyName, root, methodName, dfeInUse);
             return getPropertyViaGetterMethod(object, propertyName, graphQLType, methodFinder, singleArgumentValue);
         } catch (NoSuchMethodException ignored) {
             try {
-                MethodFinder methodFinder = (aClass, methodName) -> findViaSetAccessible(cacheKey, aClass, methodName, dfeInUse);
+                MethodFinder methodFinder = (aClass, methodName) -> findViaSetAccessible(propertyName, aClass, methodName, dfeInUse);
                 return getPropertyViaGetterMethod(object, propertyName, graphQLType, methodFinder, singleArgumentValue);
             } catch (NoSuchMethodException ignored2) {
                 try {
-                    return getPropertyViaFieldAccess(cacheKey, object, propertyName);
+                    return getPropertyViaFieldAccess(object, propertyName);
                 } catch (FastNoSuchMethodException e) {
                     // we have nothing to ask for and we have exhausted our lookup strategies
-                    putInNegativeCache(cacheKey);
+                    putInNegativeCache(cachedClass, propertyName);
                     return null;
                 }
             }
         }
     }
 
-    private boolean isNegativelyCached(CacheKey key) {
+    private boolean isNegativelyCached(CachedClass cachedClass, String propertyName) {
         if (USE_NEGATIVE_CACHE.get()) {
-            return NEGATIVE_CACHE.containsKey(key);
+            return cachedClass.negatives.contains(propertyName);
         }
         return false;
     }
 
-    private void putInNegativeCache(CacheKey key) {
+    private void putInNegativeCache(CachedClass cachedClass, String propertyName) {
         if (USE_NEGATIVE_CACHE.get()) {
-            NEGATIVE_CACHE.put(key, key);
+            cachedClass.negatives.add(propertyName);
         }
     }
 
@@ -150,7 +201,7 @@ public class PropertyFetchingImpl {
      * which have abstract public interfaces implemented by package-protected
      * (generated) subclasses.
      */
-    private Method findPubliclyAccessibleMethod(CacheKey cacheKey, Class<?> rootClass, String methodName, boolean dfeInUse) throws NoSuchMethodException {
+    private Method findPubliclyAccessibleMethod(String propertyName, Class<?> rootClass, String methodName, boolean dfeInUse) throws NoSuchMethodException {
         Class<?> currentClass = rootClass;
         while (currentClass != null) {
             if (Modifier.isPublic(currentClass.getModifiers())) {
@@ -160,7 +211,7 @@ public class PropertyFetchingImpl {
                     try {
                         Method method = currentClass.getMethod(methodName, singleArgumentType);
                         if (Modifier.isPublic(method.getModifiers())) {
-                            METHOD_CACHE.putIfAbsent(cacheKey, new CachedMethod(method));
+                            CLASS_CACHE.get(rootClass).methods.putIfAbsent(propertyName, new CachedMethod(method));
                             return method;
                         }
                     } catch (NoSuchMethodException e) {
@@ -169,7 +220,7 @@ public class PropertyFetchingImpl {
                 }
                 Method method = currentClass.getMethod(methodName);
                 if (Modifier.isPublic(method.getModifiers())) {
-                    METHOD_CACHE.putIfAbsent(cacheKey, new CachedMethod(method));
+                    CLASS_CACHE.get(rootClass).methods.putIfAbsent(propertyName, new CachedMethod(method));
                     return method;
                 }
             }
@@ -179,7 +230,7 @@ public class PropertyFetchingImpl {
         return rootClass.getMethod(methodName);
     }
 
-    private Method findViaSetAccessible(CacheKey cacheKey, Class<?> aClass, String methodName, boolean dfeInUse) throws NoSuchMethodException {
+    private Method findViaSetAccessible(String propertyName, Class<?> aClass, String methodName, boolean dfeInUse) throws NoSuchMethodException {
         if (!USE_SET_ACCESSIBLE.get()) {
             throw new FastNoSuchMethodException(methodName);
         }
@@ -201,7 +252,7 @@ public class PropertyFetchingImpl {
                     // few JVMs actually enforce this but it might happen
                     Method method = m.get();
                     method.setAccessible(true);
-                    METHOD_CACHE.putIfAbsent(cacheKey, new CachedMethod(method));
+                    CLASS_CACHE.get(aClass).methods.putIfAbsent(propertyName, new CachedMethod(method));
                     return method;
                 } catch (SecurityException ignored) {
                 }
@@ -211,24 +262,24 @@ public class PropertyFetchingImpl {
         throw new FastNoSuchMethodException(methodName);
     }
 
-    private Object getPropertyViaFieldAccess(CacheKey cacheKey, Object object, String propertyName) throws FastNoSuchMethodException {
+    private Object getPropertyViaFieldAccess(Object object, String propertyName) throws FastNoSuchMethodException {
         Class<?> aClass = object.getClass();
         try {
             Field field = aClass.getField(propertyName);
-            FIELD_CACHE.putIfAbsent(cacheKey, field);
+            CLASS_CACHE.get(aClass).fields.putIfAbsent(propertyName, field);
             return field.get(object);
         } catch (NoSuchFieldException e) {
             if (!USE_SET_ACCESSIBLE.get()) {
-                throw new FastNoSuchMethodException(cacheKey.toString());
+                throw new FastNoSuchMethodException(aClass.getName() + "." + propertyName);
             }
             // if not public fields then try via setAccessible
             try {
                 Field field = aClass.getDeclaredField(propertyName);
                 field.setAccessible(true);
-                FIELD_CACHE.putIfAbsent(cacheKey, field);
+                CLASS_CACHE.get(aClass).fields.putIfAbsent(propertyName, field);
                 return field.get(object);
             } catch (SecurityException | NoSuchFieldException ignored2) {
-                throw new FastNoSuchMethodException(cacheKey.toString());
+                throw new FastNoSuchMethodException(aClass.getName() + "." + propertyName);
             } catch (IllegalAccessException e1) {
                 throw new GraphQLException(e);
             }
@@ -237,6 +288,27 @@ public class PropertyFetchingImpl {
         }
     }
 
+    private Object invokeMethod(Object object, Object singleArgumentValue, CachedMethod cachedMethod) throws FastNoSuchMethodException {
+        if (cachedMethod.getter == null && cachedMethod.singleArgumentGetter == null) {
+            return invokeMethod(object, singleArgumentValue, cachedMethod.method, cachedMethod.takesSingleArgumentTypeAsOnlyArgument);
+        }
+        try {
+            if (cachedMethod.takesSingleArgumentTypeAsOnlyArgument) {
+                if (singleArgumentValue == null) {
+                    throw new FastNoSuchMethodException(cachedMethod.method.getName());
+                }
+                return cachedMethod.singleArgumentGetter.apply(object, singleArgumentValue);
+            } else {
+                return cachedMethod.getter.apply(object);
+            }
+        } catch (FastNoSuchMethodException e) {
+            throw e;
+        } catch (Throwable e) {
+            // wrapped the same way as Method.invoke so callers see the same exceptions either way
+            throw new GraphQLException(new InvocationTargetException(e));
+        }
+    }
+
     private Object invokeMethod(Object object, Object singleArgumentValue, Method method, boolean takesSingleArgument) throws FastNoSuchMethodException {
         try {
             if (takesSingleArgument) {
@@ -271,62 +343,81 @@ public class PropertyFetchingImpl {
         return false;
     }
 
-    public void clearReflectionCache() {
-        METHOD_CACHE.clear();
-        FIELD_CACHE.clear();
-        NEGATIVE_CACHE.clear();
-    }
-
-    public boolean setUseSetAccessible(boolean flag) {
-        return USE_SET_ACCESSIBLE.getAndSet(flag);
+    /**
+     * Compiles a getter method into an instance of the given functional interface via {@link LambdaMetafactory} so that
+     * it can be called as fast as a direct call rather than via {@link Method#invoke(Object, Object...)}
+     *
+     * @return the compiled getter or null if the method cannot be compiled, in which case reflection has to be used
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T compileGetter(Method method, Class<T> functionalInterface, MethodType samMethodType) {
+        if (Modifier.isStatic(method.getModifiers()) || method.getReturnType() == void.class) {
+            return null;
+        }
+        MethodHandles.Lookup lookup = lookupFor(method);
+        if (lookup == null) {
+            return null;
+        }
+        try {
+            MethodHandle methodHandle = lookup.unreflect(method);
+            CallSite callSite = LambdaMetafactory.metafactory(lookup, "apply",
+                    MethodType.methodType(functionalInterface), samMethodType, methodHandle, methodHandle.type().wrap());
+            return (T) callSite.getTarget().invoke();
+        } catch (Throwable e) {
+            return null;
+        }
     }
 
-    public boolean setUseNegativeCache(boolean flag) {
-        return USE_NEGATIVE_CACHE.getAndSet(flag);
+    /**
+     * The lambda class is defined alongside the class of the lookup, so on Java 9+ we prefer a private lookup in the
+     * class declaring the method.  Otherwise we can only use our own lookup and only for classes our class loader can see.
+     */
+    private static MethodHandles.Lookup lookupFor(Method method) {
+        Class<?> declaringClass = method.getDeclaringClass();
+        if (PRIVATE_LOOKUP_IN != null) {
+            try {
+                return (MethodHandles.Lookup) PRIVATE_LOOKUP_IN.invoke(null, declaringClass, LOOKUP);
+            } catch (ReflectiveOperationException | RuntimeException ignored) {
+                // for example the module of the class is not open to us
+            }
+        }
+        if (isVisibleToUs(declaringClass) && isVisibleToUs(method.getReturnType())) {
+            return LOOKUP;
+        }
+        return null;
     }
 
-    private CacheKey mkCacheKey(Object object, String propertyName) {
-        Class<?> clazz = object.getClass();
-        ClassLoader classLoader = clazz.getClassLoader();
-        return new CacheKey(classLoader, clazz.getName(), propertyName);
+    private static boolean isVisibleToUs(Class<?> aClass) {
+        if (aClass.isPrimitive() || aClass.getClassLoader() == PropertyFetchingImpl.class.getClassLoader()) {
+            return true;
+        }
+        try {
+            return Class.forName(aClass.getName(), false, PropertyFetchingImpl.class.getClassLoader()) == aClass;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
     }
 
-    private static final class CacheKey {
-        private final ClassLoader classLoader;
-        private final String className;
-        private final String propertyName;
-
-        private CacheKey(ClassLoader classLoader, String className, String propertyName) {
-            this.classLoader = classLoader;
-            this.className = className;
-            this.propertyName = propertyName;
+    private static Method findPrivateLookupIn() {
+        try {
+            return MethodHandles.class.getMethod("privateLookupIn", Class.class, MethodHandles.Lookup.class);
+        } catch (NoSuchMethodException e) {
+            // Java 8
+            return null;
         }
+    }
 
-        @Override
-        public boolean equals(Object o) {
-            if (this == o) return true;
-            if (!(o instanceof CacheKey)) return false;
-            CacheKey cacheKey = (CacheKey) o;
-            return Objects.equals(classLoader, cacheKey.classLoader) && Objects.equals(className, cacheKey.className) && Objects.equals(propertyName, cacheKey.propertyName);
-        }
+    public void clearReflectionCache() {
+        // a ClassValue cannot be cleared for all classes so we start afresh
+        CLASS_CACHE = newClassCache();
+    }
 
-        @Override
-        public int hashCode() {
-            int result = 1;
-            result = 31 * result + Objects.hashCode(classLoader);
-            result = 31 * result + Objects.hashCode(className);
-            result = 31 * result + Objects.hashCode(propertyName);
-            return result;
-        }
+    public boolean setUseSetAccessible(boolean flag) {
+        return USE_SET_ACCESSIBLE.getAndSet(flag);
+    }
 
-        @Override
-        public String toString() {
-            return "CacheKey{" +
-                "classLoader=" + classLoader +
-                ", className='" + className + '\'' +
-                ", propertyName='" + propertyName + '\'' +
-                '}';
-        }
+    public boolean setUseNegativeCache(boolean flag) {
+        return USE_NEGATIVE_CACHE.getAndSet(flag);
     }
 
     // by not filling out the stack trace, we gain speed when using the exception as flow control
@@ -0,0 +1,218 @@
+package graphql.validation;
+
+import graphql.PublicApi;
+import graphql.language.AstPrinter;
+import graphql.language.Document;
+import graphql.schema.GraphQLScalarType;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.GraphQLType;
+import graphql.schema.idl.SchemaPrinter;
+import graphql.schema.visibility.DefaultGraphqlFieldVisibility;
+import graphql.schema.visibility.GraphqlFieldVisibility;
+import graphql.schema.visibility.NoIntrospectionGraphqlFieldVisibility;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+
+import static graphql.Assert.assertShouldNeverHappen;
+import static graphql.Assert.assertTrue;
+
+/**
+ * Remembers which documents have been found valid against which schemas so that they are not validated again.  A document is
+ * known by its compact printed form, so the same query written with other white space or comments is the same document, and a
+ * schema is known by a hash of its printed SDL together with the {@link graphql.schema.Coercing} of its scalars and its
+ * {@link GraphqlFieldVisibility}, so a schema that is rebuilt from the same SDL and wiring, as happens after a deploy or a hot
+ * reload, is the same schema.  Field visibilities other than the stateless built in ones can hide fields depending on how they
+ * were set up, so those only make the same schema when they are the same object.
+ * <p>
+ * Only valid documents are remembered, since the errors of an invalid one have the source locations of one particular query text.
+ * <p>
+ * A cache can be shared by many {@link graphql.GraphQL} instances, and is given to them with
+ * {@link graphql.GraphQL.Builder#validationCache(ValidationCache)}.  When it is full an arbitrary document is forgotten to make
+ * room for a new one.
+ */
+@PublicApi
+public class ValidationCache {
+
+    private final int maximumSize;
+    private final Set<Key> validDocuments = ConcurrentHashMap.newKeySet();
+    // the hash of a schema is worked out once per schema object, and the printed form of a document once per document object,
+    // which is what a cache of parsed documents hands out again
+    private final Map<GraphQLSchema, String> schemaHashes = Collections.synchronizedMap(new WeakHashMap<>());
+    private final Map<Document, String> documentFingerprints = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    private ValidationCache(Builder builder) {
+        this.maximumSize = builder.maximumSize;
+    }
+
+    /**
+     * Validates the document against the schema unless it is known to be valid
+     *
+     * @param schema    the schema to validate against
+     * @param document  the document to validate
+     * @param validator validates the document against the schema
+     *
+     * @return the validation errors, which are none if the document is known to be valid
+     */
+    public List<ValidationError> validate(GraphQLSchema schema, Document document, BiFunction<GraphQLSchema, Document, List<ValidationError>> validator) {
+        Key key = new Key(schemaHash(schema), documentFingerprint(document));
+        if (validDocuments.contains(key)) {
+            hitCount.increment();
+            return Collections.emptyList();
+        }
+        missCount.increment();
+        List<ValidationError> errors = validator.apply(schema, document);
+        if (errors.isEmpty()) {
+            if (validDocuments.size() >= maximumSize) {
+                Iterator<Key> iterator = validDocuments.iterator();
+                if (iterator.hasNext()) {
+                    iterator.next();
+                    iterator.remove();
+                }
+            }
+            validDocuments.add(key);
+        }
+        return errors;
+    }
+
+    /**
+     * @return the number of times a document was known to be valid
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * @return the number of times a document had to be validated
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * @return the number of valid documents remembered
+     */
+    public long getSize() {
+        return validDocuments.size();
+    }
+
+    /**
+     * Forgets all the valid documents
+     */
+    public void invalidateAll() {
+        validDocuments.clear();
+    }
+
+    private String schemaHash(GraphQLSchema schema) {
+        return schemaHashes.computeIfAbsent(schema, ValidationCache::computeSchemaHash);
+    }
+
+    private String documentFingerprint(Document document) {
+        return documentFingerprints.computeIfAbsent(document, AstPrinter::printAstCompact);
+    }
+
+    private static String computeSchemaHash(GraphQLSchema schema) {
+        SchemaPrinter.Options options = SchemaPrinter.Options.defaultOptions()
+                .includeScalarTypes(true)
+                .includeSchemaDefinition(true)
+                .includeDirectiveDefinitions(true);
+        StringBuilder sdl = new StringBuilder(new SchemaPrinter(options).print(schema));
+        // the scalars decide which literals are valid, and that is not in the SDL
+        for (GraphQLType type : schema.getAllTypesAsList()) {
+            if (type instanceof GraphQLScalarType) {
+                GraphQLScalarType scalarType = (GraphQLScalarType) type;
+                sdl.append('\n').append(scalarType.getName()).append(':').append(scalarType.getCoercing().getClass().getName());
+            }
+        }
+        // and the field visibility decides which fields can be selected
+        GraphqlFieldVisibility fieldVisibility = schema.getCodeRegistry().getFieldVisibility();
+        sdl.append("\nfieldVisibility:").append(fieldVisibility.getClass().getName());
+        Class<?> fieldVisibilityClass = fieldVisibility.getClass();
+        if (fieldVisibilityClass != DefaultGraphqlFieldVisibility.class && fieldVisibilityClass != NoIntrospectionGraphqlFieldVisibility.class) {
+            sdl.append('@').append(System.identityHashCode(fieldVisibility));
+        }
+        return sha256(sdl.toString());
+    }
+
+    private static String sha256(String text) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform has SHA-256
+            return assertShouldNeverHappen("SHA-256 is not available");
+        }
+    }
+
+    /**
+     * @return a builder of validation caches
+     */
+    public static Builder newValidationCache() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private int maximumSize = 1000;
+
+        /**
+         * @param maximumSize the maximum number of valid documents to remember, defaults to 1000
+         *
+         * @return this builder
+         */
+        public Builder maximumSize(int maximumSize) {
+            assertTrue(maximumSize > 0, () -> "maximumSize must be greater than zero");
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        public ValidationCache build() {
+            return new ValidationCache(this);
+        }
+    }
+
+    private static class Key {
+        private final String schemaHash;
+        private final String document;
+        private final int hashCode;
+
+        Key(String schemaHash, String document) {
+            this.schemaHash = schemaHash;
+            this.document = document;
+            this.hashCode = schemaHash.hashCode() * 31 + document.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key that = (Key) o;
+            return hashCode == that.hashCode && schemaHash.equals(that.schemaHash) && document.equals(that.document);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -23,10 +23,12 @@ import graphql.validation.ValidationContext;
 import graphql.validation.ValidationErrorCollector;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
-import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 
 import static graphql.schema.GraphQLTypeUtil.isEnum;
@@ -48,7 +50,10 @@ import static java.lang.String.format;
 public class OverlappingFieldsCanBeMerged extends AbstractRule {
 
 
-    private final List<FieldPair> alreadyChecked = new ArrayList<>();
+    // the pairs of fields compared so far, which are never compared again
+    private final Set<FieldPair> alreadyChecked = new HashSet<>();
+    // the fields of each selection set by response name, which are the same each time the selection set is compared
+    private final Map<SelectionSetAndType, Map<String, List<FieldAndType>>> fieldMaps = new HashMap<>();
 
     public OverlappingFieldsCanBeMerged(ValidationContext validationContext, ValidationErrorCollector validationErrorCollector) {
         super(validationContext, validationErrorCollector);
@@ -56,9 +61,7 @@ public class OverlappingFieldsCanBeMerged extends AbstractRule {
 
     @Override
     public void leaveSelectionSet(SelectionSet selectionSet) {
-        Map<String, List<FieldAndType>> fieldMap = new LinkedHashMap<>();
-        Set<String> visitedFragmentSpreads = new LinkedHashSet<>();
-        collectFields(fieldMap, selectionSet, getValidationContext().getOutputType(), visitedFragmentSpreads);
+        Map<String, List<FieldAndType>> fieldMap = getFieldMap(selectionSet, getValidationContext().getOutputType());
         List<Conflict> conflicts = findConflicts(fieldMap);
         for (Conflict conflict : conflicts) {
             addError(FieldsConflict, conflict.fields, conflict.reason);
@@ -81,12 +84,38 @@ public class OverlappingFieldsCanBeMerged extends AbstractRule {
         return result;
     }
 
-    private boolean isAlreadyChecked(Field field1, Field field2) {
-        for (FieldPair fieldPair : alreadyChecked) {
-            if (fieldPair.field1 == field1 && fieldPair.field2 == field2) {
-                return true;
+    private Map<String, List<FieldAndType>> getFieldMap(SelectionSet selectionSet, GraphQLType parentType) {
+        SelectionSetAndType key = new SelectionSetAndType(selectionSet, parentType);
+        Map<String, List<FieldAndType>> fieldMap = fieldMaps.get(key);
+        if (fieldMap == null) {
+            fieldMap = new LinkedHashMap<>();
+            collectFields(fieldMap, selectionSet, parentType, new HashSet<>());
+            fieldMaps.put(key, fieldMap);
+        }
+        return fieldMap;
+    }
+
+    //
+    // the fields of both selection sets, where a field that both have through the same fragment is only there once
+    //
+    private Map<String, List<FieldAndType>> mergeFieldMaps(Map<String, List<FieldAndType>> fieldMap1, Map<String, List<FieldAndType>> fieldMap2) {
+        Map<String, List<FieldAndType>> merged = new LinkedHashMap<>();
+        fieldMap1.forEach((responseName, fieldAndTypes) -> merged.put(responseName, new ArrayList<>(fieldAndTypes)));
+        fieldMap2.forEach((responseName, fieldAndTypes) -> {
+            List<FieldAndType> mergedFieldAndTypes = merged.computeIfAbsent(responseName, name -> new ArrayList<>());
+            int size1 = mergedFieldAndTypes.size();
+            for (FieldAndType fieldAndType : fieldAndTypes) {
+                if (!containsField(mergedFieldAndTypes, size1, fieldAndType.field)) {
+                    mergedFieldAndTypes.add(fieldAndType);
+                }
             }
-            if (fieldPair.field1 == field2 && fieldPair.field2 == field1) {
+        });
+        return merged;
+    }
+
+    private boolean containsField(List<FieldAndType> fieldAndTypes, int size, Field field) {
+        for (int i = 0; i < size; i++) {
+            if (fieldAndTypes.get(i).field == field) {
                 return true;
             }
         }
@@ -99,10 +128,9 @@ public class OverlappingFieldsCanBeMerged extends AbstractRule {
         Field fieldA = fieldAndTypeA.field;
         Field fieldB = fieldAndTypeB.field;
 
-        if (isAlreadyChecked(fieldA, fieldB)) {
+        if (!alreadyChecked.add(new FieldPair(fieldA, fieldB))) {
             return null;
         }
-        alreadyChecked.add(new FieldPair(fieldA, fieldB));
 
         String fieldNameA = fieldA.getName();
         String fieldNameB = fieldB.getName();
@@ -152,10 +180,7 @@ public class OverlappingFieldsCanBeMerged extends AbstractRule {
         SelectionSet selectionSet1 = fieldA.getSelectionSet();
         SelectionSet selectionSet2 = fieldB.getSelectionSet();
         if (selectionSet1 != null && selectionSet2 != null) {
-            Set<String> visitedFragmentSpreads = new LinkedHashSet<>();
-            Map<String, List<FieldAndType>> subFieldMap = new LinkedHashMap<>();
-            collectFields(subFieldMap, selectionSet1, typeA, visitedFragmentSpreads);
-            collectFields(subFieldMap, selectionSet2, typeB, visitedFragmentSpreads);
+            Map<String, List<FieldAndType>> subFieldMap = mergeFieldMaps(getFieldMap(selectionSet1, typeA), getFieldMap(selectionSet2, typeB));
             List<Conflict> subConflicts = findConflicts(subFieldMap);
             if (subConflicts.size() > 0) {
                 String reason = format("%s: %s", responseName, joinReasons(subConflicts));
@@ -339,6 +364,9 @@ public class OverlappingFieldsCanBeMerged extends AbstractRule {
         return getValidationContext().getSchema().getCodeRegistry().getFieldVisibility().getFieldDefinition(fieldsContainer, field.getName());
     }
 
+    /**
+     * Two fields compared by identity and in either order
+     */
     private static class FieldPair {
         final Field field1;
         final Field field2;
@@ -347,6 +375,47 @@ public class OverlappingFieldsCanBeMerged extends AbstractRule {
             this.field1 = field1;
             this.field2 = field2;
         }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof FieldPair)) {
+                return false;
+            }
+            FieldPair that = (FieldPair) o;
+            return (field1 == that.field1 && field2 == that.field2) || (field1 == that.field2 && field2 == that.field1);
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(field1) ^ System.identityHashCode(field2);
+        }
+    }
+
+    /**
+     * A selection set, by identity, and the type it is collected for
+     */
+    private static class SelectionSetAndType {
+        final SelectionSet selectionSet;
+        final GraphQLType type;
+
+        SelectionSetAndType(SelectionSet selectionSet, GraphQLType type) {
+            this.selectionSet = selectionSet;
+            this.type = type;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof SelectionSetAndType)) {
+                return false;
+            }
+            SelectionSetAndType that = (SelectionSetAndType) o;
+            return selectionSet == that.selectionSet && Objects.equals(type, that.type);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(selectionSet) + Objects.hashCode(type);
+        }
     }
 
     private static class Conflict {
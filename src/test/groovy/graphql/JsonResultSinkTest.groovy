@@ -0,0 +1,75 @@
+package graphql
+
+import groovy.json.JsonSlurper
+import spock.lang.Specification
+
+class JsonResultSinkTest extends Specification {
+
+    def "writes compact json"() {
+        def writer = new StringWriter()
+        def sink = new JsonResultSink(writer)
+
+        when:
+        sink.startObject()
+        sink.fieldName("name")
+        sink.value("R2-D2")
+        sink.fieldName("friends")
+        sink.startList()
+        sink.startObject()
+        sink.fieldName("id")
+        sink.value(1000)
+        sink.endObject()
+        sink.startObject()
+        sink.endObject()
+        sink.value(null)
+        sink.endList()
+        sink.fieldName("height")
+        sink.value(1.72d)
+        sink.fieldName("droid")
+        sink.value(true)
+        sink.endObject()
+
+        then:
+        writer.toString() == '{"name":"R2-D2","friends":[{"id":1000},{},null],"height":1.72,"droid":true}'
+    }
+
+    def "strings are escaped"() {
+        def writer = new StringWriter()
+
+        when:
+        new JsonResultSink(writer).value("a \"quoted\" back\\slash\nnew line\ttab \u0001 \u2028 é")
+
+        then:
+        writer.toString() == '"a \\"quoted\\" back\\\\slash\\nnew line\\ttab \\u0001 \\u2028 é"'
+        new JsonSlurper().parseText("[" + writer.toString() + "]")[0] == "a \"quoted\" back\\slash\nnew line\ttab \u0001 \u2028 é"
+    }
+
+    def "numbers json cannot represent are written as null and other values as strings"() {
+        def writer = new StringWriter()
+        def sink = new JsonResultSink(writer)
+
+        when:
+        sink.startList()
+        sink.value(Double.NaN)
+        sink.value(Float.POSITIVE_INFINITY)
+        sink.value(new BigDecimal("12.50"))
+        sink.value(12L)
+        sink.value(Locale.UK)
+        sink.endList()
+
+        then:
+        writer.toString() == '[null,null,12.50,12,"en_GB"]'
+    }
+
+    def "output streams are written as utf-8"() {
+        def out = new ByteArrayOutputStream()
+        def sink = new JsonResultSink(out)
+
+        when:
+        sink.value("héllo")
+        sink.flush()
+
+        then:
+        new String(out.toByteArray(), "UTF-8") == '"héllo"'
+    }
+}
@@ -0,0 +1,114 @@
+package graphql.analysis
+
+import graphql.ExecutionInput
+import graphql.GraphQL
+import graphql.TestUtil
+import graphql.execution.ResultPath
+import graphql.execution.instrumentation.fieldvalidation.SimpleFieldValidation
+import graphql.execution.preparsed.CachingPreparsedDocumentProvider
+import spock.lang.Specification
+
+import static graphql.analysis.QueryAnalysisInstrumentation.newQueryAnalysisInstrumentation
+
+class QueryAnalysisInstrumentationTest extends Specification {
+
+    def schema = TestUtil.schema("""
+            type Query{
+                foo: Foo
+                bar(arg: Int): String
+            }
+            type Foo {
+                scalar: String
+                foo: Foo
+            }
+        """)
+
+    def query = "{f2: foo {scalar foo{scalar}} f1: foo { foo {foo {foo {foo{foo{scalar}}}}}} }"
+
+    GraphQL graphQL(QueryAnalysisInstrumentation instrumentation) {
+        GraphQL.newGraphQL(schema)
+                .instrumentation(instrumentation)
+                .preparsedDocumentProvider(CachingPreparsedDocumentProvider.newCachingPreparsedDocumentProvider().build())
+                .build()
+    }
+
+    def "depth, complexity and custom metrics come from one traversal"() {
+        def analyses = []
+        def instrumentation = newQueryAnalysisInstrumentation()
+                .metric("fieldCount", 0, { env, acc -> acc + 1 } as QueryReducer<Integer>)
+                .metric("fieldNames", [], { env, acc -> acc + env.field.name } as QueryReducer<List<String>>)
+                .analysisConsumer({ analysis, executionContext -> analyses << analysis })
+                .build()
+
+        when:
+        def result = graphQL(instrumentation).execute(query)
+
+        then:
+        result.errors.isEmpty()
+        analyses.size() == 1
+        analyses[0].depth == 7
+        analyses[0].complexity == 11
+        analyses[0].getMetric("fieldCount") == 11
+        analyses[0].getMetric("fieldNames") == ["foo", "scalar", "foo", "scalar", "foo", "foo", "foo", "foo", "foo", "foo", "scalar"]
+    }
+
+    def "limits abort execution as the dedicated instrumentations do"() {
+        when:
+        def tooDeep = graphQL(newQueryAnalysisInstrumentation().maxDepth(6).build()).execute(query)
+        def tooComplex = graphQL(newQueryAnalysisInstrumentation().maxDepth(7).maxComplexity(10).build()).execute(query)
+        def notAborted = graphQL(newQueryAnalysisInstrumentation().maxComplexity(10, { info -> false }).build()).execute(query)
+
+        then:
+        tooDeep.data == null
+        tooDeep.errors*.message == ["maximum query depth exceeded 7 > 6"]
+        tooComplex.errors*.message == ["maximum query complexity exceeded 11 > 10"]
+        notAborted.errors.isEmpty()
+    }
+
+    def "field validation is given the fields with arguments"() {
+        def validation = new SimpleFieldValidation()
+                .addRule(ResultPath.parse("/bar"), { fieldAndArguments, env ->
+                    fieldAndArguments.getArgumentValue("arg") > 10 ? Optional.of(env.mkError("too big", fieldAndArguments)) : Optional.empty()
+                })
+        def graphQL = graphQL(newQueryAnalysisInstrumentation().fieldValidation(validation).build())
+        def barQuery = 'query q($arg: Int) { bar(arg: $arg) }'
+
+        when:
+        def small = graphQL.execute(ExecutionInput.newExecutionInput(barQuery).variables([arg: 1]))
+        def big = graphQL.execute(ExecutionInput.newExecutionInput(barQuery).variables([arg: 11]))
+
+        then:
+        small.errors.isEmpty()
+        big.errors*.message == ["too big"]
+        big.errors[0].path == ["bar"]
+    }
+
+    def "the analysis is done once per preparsed document and variables"() {
+        def traversals = 0
+        def analyses = []
+        def instrumentation = newQueryAnalysisInstrumentation()
+                .metric("traversal", 0, { env, acc -> acc == 0 ? ++traversals : acc } as QueryReducer<Integer>)
+                .analysisConsumer({ analysis, executionContext -> analyses << analysis })
+                .maxCachedAnalysesPerDocument(2)
+                .build()
+        def graphQL = graphQL(instrumentation)
+        def barQuery = 'query q($arg: Int) { bar(arg: $arg) }'
+
+        when:
+        graphQL.execute(ExecutionInput.newExecutionInput(barQuery).variables([arg: 1]))
+        graphQL.execute(ExecutionInput.newExecutionInput(barQuery).variables([arg: 1]))
+
+        then:
+        traversals == 1
+        analyses[0].is(analyses[1])
+
+        when: "other variables are analysed on their own, but only so many are kept"
+        graphQL.execute(ExecutionInput.newExecutionInput(barQuery).variables([arg: 2]))
+        graphQL.execute(ExecutionInput.newExecutionInput(barQuery).variables([arg: 3]))
+        graphQL.execute(ExecutionInput.newExecutionInput(barQuery).variables([arg: 3]))
+        graphQL.execute(ExecutionInput.newExecutionInput(barQuery).variables([arg: 2]))
+
+        then:
+        traversals == 4
+    }
+}
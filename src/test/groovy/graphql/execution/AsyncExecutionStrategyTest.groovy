@@ -1,9 +1,13 @@
 package graphql.execution
 
 import graphql.ErrorType
+import graphql.ExecutionInput
 import graphql.ExecutionResult
+import graphql.GraphQL
+import graphql.TestUtil
 import graphql.execution.instrumentation.ExecutionStrategyInstrumentationContext
 import graphql.execution.instrumentation.SimpleInstrumentation
+import graphql.execution.instrumentation.TestingInstrumentation
 import graphql.execution.instrumentation.parameters.InstrumentationExecutionStrategyParameters
 import graphql.language.Field
 import graphql.language.OperationDefinition
@@ -11,6 +15,7 @@ import graphql.parser.Parser
 import graphql.schema.DataFetcher
 import graphql.schema.GraphQLFieldDefinition
 import graphql.schema.GraphQLSchema
+import graphql.schema.idl.RuntimeWiring
 import spock.lang.Specification
 
 import java.util.concurrent.CompletableFuture
@@ -24,6 +29,7 @@ import static graphql.TestUtil.mergedSelectionSet
 import static graphql.schema.GraphQLFieldDefinition.newFieldDefinition
 import static graphql.schema.GraphQLObjectType.newObject
 import static graphql.schema.GraphQLSchema.newSchema
+import static graphql.schema.idl.TypeRuntimeWiring.newTypeWiring
 import static org.awaitility.Awaitility.await
 
 class AsyncExecutionStrategyTest extends Specification {
@@ -284,5 +290,104 @@ class AsyncExecutionStrategyTest extends Specification {
         ex.cause.message == "Exception raised from instrumentation"
     }
 
+    def "materialized values completed inline give the same results, errors and instrumentation callbacks"() {
+        def sdl = """
+            type Query { hero : Character, pending : Character, broken : String, mandatory : Required, alsoMandatory : Required }
+            type Character { name : String, friends : [Character], nickname : String, tags : [String] }
+            type Required { value : String! }
+        """
+        def query = "{ hero { name friends { name nickname tags friends { name } } } pending { name friends { nickname } } broken mandatory { value } alsoMandatory { value } }"
+
+        def run = { boolean inline ->
+            def pending = new CompletableFuture()
+            def friend = { name -> [name: name, tags: ["a", "b"], friends: [[name: name + "'s friend"]]] }
+            def runtimeWiring = RuntimeWiring.newRuntimeWiring()
+                    .type(newTypeWiring("Query")
+                            .dataFetcher("hero", { env -> [name: "r2d2", friends: [friend("luke"), friend("leia")]] })
+                            .dataFetcher("pending", { env -> pending })
+                            .dataFetcher("broken", { env -> throw new RuntimeException("bang") })
+                            .dataFetcher("mandatory", { env -> [value: null] })
+                            .dataFetcher("alsoMandatory", { env -> CompletableFuture.completedFuture([value: "present"]) }))
+                    .type(newTypeWiring("Character")
+                            .dataFetcher("nickname", { env -> CompletableFuture.completedFuture(env.source.name + "y") }))
+                    .build()
+            def instrumentation = new TestingInstrumentation()
+            def graphQL = GraphQL.newGraphQL(TestUtil.schema(sdl, runtimeWiring))
+                    .queryExecutionStrategy(new AsyncExecutionStrategy(new SimpleDataFetcherExceptionHandler(), inline))
+                    .instrumentation(instrumentation)
+                    .build()
+
+            def resultFuture = graphQL.executeAsync(ExecutionInput.newExecutionInput(query).build())
+            assert !resultFuture.isDone()
+            pending.complete([name: "han", friends: [[name: "chewie"]]])
+            def result = resultFuture.join()
+            [result.toSpecification(), instrumentation.executionList, instrumentation.throwableList.collect { it.getClass() }]
+        }
 
+        when:
+        def async = run(false)
+        def inline = run(true)
+
+        then:
+        inline == async
+        inline[0].data.hero.friends[1].friends[0].name == "leia's friend"
+        inline[0].data.pending.friends[0].nickname == "chewiey"
+        inline[0].data.mandatory == null
+        inline[0].data.alsoMandatory.value == "present"
+        inline[0].errors.collect { it.path } == [["broken"], ["mandatory", "value"]]
+    }
+
+    def "exception in instrumentation while combining inline completed data"() {
+        GraphQLSchema schema = schema(
+                { env -> "world" },
+                { env -> "world2" }
+        )
+        def document = new Parser().parseDocument("{hello, hello2}")
+        def operation = document.definitions[0] as OperationDefinition
+
+        ExecutionContext executionContext = new ExecutionContextBuilder()
+                .graphQLSchema(schema)
+                .executionId(ExecutionId.generate())
+                .operationDefinition(operation)
+                .valueUnboxer(ValueUnboxer.DEFAULT)
+                .instrumentation(new SimpleInstrumentation() {
+                    @Override
+                    ExecutionStrategyInstrumentationContext beginExecutionStrategy(InstrumentationExecutionStrategyParameters parameters) {
+                        return new ExecutionStrategyInstrumentationContext() {
+
+                            @Override
+                            void onFieldValuesInfo(List<FieldValueInfo> fieldValueInfoList) {
+                                throw new RuntimeException("Exception raised from instrumentation")
+                            }
+
+                            @Override
+                            public void onDispatched(CompletableFuture<ExecutionResult> result) {
+                            }
+
+                            @Override
+                            public void onCompleted(ExecutionResult result, Throwable t) {
+                            }
+                        }
+                    }
+                })
+                .build()
+        ExecutionStrategyParameters executionStrategyParameters = ExecutionStrategyParameters
+                .newParameters()
+                .executionStepInfo(ExecutionStepInfo.newExecutionStepInfo().type(schema.getQueryType()).build())
+                .fields(mergedSelectionSet(['hello': mergedField([new Field('hello')]), 'hello2': mergedField([new Field('hello2')])]))
+                .build()
+
+        when:
+        def result = new AsyncExecutionStrategy(new SimpleDataFetcherExceptionHandler(), true).execute(executionContext, executionStrategyParameters)
+
+        then:
+        result.isCompletedExceptionally()
+
+        when:
+        result.join()
+
+        then:
+        def ex = thrown(CompletionException)
+        ex.cause.message == "Exception raised from instrumentation"
+    }
 }
@@ -0,0 +1,164 @@
+package graphql.execution
+
+import graphql.ExecutionInput
+import graphql.GraphQL
+import graphql.StarWarsSchema
+import graphql.TestUtil
+import graphql.schema.DataFetcher
+import spock.lang.Specification
+
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.Executor
+import java.util.concurrent.Executors
+import java.util.concurrent.RejectedExecutionException
+
+class BoundedParallelExecutionStrategyTest extends Specification {
+
+    def sdl = '''
+        type Query {
+            a: String
+            b: String
+            c: String
+            d: String
+            item: Item
+        }
+        type Item {
+            name: String
+            value: String
+        }
+    '''
+
+    /**
+     * An executor that only runs its tasks when told to
+     */
+    static class ManualExecutor implements Executor {
+        def tasks = [] as List<Runnable>
+
+        @Override
+        void execute(Runnable command) {
+            tasks << command
+        }
+
+        void runAll() {
+            while (!tasks.isEmpty()) {
+                tasks.remove(0).run()
+            }
+        }
+    }
+
+    def "fields at every level are fetched on the executor"() {
+        def pool = Executors.newFixedThreadPool(2)
+        def graphQL = GraphQL.newGraphQL(StarWarsSchema.starWarsSchema)
+                .queryExecutionStrategy(new BoundedParallelExecutionStrategy(pool, 2))
+                .build()
+
+        when:
+        def result = graphQL.execute('{ hero { id friends { name friends { name } } } }')
+
+        then:
+        result.errors.isEmpty()
+        result.data.hero.id == "2001"
+        result.data.hero.friends*.name == ["Luke Skywalker", "Han Solo", "Leia Organa"]
+        result.data.hero.friends[0].friends*.name == ["Han Solo", "Leia Organa", "C-3PO", "R2-D2"]
+
+        cleanup:
+        pool.shutdown()
+    }
+
+    def "no more fetches of an execution than its cap are in flight"() {
+        List<CompletableFuture<String>> pending = []
+        def fetcher = { env ->
+            def value = new CompletableFuture<String>()
+            pending << value
+            value
+        } as DataFetcher
+        def graphQL = GraphQL.newGraphQL(TestUtil.schema(sdl, [Query: [a: fetcher, b: fetcher, c: fetcher, d: fetcher]]))
+                .queryExecutionStrategy(new BoundedParallelExecutionStrategy({ it.run() } as Executor, 2))
+                .build()
+
+        when:
+        def result = graphQL.executeAsync(ExecutionInput.newExecutionInput('{ a b c d }'))
+
+        then:
+        pending.size() == 2
+
+        when:
+        pending[0].complete("a")
+
+        then:
+        pending.size() == 3
+
+        when:
+        pending[1].complete("b")
+        pending[2].complete("c")
+        pending[3].complete("d")
+
+        then:
+        result.join().data == [a: "a", b: "b", c: "c", d: "d"]
+    }
+
+    def "executions take turns when the executor is shared"() {
+        def executor = new ManualExecutor()
+        def fetched = []
+        def fetcher = { env -> fetched << env.executionId.toString() + env.field.name; env.field.name } as DataFetcher
+        def graphQL = GraphQL.newGraphQL(TestUtil.schema(sdl, [Query: [a: fetcher, b: fetcher, c: fetcher, d: fetcher]]))
+                .queryExecutionStrategy(new BoundedParallelExecutionStrategy(executor, 10, 1, false, new SimpleDataFetcherExceptionHandler()))
+                .build()
+
+        when:
+        def first = graphQL.executeAsync(ExecutionInput.newExecutionInput('{ a b c d }').executionId(ExecutionId.from("1")))
+        def second = graphQL.executeAsync(ExecutionInput.newExecutionInput('{ a b }').executionId(ExecutionId.from("2")))
+        executor.runAll()
+
+        then:
+        first.join().data == [a: "a", b: "b", c: "c", d: "d"]
+        second.join().data == [a: "a", b: "b"]
+        fetched == ["1a", "1b", "2a", "1c", "2b", "1d"]
+    }
+
+    def "trivial data fetchers can be called inline"() {
+        def executor = new ManualExecutor()
+        def graphQL = GraphQL.newGraphQL(TestUtil.schema(sdl, [Query: [item: { env -> [name: "thing", value: "42"] } as DataFetcher]]))
+                .queryExecutionStrategy(new BoundedParallelExecutionStrategy(executor, 4, Integer.MAX_VALUE, true, new SimpleDataFetcherExceptionHandler()))
+                .build()
+
+        when:
+        def result = graphQL.executeAsync(ExecutionInput.newExecutionInput('{ item { name value } }'))
+
+        then: "only the item fetcher waits for the executor"
+        executor.tasks.size() == 1
+
+        when:
+        executor.runAll()
+
+        then:
+        executor.tasks.isEmpty()
+        result.join().data == [item: [name: "thing", value: "42"]]
+    }
+
+    def "data fetcher failures and rejected fetches are field errors"() {
+        def rejecting = { throw new RejectedExecutionException("full") } as Executor
+        def failing = { env -> throw new RuntimeException("bang") } as DataFetcher
+
+        when:
+        def failed = GraphQL.newGraphQL(TestUtil.schema(sdl, [Query: [a: failing, b: { env -> "b" } as DataFetcher]]))
+                .queryExecutionStrategy(new BoundedParallelExecutionStrategy({ it.run() } as Executor, 1))
+                .build()
+                .execute('{ a b }')
+
+        then:
+        failed.data == [a: null, b: "b"]
+        failed.errors*.path == [["a"]]
+        failed.errors[0].message.contains("bang")
+
+        when:
+        def rejected = GraphQL.newGraphQL(TestUtil.schema(sdl, [Query: [a: { env -> "a" } as DataFetcher]]))
+                .queryExecutionStrategy(new BoundedParallelExecutionStrategy(rejecting, 1))
+                .build()
+                .execute('{ a }')
+
+        then:
+        rejected.data == [a: null]
+        rejected.errors[0].message.contains("full")
+    }
+}
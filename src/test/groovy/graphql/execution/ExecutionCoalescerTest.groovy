@@ -0,0 +1,132 @@
+package graphql.execution
+
+import graphql.AssertException
+import graphql.ExecutionInput
+import graphql.GraphQL
+import graphql.TestUtil
+import graphql.schema.DataFetcher
+import spock.lang.Specification
+
+import java.util.concurrent.CompletableFuture
+
+class ExecutionCoalescerTest extends Specification {
+
+    def sdl = '''
+        type Query {
+            greeting(name: String): String
+        }
+        type Mutation {
+            greet(name: String): String
+        }
+    '''
+
+    def pending = [] as List
+    def fetcher = { env ->
+        def value = new CompletableFuture<String>()
+        pending << [name: env.arguments.name, value: value]
+        value
+    } as DataFetcher
+
+    GraphQL graphQL(ExecutionCoalescer coalescer) {
+        GraphQL.newGraphQL(TestUtil.schema(sdl, [Query: [greeting: fetcher], Mutation: [greet: fetcher]]))
+                .executionCoalescer(coalescer)
+                .build()
+    }
+
+    void completeAll() {
+        pending.each { it.value.complete("hello " + it.name) }
+    }
+
+    def "identical queries in flight share one execution"() {
+        def graphQL = graphQL(ExecutionCoalescer.newExecutionCoalescer().contextKey({ input -> "shared" }).build())
+        def query = 'query Q($name: String) { greeting(name: $name) }'
+
+        when:
+        def first = graphQL.executeAsync(ExecutionInput.newExecutionInput(query).variables([name: "a"]))
+        def second = graphQL.executeAsync(ExecutionInput.newExecutionInput(query).variables([name: "a"]))
+        def other = graphQL.executeAsync(ExecutionInput.newExecutionInput(query).variables([name: "b"]))
+
+        then:
+        pending*.name == ["a", "b"]
+
+        when:
+        completeAll()
+
+        then:
+        first.join().data == [greeting: "hello a"]
+        second.join().data == [greeting: "hello a"]
+        other.join().data == [greeting: "hello b"]
+
+        when: "the execution is no longer in flight"
+        pending.clear()
+        def third = graphQL.executeAsync(ExecutionInput.newExecutionInput(query).variables([name: "a"]))
+        completeAll()
+
+        then:
+        pending.size() == 1
+        third.join().data == [greeting: "hello a"]
+    }
+
+    def "the context key separates executions and opts them out"() {
+        def coalescer = ExecutionCoalescer.newExecutionCoalescer()
+                .contextKey({ input -> input.context == "private" ? null : input.context })
+                .build()
+        def graphQL = graphQL(coalescer)
+
+        when:
+        ["en", "en", "fr", "private", "private"].each {
+            graphQL.executeAsync(ExecutionInput.newExecutionInput('{ greeting(name: "a") }').context(it))
+        }
+
+        then:
+        pending.size() == 4
+
+        cleanup:
+        completeAll()
+    }
+
+    def "a context key is required"() {
+        when:
+        ExecutionCoalescer.newExecutionCoalescer().build()
+
+        then:
+        def e = thrown(AssertException)
+        e.message.contains("contextKey")
+    }
+
+    def "mutations are never shared"() {
+        def graphQL = graphQL(ExecutionCoalescer.newExecutionCoalescer().contextKey({ input -> "shared" }).build())
+
+        when:
+        def first = graphQL.executeAsync(ExecutionInput.newExecutionInput('mutation { greet(name: "a") }'))
+        def second = graphQL.executeAsync(ExecutionInput.newExecutionInput('mutation { greet(name: "a") }'))
+        completeAll()
+
+        then:
+        pending.size() == 2
+        first.join().data == [greet: "hello a"]
+        second.join().data == [greet: "hello a"]
+    }
+
+    def "a failed execution fails everyone that shares it"() {
+        def graphQL = GraphQL.newGraphQL(TestUtil.schema(sdl, [Query: [greeting: fetcher]]))
+                .queryExecutionStrategy(new AsyncExecutionStrategy() {
+                    @Override
+                    CompletableFuture execute(ExecutionContext executionContext, ExecutionStrategyParameters parameters) {
+                        super.execute(executionContext, parameters).thenApply({ throw new IllegalStateException("bang") })
+                    }
+                })
+                .executionCoalescer(ExecutionCoalescer.newExecutionCoalescer().contextKey({ input -> "shared" }).build())
+                .build()
+
+        when:
+        def first = graphQL.executeAsync(ExecutionInput.newExecutionInput('{ greeting }'))
+        def second = graphQL.executeAsync(ExecutionInput.newExecutionInput('{ greeting }'))
+        completeAll()
+
+        then:
+        pending.size() == 1
+        first.isCompletedExceptionally()
+        second.isCompletedExceptionally()
+    }
+}
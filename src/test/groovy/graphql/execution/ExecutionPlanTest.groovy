@@ -0,0 +1,238 @@
+package graphql.execution
+
+import graphql.ExecutionInput
+import graphql.GraphQL
+import graphql.GraphqlErrorBuilder
+import graphql.StarWarsSchema
+import graphql.TestUtil
+import graphql.execution.preparsed.CachingPreparsedDocumentProvider
+import graphql.execution.preparsed.PreparsedDocumentEntry
+import graphql.language.Document
+import graphql.language.Field
+import graphql.language.NodeUtil
+import graphql.language.OperationDefinition
+import graphql.parser.Parser
+import graphql.schema.DataFetcher
+import graphql.schema.GraphQLObjectType
+import spock.lang.Specification
+
+import static graphql.TestUtil.mergedField
+import static graphql.execution.FieldCollectorParameters.newParameters
+
+class ExecutionPlanTest extends Specification {
+
+    def schema = TestUtil.schema("""
+            type Query {
+                pet: Pet
+            }
+            interface Pet {
+                name: String
+            }
+            type Dog implements Pet {
+                name: String
+                barks: Boolean
+            }
+            type Cat implements Pet {
+                name: String
+                meows: Boolean
+            }
+            """)
+    def fieldCollector = new FieldCollector()
+
+    FieldCollectorParameters parameters(Document document, String typeName, Map<String, Object> variables = [:]) {
+        newParameters()
+                .schema(schema)
+                .objectType(schema.getType(typeName) as GraphQLObjectType)
+                .fragments(NodeUtil.getOperation(document, null).fragmentsByName)
+                .variables(variables)
+                .build()
+    }
+
+    Field petField(Document document) {
+        (document.children[0] as OperationDefinition).selectionSet.selections[0] as Field
+    }
+
+    def "merged selection sets are remembered per field and object type"() {
+        def document = new Parser().parseDocument('''
+            { pet { name ... on Dog { barks } ...CatFields } }
+            fragment CatFields on Cat { meows }
+        ''')
+        def plan = new ExecutionPlan(document)
+        def pet = mergedField(petField(document))
+
+        when:
+        def dog1 = plan.collectFields(fieldCollector, parameters(document, "Dog"), pet)
+        def dog2 = plan.collectFields(fieldCollector, parameters(document, "Dog"), mergedField(petField(document)))
+        def cat = plan.collectFields(fieldCollector, parameters(document, "Cat"), pet)
+
+        then:
+        dog1.is(dog2)
+        dog1.keySet() == ["name", "barks"] as Set
+        cat.keySet() == ["name", "meows"] as Set
+    }
+
+    def "remembered merged selection sets can not be changed"() {
+        def document = new Parser().parseDocument('{ pet { name ... on Dog { barks } } }')
+        def plan = new ExecutionPlan(document)
+        def dog = plan.collectFields(fieldCollector, parameters(document, "Dog"), mergedField(petField(document)))
+
+        when:
+        dog.getSubFields().remove("barks")
+
+        then:
+        thrown(UnsupportedOperationException)
+
+        when:
+        dog.getDeferredFragments().clear()
+
+        then:
+        thrown(UnsupportedOperationException)
+        plan.collectFields(fieldCollector, parameters(document, "Dog"), mergedField(petField(document))).keySet() == ["name", "barks"] as Set
+    }
+
+    def "nothing is remembered when skip or include depend on variables"() {
+        def document = new Parser().parseDocument('''
+            query Q($withName: Boolean!) { pet { name @include(if: $withName) ... on Dog { barks } } }
+        ''')
+        def plan = new ExecutionPlan(document)
+        def pet = mergedField(petField(document))
+
+        when:
+        def withName = plan.collectFields(fieldCollector, parameters(document, "Dog", [withName: true]), pet)
+        def withoutName = plan.collectFields(fieldCollector, parameters(document, "Dog", [withName: false]), pet)
+
+        then:
+        withName.keySet() == ["name", "barks"] as Set
+        withoutName.keySet() == ["barks"] as Set
+    }
+
+    def "literal skip and include are still remembered"() {
+        def document = new Parser().parseDocument('''
+            { pet { name @skip(if: true) ... on Dog @include(if: true) { barks } } }
+        ''')
+        def plan = new ExecutionPlan(document)
+        def pet = mergedField(petField(document))
+
+        when:
+        def first = plan.collectFields(fieldCollector, parameters(document, "Dog"), pet)
+        def second = plan.collectFields(fieldCollector, parameters(document, "Dog"), pet)
+
+        then:
+        first.is(second)
+        first.keySet() == ["barks"] as Set
+    }
+
+    def "preparsed entries share a plan for their document"() {
+        def document = new Parser().parseDocument("{ pet { name } }")
+        def entry = new PreparsedDocumentEntry(document)
+
+        expect:
+        entry.getExecutionPlan().is(entry.getExecutionPlan())
+        entry.getExecutionPlan().isFor(document)
+        new PreparsedDocumentEntry(GraphqlErrorBuilder.newError().message("bad").build()).getExecutionPlan() == null
+    }
+
+    def "cached documents give the same results when executed again"() {
+        def query = '''
+            query Q($id: String!) {
+                human(id: $id) { ...Names friends { ...Names ... on Droid { primaryFunction } } }
+            }
+            fragment Names on Character { name }
+        '''
+        def graphQL = GraphQL.newGraphQL(StarWarsSchema.starWarsSchema)
+                .preparsedDocumentProvider(CachingPreparsedDocumentProvider.newCachingPreparsedDocumentProvider().build())
+                .build()
+
+        when:
+        def result1 = graphQL.execute(ExecutionInput.newExecutionInput(query).variables([id: "1000"]).build())
+        def result2 = graphQL.execute(ExecutionInput.newExecutionInput(query).variables([id: "1002"]).build())
+        def result3 = graphQL.execute(ExecutionInput.newExecutionInput(query).variables([id: "1000"]).build())
+
+        then:
+        result1.errors.isEmpty()
+        result1.data == result3.data
+        result1.data != result2.data
+        result1.data.human.friends.find { it.name == "R2-D2" }.primaryFunction == "Astromech"
+    }
+
+    def "literal arguments are resolved once per document and variable arguments once per execution"() {
+        def arguments = []
+        def graphQL = GraphQL.newGraphQL(TestUtil.schema("""
+                type Query {
+                    items: [Item]
+                }
+                type Item {
+                    value(n: Int, filter: Filter): Int
+                }
+                input Filter {
+                    min: Int
+                }
+                """, [Query: [items: { env -> [1, 2, 3] } as DataFetcher],
+                      Item : [value: { env -> arguments << env.arguments; env.arguments.n } as DataFetcher]]))
+                .preparsedDocumentProvider(CachingPreparsedDocumentProvider.newCachingPreparsedDocumentProvider().build())
+                .build()
+
+        when:
+        def literalQuery = '{ items { value(n: 2, filter: {min: 1}) } }'
+        def result1 = graphQL.execute(literalQuery)
+        def result2 = graphQL.execute(literalQuery)
+
+        then:
+        result1.data == [items: [[value: 2], [value: 2], [value: 2]]]
+        result2.data == result1.data
+        arguments.size() == 6
+        arguments.every { it.is(arguments[0]) }
+
+        when:
+        arguments.clear()
+        def variableQuery = 'query Q($min: Int) { items { value(n: 2, filter: {min: $min}) } }'
+        graphQL.execute(ExecutionInput.newExecutionInput(variableQuery).variables([min: 1]).build())
+        graphQL.execute(ExecutionInput.newExecutionInput(variableQuery).variables([min: 2]).build())
+
+        then:
+        arguments.size() == 6
+        arguments[0..2].every { it.is(arguments[0]) }
+        arguments[3..5].every { it.is(arguments[3]) }
+        !arguments[0].is(arguments[3])
+        arguments[0] == [n: 2, filter: [min: 1]]
+        arguments[3] == [n: 2, filter: [min: 2]]
+    }
+
+    def "cached argument values can not be changed by a data fetcher"() {
+        def seen = []
+        def graphQL = GraphQL.newGraphQL(TestUtil.schema("""
+                type Query {
+                    value(filter: Filter): Int
+                }
+                input Filter {
+                    min: Int
+                    tags: [String]
+                }
+                """, [Query: [value: { env ->
+                    Map<String, Object> filter = env.getArgument("filter")
+                    seen << [min: filter.min, tags: new ArrayList(filter.tags)]
+                    try {
+                        filter.put("min", 99)
+                    } catch (UnsupportedOperationException ignored) {
+                    }
+                    try {
+                        filter.tags.add("extra")
+                    } catch (UnsupportedOperationException ignored) {
+                    }
+                    filter.min
+                } as DataFetcher]]))
+                .preparsedDocumentProvider(CachingPreparsedDocumentProvider.newCachingPreparsedDocumentProvider().build())
+                .build()
+        def query = '{ value(filter: {min: 1, tags: ["a"]}) }'
+
+        when:
+        def result1 = graphQL.execute(query)
+        def result2 = graphQL.execute(query)
+
+        then:
+        result1.errors.isEmpty()
+        result1.data == [value: 1]
+        result2.data == [value: 1]
+        seen == [[min: 1, tags: ["a"]], [min: 1, tags: ["a"]]]
+    }
+}
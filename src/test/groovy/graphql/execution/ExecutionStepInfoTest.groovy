@@ -1,21 +1,28 @@
 package graphql.execution
 
+import graphql.ExceptionWhileDataFetching
 import graphql.ExecutionInput
 import graphql.Scalars
 import graphql.TestUtil
 import graphql.language.Field
+import graphql.language.StringValue
+import graphql.schema.Coercing
+import graphql.schema.CoercingParseLiteralException
 import graphql.schema.DataFetcher
 import graphql.schema.DataFetchingEnvironment
+import graphql.schema.GraphQLFieldDefinition
 import graphql.schema.GraphQLInterfaceType
 import graphql.schema.GraphQLList
 import graphql.schema.GraphQLNonNull
 import graphql.schema.GraphQLObjectType
+import graphql.schema.GraphQLScalarType
 import graphql.schema.GraphQLType
 import graphql.schema.GraphQLTypeUtil
 import graphql.schema.TypeResolver
 import spock.lang.Specification
 
 import java.util.function.Function
+import java.util.function.Supplier
 
 import static ExecutionStepInfo.newExecutionStepInfo
 import static graphql.Scalars.GraphQLString
@@ -232,6 +239,113 @@ class ExecutionStepInfoTest extends Specification {
         transformed.getObjectType() == executionStepInfo.getObjectType()
     }
 
+    def "arguments are only resolved once asked for"() {
+        given:
+        def resolved = 0
+        ExecutionStepInfo executionStepInfo = newExecutionStepInfo()
+                .type(Scalars.GraphQLString)
+                .argumentsSupplier({ -> resolved++; [arg: "value"] } as Supplier<Map<String, Object>>)
+                .build()
+        def listElement = new ExecutionStepInfoFactory().newExecutionStepInfoForListElement(
+                executionStepInfo.transform({ builder -> builder.type(list(Scalars.GraphQLString)).path(ResultPath.rootPath().segment("field")) }), 0)
+
+        expect:
+        resolved == 0
+
+        when:
+        def arguments = executionStepInfo.getArguments()
+
+        then:
+        arguments == [arg: "value"]
+        executionStepInfo.getArgument("arg") == "value"
+        listElement.getArguments() == [arg: "value"]
+        listElement.path.toString() == "/field[0]"
+        resolved == 1
+    }
+
+    def "argument coercion failures surface in the data fetcher that asks for the arguments"() {
+        def failing = false
+        def picky = GraphQLScalarType.newScalar().name("Picky").coercing(new Coercing() {
+            @Override
+            Object serialize(Object dataFetcherResult) {
+                return dataFetcherResult
+            }
+
+            @Override
+            Object parseValue(Object input) {
+                return input
+            }
+
+            @Override
+            Object parseLiteral(Object input) {
+                if (failing) {
+                    throw new CoercingParseLiteralException("picky")
+                }
+                return ((StringValue) input).getValue()
+            }
+        }).build()
+        def spec = '''
+            scalar Picky
+            type Query { parent : Parent }
+            type Parent { read(arg : Picky) : String, ignored(arg : Picky) : String }
+        '''
+        def runtimeWiring = newRuntimeWiring()
+                .scalar(picky)
+                .type(newTypeWiring("Query").dataFetcher("parent", { env -> failing = true; [:] }))
+                .type(newTypeWiring("Parent")
+                        .dataFetcher("read", { env -> env.getArgument("arg") })
+                        .dataFetcher("ignored", { env -> "fine" }))
+                .build()
+        def graphQL = TestUtil.graphQL(spec, runtimeWiring).build()
+
+        when:
+        def result = graphQL.execute('{ parent { read(arg : "x") ignored(arg : "x") } }')
+
+        then:
+        result.data == [parent: [read: null, ignored: "fine"]]
+        result.errors.size() == 1
+        result.errors[0] instanceof ExceptionWhileDataFetching
+        result.errors[0].path == ["parent", "read"]
+        result.errors[0].message.contains("picky")
+    }
+
+    def "the step info of a field is built once and only when something asks for it"() {
+        def built = []
+        def strategy = new AsyncExecutionStrategy() {
+            @Override
+            protected ExecutionStepInfo createExecutionStepInfo(ExecutionContext executionContext, ExecutionStrategyParameters parameters, GraphQLFieldDefinition fieldDefinition, GraphQLObjectType fieldContainer) {
+                built.add(parameters.getPath().toString())
+                return super.createExecutionStepInfo(executionContext, parameters, fieldDefinition, fieldContainer)
+            }
+        }
+        def spec = '''
+            type Query { parent : Parent }
+            type Parent { plain : String, asking : String, missing : String! }
+        '''
+        def runtimeWiring = newRuntimeWiring()
+                .type(newTypeWiring("Query").dataFetcher("parent", { env -> [plain: "plain"] }))
+                .type(newTypeWiring("Parent").dataFetcher("asking", { env -> env.getExecutionStepInfo().getPath().toString() }))
+                .build()
+        def graphQL = TestUtil.graphQL(spec, runtimeWiring).queryExecutionStrategy(strategy).build()
+
+        when:
+        def result = graphQL.execute('{ parent { plain asking } }')
+
+        then:
+        result.data == [parent: [plain: "plain", asking: "/parent/asking"]]
+        built == ["/parent", "/parent/asking"]
+
+        when:
+        built.clear()
+        result = graphQL.execute('{ parent { plain missing } }')
+
+        then:
+        result.data == [parent: null]
+        result.errors.size() == 1
+        result.errors[0].path == ["parent", "missing"]
+        built == ["/parent", "/parent/missing"]
+    }
+
     def "step info for list of lists of abstract type"() {
         def spec = '''
             type Query {
@@ -3,6 +3,7 @@ package graphql.execution
 import graphql.Assert
 import graphql.ExceptionWhileDataFetching
 import graphql.ExecutionResult
+import graphql.ExecutionResultImpl
 import graphql.GraphqlErrorBuilder
 import graphql.Scalars
 import graphql.SerializationError
@@ -20,6 +21,7 @@ import graphql.schema.DataFetcher
 import graphql.schema.DataFetchingEnvironment
 import graphql.schema.GraphQLEnumType
 import graphql.schema.GraphQLFieldDefinition
+import graphql.schema.GraphQLOutputType
 import graphql.schema.GraphQLScalarType
 import graphql.schema.GraphQLSchema
 import org.dataloader.DataLoaderRegistry
@@ -366,6 +368,94 @@ class ExecutionStrategyTest extends Specification {
         executionResult.data == result
     }
 
+    ExecutionStrategyParameters listParameters(ExecutionContext executionContext, GraphQLOutputType fieldType, Object source) {
+        def fldDef = newFieldDefinition().name("test").type(fieldType).build()
+        def executionStepInfo = ExecutionStepInfo.newExecutionStepInfo().type(fieldType).path(ResultPath.rootPath()).fieldDefinition(fldDef).build()
+        newParameters()
+                .executionStepInfo(executionStepInfo)
+                .source(source)
+                .nonNullFieldValidator(new NonNullableFieldValidator(executionContext, executionStepInfo))
+                .fields(mergedSelectionSet(["fld": []]))
+                .field(mergedField(new Field("someField")))
+                .build()
+    }
+
+    def "completes a list of scalars with errors only for the elements that fail"() {
+        given:
+        ExecutionContext executionContext = buildContext()
+        def parameters = listParameters(executionContext, list(Scalars.GraphQLInt), ["1", "not a number", 3, null])
+
+        when:
+        def executionResult = executionStrategy.completeValue(executionContext, parameters).fieldValue.join()
+
+        then:
+        executionResult.data == [1, null, 3, null]
+        executionContext.errors.size() == 1
+        executionContext.errors[0] instanceof SerializationError
+        executionContext.errors[0].path == [1]
+    }
+
+    def "a null element in a list of non null scalars makes the list null"() {
+        given:
+        ExecutionContext executionContext = buildContext()
+        def parameters = listParameters(executionContext, list(nonNull(GraphQLString)), ["a", null, "c"])
+
+        when:
+        def executionResult = executionStrategy.completeValue(executionContext, parameters).fieldValue.join()
+
+        then:
+        executionResult.data == null
+        executionContext.errors.size() == 1
+        executionContext.errors[0] instanceof NonNullableFieldWasNullError
+        executionContext.errors[0].path == [1]
+    }
+
+    def "a list of scalars or enums has the infos of its elements"() {
+        given:
+        ExecutionContext executionContext = buildContext()
+        def enumType = newEnum().name("Color").value("RED").build()
+
+        when:
+        def scalars = executionStrategy.completeValue(executionContext, listParameters(executionContext, list(Scalars.GraphQLInt), [1, null, 3]))
+        def enums = executionStrategy.completeValue(executionContext, listParameters(executionContext, list(enumType), ["RED"]))
+        def nonNulls = executionStrategy.completeValue(executionContext, listParameters(executionContext, list(nonNull(GraphQLString)), ["a", null, "c"]))
+
+        then:
+        scalars.completeValueType == FieldValueInfo.CompleteValueType.LIST
+        scalars.leafList
+        scalars.fieldValueInfos*.completeValueType == [FieldValueInfo.CompleteValueType.SCALAR, FieldValueInfo.CompleteValueType.NULL, FieldValueInfo.CompleteValueType.SCALAR]
+        scalars.fieldValueInfos.collect { it.fieldValue.join().data } == [1, null, 3]
+        scalars.fieldValueInfos[0].is(scalars.fieldValueInfos[0])
+        enums.fieldValueInfos*.completeValueType == [FieldValueInfo.CompleteValueType.ENUM]
+        enums.fieldValueInfos[0].fieldValue.join().data == "RED"
+        // the infos end before the null element that made the list null
+        nonNulls.fieldValue.join().data == null
+        nonNulls.fieldValueInfos.collect { it.fieldValue.join().data } == ["a"]
+    }
+
+    def "strategies that complete scalars themselves still complete each list element"() {
+        given:
+        executionStrategy = new ExecutionStrategy(dataFetcherExceptionHandler) {
+            @Override
+            CompletableFuture<ExecutionResult> execute(ExecutionContext executionContext, ExecutionStrategyParameters parameters) {
+                return Assert.assertShouldNeverHappen("should not be called")
+            }
+
+            @Override
+            protected CompletableFuture<ExecutionResult> completeValueForScalar(ExecutionContext executionContext, ExecutionStrategyParameters parameters, GraphQLScalarType scalarType, Object result) {
+                return CompletableFuture.completedFuture(new ExecutionResultImpl(result.toString().toUpperCase(), null))
+            }
+        }
+        ExecutionContext executionContext = buildContext()
+        def parameters = listParameters(executionContext, list(GraphQLString), ["a", "b"])
+
+        when:
+        def executionResult = executionStrategy.completeValue(executionContext, parameters).fieldValue.join()
+
+        then:
+        executionResult.data == ["A", "B"]
+    }
+
     def "completing value with serializing throwing exception"() {
         given:
         ExecutionContext executionContext = buildContext()
@@ -3,6 +3,7 @@ package graphql.execution
 import graphql.TestUtil
 import graphql.language.Document
 import graphql.language.Field
+import graphql.language.FragmentDefinition
 import graphql.language.InlineFragment
 import graphql.language.OperationDefinition
 import graphql.parser.Parser
@@ -75,4 +76,40 @@ class FieldCollectorTest extends Specification {
         result.getSubField('fieldOnInterface').getFields() == [interfaceField]
 
     }
+
+    def "collect deferred fragments"() {
+        def schema = TestUtil.schema("""
+            type Query {
+                bar1: String
+                bar2: String 
+                bar3: String 
+            }
+                """)
+        def objectType = schema.getType("Query") as GraphQLObjectType
+        FieldCollector fieldCollector = new FieldCollector()
+        Document document = new Parser().parseDocument("""
+            { foo { bar1 ...F @defer(label: "spread") ... @defer { bar2 ... @defer(label: "nested") { bar3 } } ...F } }
+            fragment F on Query { bar2 }
+        """)
+        Field field = ((OperationDefinition) document.children[0]).selectionSet.selections[0] as Field
+        def fragments = [F: document.children[1] as FragmentDefinition]
+
+        when:
+        def result = fieldCollector.collectFields(newParameters().schema(schema).objectType(objectType).fragments(fragments).deferSupported(true).build(), mergedField(field))
+
+        then:
+        result.getKeys() == ["bar1", "bar2"]
+        result.getDeferredFragments()*.label == ["spread", null]
+        result.getDeferredFragments()[0].fields.getKeys() == ["bar2"]
+        result.getDeferredFragments()[1].fields.getKeys() == ["bar2"]
+        result.getDeferredFragments()[1].fields.deferredFragments*.label == ["nested"]
+        result.getDeferredFragments()[1].fields.deferredFragments[0].fields.getKeys() == ["bar3"]
+
+        when:
+        result = fieldCollector.collectFields(newParameters().schema(schema).objectType(objectType).fragments(fragments).build(), mergedField(field))
+
+        then:
+        result.getKeys() == ["bar1", "bar2", "bar3"]
+        result.getDeferredFragments().isEmpty()
+    }
 }
@@ -0,0 +1,226 @@
+package graphql.execution
+
+import graphql.ExecutionInput
+import graphql.GraphQL
+import graphql.JsonResultSink
+import graphql.StarWarsSchema
+import graphql.TestUtil
+import graphql.execution.instrumentation.tracing.TracingInstrumentation
+import groovy.json.JsonSlurper
+import spock.lang.Specification
+
+import java.util.concurrent.CompletableFuture
+
+import static graphql.schema.idl.RuntimeWiring.newRuntimeWiring
+import static graphql.schema.idl.TypeRuntimeWiring.newTypeWiring
+
+class ResultStreamerTest extends Specification {
+
+    def writer = new StringWriter()
+    def sink = new JsonResultSink(writer)
+
+    def "streamed results are the same as the specification of the result"() {
+        def query = '''
+            query { 
+                hero { name friends { name ... on Human { homePlanet } } } 
+                human(id: "1000") { name appearsIn } 
+                droid(id: "nope") { name } 
+            }
+        '''
+        def graphQL = GraphQL.newGraphQL(StarWarsSchema.starWarsSchema).build()
+
+        when:
+        def expected = graphQL.execute(query).toSpecification()
+        def result = graphQL.executeAsync(ExecutionInput.newExecutionInput(query).build(), sink).join()
+
+        then:
+        result.data == null
+        result.isDataPresent()
+        new JsonSlurper().parseText(writer.toString()) == expected
+        writer.toString().startsWith('{"data":{"hero":{"name":"R2-D2","friends":[')
+    }
+
+    def "errors and extensions are appended at the end"() {
+        def graphQL = TestUtil.graphQL("type Query { a : String, b : String }", newRuntimeWiring()
+                .type(newTypeWiring("Query")
+                        .dataFetcher("a", { env -> "A" })
+                        .dataFetcher("b", { env -> throw new RuntimeException("bang") })))
+                .instrumentation(new TracingInstrumentation())
+                .build()
+
+        when:
+        graphQL.executeAsync(ExecutionInput.newExecutionInput("{ a b }").build(), sink).join()
+        def json = new JsonSlurper().parseText(writer.toString())
+
+        then:
+        writer.toString().startsWith('{"data":{"a":"A","b":null},"errors":[{"message":"Exception while fetching data (/b) : bang"')
+        json.keySet() as List == ["data", "errors", "extensions"]
+        json.extensions.tracing.execution.resolvers.size() == 2
+    }
+
+    def "root fields are written in order as soon as they and the fields before them complete"() {
+        def first = new CompletableFuture()
+        def third = new CompletableFuture()
+        def graphQL = TestUtil.graphQL("type Query { first : String, second : String, third : String }", newRuntimeWiring()
+                .type(newTypeWiring("Query")
+                        .dataFetcher("first", { env -> first })
+                        .dataFetcher("second", { env -> "2" })
+                        .dataFetcher("third", { env -> third })))
+                .build()
+
+        when:
+        def result = graphQL.executeAsync(ExecutionInput.newExecutionInput("{ first second third }").build(), sink)
+
+        then:
+        writer.toString() == ''
+
+        when:
+        first.complete("1")
+
+        then:
+        writer.toString() == '{"data":{"first":"1","second":"2"'
+        !result.isDone()
+
+        when:
+        third.complete("3")
+
+        then:
+        result.isDone()
+        writer.toString() == '{"data":{"first":"1","second":"2","third":"3"}}'
+    }
+
+    def "nothing is written until the non null root fields have completed"() {
+        def mandatory = new CompletableFuture()
+        def graphQL = TestUtil.graphQL("type Query { optional : String, mandatory : String! }", newRuntimeWiring()
+                .type(newTypeWiring("Query")
+                        .dataFetcher("optional", { env -> "here" })
+                        .dataFetcher("mandatory", { env -> mandatory })))
+                .build()
+
+        when:
+        def result = graphQL.executeAsync(ExecutionInput.newExecutionInput("{ optional mandatory }").build(), sink)
+
+        then:
+        writer.toString() == ''
+
+        when:
+        mandatory.complete(null)
+        def json = new JsonSlurper().parseText(writer.toString())
+
+        then:
+        result.join().errors.size() == 1
+        writer.toString().startsWith('{"data":null,"errors":[')
+        json.errors[0].path == ["mandatory"]
+    }
+
+    def "nested objects and lists are written as they complete"() {
+        def slow = [a: new CompletableFuture(), b: new CompletableFuture()]
+        def last = new CompletableFuture()
+        def graphQL = TestUtil.graphQL("type Query { items : [Item], last : String } type Item { name : String, slow : String }", newRuntimeWiring()
+                .type(newTypeWiring("Query")
+                        .dataFetcher("items", { env -> [[name: "a"], [name: "b"]] })
+                        .dataFetcher("last", { env -> last }))
+                .type(newTypeWiring("Item")
+                        .dataFetcher("slow", { env -> slow[env.source.name] })))
+                .build()
+
+        when:
+        def result = graphQL.executeAsync(ExecutionInput.newExecutionInput("{ items { name slow } last }").build(), sink)
+
+        then:
+        writer.toString() == '{"data":{"items":[{"name":"a"'
+
+        when:
+        slow.a.complete("A")
+
+        then:
+        writer.toString() == '{"data":{"items":[{"name":"a","slow":"A"},{"name":"b"'
+
+        when:
+        slow.b.complete("B")
+
+        then:
+        writer.toString() == '{"data":{"items":[{"name":"a","slow":"A"},{"name":"b","slow":"B"}]'
+        !result.isDone()
+
+        when:
+        last.complete("L")
+
+        then:
+        result.isDone()
+        writer.toString() == '{"data":{"items":[{"name":"a","slow":"A"},{"name":"b","slow":"B"}],"last":"L"}}'
+    }
+
+    def "nested objects and lists are only written once their non null values have completed"() {
+        def mandatory = new CompletableFuture()
+        def graphQL = TestUtil.graphQL("type Query { items : [Item], strictItems : [Item!] } type Item { name : String, mandatory : String! }", newRuntimeWiring()
+                .type(newTypeWiring("Query")
+                        .dataFetcher("items", { env -> [[name: "a"], [name: "b"]] })
+                        .dataFetcher("strictItems", { env -> [[name: "a"], [name: "b"]] }))
+                .type(newTypeWiring("Item")
+                        .dataFetcher("mandatory", { env -> env.source.name == "a" ? "A" : mandatory })))
+                .build()
+        def query = "{ items { name mandatory } strictItems { name mandatory } }"
+
+        when:
+        def result = graphQL.executeAsync(ExecutionInput.newExecutionInput(query).build(), sink)
+
+        then:
+        writer.toString() == '{"data":{"items":[{"name":"a","mandatory":"A"}'
+
+        when:
+        mandatory.complete(null)
+        def json = new JsonSlurper().parseText(writer.toString())
+
+        then:
+        result.join().errors.size() == 2
+        writer.toString().startsWith('{"data":{"items":[{"name":"a","mandatory":"A"},null],"strictItems":null},"errors":[')
+        json.data == graphQL.execute(query).toSpecification().data
+        json.errors.collect { it.path } as Set == [["items", 1, "mandatory"], ["strictItems", 1, "mandatory"]] as Set
+    }
+
+    def "results that are not streamed are written whole"() {
+        def graphQL = TestUtil.graphQL("type Query { a : String } type Mutation { b : String }", newRuntimeWiring()
+                .type(newTypeWiring("Mutation").dataFetcher("b", { env -> "B" })))
+                .build()
+
+        when:
+        def mutationResult = graphQL.executeAsync(ExecutionInput.newExecutionInput("mutation { b }").build(), sink).join()
+
+        then:
+        mutationResult.data == [b: "B"]
+        writer.toString() == '{"data":{"b":"B"}}'
+
+        when:
+        writer = new StringWriter()
+        graphQL.executeAsync(ExecutionInput.newExecutionInput("{ a ").build(), new JsonResultSink(writer)).join()
+
+        then:
+        writer.toString().startsWith('{"errors":[{"message":"Invalid Syntax')
+    }
+
+    def "a failing sink fails the execution"() {
+        def failingWriter = new Writer() {
+            @Override
+            void write(char[] chars, int off, int len) throws IOException {
+                throw new IOException("closed")
+            }
+
+            @Override
+            void flush() throws IOException {
+            }
+
+            @Override
+            void close() throws IOException {
+            }
+        }
+        def graphQL = GraphQL.newGraphQL(StarWarsSchema.starWarsSchema).build()
+
+        when:
+        graphQL.executeAsync(ExecutionInput.newExecutionInput("{ hero { name } }").build(), new JsonResultSink(failingWriter)).join()
+
+        then:
+        def e = thrown(Exception)
+        e.cause instanceof UncheckedIOException
+    }
+}
@@ -0,0 +1,49 @@
+package graphql.execution
+
+import graphql.AssertException
+import graphql.GraphQL
+import graphql.TestUtil
+import graphql.schema.DataFetcher
+import spock.lang.Requires
+import spock.lang.Specification
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+class VirtualThreadExecutionStrategyTest extends Specification {
+
+    @Requires({ !VirtualThreadExecutionStrategy.isSupported() })
+    def "can't be created without virtual threads"() {
+        when:
+        new VirtualThreadExecutionStrategy()
+
+        then:
+        thrown(AssertException)
+    }
+
+    @Requires({ VirtualThreadExecutionStrategy.isSupported() })
+    def "blocking data fetchers run concurrently on virtual threads"() {
+        def latch = new CountDownLatch(2)
+        def threads = [].asSynchronized()
+        def blocking = { env ->
+            threads << Thread.currentThread()
+            latch.countDown()
+            // only returns once the other field is being fetched too
+            latch.await(5, TimeUnit.SECONDS) ? env.field.name : null
+        } as DataFetcher
+        def graphQL = GraphQL.newGraphQL(TestUtil.schema('''
+                type Query { a: String b: String item: Item }
+                type Item { name: String }
+            ''', [Query: [a: blocking, b: blocking, item: { env -> [name: "thing"] } as DataFetcher]]))
+                .queryExecutionStrategy(new VirtualThreadExecutionStrategy())
+                .build()
+
+        when:
+        def result = graphQL.execute('{ a b item { name } }')
+
+        then:
+        result.data == [a: "a", b: "b", item: [name: "thing"]]
+        threads.size() == 2
+        threads.every { it.isVirtual() }
+    }
+}
@@ -0,0 +1,241 @@
+package graphql.execution.defer
+
+import graphql.Directives
+import graphql.ExecutionInput
+import graphql.ExecutionResult
+import graphql.GraphQL
+import graphql.TestUtil
+import graphql.execution.pubsub.CapturingSubscriber
+import graphql.schema.DataFetcher
+import graphql.schema.GraphQLSchema
+import org.dataloader.BatchLoader
+import org.dataloader.DataLoader
+import org.dataloader.DataLoaderRegistry
+import spock.lang.Specification
+
+import java.util.concurrent.CompletableFuture
+
+class DeferTest extends Specification {
+
+    def sdl = '''
+        type Query {
+            hero: Character
+            droid: Droid
+        }
+        
+        type Mutation {
+            rename(name: String): Character
+        }
+
+        type Character {
+            id: ID
+            name: String
+            friends: [Character]
+            bio: String
+            mandatory: String!
+        }
+
+        type Droid {
+            id: ID!
+        }
+    '''
+
+    def luke = [id: "1", name: "Luke", bio: "a farm boy", friends: [[id: "2", name: "Leia", bio: "a princess"], [id: "3", name: "Han", bio: "a smuggler"]]]
+
+    GraphQLSchema schema(Map<String, Map<String, DataFetcher>> dataFetchers) {
+        TestUtil.schema(sdl, dataFetchers).transform({ it.additionalDirective(Directives.DeferDirective) })
+    }
+
+    static List<DeferredExecutionResult> deferredResults(ExecutionResult initialResult) {
+        def subscriber = new CapturingSubscriber<DeferredExecutionResult>()
+        DeferredExecutionResult.deferredResults(initialResult).subscribe(subscriber)
+        assert subscriber.isDone().get()
+        assert subscriber.throwable == null
+        subscriber.events
+    }
+
+    def "the initial result does not wait for deferred fragments"() {
+        def bio = new CompletableFuture<String>()
+        def graphQL = GraphQL.newGraphQL(schema([
+                Query    : [hero: { env -> luke } as DataFetcher],
+                Character: [bio: { env -> bio } as DataFetcher]])).build()
+
+        when:
+        def result = graphQL.executeAsync(ExecutionInput.newExecutionInput('''
+            { hero { id ... @defer(label: "bio") { bio } } }
+        ''')).join()
+
+        then:
+        result.errors.isEmpty()
+        result.data == [hero: [id: "1"]]
+
+        when:
+        def subscriber = new CapturingSubscriber<DeferredExecutionResult>()
+        DeferredExecutionResult.deferredResults(result).subscribe(subscriber)
+
+        then:
+        subscriber.events.isEmpty()
+        !subscriber.isDone().get()
+
+        when:
+        bio.complete("a farm boy")
+
+        then:
+        subscriber.isDone().get()
+        subscriber.events.size() == 1
+        subscriber.events[0].toSpecification() == [data: [bio: "a farm boy"], path: ["hero"], label: "bio"]
+    }
+
+    def "nested deferred fragments are published after the fragments they are in"() {
+        def graphQL = GraphQL.newGraphQL(schema([Query: [hero: { env -> luke } as DataFetcher]])).build()
+
+        when:
+        def result = graphQL.execute('''
+            { 
+                hero { 
+                    id 
+                    ... HeroDetails @defer(label: "details") 
+                }
+            }
+            fragment HeroDetails on Character {
+                name
+                friends {
+                    name
+                    ... @defer(label: "friend") { bio }
+                }
+            }
+        ''')
+
+        then:
+        result.errors.isEmpty()
+        result.data == [hero: [id: "1"]]
+
+        when:
+        def deferred = deferredResults(result)
+
+        then:
+        deferred.size() == 3
+        deferred[0].toSpecification() == [data: [name: "Luke", friends: [[name: "Leia"], [name: "Han"]]], path: ["hero"], label: "details"]
+        deferred.drop(1).collect { it.toSpecification() } as Set == [
+                [data: [bio: "a princess"], path: ["hero", "friends", 0], label: "friend"],
+                [data: [bio: "a smuggler"], path: ["hero", "friends", 1], label: "friend"]] as Set
+    }
+
+    def "errors of deferred fragments are part of their deferred results"() {
+        def graphQL = GraphQL.newGraphQL(schema([
+                Query    : [hero: { env -> luke } as DataFetcher, droid: { env -> [id: null] } as DataFetcher],
+                Character: [bio: { env -> throw new RuntimeException("no bio") } as DataFetcher]])).build()
+
+        when:
+        def result = graphQL.execute('''
+            { 
+                hero { name ... @defer(label: "bio") { bio } ... @defer(label: "mandatory") { mandatory } }
+                ... @defer(label: "droid") { droid { id } }
+            }
+        ''')
+
+        then:
+        result.errors.isEmpty()
+        result.data == [hero: [name: "Luke"]]
+
+        when:
+        def deferred = deferredResults(result).collectEntries { [(it.label + ":" + it.path), it] }
+
+        then:
+        deferred.size() == 3
+        deferred["bio:[hero]"].data == [bio: null]
+        deferred["bio:[hero]"].errors*.path == [["hero", "bio"]]
+
+        deferred["mandatory:[hero]"].data == null
+        deferred["mandatory:[hero]"].errors*.path == [["hero", "mandatory"]]
+
+        deferred["droid:[]"].data == [droid: null]
+        deferred["droid:[]"].errors*.path == [["droid", "id"]]
+    }
+
+    def "a null non null field makes the data of its deferred result null"() {
+        def graphQL = GraphQL.newGraphQL(schema([Query: [hero: { env -> luke } as DataFetcher]])).build()
+
+        when:
+        def result = graphQL.execute('''
+            { hero { name ... @defer(label: "mandatory") { id mandatory } } }
+        ''')
+
+        then:
+        result.errors.isEmpty()
+        result.data == [hero: [name: "Luke"]]
+
+        when:
+        def deferred = deferredResults(result)
+
+        then:
+        deferred.size() == 1
+        deferred[0].data == null
+        deferred[0].errors*.path == [["hero", "mandatory"]]
+        deferred[0].toSpecification().containsKey("data")
+    }
+
+    def "fragments are not deferred when the if argument is false and there are no deferred results without deferred fragments"() {
+        def graphQL = GraphQL.newGraphQL(schema([Query: [hero: { env -> luke } as DataFetcher]])).build()
+
+        when:
+        def result = graphQL.execute(ExecutionInput.newExecutionInput('''
+            query($defer: Boolean) { hero { id ... @defer(if: $defer) { name } } }
+        ''').variables([defer: false]))
+
+        then:
+        result.errors.isEmpty()
+        result.data == [hero: [id: "1", name: "Luke"]]
+        result.extensions == null
+
+        when:
+        result = graphQL.execute('{ hero { id name } }')
+
+        then:
+        result.data == [hero: [id: "1", name: "Luke"]]
+        result.extensions == null
+    }
+
+    def "the root fields of a serially executed mutation are not deferred but the fields of its objects are"() {
+        def graphQL = GraphQL.newGraphQL(schema([Mutation: [rename: { env -> [id: "1", name: env.getArgument("name")] } as DataFetcher]])).build()
+
+        when:
+        def result = graphQL.execute('''
+            mutation { 
+                ... @defer { first: rename(name: "Luke") { id } } 
+                second: rename(name: "Leia") { id ... @defer { name } } 
+            }
+        ''')
+
+        then:
+        result.errors.isEmpty()
+        result.data == [first: [id: "1"], second: [id: "1"]]
+        deferredResults(result)*.toSpecification() == [[data: [name: "Leia"], path: ["second"]]]
+    }
+
+    def "data loaders are dispatched for deferred fragments"() {
+        def batches = []
+        BatchLoader<String, String> nameLoader = { List<String> ids ->
+            batches.add(ids)
+            CompletableFuture.completedFuture(ids.collect { "name" + it })
+        }
+        def registry = new DataLoaderRegistry()
+        registry.register("names", DataLoader.newDataLoader(nameLoader))
+
+        DataFetcher nameFetcher = { env -> env.getDataLoader("names").load(env.getSource().id) }
+        def graphQL = GraphQL.newGraphQL(schema([
+                Query    : [hero: { env -> luke } as DataFetcher],
+                Character: [name: nameFetcher]])).build()
+
+        when:
+        def result = graphQL.executeAsync(ExecutionInput.newExecutionInput('''
+            { hero { name friends { id ... @defer { name } } } }
+        ''').dataLoaderRegistry(registry)).join()
+
+        then:
+        result.errors.isEmpty()
+        result.data == [hero: [name: "name1", friends: [[id: "2"], [id: "3"]]]]
+        deferredResults(result)*.data as Set == [[name: "name2"], [name: "name3"]] as Set
+        batches.flatten() as Set == ["1", "2", "3"] as Set
+    }
+}
@@ -0,0 +1,280 @@
+package graphql.execution.defer
+
+import graphql.Directives
+import graphql.ExecutionInput
+import graphql.ExecutionResult
+import graphql.GraphQL
+import graphql.TestUtil
+import graphql.execution.AsyncSerialExecutionStrategy
+import graphql.execution.pubsub.CapturingSubscriber
+import graphql.execution.reactive.SingleSubscriberPublisher
+import graphql.schema.DataFetcher
+import graphql.schema.GraphQLSchema
+import org.reactivestreams.Publisher
+import org.reactivestreams.Subscriber
+import org.reactivestreams.Subscription
+import spock.lang.Specification
+
+import java.util.concurrent.CompletableFuture
+
+class StreamTest extends Specification {
+
+    def sdl = '''
+        type Query {
+            hero: Character
+            numbers: [Int]
+            names: [String!]
+        }
+
+        type Character {
+            id: ID
+            name: String
+            friends: [Character]
+        }
+    '''
+
+    def luke = [id: "1", name: "Luke", friends: [[id: "2", name: "Leia"], [id: "3", name: "Han"], [id: "4", name: "Chewie"]]]
+
+    GraphQLSchema schema(Map<String, Map<String, DataFetcher>> dataFetchers) {
+        TestUtil.schema(sdl, dataFetchers).transform({
+            it.additionalDirective(Directives.StreamDirective).additionalDirective(Directives.DeferDirective)
+        })
+    }
+
+    static List<DeferredExecutionResult> deferredResults(ExecutionResult initialResult) {
+        def subscriber = new CapturingSubscriber<DeferredExecutionResult>()
+        DeferredExecutionResult.deferredResults(initialResult).subscribe(subscriber)
+        assert subscriber.isDone().get()
+        assert subscriber.throwable == null
+        subscriber.events
+    }
+
+    /**
+     * A publisher of the numbers up to a count that records how many of them have been requested
+     */
+    static class CountingPublisher implements Publisher<Integer> {
+        final int count
+        final Throwable failure
+        int requested
+        int next
+
+        CountingPublisher(int count, Throwable failure = null) {
+            this.count = count
+            this.failure = failure
+        }
+
+        @Override
+        void subscribe(Subscriber<? super Integer> subscriber) {
+            subscriber.onSubscribe(new Subscription() {
+                @Override
+                void request(long n) {
+                    requested += n
+                    for (long i = 0; i < n && next < count; i++) {
+                        subscriber.onNext(next++)
+                    }
+                    if (next == count) {
+                        failure == null ? subscriber.onComplete() : subscriber.onError(failure)
+                    }
+                }
+
+                @Override
+                void cancel() {
+                }
+            })
+        }
+    }
+
+    def "the initial items are in the initial result and the rest are streamed in order"() {
+        def graphQL = GraphQL.newGraphQL(schema([Query: [hero: { env -> luke } as DataFetcher]])).build()
+
+        when:
+        def result = graphQL.execute('''
+            { hero { id friends @stream(initialCount: 1, label: "friends") { name } } }
+        ''')
+
+        then:
+        result.errors.isEmpty()
+        result.data == [hero: [id: "1", friends: [[name: "Leia"]]]]
+
+        when:
+        def deferred = deferredResults(result)
+
+        then:
+        deferred.collect { it.toSpecification() } == [
+                [items: [[name: "Han"]], path: ["hero", "friends", 1], label: "friends"],
+                [items: [[name: "Chewie"]], path: ["hero", "friends", 2], label: "friends"]]
+    }
+
+    def "streamed items are published after the initial result even when they complete first"() {
+        def hero = new CompletableFuture<Map>()
+        def graphQL = GraphQL.newGraphQL(schema([Query: [
+                numbers: { env -> [1, 2, 3] } as DataFetcher,
+                hero   : { env -> hero } as DataFetcher]])).build()
+
+        when:
+        def execution = graphQL.executeAsync(ExecutionInput.newExecutionInput('''
+            { numbers @stream hero { id } }
+        '''))
+
+        then:
+        !execution.isDone()
+
+        when:
+        hero.complete(luke)
+        def result = execution.join()
+
+        then:
+        result.data == [numbers: [], hero: [id: "1"]]
+        deferredResults(result).collect { it.toSpecification() } == [
+                [items: [1], path: ["numbers", 0]],
+                [items: [2], path: ["numbers", 1]],
+                [items: [3], path: ["numbers", 2]]]
+    }
+
+    def "the items of a publisher are requested as they are published"() {
+        def publisher = new CountingPublisher(5)
+        def hero = new CompletableFuture<Map>()
+        def graphQL = GraphQL.newGraphQL(schema([Query: [
+                numbers: { env -> publisher } as DataFetcher,
+                hero   : { env -> hero } as DataFetcher]])).build()
+
+        when:
+        def execution = graphQL.executeAsync(ExecutionInput.newExecutionInput('''
+            { numbers @stream(initialCount: 2) hero { id } }
+        '''))
+
+        then: "only the first streamed item is taken while the initial result is pending"
+        !execution.isDone()
+        publisher.requested == 3
+
+        when:
+        hero.complete(luke)
+        def result = execution.join()
+
+        then:
+        result.data == [numbers: [0, 1], hero: [id: "1"]]
+        deferredResults(result).collect { it.toSpecification() } == [
+                [items: [2], path: ["numbers", 2]],
+                [items: [3], path: ["numbers", 3]],
+                [items: [4], path: ["numbers", 4]]]
+        publisher.requested == 5
+    }
+
+    def "a publisher that is still producing items is streamed as its items arrive"() {
+        def publisher = new SingleSubscriberPublisher<Integer>()
+        def graphQL = GraphQL.newGraphQL(schema([Query: [numbers: { env -> publisher } as DataFetcher]])).build()
+
+        when:
+        def execution = graphQL.executeAsync(ExecutionInput.newExecutionInput('''
+            { numbers @stream(initialCount: 1) }
+        '''))
+
+        then:
+        !execution.isDone()
+
+        when:
+        publisher.offer(1)
+        def result = execution.join()
+        def subscriber = new CapturingSubscriber<DeferredExecutionResult>()
+        DeferredExecutionResult.deferredResults(result).subscribe(subscriber)
+
+        then:
+        result.data == [numbers: [1]]
+        subscriber.events.isEmpty()
+
+        when:
+        publisher.offer(2)
+        publisher.offer(3)
+        publisher.noMoreData()
+
+        then:
+        subscriber.isDone().get()
+        subscriber.events.collect { it.toSpecification() } == [
+                [items: [2], path: ["numbers", 1]],
+                [items: [3], path: ["numbers", 2]]]
+    }
+
+    def "a publisher is collected whole when the execution cannot stream"() {
+        def graphQL = GraphQL.newGraphQL(schema([Query: [numbers: { env -> new CountingPublisher(3) } as DataFetcher]]))
+                .queryExecutionStrategy(new AsyncSerialExecutionStrategy())
+                .build()
+
+        when:
+        def result = graphQL.execute('''
+            { numbers @stream(initialCount: 1) }
+        ''')
+
+        then:
+        result.errors.isEmpty()
+        result.data == [numbers: [0, 1, 2]]
+        result.extensions == null
+    }
+
+    def "streaming can be turned off"() {
+        def graphQL = GraphQL.newGraphQL(schema([Query: [hero: { env -> luke } as DataFetcher]])).build()
+
+        when:
+        def result = graphQL.execute(ExecutionInput.newExecutionInput('''
+            query($stream: Boolean) { hero { friends @stream(if: $stream) { id } } }
+        ''').variables([stream: false]))
+
+        then:
+        result.data == [hero: [friends: [[id: "2"], [id: "3"], [id: "4"]]]]
+        result.extensions == null
+    }
+
+    def "a null non null item makes only its items null"() {
+        def graphQL = GraphQL.newGraphQL(schema([Query: [names: { env -> ["a", null, "c"] } as DataFetcher]])).build()
+
+        when:
+        def result = graphQL.execute('''
+            { names @stream(initialCount: 1) }
+        ''')
+        def deferred = deferredResults(result)
+
+        then:
+        result.errors.isEmpty()
+        result.data == [names: ["a"]]
+        deferred[0].path == ["names", 1]
+        deferred[0].data == null
+        deferred[0].errors.size() == 1
+        deferred[1].toSpecification() == [items: ["c"], path: ["names", 2]]
+    }
+
+    def "a failing publisher ends the stream with an error"() {
+        def publisher = new CountingPublisher(2, new RuntimeException("bang"))
+        def graphQL = GraphQL.newGraphQL(schema([Query: [numbers: { env -> publisher } as DataFetcher]])).build()
+
+        when:
+        def result = graphQL.execute('''
+            { numbers @stream(initialCount: 1) }
+        ''')
+        def deferred = deferredResults(result)
+
+        then:
+        result.data == [numbers: [0]]
+        deferred.size() == 2
+        deferred[0].toSpecification() == [items: [1], path: ["numbers", 1]]
+        deferred[1].data == null
+        deferred[1].path == ["numbers", 2]
+        deferred[1].errors[0].message.contains("bang")
+    }
+
+    def "long streams do not overflow the stack"() {
+        def publisher = new CountingPublisher(20_000)
+        def graphQL = GraphQL.newGraphQL(schema([Query: [
+                numbers: { env -> publisher } as DataFetcher,
+                hero   : { env -> luke } as DataFetcher]])).build()
+
+        when:
+        def result = graphQL.execute('''
+            { numbers @stream hero { friends @stream { id } } }
+        ''')
+        def deferred = deferredResults(result)
+
+        then:
+        result.errors.isEmpty()
+        deferred.size() == 20_003
+        deferred.findAll { it.path[0] == "numbers" }.collect { it.data[0] } == (0..<20_000).toList()
+    }
+}
@@ -4,6 +4,8 @@ import graphql.ExecutionResult
 import graphql.GraphQL
 import graphql.StarWarsSchema
 import graphql.execution.AsyncExecutionStrategy
+import graphql.execution.ExecutionStepInfo
+import graphql.execution.ResultPath
 import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters
 import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters
 import graphql.execution.instrumentation.parameters.InstrumentationExecutionStrategyParameters
@@ -16,6 +18,9 @@ import graphql.validation.ValidationError
 import spock.lang.Specification
 
 import java.util.concurrent.CompletableFuture
+import java.util.function.Supplier
+
+import static graphql.Scalars.GraphQLString
 
 class ChainedInstrumentationStateTest extends Specification {
 
@@ -205,6 +210,56 @@ class ChainedInstrumentationStateTest extends Specification {
 
     }
 
+    def "hooks only call the instrumentations that override them"() {
+        def fields = []
+        def fetches = []
+        def fieldContext = SimpleInstrumentationContext.<ExecutionResult> whenCompleted({ result, t -> fields << "done" })
+        def fieldInstrumentation = new SimpleInstrumentation() {
+            @Override
+            InstrumentationContext<ExecutionResult> beginField(InstrumentationFieldParameters parameters) {
+                fields << parameters.executionStepInfo.path.toString()
+                return fieldContext
+            }
+        }
+        def fetchInstrumentation = new SimpleInstrumentation() {
+            @Override
+            InstrumentationContext<Object> beginFieldFetch(InstrumentationFieldFetchParameters parameters) {
+                fetches << "first"
+                return SimpleInstrumentationContext.noOp()
+            }
+        }
+        def otherFetchInstrumentation = new SimpleInstrumentation() {
+            @Override
+            InstrumentationContext<Object> beginFieldFetch(InstrumentationFieldFetchParameters parameters) {
+                fetches << "second"
+                return SimpleInstrumentationContext.noOp()
+            }
+        }
+        def chainedInstrumentation = new ChainedInstrumentation([fieldInstrumentation, fetchInstrumentation, otherFetchInstrumentation])
+        def stepInfo = ExecutionStepInfo.newExecutionStepInfo().type(GraphQLString).path(ResultPath.rootPath().segment("direct")).build()
+        def parameters = new InstrumentationFieldParameters(null, { stepInfo } as Supplier<ExecutionStepInfo>, chainedInstrumentation.createState(null))
+
+        expect: "a hook nobody overrides gives the no op context"
+        chainedInstrumentation.beginSubscribedFieldEvent(parameters).is(SimpleInstrumentationContext.noOp())
+
+        and: "a hook only one instrumentation overrides gives its context as is"
+        chainedInstrumentation.beginField(parameters).is(fieldContext)
+        fields == ["/direct"]
+
+        when:
+        fields.clear()
+        def graphQL = GraphQL
+                .newGraphQL(StarWarsSchema.starWarsSchema)
+                .instrumentation(chainedInstrumentation)
+                .doNotAddDefaultInstrumentations()
+                .build()
+        graphQL.execute("{ hero { id } }")
+
+        then:
+        fields == ["/hero", "/hero/id", "done", "done"]
+        fetches == ["first", "second", "first", "second"]
+    }
+
     private void assertCalls(NamedInstrumentation instrumentation) {
         assert instrumentation.dfInvocations[0].getFieldDefinition().name == 'hero'
         assert instrumentation.dfInvocations[0].getExecutionStepInfo().getPath().toList() == ['hero']
@@ -0,0 +1,107 @@
+package graphql.execution.instrumentation
+
+import graphql.ExecutionInput
+import graphql.GraphQL
+import graphql.StarWarsSchema
+import graphql.TestUtil
+import graphql.execution.instrumentation.tracing.FieldLatencyHistograms
+import graphql.schema.DataFetcher
+import graphql.schema.FieldCoordinates
+import spock.lang.Specification
+
+import static graphql.execution.instrumentation.tracing.SampledTracingInstrumentation.newSampledTracingInstrumentation
+
+class SampledTracingInstrumentationTest extends Specification {
+
+    def query = """
+        {
+            hero {
+                id
+                appearsIn
+            }
+        }
+        """
+
+    def "field latencies are recorded for every request but only sampled ones are traced"() {
+        def instrumentation = newSampledTracingInstrumentation()
+                .sampler({ ExecutionInput input -> input.context == "sampled" })
+                .build()
+        def spec = '''
+            type Query {
+                hero : Hero
+            }
+            type Hero {
+                id : ID
+                appearsIn : String
+            }
+        '''
+        def graphQL = TestUtil.graphQL(spec, [Query: [hero: { env -> [id: "id", appearsIn: "appearsIn"] } as DataFetcher]])
+                .instrumentation(instrumentation)
+                .build()
+
+        when:
+        def unsampled = graphQL.execute(ExecutionInput.newExecutionInput(query).context("unsampled"))
+        def sampled = graphQL.execute(ExecutionInput.newExecutionInput(query).context("sampled"))
+
+        then:
+        unsampled.errors.isEmpty()
+        unsampled.extensions == null
+
+        List resolvers = sampled.extensions['tracing']['execution']['resolvers'] as List
+        resolvers*.fieldName == ["hero"]
+
+        def latencies = instrumentation.fieldLatencyHistograms.snapshot()
+        latencies.keySet() == [FieldCoordinates.coordinates("Query", "hero")] as Set
+        def hero = latencies[FieldCoordinates.coordinates("Query", "hero")]
+        hero.count == 2
+        hero.max > 0L
+        hero.p50 <= hero.p99
+        hero.p99 <= hero.max
+    }
+
+    def "trivial data fetchers can be timed too"() {
+        def instrumentation = newSampledTracingInstrumentation()
+                .includeTrivialDataFetchers(true)
+                .samplingRate(1)
+                .build()
+        def graphQL = GraphQL
+                .newGraphQL(StarWarsSchema.starWarsSchema)
+                .instrumentation(instrumentation)
+                .build()
+
+        when:
+        def result = graphQL.execute(query)
+
+        then:
+        (result.extensions['tracing']['execution']['resolvers'] as List).size() == 3
+        instrumentation.fieldLatencyHistograms.snapshot().keySet() == [
+                FieldCoordinates.coordinates("QueryType", "hero"),
+                FieldCoordinates.coordinates("Droid", "id"),
+                FieldCoordinates.coordinates("Droid", "appearsIn")] as Set
+    }
+
+    def "percentiles come from the bucket the rank falls into"() {
+        def histograms = new FieldLatencyHistograms()
+
+        when:
+        (1..100).each { histograms.record("Query", "field", it * 1000) }
+        histograms.record("Query", "field", 1_000_000_000)
+        histograms.record("Query", "other", 5)
+        def snapshot = histograms.snapshot()
+        def field = snapshot[FieldCoordinates.coordinates("Query", "field")]
+        def other = snapshot[FieldCoordinates.coordinates("Query", "other")]
+
+        then:
+        field.count == 101
+        field.max == 1_000_000_000
+        // within the 12.5% of a bucket above the exact value
+        field.p50 >= 51_000 && field.p50 <= 51_000 * 1.125
+        field.p99 >= 100_000 && field.p99 <= 100_000 * 1.125
+        field.getPercentile(100) == 1_000_000_000
+        field.getPercentile(0) >= 1000 && field.getPercentile(0) <= 1125
+
+        other.count == 1
+        other.p50 == 5
+        other.p99 == 5
+    }
+}
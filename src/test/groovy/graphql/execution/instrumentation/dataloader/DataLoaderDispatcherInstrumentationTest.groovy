@@ -25,6 +25,7 @@ import spock.lang.Unroll
 import java.util.concurrent.CompletableFuture
 import java.util.concurrent.CompletionStage
 import java.util.concurrent.ForkJoinPool
+import java.util.concurrent.TimeUnit
 
 import static graphql.ExecutionInput.newExecutionInput
 import static graphql.StarWarsSchema.starWarsSchema
@@ -300,4 +301,125 @@ class DataLoaderDispatcherInstrumentationTest extends Specification {
         er.errors.isEmpty()
         er.data["field"] == "working as expected"
     }
+
+    def "chained dispatch dispatches loads made when other loads complete"() {
+
+        def sdl = '''
+            type Query {
+                users : [User]
+            }
+            type User {
+                id : ID
+                bestFriendName : String
+            }
+        '''
+
+        def userBatches = []
+        def nameBatches = []
+        BatchLoader userLoader = { keys ->
+            userBatches.add(keys)
+            CompletableFuture.supplyAsync({ keys.collect { [id: it, bestFriendId: "friend-" + it] } })
+        }
+        BatchLoader nameLoader = { keys ->
+            nameBatches.add(keys)
+            CompletableFuture.supplyAsync({ keys.collect { "name of " + it } })
+        }
+
+        DataFetcher bestFriendName = { env ->
+            DataLoader users = env.getDataLoader("users")
+            DataLoader names = env.getDataLoader("names")
+            return users.load(env.getSource().id).thenCompose({ user -> names.load(user.bestFriendId) })
+        }
+        def runtimeWiring = newRuntimeWiring()
+                .type(newTypeWiring("Query").dataFetcher("users", { env -> [[id: "1"], [id: "2"], [id: "3"]] }))
+                .type(newTypeWiring("User").dataFetcher("bestFriendName", bestFriendName))
+                .build()
+
+        def options = DataLoaderDispatcherInstrumentationOptions.newOptions().chainedDispatch(true)
+        def graphql = TestUtil.graphQL(sdl, runtimeWiring)
+                .instrumentation(new DataLoaderDispatcherInstrumentation(options))
+                .build()
+
+        DataLoaderRegistry dataLoaderRegistry = new DataLoaderRegistry()
+        dataLoaderRegistry.register("users", DataLoader.newDataLoader(userLoader))
+        dataLoaderRegistry.register("names", DataLoader.newDataLoader(nameLoader))
+
+        when:
+        def executionInput = newExecutionInput().dataLoaderRegistry(dataLoaderRegistry).query('{ users { id bestFriendName } }').build()
+        def er = graphql.executeAsync(executionInput).get(5, TimeUnit.SECONDS)
+
+        then:
+        er.errors.isEmpty()
+        er.data == [users: [
+                [id: "1", bestFriendName: "name of friend-1"],
+                [id: "2", bestFriendName: "name of friend-2"],
+                [id: "3", bestFriendName: "name of friend-3"]]]
+        userBatches == [["1", "2", "3"]]
+        nameBatches == [["friend-1", "friend-2", "friend-3"]]
+    }
+
+    def "chained dispatch still dispatches the loads of a level together"() {
+
+        def sdl = '''
+            type Query {
+                fast : Item
+                slow : Item
+            }
+            type Item {
+                name : String
+            }
+        '''
+
+        def itemBatches = []
+        def nameBatches = []
+        BatchLoader itemLoader = { keys ->
+            itemBatches.add(keys)
+            CompletableFuture.supplyAsync({ keys.collect { [id: it] } })
+        }
+        BatchLoader nameLoader = { keys ->
+            nameBatches.add(keys)
+            CompletableFuture.supplyAsync({ keys.collect { "name of " + it } })
+        }
+
+        // the slow item is not from a data loader so the name of the fast one is loaded well before the slow one's
+        DataFetcher slow = { env ->
+            CompletableFuture.supplyAsync({
+                Thread.sleep(200)
+                [id: "slow"]
+            })
+        }
+        DataFetcher name = { env -> env.getDataLoader("names").load(env.getSource().id) }
+        def runtimeWiring = newRuntimeWiring()
+                .type(newTypeWiring("Query")
+                .dataFetcher("fast", { env -> env.getDataLoader("items").load("fast") } as DataFetcher)
+                .dataFetcher("slow", slow))
+                .type(newTypeWiring("Item").dataFetcher("name", name))
+                .build()
+
+        def options = DataLoaderDispatcherInstrumentationOptions.newOptions().chainedDispatch(true)
+        def graphql = TestUtil.graphQL(sdl, runtimeWiring)
+                .instrumentation(new DataLoaderDispatcherInstrumentation(options))
+                .build()
+
+        DataLoaderRegistry dataLoaderRegistry = new DataLoaderRegistry()
+        dataLoaderRegistry.register("items", DataLoader.newDataLoader(itemLoader))
+        dataLoaderRegistry.register("names", DataLoader.newDataLoader(nameLoader))
+
+        when:
+        def executionInput = newExecutionInput().dataLoaderRegistry(dataLoaderRegistry).query('{ fast { name } slow { name } }').build()
+        def er = graphql.executeAsync(executionInput).get(5, TimeUnit.SECONDS)
+
+        then:
+        er.errors.isEmpty()
+        er.data == [fast: [name: "name of fast"], slow: [name: "name of slow"]]
+        itemBatches == [["fast"]]
+        nameBatches == [["fast", "slow"]]
+    }
+
+    def "chained dispatch is off by default and is kept when other options change"() {
+        expect:
+        !DataLoaderDispatcherInstrumentationOptions.newOptions().isChainedDispatch()
+        DataLoaderDispatcherInstrumentationOptions.newOptions().chainedDispatch(true).includeStatistics(true).isChainedDispatch()
+        DataLoaderDispatcherInstrumentationOptions.newOptions().includeStatistics(true).chainedDispatch(true).isIncludeStatistics()
+    }
 }
@@ -0,0 +1,226 @@
+package graphql.execution.preparsed
+
+import graphql.AssertException
+import graphql.ExecutionInput
+import graphql.GraphQL
+import graphql.StarWarsSchema
+import graphql.TestUtil
+import graphql.execution.instrumentation.TestingInstrumentation
+import graphql.language.Document
+import spock.lang.Specification
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+import static graphql.ExecutionInput.newExecutionInput
+
+class CachingPreparsedDocumentProviderTest extends Specification {
+
+    def computeCount = new AtomicInteger()
+
+    PreparsedDocumentEntry get(CachingPreparsedDocumentProvider provider, String query) {
+        provider.getDocument(newExecutionInput(query).build(), {
+            computeCount.incrementAndGet()
+            new PreparsedDocumentEntry(Document.newDocument().build())
+        })
+    }
+
+    def "documents are computed once and then served from the cache"() {
+        def provider = CachingPreparsedDocumentProvider.newCachingPreparsedDocumentProvider().build()
+
+        when:
+        def first = get(provider, "{ a }")
+        def second = get(provider, "{ a }")
+        def other = get(provider, "{ b }")
+
+        then:
+        first.is(second)
+        !first.is(other)
+        computeCount.get() == 2
+        provider.getEstimatedSize() == 2
+
+        def stats = provider.getStats()
+        stats.hitCount == 1
+        stats.missCount == 2
+        stats.loadSuccessCount == 2
+        stats.loadFailureCount == 0
+        stats.evictionCount == 0
+        stats.hitRate == 1d / 3
+    }
+
+    def "documents are cached per schema"() {
+        def provider = CachingPreparsedDocumentProvider.newCachingPreparsedDocumentProvider().build()
+        def schema1 = TestUtil.schema("type Query { a : String }")
+        def schema2 = TestUtil.schema("type Query { a : String }")
+        def compute = { input -> computeCount.incrementAndGet(); new PreparsedDocumentEntry(Document.newDocument().build()) }
+
+        when:
+        provider.getDocument(newExecutionInput("{ a }").build(), schema1, compute)
+        provider.getDocument(newExecutionInput("{ a }").build(), schema2, compute)
+        provider.getDocument(newExecutionInput("{ a }").build(), schema1, compute)
+
+        then:
+        computeCount.get() == 2
+    }
+
+    def "the cache never grows beyond its maximum size"() {
+        def provider = CachingPreparsedDocumentProvider.newCachingPreparsedDocumentProvider().maximumSize(10).build()
+
+        when:
+        for (int i = 0; i < 100; i++) {
+            get(provider, "{ a$i }")
+        }
+
+        then:
+        provider.getEstimatedSize() == 10
+        provider.getStats().evictionCount == 90
+    }
+
+    def "frequently used documents survive a scan of one off documents"() {
+        def provider = CachingPreparsedDocumentProvider.newCachingPreparsedDocumentProvider().maximumSize(20).build()
+
+        when:
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 10; i++) {
+                get(provider, "{ popular$i }")
+            }
+        }
+        for (int i = 0; i < 200; i++) {
+            get(provider, "{ oneOff$i }")
+        }
+        computeCount.set(0)
+        for (int i = 0; i < 10; i++) {
+            get(provider, "{ popular$i }")
+        }
+
+        then:
+        computeCount.get() == 0
+        provider.getEstimatedSize() == 20
+    }
+
+    def "load failures are counted and not cached"() {
+        def provider = CachingPreparsedDocumentProvider.newCachingPreparsedDocumentProvider().build()
+
+        when:
+        provider.getDocument(newExecutionInput("{ a }").build(), { throw new RuntimeException("bang") })
+
+        then:
+        thrown(RuntimeException)
+        provider.getStats().loadFailureCount == 1
+        provider.getEstimatedSize() == 0
+
+        when:
+        get(provider, "{ a }")
+
+        then:
+        computeCount.get() == 1
+    }
+
+    def "concurrent requests for the same document compute it once"() {
+        def provider = CachingPreparsedDocumentProvider.newCachingPreparsedDocumentProvider().build()
+        def latch = new CountDownLatch(1)
+        def executor = Executors.newFixedThreadPool(8)
+
+        when:
+        def futures = (1..8).collect {
+            executor.submit({
+                provider.getDocument(newExecutionInput("{ a }").build(), {
+                    computeCount.incrementAndGet()
+                    latch.await(5, TimeUnit.SECONDS)
+                    new PreparsedDocumentEntry(Document.newDocument().build())
+                })
+            })
+        }
+        Thread.sleep(100)
+        latch.countDown()
+        def entries = futures.collect { it.get(5, TimeUnit.SECONDS) }
+
+        then:
+        computeCount.get() == 1
+        entries.every { it.is(entries[0]) }
+        provider.getStats().hitCount == 7
+        provider.getStats().missCount == 1
+
+        cleanup:
+        executor.shutdownNow()
+    }
+
+    def "concurrent hits and misses keep the eviction policy consistent"() {
+        def provider = CachingPreparsedDocumentProvider.newCachingPreparsedDocumentProvider().maximumSize(16).build()
+        def executor = Executors.newFixedThreadPool(8)
+        def start = new CountDownLatch(1)
+
+        when:
+        def futures = (1..8).collect {
+            executor.submit({
+                start.await()
+                def random = new Random()
+                10_000.times {
+                    get(provider, "{ a" + random.nextInt(64) + " }")
+                }
+            })
+        }
+        start.countDown()
+        futures.each { it.get(60, TimeUnit.SECONDS) }
+        def queues = [provider.@window, provider.@probation, provider.@protectedQueue]
+        def linked = queues.collect { queue ->
+            def count = 0
+            for (def node = queue.first; node != null; node = node.next) {
+                count++
+            }
+            count
+        }
+
+        then:
+        linked == queues.collect { it.size }
+        linked.sum() == provider.getEstimatedSize()
+        provider.getEstimatedSize() <= 16
+
+        cleanup:
+        executor.shutdownNow()
+    }
+
+    def "invalidateAll discards everything"() {
+        def provider = CachingPreparsedDocumentProvider.newCachingPreparsedDocumentProvider().build()
+        get(provider, "{ a }")
+
+        when:
+        provider.invalidateAll()
+        get(provider, "{ a }")
+
+        then:
+        computeCount.get() == 2
+        provider.getEstimatedSize() == 1
+    }
+
+    def "maximum size must be positive"() {
+        when:
+        CachingPreparsedDocumentProvider.newCachingPreparsedDocumentProvider().maximumSize(0)
+
+        then:
+        thrown(AssertException)
+    }
+
+    def "cached documents skip parse and validation when executing"() {
+        def query = "{ hero { id } }"
+        def provider = CachingPreparsedDocumentProvider.newCachingPreparsedDocumentProvider().build()
+        def instrumentation = new TestingInstrumentation()
+        def graphQL = GraphQL.newGraphQL(StarWarsSchema.starWarsSchema)
+                .instrumentation(instrumentation)
+                .preparsedDocumentProvider(provider)
+                .build()
+
+        when:
+        def result1 = graphQL.execute(ExecutionInput.newExecutionInput().query(query).build())
+        instrumentation.executionList.clear()
+        def result2 = graphQL.execute(ExecutionInput.newExecutionInput().query(query).build())
+
+        then:
+        result1.data == result2.data
+        !instrumentation.executionList.contains("start:parse")
+        !instrumentation.executionList.contains("start:validation")
+        provider.getStats().hitCount == 1
+    }
+}
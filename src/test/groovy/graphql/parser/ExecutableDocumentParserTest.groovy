@@ -0,0 +1,184 @@
+package graphql.parser
+
+import graphql.introspection.IntrospectionQuery
+import graphql.language.Document
+import graphql.language.Node
+import graphql.language.OperationDefinition
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class ExecutableDocumentParserTest extends Specification {
+
+    def antlrOptions = ParserOptions.newParserOptions().build()
+    def recursiveDescentOptions = ParserOptions.newParserOptions().recursiveDescentParsing(true).build()
+
+    Document parseWithAntlr(String input) {
+        new Parser().parseDocument(input, "source", antlrOptions)
+    }
+
+    Document parseWithRecursiveDescent(String input) {
+        new Parser().parseDocument(input, "source", recursiveDescentOptions)
+    }
+
+    void assertSameAst(Node expected, Node actual) {
+        assert expected.getClass() == actual.getClass()
+        assert expected.isEqualTo(actual), "$expected is not equal to $actual"
+        assert expected.getSourceLocation() == actual.getSourceLocation(), "source location of $expected"
+        assert expected.getIgnoredChars().getLeft() == actual.getIgnoredChars().getLeft(), "left ignored chars of $expected"
+        assert expected.getIgnoredChars().getRight() == actual.getIgnoredChars().getRight(), "right ignored chars of $expected"
+        assert expected.getComments().collect { [it.content, it.sourceLocation] } == actual.getComments().collect { [it.content, it.sourceLocation] }
+        assert expected.getChildren().size() == actual.getChildren().size()
+        for (int i = 0; i < expected.getChildren().size(); i++) {
+            assertSameAst(expected.getChildren()[i], actual.getChildren()[i])
+        }
+    }
+
+    @Unroll
+    def "produces the same AST as antlr for '#input'"() {
+        when:
+        def expected = parseWithAntlr(input)
+        def actual = parseWithRecursiveDescent(input)
+
+        then:
+        assertSameAst(expected, actual)
+
+        where:
+        input                                                                              | _
+        '{ me }'                                                                           | _
+        '{,\r me\n\t} ,\n'                                                                 | _
+        'query { a b c }'                                                                  | _
+        'mutation M { m(a: 1, b: -1.5e10, c: "s", d: """block\n  string""", e: ENUM) }'   | _
+        'subscription S($v: [Int!]! = [1, 2], $o: In = {a: {b: null}} @d) { s(v: $v) }'    | _
+        'query Q($a: Boolean = true) @dir(x: false) { alias: field @skip(if: $a) { f } }' | _
+        '{ ... on Foo { a } ... @include(if: true) { b } ... { c } ...Frag @d }'           | _
+        'fragment Frag on Bar @d { a { b { c } } }\n{ ...Frag }'                           | _
+        '{ query mutation subscription fragment on true false null type input }'           | _
+        '{ f(a: on, b: query, c: [true, null, "😕"], d: {on: on}) }'                       | _
+        '# comment 1\n#comment 2\nquery {\n  # field comment\n  field\n}\n# trailing'      | _
+        '\ufeff{ bom }'                                                             | _
+        '{ a(s: "\\u00e9\\n\\"\\\\") b(s: """\\"""  """) c(s: "") }'                       | _
+        '{ a(x: 0, y: -0, z: 0.0, w: 1E+2, v: 1e-2) }'                                     | _
+        '{ a(s: """\n  emoji 😕\n""") after }'                                            | _
+        IntrospectionQuery.INTROSPECTION_QUERY                                             | _
+    }
+
+    def "lean options produce the same AST without common data"() {
+        def input = '''
+            # a comment
+            query Q($v: Int = 1) { field(a: $v) @d { sub ...F } }
+            fragment F on T { x }
+        '''
+        when:
+        def expected = new Parser().parseDocument(input, null, ParserOptions.getLeanParserOptions())
+        def actual = new Parser().parseDocument(input, null, ParserOptions.getLeanParserOptions().transform({ it.recursiveDescentParsing(true) }))
+
+        then:
+        assertSameAst(expected, actual)
+        actual.getDefinitions()[0].getSourceLocation() == null
+    }
+
+    def "documents with type system definitions fall back to antlr"() {
+        def input = '''
+            query { a }
+
+            type Query {
+                a : String
+            }
+        '''
+        when:
+        def expected = parseWithAntlr(input)
+        def actual = parseWithRecursiveDescent(input)
+
+        then:
+        actual.getDefinitions().size() == 2
+        assertSameAst(expected, actual)
+    }
+
+    @Unroll
+    def "produces the same syntax error as antlr for '#input'"() {
+        when:
+        parseWithAntlr(input)
+
+        then:
+        def expected = thrown(InvalidSyntaxException)
+
+        when:
+        parseWithRecursiveDescent(input)
+
+        then:
+        def actual = thrown(InvalidSyntaxException)
+        actual.message == expected.message
+        actual.location == expected.location
+        actual.offendingToken == expected.offendingToken
+        actual.sourcePreview == expected.sourcePreview
+
+        where:
+        input                                             | _
+        ''                                                | _
+        '# only a comment'                                | _
+        '{ }'                                             | _
+        '{ a '                                            | _
+        '{ a } }'                                         | _
+        '{ a } foo'                                       | _
+        'query X { field1 field2(thisBreaksHere field3 }' | _
+        'mutation event(() }'                             | _
+        'mutation event($var: SomeType[]!) { a }'         | _
+        'query ($v: Int = $x) { a }'                      | _
+        '{ a(b: ) }'                                      | _
+        '{ ...on }'                                       | _
+        'fragment on on T { a }'                          | _
+        'fragment F T { a }'                              | _
+        '{\n  a /\n}'                                     | _
+        '{ a(b: 4.) }'                                    | _
+        '{ a(b: 00) }'                                    | _
+        '{ a(b: 1.2e3.4) }'                               | _
+        '{ a(b: "unterminated) }'                         | _
+        '{ a(b: "bad \\q escape") }'                      | _
+        '{ a(b: """ never closed) }'                      | _
+        '{ a(b: [""""]) }'                                | _
+        '{ a .. b }'                                      | _
+    }
+
+    def "multi source input reports the same locations"() {
+        def part1 = '''
+query X {
+       field1
+}'''
+        def part2 = '''
+
+fragment X on SomeType {
+    fragField1
+    fragField2(syntaxErrorHere
+    fragField3
+}
+'''
+        def multiSource = MultiSourceReader.newMultiSourceReader()
+                .string(part1, "part1")
+                .string(part2, "part2")
+                .build()
+
+        when:
+        new Parser().parseDocument(multiSource, recursiveDescentOptions)
+
+        then:
+        def e = thrown(InvalidSyntaxException)
+        e.location.line == 6
+        e.location.column == 5
+        e.location.sourceName == "part2"
+        e.offendingToken == "fragField3"
+    }
+
+    def "can be made the JVM default"() {
+        def previousDefault = ParserOptions.getDefaultParserOptions()
+        ParserOptions.setDefaultParserOptions(recursiveDescentOptions)
+
+        when:
+        def document = Parser.parse("query Q { a }")
+
+        then:
+        (document.getDefinitions()[0] as OperationDefinition).getName() == "Q"
+
+        cleanup:
+        ParserOptions.setDefaultParserOptions(previousDefault)
+    }
+}
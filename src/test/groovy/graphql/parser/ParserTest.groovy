@@ -15,6 +15,7 @@ import graphql.language.FloatValue
 import graphql.language.FragmentDefinition
 import graphql.language.FragmentSpread
 import graphql.language.IgnoredChar
+import graphql.language.IgnoredChars
 import graphql.language.InlineFragment
 import graphql.language.InputObjectTypeDefinition
 import graphql.language.IntValue
@@ -745,6 +746,134 @@ triple3 : """edge cases \\""" "" " \\"" \\" edge cases"""
         document.getIgnoredChars().getRight()[2] == new IgnoredChar("\n", IgnoredChar.IgnoredCharKind.LF, new SourceLocation(2, 5))
     }
 
+    def "lean parser options capture no ignored chars, comments or source locations"() {
+        given:
+        def input = """
+            # a comment
+            {,\r me\n\t} ,\n
+        """
+
+        when:
+        Document document = new Parser().parseDocument(input, null, ParserOptions.getLeanParserOptions())
+        def operationDefinition = document.definitions[0] as OperationDefinition
+        def field = operationDefinition.selectionSet.selections[0] as Field
+
+        then:
+        field.name == "me"
+        field.getIgnoredChars() == IgnoredChars.EMPTY
+        field.getSourceLocation() == null
+        operationDefinition.getComments().isEmpty()
+        operationDefinition.getSourceLocation() == null
+        document.getIgnoredChars() == IgnoredChars.EMPTY
+    }
+
+    def "parser options can be individually switched"() {
+        given:
+        def input = """
+            # a comment
+            { me }
+        """
+        def options = ParserOptions.newParserOptions().captureIgnoredChars(false).build()
+
+        when:
+        Document document = new Parser().parseDocument(input, null, options)
+        def operationDefinition = document.definitions[0] as OperationDefinition
+
+        then:
+        operationDefinition.getComments()[0].content == " a comment"
+        operationDefinition.getSourceLocation() == new SourceLocation(3, 13)
+        operationDefinition.getIgnoredChars() == IgnoredChars.EMPTY
+
+        when:
+        options = options.transform({ builder -> builder.captureLineComments(false) })
+        document = new Parser().parseDocument(input, null, options)
+        operationDefinition = document.definitions[0] as OperationDefinition
+
+        then:
+        operationDefinition.getComments().isEmpty()
+        operationDefinition.getSourceLocation() == new SourceLocation(3, 13)
+    }
+
+    def "lean parsing still reports syntax errors with locations"() {
+        when:
+        new Parser().parseDocument("{ me { }", null, ParserOptions.getLeanParserOptions())
+
+        then:
+        def e = thrown(InvalidSyntaxException)
+        e.location != null
+    }
+
+    def "parsing is cancelled when there are too many tokens"() {
+        given:
+        def options = ParserOptions.getDefaultParserOptions().transform({ builder -> builder.maxTokens(10) })
+
+        when:
+        new Parser().parseDocument("{ a b c d e f g h i j k l m }", null, options)
+
+        then:
+        def e = thrown(ParseCancelledException)
+        e.message.contains("More than 10 parse tokens have been presented")
+        e.offendingToken == "j"
+        e.location == new SourceLocation(1, 21)
+
+        when: "ignored chars and comments do not count"
+        def document = new Parser().parseDocument("{ a,,, b \n#comment\n c d e f g h }", null, options)
+
+        then:
+        document.definitions.size() == 1
+    }
+
+    def "parsing is cancelled when selection sets are nested too deeply"() {
+        given:
+        def options = ParserOptions.getDefaultParserOptions().transform({ builder -> builder.maxSelectionSetDepth(3) })
+
+        when:
+        def document = new Parser().parseDocument("{ a { b { c } } d { e } }", null, options)
+
+        then:
+        document.definitions.size() == 1
+
+        when:
+        new Parser().parseDocument("{ a { b { c { d } } } }", null, options)
+
+        then:
+        def e = thrown(ParseCancelledException)
+        e.message.contains("Selection sets are nested more than 3 deep")
+        e.location == new SourceLocation(1, 13)
+    }
+
+    def "parsing is cancelled when there are too many characters"() {
+        given:
+        def options = ParserOptions.getDefaultParserOptions().transform({ builder -> builder.maxCharacters(100) })
+        def query = "{ a }" + (" " * 10000)
+
+        when:
+        new Parser().parseDocument(query, null, options)
+
+        then:
+        def e = thrown(ParseCancelledException)
+        e.message.contains("More than 100 characters have been presented")
+
+        when:
+        def document = new Parser().parseDocument("{ a }", null, options)
+
+        then:
+        document.definitions.size() == 1
+    }
+
+    def "parse cancelled exceptions are syntax errors"() {
+        given:
+        def options = ParserOptions.getDefaultParserOptions().transform({ builder -> builder.maxTokens(2) })
+
+        when:
+        new Parser().parseDocument("{ a }", null, options)
+
+        then:
+        def e = thrown(InvalidSyntaxException)
+        e instanceof ParseCancelledException
+        e.toInvalidSyntaxError().message.startsWith("Invalid Syntax : More than 2 parse tokens")
+    }
+
     def "parsed float with positive exponent"() {
         given:
         def input = """
@@ -836,7 +965,8 @@ triple3 : """edge cases \\""" "" " \\"" \\" edge cases"""
             }
         }
 
-        def document = parser.parseDocument(query)
+        // the recursive descent parser does not use antlr so we make sure the antlr parser is used
+        def document = parser.parseDocument(query, null, ParserOptions.newParserOptions().recursiveDescentParsing(false).build())
 
         then:
         document.getAdditionalData().get("key") == "value"
@@ -844,6 +974,38 @@ triple3 : """edge cases \\""" "" " \\"" \\" edge cases"""
 
     }
 
+    def "can override antlr to ast with the parser options in play"() {
+
+        def query = '''
+            query {
+                field
+            }
+        '''
+        def givenOptions = []
+        when:
+        Parser parser = new Parser() {
+            @Override
+            protected GraphqlAntlrToLanguage getAntlrToLanguage(CommonTokenStream tokens, MultiSourceReader multiSourceReader, ParserOptions parserOptions) {
+                givenOptions << parserOptions
+                return new GraphqlAntlrToLanguage(tokens, multiSourceReader, parserOptions) {
+                    @Override
+                    protected void addCommonData(NodeBuilder nodeBuilder, ParserRuleContext parserRuleContext) {
+                        super.addCommonData(nodeBuilder, parserRuleContext)
+                        nodeBuilder.additionalData("key", "value")
+                    }
+                }
+            }
+        }
+
+        def document = parser.parseDocument(query, null, ParserOptions.getLeanParserOptions())
+
+        then:
+        givenOptions == [ParserOptions.getLeanParserOptions()]
+        document.getAdditionalData().get("key") == "value"
+        document.children[0].getSourceLocation() == null
+
+    }
+
     def "parse integer"() {
         given:
         def input = '''{foo(arg: 11)}'''
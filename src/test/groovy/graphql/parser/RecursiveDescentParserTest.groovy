@@ -0,0 +1,18 @@
+package graphql.parser
+
+/**
+ * This runs all of the parser tests again but with the recursive descent parser being used for executable documents
+ */
+class RecursiveDescentParserTest extends ParserTest {
+
+    ParserOptions previousDefault
+
+    def setup() {
+        previousDefault = ParserOptions.getDefaultParserOptions()
+        ParserOptions.setDefaultParserOptions(previousDefault.transform({ builder -> builder.recursiveDescentParsing(true) }))
+    }
+
+    def cleanup() {
+        ParserOptions.setDefaultParserOptions(previousDefault)
+    }
+}
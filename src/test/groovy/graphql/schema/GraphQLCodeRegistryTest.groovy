@@ -285,4 +285,55 @@ class GraphQLCodeRegistryTest extends Specification {
         schema.getCodeRegistry().getDataFetcher(queryType, queryType.getFieldDefinition("neitherSpecified")) instanceof PropertyDataFetcher
 
     }
+
+    def "data fetcher factories are asked once unless they are dynamic"() {
+        def factoryCalls = 0
+        DataFetcherFactory countingFactory = { env -> factoryCalls++; new NamedDF("value" + factoryCalls) }
+        def queryType = newObject().name("Query")
+                .field(newFieldDefinition().name("field").type(GraphQLString))
+                .build()
+
+        when:
+        def codeRegistry = GraphQLCodeRegistry.newCodeRegistry()
+                .dataFetcher(FieldCoordinates.coordinates("Query", "field"), countingFactory)
+                .dynamicDataFetcherFactories(dynamic)
+                .build()
+        def schema = GraphQLSchema.newSchema().query(queryType).codeRegistry(codeRegistry).build()
+        def graphQL = GraphQL.newGraphQL(schema).build()
+        def results = (1..3).collect { graphQL.execute("{ field }").data }
+
+        then:
+        schema.getCodeRegistry().isDynamicDataFetcherFactories() == dynamic
+        results == expectedResults
+        factoryCalls == expectedFactoryCalls
+
+        where:
+        dynamic | expectedResults                                            | expectedFactoryCalls
+        false   | [[field: "value1"], [field: "value1"], [field: "value1"]] | 1
+        true    | [[field: "value1"], [field: "value2"], [field: "value3"]] | 3
+    }
+
+    def "a field definition shared between types gets the data fetcher of each type"() {
+        def sharedField = newFieldDefinition().name("name").type(GraphQLString).build()
+        def fooType = newObject().name("Foo").field(sharedField).build()
+        def barType = newObject().name("Bar").field(sharedField).build()
+        def queryType = newObject().name("Query")
+                .field(newFieldDefinition().name("foo").type(fooType))
+                .field(newFieldDefinition().name("bar").type(barType))
+                .build()
+        def codeRegistry = GraphQLCodeRegistry.newCodeRegistry()
+                .dataFetcher(FieldCoordinates.coordinates("Query", "foo"), { env -> [:] } as DataFetcher)
+                .dataFetcher(FieldCoordinates.coordinates("Query", "bar"), { env -> [:] } as DataFetcher)
+                .dataFetcher(FieldCoordinates.coordinates("Foo", "name"), new NamedDF("foo"))
+                .dataFetcher(FieldCoordinates.coordinates("Bar", "name"), new NamedDF("bar"))
+                .build()
+        def schema = GraphQLSchema.newSchema().query(queryType).codeRegistry(codeRegistry).build()
+
+        when:
+        def er = GraphQL.newGraphQL(schema).build().execute("{ foo { name __typename } bar { name __typename } }")
+
+        then:
+        er.errors.isEmpty()
+        er.data == [foo: [name: "foo", __typename: "Foo"], bar: [name: "bar", __typename: "Bar"]]
+    }
 }
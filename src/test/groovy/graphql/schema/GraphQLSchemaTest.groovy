@@ -45,6 +45,62 @@ class GraphQLSchemaTest extends Specification {
         thrown(AssertException)
     }
 
+    def "doTypesOverlap uses the possible object types of interfaces and unions"() {
+        def schema = TestUtil.schema("""
+            type Query { pet: Pet }
+            interface Pet { name: String }
+            interface Named { name: String }
+            type Dog implements Pet & Named { name: String }
+            type Cat implements Pet { name: String }
+            type Rock implements Named { name: String }
+            union DogOrRock = Dog | Rock
+            union CatOnly = Cat
+        """)
+        def pet = schema.getType("Pet") as GraphQLCompositeType
+        def named = schema.getType("Named") as GraphQLCompositeType
+        def dog = schema.getObjectType("Dog")
+        def cat = schema.getObjectType("Cat")
+        def rock = schema.getObjectType("Rock")
+        def dogOrRock = schema.getType("DogOrRock") as GraphQLCompositeType
+        def catOnly = schema.getType("CatOnly") as GraphQLCompositeType
+
+        expect:
+        schema.doTypesOverlap(pet, dog)
+        schema.doTypesOverlap(dog, dog)
+        !schema.doTypesOverlap(dog, cat)
+        !schema.doTypesOverlap(pet, rock)
+        schema.doTypesOverlap(pet, named)
+        schema.doTypesOverlap(dogOrRock, named)
+        !schema.doTypesOverlap(catOnly, dogOrRock)
+        schema.doTypesOverlap(catOnly, pet)
+
+        schema.isPossibleType(dogOrRock as GraphQLNamedType, rock)
+        !schema.isPossibleType(dogOrRock as GraphQLNamedType, cat)
+        schema.isPossibleType(named as GraphQLNamedType, rock)
+        !schema.isPossibleType(pet as GraphQLNamedType, rock)
+    }
+
+    def "possible types are per schema even when types are shared"() {
+        def schema = TestUtil.schema("""
+            type Query { pet: Pet }
+            interface Pet { name: String }
+            type Dog implements Pet { name: String }
+        """)
+        def cat = newObject().name("Cat")
+                .withInterface(GraphQLTypeReference.typeRef("Pet"))
+                .field(newFieldDefinition().name("name").type(GraphQLString))
+                .build()
+
+        when:
+        def biggerSchema = schema.transform({ builder -> builder.additionalType(cat) })
+        def pet = biggerSchema.getType("Pet") as GraphQLCompositeType
+
+        then:
+        biggerSchema.doTypesOverlap(pet, biggerSchema.getObjectType("Cat"))
+        biggerSchema.doTypesOverlap(pet, biggerSchema.getObjectType("Dog"))
+        schema.getType("Cat") == null
+    }
+
     def "#698 interfaces copied as expected"() {
 
         def idl = """
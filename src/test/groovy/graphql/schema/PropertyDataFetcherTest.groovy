@@ -1,6 +1,7 @@
 package graphql.schema
 
 import graphql.ExecutionInput
+import graphql.GraphQLException
 import graphql.TestUtil
 import graphql.schema.somepackage.ClassWithDFEMethods
 import graphql.schema.somepackage.ClassWithInterfaces
@@ -9,6 +10,7 @@ import graphql.schema.somepackage.TestClass
 import graphql.schema.somepackage.TwoClassesDown
 import spock.lang.Specification
 
+import java.lang.reflect.InvocationTargetException
 import java.util.function.Function
 
 import static graphql.schema.DataFetchingEnvironmentImpl.newDataFetchingEnvironment
@@ -63,6 +65,13 @@ class PropertyDataFetcherTest extends Specification {
         fetcher.get(environment) == "aValue"
     }
 
+    def "fetch via map lookup on maps that are not abstract maps"() {
+        def environment = env(Collections.unmodifiableMap(["mapProperty": "aValue"]))
+        def fetcher = PropertyDataFetcher.fetching("mapProperty")
+        expect:
+        fetcher.get(environment) == "aValue"
+    }
+
     def "fetch via public getter with private subclass"() {
         def environment = env(TestClass.createPackageProtectedImpl("aValue"))
         def fetcher = new PropertyDataFetcher("packageProtectedProperty")
@@ -466,4 +475,37 @@ class PropertyDataFetcherTest extends Specification {
         then:
         result == "bar"
     }
+
+    static class GetterResults {
+        int getCount() {
+            return 42
+        }
+
+        String getBroken() {
+            throw new IllegalStateException("broken")
+        }
+    }
+
+    def "primitive results are boxed and getter exceptions are wrapped"() {
+        def environment = env(new GetterResults())
+
+        expect:
+        new PropertyDataFetcher("count").get(environment) == 42
+        // again now that the getter is cached
+        new PropertyDataFetcher("count").get(environment) == 42
+
+        when:
+        new PropertyDataFetcher("broken").get(environment)
+        then:
+        def e = thrown(GraphQLException)
+        e.cause instanceof InvocationTargetException
+        e.cause.cause instanceof IllegalStateException
+
+        when: "the cached getter is used"
+        new PropertyDataFetcher("broken").get(environment)
+        then:
+        e = thrown(GraphQLException)
+        e.cause instanceof InvocationTargetException
+        e.cause.cause instanceof IllegalStateException
+    }
 }
@@ -0,0 +1,162 @@
+package graphql.validation
+
+import graphql.GraphQL
+import graphql.TestUtil
+import graphql.parser.Parser
+import graphql.schema.GraphQLSchema
+import graphql.schema.visibility.BlockedFields
+import graphql.schema.visibility.GraphqlFieldVisibility
+import graphql.schema.visibility.NoIntrospectionGraphqlFieldVisibility
+import spock.lang.Specification
+
+import java.util.function.BiFunction
+
+class ValidationCacheTest extends Specification {
+
+    def sdl = '''
+        type Query {
+            foo(arg: Int): String
+            bar: String
+        }
+    '''
+
+    def validations = 0
+    def validator = { GraphQLSchema schema, document ->
+        validations++
+        new Validator().validateDocument(schema, document)
+    } as BiFunction
+
+    def "valid documents are only validated once per schema"() {
+        def cache = ValidationCache.newValidationCache().build()
+        def schema = TestUtil.schema(sdl)
+
+        when:
+        def first = cache.validate(schema, Parser.parse("{ foo(arg: 1) }"), validator)
+        def second = cache.validate(schema, Parser.parse("""
+            # the same query written differently
+            {
+                foo(arg: 1)
+            }
+        """), validator)
+
+        then:
+        first.isEmpty()
+        second.isEmpty()
+        validations == 1
+        cache.hitCount == 1
+        cache.missCount == 1
+
+        when:
+        cache.validate(schema, Parser.parse("{ foo(arg: 2) }"), validator)
+
+        then:
+        validations == 2
+    }
+
+    def "schemas rebuilt from the same SDL share their valid documents"() {
+        def cache = ValidationCache.newValidationCache().build()
+
+        when:
+        cache.validate(TestUtil.schema(sdl), Parser.parse("{ foo bar }"), validator)
+        cache.validate(TestUtil.schema(sdl), Parser.parse("{ foo bar }"), validator)
+
+        then:
+        validations == 1
+
+        when: "the schema changed"
+        def errors = cache.validate(TestUtil.schema('type Query { foo: String }'), Parser.parse("{ foo bar }"), validator)
+
+        then:
+        validations == 2
+        errors.size() == 1
+    }
+
+    def "schemas with other field visibilities do not share their valid documents"() {
+        def cache = ValidationCache.newValidationCache().build()
+        def schema = TestUtil.schema(sdl)
+        def withVisibility = { GraphqlFieldVisibility fieldVisibility ->
+            schema.transform({ builder -> builder.codeRegistry(schema.codeRegistry.transform({ it.fieldVisibility(fieldVisibility) })) })
+        }
+        def introspection = Parser.parse("{ __schema { queryType { name } } }")
+
+        when:
+        def visible = cache.validate(schema, introspection, validator)
+        def hidden = cache.validate(withVisibility(NoIntrospectionGraphqlFieldVisibility.NO_INTROSPECTION_FIELD_VISIBILITY), introspection, validator)
+
+        then:
+        visible.isEmpty()
+        hidden.size() == 1
+        validations == 2
+
+        when: "field visibilities that can be set up differently are told apart by instance"
+        def bar = Parser.parse("{ bar }")
+        def allowed = cache.validate(withVisibility(BlockedFields.newBlock().build()), bar, validator)
+        def blocked = cache.validate(withVisibility(BlockedFields.newBlock().addPattern("Query.bar").build()), bar, validator)
+
+        then:
+        allowed.isEmpty()
+        blocked.size() == 1
+        validations == 4
+    }
+
+    def "a document is only printed once"() {
+        def cache = ValidationCache.newValidationCache().build()
+        def schema = TestUtil.schema(sdl)
+        def document = Parser.parse("{ foo }")
+
+        when:
+        cache.validate(schema, document, validator)
+        def printed = cache.@documentFingerprints.get(document)
+        cache.validate(schema, document, validator)
+
+        then:
+        validations == 1
+        printed == "query {foo}"
+        cache.@documentFingerprints.size() == 1
+        cache.@documentFingerprints.get(document).is(printed)
+    }
+
+    def "invalid documents are validated each time"() {
+        def cache = ValidationCache.newValidationCache().build()
+        def schema = TestUtil.schema(sdl)
+
+        when:
+        def first = cache.validate(schema, Parser.parse("{ baz }"), validator)
+        def second = cache.validate(schema, Parser.parse("{ baz }"), validator)
+
+        then:
+        first.size() == 1
+        second.size() == 1
+        validations == 2
+        cache.size == 0
+    }
+
+    def "the cache is bounded"() {
+        def cache = ValidationCache.newValidationCache().maximumSize(2).build()
+        def schema = TestUtil.schema(sdl)
+
+        when:
+        ["{ foo }", "{ bar }", "{ foo bar }"].each { cache.validate(schema, Parser.parse(it), validator) }
+
+        then:
+        cache.size == 2
+    }
+
+    def "GraphQL instances can share a cache"() {
+        def cache = ValidationCache.newValidationCache().build()
+        def first = GraphQL.newGraphQL(TestUtil.schema(sdl)).validationCache(cache).build()
+        def second = GraphQL.newGraphQL(TestUtil.schema(sdl)).validationCache(cache).build()
+
+        when:
+        def firstResult = first.execute("{ foo }")
+        def secondResult = second.execute("{ foo }")
+        def invalidResult = second.execute("{ baz }")
+
+        then:
+        firstResult.errors.isEmpty()
+        secondResult.errors.isEmpty()
+        invalidResult.errors.size() == 1
+        cache.hitCount == 1
+        cache.missCount == 2
+    }
+}
@@ -55,12 +55,19 @@ public class BenchMark {
         executeQuery();
     }
 
+    static final String QUERY = "{ hero { name friends { name friends { name } } } }";
+
     public static void executeQuery() {
-        String query = "{ hero { name friends { name friends { name } } } }";
-        graphQL.execute(query);
+        graphQL.execute(QUERY);
     }
 
     private static GraphQL buildGraphQL() {
+        return GraphQL.newGraphQL(buildSchema())
+                .instrumentation(new TracingInstrumentation())
+                .build();
+    }
+
+    static GraphQLSchema buildSchema() {
         InputStream sdl = BenchMark.class.getClassLoader().getResourceAsStream("starWarsSchema.graphqls");
         TypeDefinitionRegistry definitionRegistry = new SchemaParser().parse(new InputStreamReader(sdl));
 
@@ -73,11 +80,7 @@ public class BenchMark {
                         env -> env.getSchema().getObjectType("Human")
                 ))
                 .build();
-        GraphQLSchema graphQLSchema = new SchemaGenerator().makeExecutableSchema(definitionRegistry, runtimeWiring);
-
-        return GraphQL.newGraphQL(graphQLSchema)
-                .instrumentation(new TracingInstrumentation())
-                .build();
+        return new SchemaGenerator().makeExecutableSchema(definitionRegistry, runtimeWiring);
     }
 
     static class CharacterDTO {
@@ -0,0 +1,135 @@
+package benchmark;
+
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.schema.DataFetcher;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import graphql.schema.idl.TypeDefinitionRegistry;
+import org.dataloader.BatchLoader;
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static graphql.schema.idl.TypeRuntimeWiring.newTypeWiring;
+
+/**
+ * Runs deep and wide queries whose fields are all batched through a {@link DataLoader} whose batches complete on a
+ * thread pool, from several threads at once.  This is where the per level dispatch tracking of
+ * {@link graphql.execution.instrumentation.dataloader.DataLoaderDispatcherInstrumentation} is busiest.
+ * <p>
+ * See https://github.com/openjdk/jmh/tree/master/jmh-samples/src/main/java/org/openjdk/jmh/samples/ for more samples
+ * on what you can do with JMH
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@Threads(8)
+public class DataLoaderDispatchBenchmark {
+
+    @Param({"4"})
+    public int depth;
+
+    @Param({"6"})
+    public int width;
+
+    private ExecutorService batchExecutor;
+    private GraphQL graphQL;
+    private String query;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        batchExecutor = Executors.newFixedThreadPool(8);
+        graphQL = GraphQL.newGraphQL(buildSchema()).build();
+        query = buildQuery(depth);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        batchExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public ExecutionResult deepAndWideDataLoaderQuery() {
+        DataLoaderRegistry registry = new DataLoaderRegistry();
+        registry.register("children", DataLoader.newDataLoader(childrenBatchLoader()));
+        ExecutionInput executionInput = ExecutionInput.newExecutionInput(query).dataLoaderRegistry(registry).build();
+        return graphQL.executeAsync(executionInput).join();
+    }
+
+    private BatchLoader<String, List<Map<String, Object>>> childrenBatchLoader() {
+        return ids -> CompletableFuture.supplyAsync(() -> {
+            List<List<Map<String, Object>>> result = new ArrayList<>(ids.size());
+            for (String id : ids) {
+                List<Map<String, Object>> children = new ArrayList<>(width);
+                for (int i = 0; i < width; i++) {
+                    children.add(node(id + "." + i));
+                }
+                result.add(children);
+            }
+            return result;
+        }, batchExecutor);
+    }
+
+    private static Map<String, Object> node(String id) {
+        Map<String, Object> node = new LinkedHashMap<>();
+        node.put("id", id);
+        return node;
+    }
+
+    private static String buildQuery(int depth) {
+        StringBuilder query = new StringBuilder("{ root { id ");
+        for (int i = 0; i < depth; i++) {
+            query.append("children { id ");
+        }
+        query.append(String.join("", Collections.nCopies(depth + 1, "} ")));
+        return query.append("}").toString();
+    }
+
+    private static GraphQLSchema buildSchema() {
+        String sdl = "type Query { root : Node }\n" +
+                "type Node { id : ID, children : [Node] }";
+        TypeDefinitionRegistry definitionRegistry = new SchemaParser().parse(sdl);
+
+        DataFetcher<?> childrenDataFetcher = environment -> {
+            Map<String, Object> source = environment.getSource();
+            DataLoader<String, List<Map<String, Object>>> dataLoader = environment.getDataLoader("children");
+            return dataLoader.load((String) source.get("id"));
+        };
+
+        RuntimeWiring runtimeWiring = RuntimeWiring.newRuntimeWiring()
+                .type(newTypeWiring("Query").dataFetcher("root", environment -> node("root")))
+                .type(newTypeWiring("Node").dataFetcher("children", childrenDataFetcher))
+                .build();
+        return new SchemaGenerator().makeExecutableSchema(definitionRegistry, runtimeWiring);
+    }
+}
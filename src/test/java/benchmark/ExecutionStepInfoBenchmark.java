@@ -0,0 +1,111 @@
+package benchmark;
+
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.execution.ExecutionStepInfo;
+import graphql.execution.ExecutionStepInfoFactory;
+import graphql.execution.ResultPath;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.SimpleInstrumentation;
+import graphql.execution.instrumentation.SimpleInstrumentationContext;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldParameters;
+import graphql.schema.GraphQLSchema;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static graphql.Scalars.GraphQLString;
+import static graphql.schema.GraphQLList.list;
+
+/**
+ * Measures what building the {@link ExecutionStepInfo}s of fields and list elements costs, which is best looked at
+ * in bytes allocated per operation by running with the gc profiler, eg {@code -prof gc} and its {@code gc.alloc.rate.norm}.
+ * <p>
+ * The friends query of {@link BenchMark} completes about 1000 objects with 2 fields each, about 2000 fields in all.  The
+ * step info of a field is only built when something asks for it, so the friends query with step infos asks for the
+ * step info of every field to show what that costs per field.  The list element benchmarks compare the step info of a list element built by {@link ExecutionStepInfoFactory} with one built through
+ * {@link ExecutionStepInfo#transform(java.util.function.Consumer)}.
+ * <p>
+ * See https://github.com/openjdk/jmh/tree/master/jmh-samples/src/main/java/org/openjdk/jmh/samples/ for more samples
+ * on what you can do with JMH
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class ExecutionStepInfoBenchmark {
+
+    private GraphQL graphQL;
+    private GraphQL graphQLWithStepInfos;
+    private ExecutionStepInfoFactory executionStepInfoFactory;
+    private ExecutionStepInfo listStepInfo;
+    private ResultPath indexedPath;
+
+    @Setup
+    public void setup() {
+        GraphQLSchema schema = BenchMark.buildSchema();
+        graphQL = GraphQL.newGraphQL(schema).build();
+        graphQLWithStepInfos = GraphQL.newGraphQL(schema)
+                .instrumentation(new SimpleInstrumentation() {
+                    @Override
+                    public InstrumentationContext<ExecutionResult> beginField(InstrumentationFieldParameters parameters) {
+                        parameters.getExecutionStepInfo();
+                        return SimpleInstrumentationContext.noOp();
+                    }
+                })
+                .build();
+        executionStepInfoFactory = new ExecutionStepInfoFactory();
+
+        Map<String, Object> arguments = new HashMap<>();
+        arguments.put("first", 10);
+        ResultPath path = ResultPath.rootPath().segment("friends");
+        listStepInfo = ExecutionStepInfo.newExecutionStepInfo()
+                .type(list(GraphQLString))
+                .path(path)
+                .arguments(arguments)
+                .build();
+        indexedPath = path.segment(1);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public ExecutionResult friendsQuery() {
+        return graphQL.execute(BenchMark.QUERY);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public ExecutionResult friendsQueryWithStepInfos() {
+        return graphQLWithStepInfos.execute(BenchMark.QUERY);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public ExecutionStepInfo listElementStepInfo() {
+        return executionStepInfoFactory.newExecutionStepInfoForListElement(listStepInfo, indexedPath);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public ExecutionStepInfo listElementStepInfoViaBuilder() {
+        return listStepInfo.transform(builder -> builder
+                .parentInfo(listStepInfo)
+                .type(GraphQLString)
+                .path(indexedPath));
+    }
+}
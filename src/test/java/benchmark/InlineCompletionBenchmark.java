@@ -0,0 +1,65 @@
+package benchmark;
+
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.execution.AsyncExecutionStrategy;
+import graphql.execution.SimpleDataFetcherExceptionHandler;
+import graphql.execution.instrumentation.tracing.TracingInstrumentation;
+import graphql.schema.GraphQLSchema;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the {@link AsyncExecutionStrategy} with and without inline completion of materialized values on the friends query
+ * of {@link BenchMark}, whose data fetchers all return plain values.
+ * <p>
+ * See https://github.com/openjdk/jmh/tree/master/jmh-samples/src/main/java/org/openjdk/jmh/samples/ for more samples
+ * on what you can do with JMH
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class InlineCompletionBenchmark {
+
+    private GraphQL asyncGraphQL;
+    private GraphQL inlineGraphQL;
+
+    @Setup
+    public void setup() {
+        GraphQLSchema schema = BenchMark.buildSchema();
+        asyncGraphQL = buildGraphQL(schema, false);
+        inlineGraphQL = buildGraphQL(schema, true);
+    }
+
+    private static GraphQL buildGraphQL(GraphQLSchema schema, boolean completeMaterializedValuesInline) {
+        return GraphQL.newGraphQL(schema)
+                .queryExecutionStrategy(new AsyncExecutionStrategy(new SimpleDataFetcherExceptionHandler(), completeMaterializedValuesInline))
+                .instrumentation(new TracingInstrumentation())
+                .build();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public ExecutionResult asyncExecutionStrategy() {
+        return asyncGraphQL.execute(BenchMark.QUERY);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public ExecutionResult inlineCompletion() {
+        return inlineGraphQL.execute(BenchMark.QUERY);
+    }
+}
@@ -0,0 +1,81 @@
+package benchmark;
+
+import graphql.language.Document;
+import graphql.parser.Parser;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.SchemaParser;
+import graphql.schema.idl.UnExecutableSchemaGenerator;
+import graphql.validation.ValidationError;
+import graphql.validation.Validator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures validating large queries made of many fields with the same response name and many aliased fields, which all
+ * spread shared fragments, where the {@link graphql.validation.rules.OverlappingFieldsCanBeMerged} rule has the most to compare.
+ * The time should grow with the number of field pairs and not much faster.
+ * <p>
+ * See https://github.com/openjdk/jmh/tree/master/jmh-samples/src/main/java/org/openjdk/jmh/samples/ for more samples
+ * on what you can do with JMH
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class OverlappingFieldsCanBeMergedBenchmark {
+
+    private static final String SDL = "" +
+            "type Query { items: [Item] }\n" +
+            "type Item { id: ID name: String child: Item f0: String f1: String f2: String f3: String f4: String " +
+            "f5: String f6: String f7: String f8: String f9: String }";
+
+    @Param({"25", "50", "100"})
+    public int size;
+
+    private GraphQLSchema schema;
+    private Document document;
+
+    @Setup
+    public void setup() {
+        schema = UnExecutableSchemaGenerator.makeUnExecutableSchema(new SchemaParser().parse(SDL));
+        document = Parser.parse(query(size));
+    }
+
+    /**
+     * A query with the given number of unaliased and of aliased fields, and as many fragments, each field spreading two
+     * of the fragments
+     */
+    static String query(int size) {
+        StringBuilder query = new StringBuilder("{\n");
+        for (int i = 0; i < size; i++) {
+            query.append("  items { ...F").append(i).append(" ...F").append((i + 1) % size).append(" }\n");
+            query.append("  a").append(i).append(": items { ...F").append(i).append(" ...F").append((i + 7) % size).append(" }\n");
+        }
+        query.append("}\n");
+        for (int i = 0; i < size; i++) {
+            query.append("fragment F").append(i).append(" on Item { id name v").append(i % 10).append(": f").append(i % 10)
+                    .append(" child { id name ...Leaf } }\n");
+        }
+        query.append("fragment Leaf on Item { id name f0 f1 child { id } }\n");
+        return query.toString();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<ValidationError> validateFragmentHeavyQuery() {
+        return new Validator().validateDocument(schema, document);
+    }
+}
@@ -0,0 +1,97 @@
+package benchmark;
+
+import graphql.introspection.IntrospectionQuery;
+import graphql.parser.Parser;
+import graphql.parser.ParserOptions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This compares parsing with the default {@link ParserOptions} which capture everything against
+ * the lean options which skip ignored chars, comments and source locations, as well as the ANTLR
+ * parser against the hand written recursive descent parser.
+ * <p>
+ * Run it with "-prof gc" to see the difference in allocations per parse.
+ * <p>
+ * See https://github.com/openjdk/jmh/tree/master/jmh-samples/src/main/java/org/openjdk/jmh/samples/ for more samples
+ * on what you can do with JMH
+ * <p>
+ * You MUST have the JMH plugin for IDEA in place for this to work :  https://github.com/artyushov/idea-jmh-plugin
+ * <p>
+ * Install it and then just hit "Run" on a certain benchmark method
+ */
+@Warmup(iterations = 2, time = 5, batchSize = 3)
+@Measurement(iterations = 3, time = 10, batchSize = 4)
+public class ParserBenchmark {
+
+    private static final String QUERY = IntrospectionQuery.INTROSPECTION_QUERY;
+
+    private static final ParserOptions LEAN_OPTIONS = ParserOptions.getLeanParserOptions();
+
+    private static final ParserOptions RECURSIVE_DESCENT_OPTIONS = ParserOptions.newParserOptions().recursiveDescentParsing(true).build();
+
+    private static final ParserOptions LEAN_RECURSIVE_DESCENT_OPTIONS = LEAN_OPTIONS.transform(builder -> builder.recursiveDescentParsing(true));
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public void benchMarkDefaultParserThroughput(Blackhole blackhole) {
+        blackhole.consume(new Parser().parseDocument(QUERY));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public void benchMarkLeanParserThroughput(Blackhole blackhole) {
+        blackhole.consume(new Parser().parseDocument(QUERY, null, LEAN_OPTIONS));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void benchMarkDefaultParserAvgTime(Blackhole blackhole) {
+        blackhole.consume(new Parser().parseDocument(QUERY));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void benchMarkLeanParserAvgTime(Blackhole blackhole) {
+        blackhole.consume(new Parser().parseDocument(QUERY, null, LEAN_OPTIONS));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public void benchMarkRecursiveDescentParserThroughput(Blackhole blackhole) {
+        blackhole.consume(new Parser().parseDocument(QUERY, null, RECURSIVE_DESCENT_OPTIONS));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public void benchMarkLeanRecursiveDescentParserThroughput(Blackhole blackhole) {
+        blackhole.consume(new Parser().parseDocument(QUERY, null, LEAN_RECURSIVE_DESCENT_OPTIONS));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void benchMarkRecursiveDescentParserAvgTime(Blackhole blackhole) {
+        blackhole.consume(new Parser().parseDocument(QUERY, null, RECURSIVE_DESCENT_OPTIONS));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void benchMarkLeanRecursiveDescentParserAvgTime(Blackhole blackhole) {
+        blackhole.consume(new Parser().parseDocument(QUERY, null, LEAN_RECURSIVE_DESCENT_OPTIONS));
+    }
+}
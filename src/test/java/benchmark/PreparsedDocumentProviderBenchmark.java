@@ -0,0 +1,87 @@
+package benchmark;
+
+import graphql.GraphQL;
+import graphql.execution.preparsed.CachingPreparsedDocumentProvider;
+import graphql.schema.DataFetcher;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import graphql.schema.idl.TypeDefinitionRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.concurrent.TimeUnit;
+
+import static graphql.schema.idl.TypeRuntimeWiring.newTypeWiring;
+
+/**
+ * Compares executing a small query with and without a {@link CachingPreparsedDocumentProvider}, where parsing and
+ * validation make up a large part of the work.
+ * <p>
+ * See https://github.com/openjdk/jmh/tree/master/jmh-samples/src/main/java/org/openjdk/jmh/samples/ for more samples
+ * on what you can do with JMH
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(4)
+public class PreparsedDocumentProviderBenchmark {
+
+    private static final String QUERY = "query HeroAndFriends($withFriends: Boolean = true) {\n" +
+            "  hero {\n" +
+            "    ...Names\n" +
+            "    friends @include(if: $withFriends) {\n" +
+            "      ...Names\n" +
+            "      friends { name }\n" +
+            "    }\n" +
+            "  }\n" +
+            "}\n" +
+            "fragment Names on Character {\n" +
+            "  name\n" +
+            "}\n";
+
+    private final GraphQLSchema schema = buildSchema();
+    private final GraphQL uncached = GraphQL.newGraphQL(schema).build();
+    private final GraphQL cached = GraphQL.newGraphQL(schema)
+            .preparsedDocumentProvider(CachingPreparsedDocumentProvider.newCachingPreparsedDocumentProvider().maximumSize(100).build())
+            .build();
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public Object executeWithoutCache() {
+        return uncached.execute(QUERY);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public Object executeWithCache() {
+        return cached.execute(QUERY);
+    }
+
+    private static GraphQLSchema buildSchema() {
+        InputStream sdl = PreparsedDocumentProviderBenchmark.class.getClassLoader().getResourceAsStream("starWarsSchema.graphqls");
+        TypeDefinitionRegistry definitionRegistry = new SchemaParser().parse(new InputStreamReader(sdl));
+
+        DataFetcher heroDataFetcher = environment -> BenchMark.CharacterDTO.mkCharacter(environment, "r2d2", 3);
+
+        RuntimeWiring runtimeWiring = RuntimeWiring.newRuntimeWiring()
+                .type(newTypeWiring("QueryType").dataFetcher("hero", heroDataFetcher))
+                .type(newTypeWiring("Character").typeResolver(
+                        env -> env.getSchema().getObjectType("Human")
+                ))
+                .build();
+        return new SchemaGenerator().makeExecutableSchema(definitionRegistry, runtimeWiring);
+    }
+}
@@ -41,10 +41,18 @@ public class PropertyFetcherBenchMark {
         executeTest(blackhole, dfeBar);
     }
 
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public void benchMarkThroughputPublicClass(Blackhole blackhole) {
+        executeTest(blackhole, dfeBaz);
+    }
+
     static PropertyDataFetcher<Object> nameFetcher = PropertyDataFetcher.fetching("name");
 
     static DataFetchingEnvironment dfeFoo = DataFetchingEnvironmentImpl.newDataFetchingEnvironment().source(new Foo("brad")).build();
     static DataFetchingEnvironment dfeBar = DataFetchingEnvironmentImpl.newDataFetchingEnvironment().source(new Bar("brad")).build();
+    static DataFetchingEnvironment dfeBaz = DataFetchingEnvironmentImpl.newDataFetchingEnvironment().source(new Baz("brad")).build();
 
     public static void executeTest(Blackhole blackhole, DataFetchingEnvironment dfe) {
         blackhole.consume(nameFetcher.get(dfe));
@@ -68,4 +76,16 @@ public class PropertyFetcherBenchMark {
             return name;
         }
     }
+
+    public static class Baz {
+        private final String name;
+
+        public Baz(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
 }